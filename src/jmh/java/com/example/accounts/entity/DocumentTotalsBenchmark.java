@@ -0,0 +1,113 @@
+package com.example.accounts.entity;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoice line amounts and document totals on large documents: the {@link Money} based entity
+ * methods against the previous {@link BigDecimal} stream implementation, kept here as the baseline.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.includes=DocumentTotalsBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentTotalsBenchmark {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Param({ "10000" })
+    private int lines;
+
+    private Invoice invoice;
+    private JournalEntry journalEntry;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        invoice = new Invoice();
+        journalEntry = new JournalEntry();
+        for (int i = 0; i < lines; i++) {
+            invoice.addLine(InvoiceLine.builder()
+                    .lineNumber(i + 1)
+                    .quantity(BigDecimal.valueOf(1 + random.nextInt(100_000), 4))
+                    .unitPrice(BigDecimal.valueOf(1 + random.nextInt(1_000_000), 2))
+                    .discountRate(BigDecimal.valueOf(random.nextInt(2_000), 2))
+                    .vatRate(BigDecimal.valueOf(15))
+                    .build());
+            BigDecimal amount = BigDecimal.valueOf(1 + random.nextInt(10_000_000), 2);
+            journalEntry.addLine(JournalEntryLine.builder()
+                    .lineNumber(i + 1)
+                    .debitAmount(i % 2 == 0 ? amount : BigDecimal.ZERO)
+                    .creditAmount(i % 2 == 0 ? BigDecimal.ZERO : amount)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void invoiceMoney(Blackhole blackhole) {
+        for (InvoiceLine line : invoice.getLines()) {
+            line.calculateAmounts();
+        }
+        invoice.calculateTotals();
+        blackhole.consume(invoice.getTotalAmount());
+    }
+
+    @Benchmark
+    public void invoiceBigDecimal(Blackhole blackhole) {
+        for (InvoiceLine line : invoice.getLines()) {
+            BigDecimal lineAmount = line.getQuantity().multiply(line.getUnitPrice());
+            BigDecimal discountAmount = lineAmount.multiply(line.getDiscountRate()).divide(HUNDRED);
+            BigDecimal amountAfterDiscount = lineAmount.subtract(discountAmount);
+            BigDecimal vatAmount = amountAfterDiscount.multiply(line.getVatRate()).divide(HUNDRED);
+            line.setLineAmount(lineAmount);
+            line.setDiscountAmount(discountAmount);
+            line.setVatAmount(vatAmount);
+            line.setNetAmount(amountAfterDiscount.add(vatAmount));
+        }
+        BigDecimal subtotal = invoice.getLines().stream()
+                .map(InvoiceLine::getLineAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal vat = invoice.getLines().stream()
+                .map(InvoiceLine::getVatAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal discount = invoice.getLines().stream()
+                .map(InvoiceLine::getDiscountAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        blackhole.consume(subtotal.add(vat).subtract(discount));
+    }
+
+    @Benchmark
+    public void journalEntryMoney(Blackhole blackhole) {
+        journalEntry.calculateTotals();
+        blackhole.consume(journalEntry.getTotalDebit());
+        blackhole.consume(journalEntry.getTotalCredit());
+    }
+
+    @Benchmark
+    public void journalEntryBigDecimal(Blackhole blackhole) {
+        blackhole.consume(journalEntry.getLines().stream()
+                .map(JournalEntryLine::getDebitAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        blackhole.consume(journalEntry.getLines().stream()
+                .map(JournalEntryLine::getCreditAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+}
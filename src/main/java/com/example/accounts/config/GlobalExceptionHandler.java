@@ -1,6 +1,8 @@
 package com.example.accounts.config;
 
 import com.example.accounts.exception.*;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -90,6 +92,57 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handle Posting Rejected exceptions (posting queue full or shutting down)
+     */
+    @ExceptionHandler(PostingRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handlePostingRejectedException(
+            PostingRejectedException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        body.put("details", null);
+
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handle concurrent update conflicts that outlasted the posting retry policy
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConcurrencyFailureException(
+            ConcurrencyFailureException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", "The document was modified concurrently, please reload and retry");
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        body.put("details", null);
+
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle unique and foreign key violations (e.g. a duplicate document number)
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("message", "The change conflicts with existing data");
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        body.put("details", null);
+
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handle Validation errors (from @Valid annotations)
      */
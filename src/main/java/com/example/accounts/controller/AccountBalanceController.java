@@ -0,0 +1,52 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.AccountBalanceResponse;
+import com.example.accounts.dto.BalanceRebuildResponse;
+import com.example.accounts.service.AccountBalanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/account-balances")
+@CrossOrigin(origins = "http://localhost:5174")
+@RequiredArgsConstructor
+@Tag(name = "Account Balances", description = "APIs for reading and rebuilding per-period GL account balances")
+public class AccountBalanceController {
+
+    private final AccountBalanceService accountBalanceService;
+
+    @GetMapping
+    @Operation(summary = "Get balances of all accounts for a fiscal period")
+    public ResponseEntity<List<AccountBalanceResponse>> getPeriodBalances(
+            @Parameter(description = "Fiscal year (e.g., 2025)") @RequestParam Integer year,
+            @Parameter(description = "Fiscal period / month (1-12)") @RequestParam Integer period,
+            @RequestParam(required = false) Long companyId) {
+        List<AccountBalanceResponse> responses = accountBalanceService.getPeriodBalances(year, period, companyId);
+        return ResponseEntity.ok(responses);
+    }
+
+    @GetMapping("/accounts/{accountId}")
+    @Operation(summary = "Get balance of an account for a fiscal period")
+    public ResponseEntity<AccountBalanceResponse> getAccountBalance(
+            @PathVariable Long accountId,
+            @Parameter(description = "Fiscal year (e.g., 2025)") @RequestParam Integer year,
+            @Parameter(description = "Fiscal period / month (1-12)") @RequestParam Integer period,
+            @RequestParam(required = false) Long companyId) {
+        AccountBalanceResponse response = accountBalanceService.getAccountBalance(accountId, companyId, year, period);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Recompute balances from posted journal lines", description = "Reports drift between stored and recomputed balances; with dryRun=false drifted rows are corrected")
+    public ResponseEntity<BalanceRebuildResponse> rebuild(
+            @RequestParam(required = false, defaultValue = "true") boolean dryRun) {
+        BalanceRebuildResponse response = accountBalanceService.rebuild(dryRun);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.accounts.controller;
 
 import com.example.accounts.dto.AuditLogResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.service.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -54,9 +58,29 @@ public class AuditLogController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all audit logs")
-    public ResponseEntity<List<AuditLogResponse>> getAllAuditLogs() {
-        List<AuditLogResponse> responses = auditLogService.getAllAuditLogs();
+    @Operation(summary = "Get audit logs", description = "Paged and filtered; sortable by createdAt, userId, entityType, action")
+    public ResponseEntity<PageResponse<AuditLogResponse>> getAuditLogs(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @Parameter(description = "Created at or after") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Created at or before") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @ParameterObject PageQuery pageQuery) {
+        PageResponse<AuditLogResponse> response = auditLogService.getAuditLogs(userId, entityType, entityId, from, to, pageQuery);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/all")
+    @Operation(summary = "Get all audit logs", description = "Every matching row as a plain array, at most accounts.paging.unpaged-limit; filters and sort as for the paged list")
+    public ResponseEntity<List<AuditLogResponse>> getAllAuditLogs(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) Long entityId,
+            @Parameter(description = "Created at or after") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Created at or before") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Comma-separated sort fields, prefix with '-' for descending") @RequestParam(required = false) String sort) {
+        List<AuditLogResponse> responses = auditLogService.getAuditLogs(
+                userId, entityType, entityId, from, to, PageQuery.unpaged(sort)).getContent();
         return ResponseEntity.ok(responses);
     }
 }
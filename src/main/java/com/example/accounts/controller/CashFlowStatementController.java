@@ -1,12 +1,23 @@
 package com.example.accounts.controller;
 
+import com.example.accounts.dto.CashFlowDailyTotalRebuildResponse;
 import com.example.accounts.dto.CashFlowStatementDTO;
+import com.example.accounts.dto.ConsolidatedCashFlowRequest;
+import com.example.accounts.dto.ConsolidatedCashFlowStatementDTO;
 import com.example.accounts.dto.CashFlowTransactionRequest;
 import com.example.accounts.dto.CashFlowTransactionResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
+import com.example.accounts.entity.enums.StatementGranularity;
+import com.example.accounts.service.CashFlowDailyTotalService;
 import com.example.accounts.service.CashFlowStatementService;
+import com.example.accounts.service.ConsolidatedStatementService;
+import com.example.accounts.service.PostingEngine;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +25,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for Cash Flow Statement
@@ -26,6 +38,9 @@ import java.util.List;
 public class CashFlowStatementController {
 
     private final CashFlowStatementService cashFlowStatementService;
+    private final PostingEngine postingEngine;
+    private final ConsolidatedStatementService consolidatedStatementService;
+    private final CashFlowDailyTotalService cashFlowDailyTotalService;
 
     @PostMapping("/transactions")
     @Operation(summary = "Create cash flow transaction", description = "Record a new cash inflow or outflow transaction")
@@ -37,9 +52,8 @@ public class CashFlowStatementController {
 
     @PostMapping("/transactions/{id}/post")
     @Operation(summary = "Post transaction", description = "Post a cash flow transaction")
-    public ResponseEntity<Void> postTransaction(@PathVariable Long id) {
-        cashFlowStatementService.postTransaction(id);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> postTransaction(@PathVariable Long id) {
+        return postingEngine.postCashFlowTransaction(id).thenApply(posted -> ResponseEntity.ok().<Void>build());
     }
 
     @GetMapping("/transactions/{id}")
@@ -50,9 +64,32 @@ public class CashFlowStatementController {
     }
 
     @GetMapping("/transactions")
-    @Operation(summary = "Get all transactions", description = "Retrieve all cash flow transactions")
-    public ResponseEntity<List<CashFlowTransactionResponse>> getAll() {
-        List<CashFlowTransactionResponse> responses = cashFlowStatementService.getAll();
+    @Operation(summary = "Get transactions", description = "Paged and filtered; sortable by transactionDate, transactionNumber, amount, flowType, category")
+    public ResponseEntity<PageResponse<CashFlowTransactionResponse>> getTransactions(
+            @RequestParam(required = false) String flowType,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) Boolean isPosted,
+            @Parameter(description = "Transaction date from (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Transaction date to (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @ParameterObject PageQuery pageQuery) {
+        PageResponse<CashFlowTransactionResponse> response = cashFlowStatementService.getTransactions(
+                flowType, category, entity, isPosted, from, to, pageQuery);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/transactions/all")
+    @Operation(summary = "Get all transactions", description = "Every matching row as a plain array, at most accounts.paging.unpaged-limit; filters and sort as for the paged list")
+    public ResponseEntity<List<CashFlowTransactionResponse>> getAllTransactions(
+            @RequestParam(required = false) String flowType,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) Boolean isPosted,
+            @Parameter(description = "Transaction date from (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Transaction date to (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Comma-separated sort fields, prefix with '-' for descending") @RequestParam(required = false) String sort) {
+        List<CashFlowTransactionResponse> responses = cashFlowStatementService.getTransactions(
+                flowType, category, entity, isPosted, from, to, PageQuery.unpaged(sort)).getContent();
         return ResponseEntity.ok(responses);
     }
 
@@ -81,4 +118,29 @@ public class CashFlowStatementController {
         CashFlowStatementDTO statement = cashFlowStatementService.generateStatement(startDate, endDate, entity);
         return ResponseEntity.ok(statement);
     }
+
+    @GetMapping("/statement/periodic")
+    @Operation(summary = "Generate monthly or quarterly cash flow statements", description = "One statement per month or quarter of the range, derived from the daily totals")
+    public ResponseEntity<List<CashFlowStatementDTO>> generatePeriodicStatements(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String entity,
+            @RequestParam(defaultValue = "MONTH") StatementGranularity granularity) {
+        return ResponseEntity.ok(cashFlowStatementService.generatePeriodicStatements(startDate, endDate, entity,
+                granularity));
+    }
+
+    @PostMapping("/statement/consolidated")
+    @Operation(summary = "Generate consolidated cash flow statement", description = "One column per entity and a section per period; entity/period slices are generated in parallel")
+    public ResponseEntity<ConsolidatedCashFlowStatementDTO> generateConsolidatedStatement(
+            @RequestBody ConsolidatedCashFlowRequest request) {
+        return ResponseEntity.ok(consolidatedStatementService.consolidateCashFlow(request));
+    }
+
+    @PostMapping("/daily-totals/rebuild")
+    @Operation(summary = "Recompute the daily cash flow totals from posted transactions")
+    public ResponseEntity<CashFlowDailyTotalRebuildResponse> rebuildDailyTotals() {
+        CashFlowDailyTotalRebuildResponse response = cashFlowDailyTotalService.rebuild();
+        return ResponseEntity.ok(response);
+    }
 }
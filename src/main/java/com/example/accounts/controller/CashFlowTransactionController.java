@@ -2,10 +2,15 @@ package com.example.accounts.controller;
 
 import com.example.accounts.dto.CashFlowTransactionRequest;
 import com.example.accounts.dto.CashFlowTransactionResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.service.CashFlowStatementService;
+import com.example.accounts.service.PostingEngine;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/cash-flow-transactions")
@@ -22,6 +28,7 @@ import java.util.List;
 public class CashFlowTransactionController {
 
     private final CashFlowStatementService service;
+    private final PostingEngine postingEngine;
 
     @PostMapping
     @Operation(summary = "Create a new cash flow transaction")
@@ -36,9 +43,33 @@ public class CashFlowTransactionController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all cash flow transactions")
-    public ResponseEntity<List<CashFlowTransactionResponse>> getAll() {
-        return ResponseEntity.ok(service.getAll());
+    @Operation(summary = "Get cash flow transactions", description = "Paged and filtered; sortable by transactionDate, transactionNumber, amount, flowType, category")
+    public ResponseEntity<PageResponse<CashFlowTransactionResponse>> getTransactions(
+            @RequestParam(required = false) String flowType,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) Boolean isPosted,
+            @Parameter(description = "Transaction date from (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Transaction date to (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @ParameterObject PageQuery pageQuery) {
+        PageResponse<CashFlowTransactionResponse> response = service.getTransactions(
+                flowType, category, entity, isPosted, from, to, pageQuery);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/all")
+    @Operation(summary = "Get all cash flow transactions", description = "Every matching row as a plain array, at most accounts.paging.unpaged-limit; filters and sort as for the paged list")
+    public ResponseEntity<List<CashFlowTransactionResponse>> getAllTransactions(
+            @RequestParam(required = false) String flowType,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String entity,
+            @RequestParam(required = false) Boolean isPosted,
+            @Parameter(description = "Transaction date from (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Transaction date to (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Comma-separated sort fields, prefix with '-' for descending") @RequestParam(required = false) String sort) {
+        List<CashFlowTransactionResponse> responses = service.getTransactions(
+                flowType, category, entity, isPosted, from, to, PageQuery.unpaged(sort)).getContent();
+        return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/date-range")
@@ -57,9 +88,8 @@ public class CashFlowTransactionController {
 
     @PostMapping("/{id}/post")
     @Operation(summary = "Post cash flow transaction")
-    public ResponseEntity<Void> post(@PathVariable Long id) {
-        service.postTransaction(id);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> post(@PathVariable Long id) {
+        return postingEngine.postCashFlowTransaction(id).thenApply(posted -> ResponseEntity.ok().<Void>build());
     }
 
     @PutMapping("/{id}")
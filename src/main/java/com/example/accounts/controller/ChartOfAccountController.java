@@ -3,11 +3,15 @@ package com.example.accounts.controller;
 import com.example.accounts.dto.ChartOfAccountRequest;
 import com.example.accounts.dto.ChartOfAccountResponse;
 import com.example.accounts.dto.ChartOfAccountTreeNode;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.service.ChartOfAccountService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -80,9 +84,25 @@ public class ChartOfAccountController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all GL accounts")
-    public ResponseEntity<List<ChartOfAccountResponse>> getAllAccounts() {
-        List<ChartOfAccountResponse> responses = chartOfAccountService.getAllAccounts();
+    @Operation(summary = "Get GL accounts", description = "Paged and filtered; sortable by accountCode, description, section, parentGroup")
+    public ResponseEntity<PageResponse<ChartOfAccountResponse>> getAccounts(
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) String parentGroup,
+            @RequestParam(required = false) Boolean isActive,
+            @ParameterObject PageQuery pageQuery) {
+        PageResponse<ChartOfAccountResponse> response = chartOfAccountService.getAccounts(section, parentGroup, isActive, pageQuery);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/all")
+    @Operation(summary = "Get all GL accounts", description = "Every matching row as a plain array, at most accounts.paging.unpaged-limit; filters and sort as for the paged list")
+    public ResponseEntity<List<ChartOfAccountResponse>> getAllAccounts(
+            @RequestParam(required = false) String section,
+            @RequestParam(required = false) String parentGroup,
+            @RequestParam(required = false) Boolean isActive,
+            @Parameter(description = "Comma-separated sort fields, prefix with '-' for descending") @RequestParam(required = false) String sort) {
+        List<ChartOfAccountResponse> responses = chartOfAccountService.getAccounts(
+                section, parentGroup, isActive, PageQuery.unpaged(sort)).getContent();
         return ResponseEntity.ok(responses);
     }
 
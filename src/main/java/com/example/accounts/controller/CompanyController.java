@@ -2,12 +2,16 @@ package com.example.accounts.controller;
 
 import com.example.accounts.dto.CompanyRequest;
 import com.example.accounts.dto.CompanyResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.entity.enums.CompanyType;
 import com.example.accounts.service.CompanyService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -52,9 +56,23 @@ public class CompanyController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all companies")
-    public ResponseEntity<List<CompanyResponse>> getAllCompanies() {
-        List<CompanyResponse> responses = companyService.getAllCompanies();
+    @Operation(summary = "Get companies", description = "Paged and filtered; sortable by code, name, companyType, createdAt")
+    public ResponseEntity<PageResponse<CompanyResponse>> getCompanies(
+            @RequestParam(required = false) CompanyType companyType,
+            @RequestParam(required = false) Boolean isActive,
+            @ParameterObject PageQuery pageQuery) {
+        PageResponse<CompanyResponse> response = companyService.getCompanies(companyType, isActive, pageQuery);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/all")
+    @Operation(summary = "Get all companies", description = "Every matching row as a plain array, at most accounts.paging.unpaged-limit; filters and sort as for the paged list")
+    public ResponseEntity<List<CompanyResponse>> getAllCompanies(
+            @RequestParam(required = false) CompanyType companyType,
+            @RequestParam(required = false) Boolean isActive,
+            @Parameter(description = "Comma-separated sort fields, prefix with '-' for descending") @RequestParam(required = false) String sort) {
+        List<CompanyResponse> responses = companyService.getCompanies(
+                companyType, isActive, PageQuery.unpaged(sort)).getContent();
         return ResponseEntity.ok(responses);
     }
 
@@ -1,9 +1,15 @@
 package com.example.accounts.controller;
 
+import com.example.accounts.dto.ConsolidatedEquityRequest;
+import com.example.accounts.dto.ConsolidatedEquityStatementDTO;
 import com.example.accounts.dto.EquityStatementDTO;
 import com.example.accounts.dto.EquityTransactionRequest;
 import com.example.accounts.dto.EquityTransactionResponse;
+import com.example.accounts.dto.EquityYearBalanceRebuildResponse;
+import com.example.accounts.service.ConsolidatedStatementService;
 import com.example.accounts.service.EquityStatementService;
+import com.example.accounts.service.EquityYearBalanceService;
+import com.example.accounts.service.PostingEngine;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +19,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for Statement of Changes in Equity
@@ -26,6 +33,9 @@ import java.util.List;
 public class EquityStatementController {
 
     private final EquityStatementService equityStatementService;
+    private final PostingEngine postingEngine;
+    private final EquityYearBalanceService equityYearBalanceService;
+    private final ConsolidatedStatementService consolidatedStatementService;
 
     @PostMapping("/transactions")
     @Operation(summary = "Create equity transaction", description = "Record equity transaction for ANY fiscal year (completely dynamic)")
@@ -36,9 +46,8 @@ public class EquityStatementController {
 
     @PostMapping("/transactions/{id}/post")
     @Operation(summary = "Post equity transaction", description = "Post an equity transaction")
-    public ResponseEntity<Void> postTransaction(@PathVariable Long id) {
-        equityStatementService.postTransaction(id);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> postTransaction(@PathVariable Long id) {
+        return postingEngine.postEquityTransaction(id).thenApply(posted -> ResponseEntity.ok().<Void>build());
     }
 
     @GetMapping("/transactions/{id}")
@@ -81,4 +90,18 @@ public class EquityStatementController {
         EquityStatementDTO statement = equityStatementService.generateStatement(year, year, companyName);
         return ResponseEntity.ok(statement);
     }
+
+    @PostMapping("/statement/consolidated")
+    @Operation(summary = "Generate consolidated statement of changes in equity", description = "One column per company; company/year slices are generated in parallel")
+    public ResponseEntity<ConsolidatedEquityStatementDTO> generateConsolidatedStatement(
+            @RequestBody ConsolidatedEquityRequest request) {
+        return ResponseEntity.ok(consolidatedStatementService.consolidateEquity(request));
+    }
+
+    @PostMapping("/year-balances/rebuild")
+    @Operation(summary = "Recompute the yearly equity rollup from posted transactions")
+    public ResponseEntity<EquityYearBalanceRebuildResponse> rebuildYearBalances() {
+        EquityYearBalanceRebuildResponse response = equityYearBalanceService.rebuild();
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,50 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.AgingReportDTO;
+import com.example.accounts.dto.TrialBalanceDTO;
+import com.example.accounts.entity.enums.AgingType;
+import com.example.accounts.service.AgingReportService;
+import com.example.accounts.service.TrialBalanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for ledger-wide financial reports
+ */
+@RestController
+@RequestMapping("/api/reports")
+@CrossOrigin(origins = "http://localhost:5174")
+@RequiredArgsConstructor
+@Tag(name = "Financial Reports", description = "Ledger-wide reports built from posted journal entries")
+public class FinancialReportController {
+
+    private final TrialBalanceService trialBalanceService;
+    private final AgingReportService agingReportService;
+
+    @GetMapping("/trial-balance")
+    @Operation(summary = "Generate trial balance", description = "Opening balance, turnover and closing balance per account for a date range")
+    public ResponseEntity<TrialBalanceDTO> getTrialBalance(
+            @Parameter(description = "Start date (inclusive), e.g. 2025-01-01") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (inclusive), e.g. 2025-12-31") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long companyId) {
+        TrialBalanceDTO trialBalance = trialBalanceService.generateTrialBalance(from, to, companyId);
+        return ResponseEntity.ok(trialBalance);
+    }
+
+    @GetMapping("/aging")
+    @Operation(summary = "Generate AR/AP aging", description = "Open amounts of posted invoices per counterparty in current, 1-30, 31-60, 61-90, 91-120 and 120+ days past due")
+    public ResponseEntity<AgingReportDTO> getAgingReport(
+            @Parameter(description = "AR for customer invoices, AP for supplier invoices") @RequestParam AgingType type,
+            @Parameter(description = "Date the invoices are aged to; today when omitted") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @Parameter(description = "Restrict the report to one counterparty") @RequestParam(required = false) Long companyId) {
+        AgingReportDTO report = agingReportService.getAgingReport(type, asOf, companyId);
+        return ResponseEntity.ok(report);
+    }
+}
@@ -1,17 +1,34 @@
 package com.example.accounts.controller;
 
+import com.example.accounts.dto.CursorPageResponse;
+import com.example.accounts.dto.DocumentSearchQuery;
+import com.example.accounts.dto.InvoiceBatchPostRequest;
+import com.example.accounts.dto.InvoiceBatchPostResponse;
 import com.example.accounts.dto.InvoiceRequest;
 import com.example.accounts.dto.InvoiceResponse;
+import com.example.accounts.dto.InvoiceSummaryResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import com.example.accounts.service.DocumentSearchService;
+import com.example.accounts.service.InvoiceBatchPostingService;
 import com.example.accounts.service.InvoiceService;
+import com.example.accounts.service.PostingEngine;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/invoices")
@@ -21,6 +38,9 @@ import java.util.List;
 public class InvoiceController {
 
     private final InvoiceService invoiceService;
+    private final PostingEngine postingEngine;
+    private final InvoiceBatchPostingService invoiceBatchPostingService;
+    private final DocumentSearchService documentSearchService;
 
     @PostMapping
     @Operation(summary = "Create a new invoice")
@@ -37,12 +57,41 @@ public class InvoiceController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all invoices")
-    public ResponseEntity<List<InvoiceResponse>> getAllInvoices() {
-        List<InvoiceResponse> responses = invoiceService.getAllInvoices();
+    @Operation(summary = "Get invoices", description = "Paged and filtered; sortable by invoiceDate, invoiceNumber, dueDate, status, totalAmount, createdAt")
+    public ResponseEntity<PageResponse<InvoiceResponse>> getInvoices(
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) InvoiceStatus status,
+            @RequestParam(required = false) DocumentType documentType,
+            @Parameter(description = "Invoice date from (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Invoice date to (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @ParameterObject PageQuery pageQuery) {
+        PageResponse<InvoiceResponse> response = invoiceService.getInvoices(companyId, status, documentType, from, to, pageQuery);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/all")
+    @Operation(summary = "Get all invoices", description = "Every matching row as a plain array, at most accounts.paging.unpaged-limit; filters and sort as for the paged list")
+    public ResponseEntity<List<InvoiceResponse>> getAllInvoices(
+            @RequestParam(required = false) Long companyId,
+            @RequestParam(required = false) InvoiceStatus status,
+            @RequestParam(required = false) DocumentType documentType,
+            @Parameter(description = "Invoice date from (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Invoice date to (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Comma-separated sort fields, prefix with '-' for descending") @RequestParam(required = false) String sort) {
+        List<InvoiceResponse> responses = invoiceService.getInvoices(
+                companyId, status, documentType, from, to, PageQuery.unpaged(sort)).getContent();
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search invoices", description = "Combines company, document type, status, date range, amount range, number prefix, warehouse and contract; returns list columns only, newest first, paged by keyset cursor")
+    public ResponseEntity<CursorPageResponse<InvoiceSummaryResponse>> searchInvoices(
+            @RequestParam(required = false) InvoiceStatus status,
+            @ParameterObject DocumentSearchQuery query) {
+        CursorPageResponse<InvoiceSummaryResponse> response = documentSearchService.searchInvoices(status, query);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/company/{companyId}")
     @Operation(summary = "Get invoices by company")
     public ResponseEntity<List<InvoiceResponse>> getInvoicesByCompany(@PathVariable Long companyId) {
@@ -50,13 +99,21 @@ public class InvoiceController {
         return ResponseEntity.ok(responses);
     }
 
+    @PostMapping("/post-batch")
+    @Operation(summary = "Post many invoices at once", description = "Posts the given invoice ids, or every draft invoice matching the filter, partitioned by company and committed in chunks; returns one result per invoice")
+    public ResponseEntity<InvoiceBatchPostResponse> postInvoices(
+            @RequestBody InvoiceBatchPostRequest request,
+            @RequestParam(required = false, defaultValue = "system") String postedBy) {
+        InvoiceBatchPostResponse response = invoiceBatchPostingService.postBatch(request, postedBy);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{id}/post")
-    @Operation(summary = "Post an invoice (creates automatic journal entry)")
-    public ResponseEntity<InvoiceResponse> postInvoice(
+    @Operation(summary = "Post an invoice (creates automatic journal entry)", description = "Runs through the group-commit posting engine when accounts.posting.group-commit.enabled is set")
+    public CompletableFuture<ResponseEntity<InvoiceResponse>> postInvoice(
             @PathVariable Long id,
             @RequestParam(required = false, defaultValue = "system") String postedBy) {
-        InvoiceResponse response = invoiceService.postInvoice(id, postedBy);
-        return ResponseEntity.ok(response);
+        return postingEngine.postInvoice(id, postedBy).thenApply(ResponseEntity::ok);
     }
 
     @PutMapping("/{id}")
@@ -2,12 +2,16 @@ package com.example.accounts.controller;
 
 import com.example.accounts.dto.ItemRequest;
 import com.example.accounts.dto.ItemResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.entity.enums.ItemType;
 import com.example.accounts.service.ItemService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -52,9 +56,25 @@ public class ItemController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all items")
-    public ResponseEntity<List<ItemResponse>> getAllItems() {
-        List<ItemResponse> responses = itemService.getAllItems();
+    @Operation(summary = "Get items", description = "Paged and filtered; sortable by code, description, itemType, category, createdAt")
+    public ResponseEntity<PageResponse<ItemResponse>> getItems(
+            @RequestParam(required = false) ItemType itemType,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String category,
+            @ParameterObject PageQuery pageQuery) {
+        PageResponse<ItemResponse> response = itemService.getItems(itemType, isActive, category, pageQuery);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/all")
+    @Operation(summary = "Get all items", description = "Every matching row as a plain array, at most accounts.paging.unpaged-limit; filters and sort as for the paged list")
+    public ResponseEntity<List<ItemResponse>> getAllItems(
+            @RequestParam(required = false) ItemType itemType,
+            @RequestParam(required = false) Boolean isActive,
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Comma-separated sort fields, prefix with '-' for descending") @RequestParam(required = false) String sort) {
+        List<ItemResponse> responses = itemService.getItems(
+                itemType, isActive, category, PageQuery.unpaged(sort)).getContent();
         return ResponseEntity.ok(responses);
     }
 
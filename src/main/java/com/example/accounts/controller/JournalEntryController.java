@@ -1,18 +1,43 @@
 package com.example.accounts.controller;
 
+import com.example.accounts.dto.BulkImportResponse;
+import com.example.accounts.dto.BulkReversalRequest;
+import com.example.accounts.dto.BulkReversalResponse;
+import com.example.accounts.dto.CursorPageResponse;
+import com.example.accounts.dto.DocumentSearchQuery;
 import com.example.accounts.dto.JournalEntryRequest;
 import com.example.accounts.dto.JournalEntryResponse;
+import com.example.accounts.dto.JournalEntrySummaryResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.service.DocumentSearchService;
+import com.example.accounts.service.JournalEntryImportService;
+import com.example.accounts.service.JournalEntryReversalService;
 import com.example.accounts.service.JournalEntryService;
+import com.example.accounts.service.PostingEngine;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/journal-entries")
@@ -22,6 +47,10 @@ import java.util.List;
 public class JournalEntryController {
 
     private final JournalEntryService journalEntryService;
+    private final JournalEntryImportService journalEntryImportService;
+    private final JournalEntryReversalService journalEntryReversalService;
+    private final PostingEngine postingEngine;
+    private final DocumentSearchService documentSearchService;
 
     @PostMapping
     @Operation(summary = "Create a new journal entry")
@@ -30,6 +59,21 @@ public class JournalEntryController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/bulk", consumes = { "application/x-ndjson", "text/csv" })
+    @Operation(summary = "Bulk import journal entries", description = "Streams NDJSON (one entry per line) or CSV (one line per row, grouped by consecutive entryNumber). Entries are imported as drafts in chunks; invalid entries are reported per row without aborting the file")
+    public ResponseEntity<BulkImportResponse> bulkImport(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @Parameter(description = "Entries per batch/transaction (1-5000)") @RequestParam(required = false) Integer chunkSize,
+            @RequestParam(required = false, defaultValue = "system") String importedBy,
+            HttpServletRequest request) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        Reader body = new InputStreamReader(request.getInputStream(), charset);
+        BulkImportResponse response = MediaType.valueOf("text/csv").includes(contentType)
+                ? journalEntryImportService.importCsv(body, chunkSize, importedBy)
+                : journalEntryImportService.importNdjson(body, chunkSize, importedBy);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update journal entry (only drafts)")
     public ResponseEntity<JournalEntryResponse> updateJournalEntry(
@@ -47,12 +91,37 @@ public class JournalEntryController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all journal entries")
-    public ResponseEntity<List<JournalEntryResponse>> getAllJournalEntries() {
-        List<JournalEntryResponse> responses = journalEntryService.getAllJournalEntries();
+    @Operation(summary = "Get journal entries", description = "Paged and filtered; sortable by entryDate, entryNumber, status, totalDebit, createdAt")
+    public ResponseEntity<PageResponse<JournalEntryResponse>> getJournalEntries(
+            @RequestParam(required = false) JournalEntryStatus status,
+            @Parameter(description = "Entry date from (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Entry date to (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @ParameterObject PageQuery pageQuery) {
+        PageResponse<JournalEntryResponse> response = journalEntryService.getJournalEntries(status, from, to, pageQuery);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/all")
+    @Operation(summary = "Get all journal entries", description = "Every matching row as a plain array, at most accounts.paging.unpaged-limit; filters and sort as for the paged list")
+    public ResponseEntity<List<JournalEntryResponse>> getAllJournalEntries(
+            @RequestParam(required = false) JournalEntryStatus status,
+            @Parameter(description = "Entry date from (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Entry date to (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Comma-separated sort fields, prefix with '-' for descending") @RequestParam(required = false) String sort) {
+        List<JournalEntryResponse> responses = journalEntryService.getJournalEntries(
+                status, from, to, PageQuery.unpaged(sort)).getContent();
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/search")
+    @Operation(summary = "Search journal entries", description = "Combines company, document type, status, date range, amount range, reference prefix and the warehouse or contract of any line; returns header columns only, newest first, paged by keyset cursor")
+    public ResponseEntity<CursorPageResponse<JournalEntrySummaryResponse>> searchJournalEntries(
+            @RequestParam(required = false) JournalEntryStatus status,
+            @ParameterObject DocumentSearchQuery query) {
+        CursorPageResponse<JournalEntrySummaryResponse> response = documentSearchService.searchJournalEntries(status, query);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/status/{status}")
     @Operation(summary = "Get journal entries by status")
     public ResponseEntity<List<JournalEntryResponse>> getJournalEntriesByStatus(
@@ -62,20 +131,30 @@ public class JournalEntryController {
     }
 
     @PostMapping("/{id}/post")
-    @Operation(summary = "Post a journal entry")
-    public ResponseEntity<JournalEntryResponse> postJournalEntry(
+    @Operation(summary = "Post a journal entry", description = "Runs through the group-commit posting engine when accounts.posting.group-commit.enabled is set")
+    public CompletableFuture<ResponseEntity<JournalEntryResponse>> postJournalEntry(
             @PathVariable Long id,
             @RequestParam(required = false, defaultValue = "system") String postedBy) {
-        JournalEntryResponse response = journalEntryService.postJournalEntry(id, postedBy);
-        return ResponseEntity.ok(response);
+        return postingEngine.postJournalEntry(id, postedBy).thenApply(ResponseEntity::ok);
     }
 
     @PostMapping("/{id}/reverse")
-    @Operation(summary = "Reverse a posted journal entry")
+    @Operation(summary = "Reverse a posted journal entry", description = "Books a contra entry with debits and credits swapped and marks the original REVERSED; returns the contra entry")
     public ResponseEntity<JournalEntryResponse> reverseJournalEntry(
             @PathVariable Long id,
+            @Parameter(description = "Date of the contra entry; defaults to the original entry date")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate reversalDate,
+            @RequestParam(required = false, defaultValue = "system") String reversedBy) {
+        JournalEntryResponse response = journalEntryService.reverseJournalEntry(id, reversalDate, reversedBy);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/reverse-bulk")
+    @Operation(summary = "Reverse all posted journal entries matching a filter", description = "Entries are reversed in chunks, each committed in its own transaction; at least one filter is required")
+    public ResponseEntity<BulkReversalResponse> reverseJournalEntries(
+            @RequestBody BulkReversalRequest request,
             @RequestParam(required = false, defaultValue = "system") String reversedBy) {
-        JournalEntryResponse response = journalEntryService.reverseJournalEntry(id, reversedBy);
+        BulkReversalResponse response = journalEntryReversalService.reverseMatching(request, reversedBy);
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,36 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.LedgerStatementResponse;
+import com.example.accounts.service.GeneralLedgerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/ledger")
+@CrossOrigin(origins = "http://localhost:5174")
+@RequiredArgsConstructor
+@Tag(name = "General Ledger", description = "APIs for browsing posted general-ledger lines")
+public class LedgerController {
+
+    private final GeneralLedgerService generalLedgerService;
+
+    @GetMapping("/accounts/{accountId}/lines")
+    @Operation(summary = "Get account statement", description = "Chronological posted lines of an account with running balance, paged by keyset cursor")
+    public ResponseEntity<LedgerStatementResponse> getAccountLines(
+            @PathVariable Long accountId,
+            @RequestParam(required = false) Long companyId,
+            @Parameter(description = "Start date (inclusive); defaults to the start of the year") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "End date (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-1000, default 100)") @RequestParam(required = false) Integer size) {
+        LedgerStatementResponse response = generalLedgerService.getAccountStatement(accountId, companyId, from, to, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.LedgerSnapshotStatsResponse;
+import com.example.accounts.dto.TurnoverCubeQuery;
+import com.example.accounts.dto.TurnoverCubeResponse;
+import com.example.accounts.service.LedgerSnapshotService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/ledger-snapshot")
+@CrossOrigin(origins = "http://localhost:5174")
+@RequiredArgsConstructor
+@Tag(name = "Ledger Snapshot", description = "APIs for ad-hoc aggregation over the optional in-memory columnar copy of posted journal lines")
+public class LedgerSnapshotController {
+
+    private final LedgerSnapshotService ledgerSnapshotService;
+
+    @GetMapping
+    @Operation(summary = "Aggregate the ledger snapshot", description = "Same dimensions and filters as the turnover cube, but from/to are exact entry dates. Requires accounts.ledger-snapshot.enabled=true")
+    public ResponseEntity<TurnoverCubeResponse> aggregate(@ParameterObject TurnoverCubeQuery query) {
+        return ResponseEntity.ok(ledgerSnapshotService.aggregate(query));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Get ledger snapshot size and load state")
+    public ResponseEntity<LedgerSnapshotStatsResponse> getStats() {
+        return ResponseEntity.ok(ledgerSnapshotService.getStats());
+    }
+
+    @PostMapping("/reload")
+    @Operation(summary = "Reload the ledger snapshot from posted journal lines", description = "Picks up entries posted by other application nodes")
+    public ResponseEntity<LedgerSnapshotStatsResponse> reload() {
+        return ResponseEntity.ok(ledgerSnapshotService.reload());
+    }
+}
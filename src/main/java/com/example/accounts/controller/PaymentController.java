@@ -0,0 +1,63 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.PaymentBatchResponse;
+import com.example.accounts.dto.PaymentRequest;
+import com.example.accounts.dto.PaymentResponse;
+import com.example.accounts.service.PaymentBatchService;
+import com.example.accounts.service.PaymentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/payments")
+@CrossOrigin(origins = "http://localhost:5174")
+@RequiredArgsConstructor
+@Tag(name = "Payments", description = "APIs for applying customer receipts and supplier payments to open invoices")
+public class PaymentController {
+
+    private final PaymentService paymentService;
+    private final PaymentBatchService paymentBatchService;
+
+    @PostMapping
+    @Operation(summary = "Apply a payment", description = "Allocates the amount to the given invoices, or to the company's open invoices oldest due first; the rest is booked as an advance. Posts the settlement journal entry")
+    public ResponseEntity<PaymentResponse> applyPayment(
+            @Valid @RequestBody PaymentRequest request,
+            @RequestParam(required = false, defaultValue = "system") String createdBy) {
+        PaymentResponse response = paymentService.applyPayment(request, createdBy);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    @Operation(summary = "Apply a file of payments", description = "Streams NDJSON, one payment per line. Payments are partitioned by company and applied in chunks; invalid payments are reported per row without aborting the file")
+    public ResponseEntity<PaymentBatchResponse> applyPayments(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @Parameter(description = "Payments per transaction (1-5000)") @RequestParam(required = false) Integer chunkSize,
+            @RequestParam(required = false, defaultValue = "system") String createdBy,
+            HttpServletRequest request) throws IOException {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        PaymentBatchResponse response = paymentBatchService.importNdjson(
+                new InputStreamReader(request.getInputStream(), charset), chunkSize, createdBy);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get payment by ID")
+    public ResponseEntity<PaymentResponse> getPaymentById(@PathVariable Long id) {
+        PaymentResponse response = paymentService.getPaymentById(id);
+        return ResponseEntity.ok(response);
+    }
+}
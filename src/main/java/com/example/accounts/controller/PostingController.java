@@ -0,0 +1,27 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.PostingRetryStatsResponse;
+import com.example.accounts.service.PostingRetryPolicy;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/posting")
+@CrossOrigin(origins = "http://localhost:5174")
+@RequiredArgsConstructor
+@Tag(name = "Posting", description = "APIs for monitoring document posting")
+public class PostingController {
+
+    private final PostingRetryPolicy postingRetryPolicy;
+
+    @GetMapping("/retry-stats")
+    @Operation(summary = "Get optimistic-lock conflict and retry counters per posting operation", description = "Counters are kept in memory since application start")
+    public ResponseEntity<List<PostingRetryStatsResponse>> getRetryStats() {
+        return ResponseEntity.ok(postingRetryPolicy.getStats());
+    }
+}
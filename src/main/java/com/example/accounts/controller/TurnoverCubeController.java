@@ -0,0 +1,35 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.TurnoverCubeQuery;
+import com.example.accounts.dto.TurnoverCubeRebuildResponse;
+import com.example.accounts.dto.TurnoverCubeResponse;
+import com.example.accounts.service.TurnoverCubeService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/turnover-cube")
+@CrossOrigin(origins = "http://localhost:5174")
+@RequiredArgsConstructor
+@Tag(name = "Turnover Cube", description = "APIs for slicing posted turnover by account, company, item, warehouse, contract and period")
+public class TurnoverCubeController {
+
+    private final TurnoverCubeService turnoverCubeService;
+
+    @GetMapping
+    @Operation(summary = "Slice the turnover cube", description = "Groups posted debit, credit and quantity by the given dimensions (ACCOUNT, COMPANY, ITEM, WAREHOUSE, CONTRACT, YEAR, PERIOD) and rolls up the rest, e.g. dimensions=ITEM,WAREHOUSE,PERIOD&accountCodePrefix=4")
+    public ResponseEntity<TurnoverCubeResponse> slice(@ParameterObject TurnoverCubeQuery query) {
+        return ResponseEntity.ok(turnoverCubeService.slice(query));
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Recompute the turnover cube from posted journal lines")
+    public ResponseEntity<TurnoverCubeRebuildResponse> rebuild() {
+        TurnoverCubeRebuildResponse response = turnoverCubeService.rebuild();
+        return ResponseEntity.ok(response);
+    }
+}
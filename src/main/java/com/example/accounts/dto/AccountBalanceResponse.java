@@ -0,0 +1,25 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceResponse {
+    private Long accountId;
+    private String accountCode;
+    private String accountDescription;
+    private Long companyId;
+    private Integer fiscalYear;
+    private Integer fiscalPeriod;
+    private BigDecimal openingBalance;
+    private BigDecimal debitTurnover;
+    private BigDecimal creditTurnover;
+    private BigDecimal closingBalance;
+}
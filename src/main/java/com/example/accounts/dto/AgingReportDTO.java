@@ -0,0 +1,27 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.AgingType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the AR/AP aging report: open amounts per counterparty by days past due
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgingReportDTO {
+    private AgingType type;
+    private LocalDate asOf;
+    private Long companyId;
+    private List<AgingRowDTO> rows;
+    private AgingRowDTO totals;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,26 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AgingRowDTO {
+    private Long companyId;
+    private String companyCode;
+    private String companyName;
+    private long invoiceCount;
+    private BigDecimal current; // not yet due
+    private BigDecimal days1To30;
+    private BigDecimal days31To60;
+    private BigDecimal days61To90;
+    private BigDecimal days91To120;
+    private BigDecimal over120;
+    private BigDecimal total;
+}
@@ -0,0 +1,21 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceDriftResponse {
+    private Long accountId;
+    private Long companyId;
+    private Integer fiscalYear;
+    private Integer fiscalPeriod;
+    private BigDecimal storedClosingBalance;
+    private BigDecimal expectedClosingBalance;
+}
@@ -0,0 +1,23 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceRebuildResponse {
+    private Boolean dryRun;
+    private Integer expectedRows;
+    private Integer storedRows;
+    private Integer driftCount;
+    private Integer insertedRows;
+    private Integer updatedRows;
+    private Integer deletedRows;
+    private List<BalanceDriftResponse> drifts;
+}
@@ -0,0 +1,16 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportError {
+    private Long rowNumber; // first source row (NDJSON line or CSV row) of the rejected entry
+    private String entryNumber;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResponse {
+    private String format;
+    private Integer chunkSize;
+    private long rowsRead;
+    private long entriesRead;
+    private long entriesImported;
+    private long linesImported;
+    private long entriesRejected;
+    private Boolean errorsTruncated; // true when more errors occurred than are listed
+    @Builder.Default
+    private List<BulkImportError> errors = new ArrayList<>();
+}
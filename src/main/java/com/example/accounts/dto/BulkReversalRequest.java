@@ -0,0 +1,26 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Filter for bulk reversal; posted entries matching every given field are reversed
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReversalRequest {
+    private String referencePrefix;
+    private DocumentType documentType;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Long companyId;
+    private LocalDate reversalDate; // date of the contra entries; each original's own date when omitted
+    private Integer chunkSize;
+}
@@ -0,0 +1,26 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReversalResponse {
+    private LocalDate reversalDate;
+    private Integer chunkSize;
+    private long chunks;
+    private long entriesReversed;
+    private long linesReversed;
+    private long entriesFailed;
+    @Builder.Default
+    private List<BulkImportError> errors = new ArrayList<>(); // entryNumber holds the original entry's number
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,25 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cash flow item of a consolidated period; amounts are keyed by entity plus TOTAL
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsolidatedCashFlowLineDTO {
+
+    private String itemCode;
+    private String itemDescription;
+    private String flowType;
+    private String category;
+    private Integer displayOrder;
+    private Map<String, BigDecimal> amounts = new LinkedHashMap<>();
+}
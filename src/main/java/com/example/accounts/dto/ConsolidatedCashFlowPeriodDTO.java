@@ -0,0 +1,33 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One period of a consolidated cash flow statement; totals are keyed by entity plus TOTAL
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsolidatedCashFlowPeriodDTO {
+
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String period;
+
+    private List<ConsolidatedCashFlowLineDTO> inflowItems = new ArrayList<>();
+    private Map<String, BigDecimal> totalInflow = new LinkedHashMap<>();
+
+    private List<ConsolidatedCashFlowLineDTO> outflowItems = new ArrayList<>();
+    private Map<String, BigDecimal> totalOutflow = new LinkedHashMap<>();
+
+    private Map<String, BigDecimal> netFlow = new LinkedHashMap<>();
+}
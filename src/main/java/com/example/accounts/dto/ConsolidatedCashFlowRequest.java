@@ -0,0 +1,29 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Entities and periods of a consolidated cash flow statement; without periods all time is one period
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsolidatedCashFlowRequest {
+    private List<String> entities;
+    private List<Period> periods;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Period {
+        private LocalDate startDate;
+        private LocalDate endDate;
+    }
+}
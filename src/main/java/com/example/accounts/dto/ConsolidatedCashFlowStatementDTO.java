@@ -0,0 +1,28 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cash flow statement for a group of entities, one section per requested period
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsolidatedCashFlowStatementDTO {
+
+    private String title = "CONSOLIDATED CASH FLOW STATEMENT";
+    private String currency;
+
+    // Column order of the amounts in every period
+    private List<String> entities = new ArrayList<>();
+
+    private List<ConsolidatedCashFlowPeriodDTO> periods = new ArrayList<>();
+
+    private int slices;
+    private long elapsedMillis;
+}
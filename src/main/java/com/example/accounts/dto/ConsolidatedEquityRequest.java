@@ -0,0 +1,21 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Companies and fiscal year range of a consolidated statement of changes in equity
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsolidatedEquityRequest {
+    private List<String> companies;
+    private Integer startYear;
+    private Integer endYear;
+}
@@ -0,0 +1,33 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statement of changes in equity for a group of companies.
+ * Rows are those of the single-company statement; their values are keyed by company name, each
+ * holding that company's total equity, plus TOTAL for the group.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsolidatedEquityStatementDTO {
+
+    private String title = "CONSOLIDATED STATEMENT OF CHANGES IN EQUITY";
+    private String currency;
+    private Integer startYear;
+    private Integer endYear;
+    private String period;
+
+    // Column order of the row values
+    private List<String> companies = new ArrayList<>();
+
+    private List<EquityRowDTO> rows = new ArrayList<>();
+
+    private int slices;
+    private long elapsedMillis;
+}
@@ -0,0 +1,55 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DocumentType;
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Filters and cursor shared by the invoice and journal entry search endpoints, bound from the
+ * query string, e.g. {@code ?companyId=7&from=2025-01-01&minAmount=100&size=50}.
+ * Every filter is optional; the given ones are combined with AND.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DocumentSearchQuery {
+
+    private Long companyId;
+
+    private DocumentType documentType;
+
+    @Parameter(description = "Document date from (inclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @Parameter(description = "Document date to (inclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    @Parameter(description = "Minimum document total (inclusive)")
+    private BigDecimal minAmount;
+
+    @Parameter(description = "Maximum document total (inclusive)")
+    private BigDecimal maxAmount;
+
+    @Parameter(description = "Prefix of the invoice number or journal entry reference number")
+    private String reference;
+
+    private String warehouse;
+
+    private String contract;
+
+    @Parameter(description = "nextCursor from the previous page")
+    private String cursor;
+
+    @Parameter(description = "Rows per page, at most accounts.paging.max-size")
+    private Integer size;
+}
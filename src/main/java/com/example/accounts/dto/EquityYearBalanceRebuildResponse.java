@@ -0,0 +1,15 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquityYearBalanceRebuildResponse {
+    private int deletedRows;
+    private int insertedRows;
+}
@@ -0,0 +1,26 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DocumentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Invoices to post in one batch: explicit ids, or every draft invoice matching the filter fields
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceBatchPostRequest {
+    private List<Long> invoiceIds;
+    private Long companyId;
+    private DocumentType documentType;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Integer chunkSize;
+}
@@ -0,0 +1,22 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceBatchPostResponse {
+    private int requested;
+    private int posted;
+    private int failed;
+    private int partitions; // companies
+    private int chunks;
+    private long elapsedMillis;
+    private List<InvoicePostingResultDTO> results;
+}
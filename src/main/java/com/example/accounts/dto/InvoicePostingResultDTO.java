@@ -0,0 +1,20 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoicePostingResultDTO {
+    private Long invoiceId;
+    private String invoiceNumber;
+    private Long companyId;
+    private boolean posted;
+    private Long journalEntryId;
+    private String journalEntryNumber;
+    private String error;
+}
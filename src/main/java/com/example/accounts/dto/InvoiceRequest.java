@@ -1,9 +1,9 @@
 package com.example.accounts.dto;
 
 import com.example.accounts.entity.enums.DocumentType;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +18,8 @@ import java.util.List;
 @AllArgsConstructor
 public class InvoiceRequest {
 
-    @NotBlank(message = "Invoice number is required")
+    // Assigned by the server when omitted
+    @Size(max = 50, message = "Invoice number must be at most 50 characters")
     private String invoiceNumber;
 
     @NotNull(message = "Invoice date is required")
@@ -0,0 +1,31 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InvoiceSummaryResponse {
+    private Long invoiceId;
+    private String invoiceNumber;
+    private LocalDate invoiceDate;
+    private LocalDate dueDate;
+    private DocumentType documentType;
+    private InvoiceStatus status;
+    private Long companyId;
+    private String companyCode;
+    private String companyName;
+    private String warehouse;
+    private String contract;
+    private BigDecimal totalAmount;
+    private BigDecimal paidAmount;
+}
@@ -4,6 +4,7 @@ import com.example.accounts.entity.enums.DocumentType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +19,8 @@ import java.util.List;
 @AllArgsConstructor
 public class JournalEntryRequest {
 
-    @NotBlank(message = "Entry number is required")
+    // Assigned by the server when omitted
+    @Size(max = 50, message = "Entry number must be at most 50 characters")
     private String entryNumber;
 
     @NotNull(message = "Entry date is required")
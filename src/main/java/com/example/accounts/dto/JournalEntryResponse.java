@@ -31,6 +31,7 @@ public class JournalEntryResponse {
     private JournalEntryStatus status;
     private LocalDateTime postedDate;
     private String postedBy;
+    private Long reversalOfId; // set on contra entries created by a reversal
     private List<JournalEntryLineResponse> lines;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,30 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalEntrySummaryResponse {
+    private Long journalEntryId;
+    private String entryNumber;
+    private LocalDate entryDate;
+    private DocumentType documentType;
+    private JournalEntryStatus status;
+    private String description;
+    private String referenceNumber;
+    private Long companyId;
+    private String companyCode;
+    private String companyName;
+    private BigDecimal totalDebit;
+    private BigDecimal totalCredit;
+}
@@ -0,0 +1,24 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerLineResponse {
+    private Long lineId;
+    private Long journalEntryId;
+    private LocalDate entryDate;
+    private String entryNumber;
+    private String description;
+    private BigDecimal debitAmount;
+    private BigDecimal creditAmount;
+    private BigDecimal runningBalance;
+}
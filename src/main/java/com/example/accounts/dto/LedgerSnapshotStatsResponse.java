@@ -0,0 +1,23 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerSnapshotStatsResponse {
+    private boolean enabled;
+    private boolean loaded;
+    private boolean loading;
+    private int lines;
+    private int entries;
+    private long columnBytes; // heap held by the column arrays, including spare capacity
+    private LocalDateTime loadedAt;
+    private long loadMillis;
+}
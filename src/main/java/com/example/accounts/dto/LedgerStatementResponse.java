@@ -0,0 +1,28 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LedgerStatementResponse {
+    private Long accountId;
+    private String accountCode;
+    private String accountDescription;
+    private Long companyId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private BigDecimal openingBalance; // balance before the first line of this page
+    private BigDecimal closingBalance; // running balance after the last line of this page
+    private List<LedgerLineResponse> lines;
+    private String nextCursor;
+    private Boolean hasMore;
+}
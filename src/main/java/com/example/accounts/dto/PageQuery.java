@@ -0,0 +1,37 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Paging parameters shared by list endpoints, bound from the query string,
+ * e.g. {@code ?page=0&size=50&sort=-entryDate,entryNumber}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageQuery {
+
+    @Parameter(description = "Zero-based page index")
+    private Integer page;
+
+    @Parameter(description = "Rows per page, at most accounts.paging.max-size")
+    private Integer size;
+
+    @Parameter(description = "Comma-separated sort fields, prefix with '-' for descending (e.g. -entryDate,entryNumber)")
+    private String sort;
+
+    @Parameter(description = "Return every matching row in one page; rejected when more than accounts.paging.unpaged-limit rows match")
+    private boolean unpaged;
+
+    /**
+     * Every matching row in the given order, for the /all list endpoints
+     */
+    public static PageQuery unpaged(String sort) {
+        return PageQuery.builder().sort(sort).unpaged(true).build();
+    }
+}
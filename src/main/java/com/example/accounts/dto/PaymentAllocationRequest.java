@@ -0,0 +1,24 @@
+package com.example.accounts.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentAllocationRequest {
+
+    @NotNull(message = "Invoice is required on every allocation")
+    private Long invoiceId;
+
+    @NotNull(message = "Allocation amount is required")
+    @Positive(message = "Allocation amount must be positive")
+    private BigDecimal amount;
+}
@@ -0,0 +1,19 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentAllocationResponse {
+    private Long allocationId;
+    private Long invoiceId;
+    private String invoiceNumber;
+    private BigDecimal amount;
+}
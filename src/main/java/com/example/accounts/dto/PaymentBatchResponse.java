@@ -0,0 +1,28 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentBatchResponse {
+    private long rowsRead;
+    private int applied;
+    private int rejected;
+    private BigDecimal amountApplied;
+    private BigDecimal amountAllocated;
+    private int partitions; // companies
+    private int chunks;
+    private long elapsedMillis;
+    @Builder.Default
+    private List<BulkImportError> errors = new ArrayList<>(); // entryNumber holds the payment number or reference
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,53 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.PaymentMethod;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentRequest {
+
+    // Assigned by the server when omitted
+    @Size(max = 50, message = "Payment number must be at most 50 characters")
+    private String paymentNumber;
+
+    @NotNull(message = "Payment date is required")
+    private LocalDate paymentDate;
+
+    // RECEIPT_VOUCHER settles customer invoices, PAYMENT_VOUCHER supplier invoices
+    @NotNull(message = "Document type is required")
+    private DocumentType documentType;
+
+    @NotNull(message = "Company is required")
+    private Long companyId;
+
+    private PaymentMethod paymentMethod; // defaults to BANK_TRANSFER
+
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+
+    @NotNull(message = "Bank account is required")
+    private Long bankAccountId;
+
+    @Size(max = 100, message = "Reference must be at most 100 characters")
+    private String reference;
+
+    // Explicit allocations; when omitted the amount is allocated to the oldest open invoices first
+    @Valid
+    private List<PaymentAllocationRequest> allocations;
+}
@@ -0,0 +1,36 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.PaymentMethod;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentResponse {
+    private Long paymentId;
+    private String paymentNumber;
+    private LocalDate paymentDate;
+    private DocumentType documentType;
+    private Long companyId;
+    private PaymentMethod paymentMethod;
+    private BigDecimal amount;
+    private BigDecimal allocatedAmount;
+    private BigDecimal unallocatedAmount; // booked as an advance
+    private Long bankAccountId;
+    private String reference;
+    private Long journalEntryId;
+    private String journalEntryNumber;
+    private List<PaymentAllocationResponse> allocations;
+    private LocalDateTime createdAt;
+    private String createdBy;
+}
@@ -0,0 +1,22 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optimistic-lock retry counters of one posting operation since startup
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostingRetryStatsResponse {
+    private String operation;
+    private long operations;   // calls made
+    private long conflicts;    // attempts that failed on a concurrent update
+    private long retries;      // attempts re-run after a conflict
+    private long recovered;    // calls that succeeded after at least one retry
+    private long exhausted;    // calls that gave up and surfaced the conflict
+}
@@ -0,0 +1,57 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for Trial Balance report
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrialBalanceDTO {
+
+    private String title = "TRIAL BALANCE";
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Long companyId;
+
+    private List<TrialBalanceSectionDTO> sections = new ArrayList<>();
+
+    private BigDecimal totalOpeningDebit = BigDecimal.ZERO;
+    private BigDecimal totalOpeningCredit = BigDecimal.ZERO;
+    private BigDecimal totalDebitTurnover = BigDecimal.ZERO;
+    private BigDecimal totalCreditTurnover = BigDecimal.ZERO;
+    private BigDecimal totalClosingDebit = BigDecimal.ZERO;
+    private BigDecimal totalClosingCredit = BigDecimal.ZERO;
+
+    private Boolean balanced = true;
+
+    /**
+     * Calculate grand totals from section subtotals
+     */
+    public void calculateTotals() {
+        totalOpeningDebit = sum(TrialBalanceSectionDTO::getOpeningDebit);
+        totalOpeningCredit = sum(TrialBalanceSectionDTO::getOpeningCredit);
+        totalDebitTurnover = sum(TrialBalanceSectionDTO::getDebitTurnover);
+        totalCreditTurnover = sum(TrialBalanceSectionDTO::getCreditTurnover);
+        totalClosingDebit = sum(TrialBalanceSectionDTO::getClosingDebit);
+        totalClosingCredit = sum(TrialBalanceSectionDTO::getClosingCredit);
+
+        balanced = totalOpeningDebit.compareTo(totalOpeningCredit) == 0
+                && totalDebitTurnover.compareTo(totalCreditTurnover) == 0
+                && totalClosingDebit.compareTo(totalClosingCredit) == 0;
+    }
+
+    private BigDecimal sum(java.util.function.Function<TrialBalanceSectionDTO, BigDecimal> field) {
+        return sections.stream()
+                .map(field)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
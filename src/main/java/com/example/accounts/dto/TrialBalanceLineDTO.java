@@ -0,0 +1,27 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.AccountBalanceType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrialBalanceLineDTO {
+    private Long accountId;
+    private String accountCode;
+    private String accountDescription;
+    private String section;
+    private AccountBalanceType accountType;
+    private BigDecimal openingDebit;
+    private BigDecimal openingCredit;
+    private BigDecimal debitTurnover;
+    private BigDecimal creditTurnover;
+    private BigDecimal closingDebit;
+    private BigDecimal closingCredit;
+}
@@ -0,0 +1,41 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a trial balance section with its subtotals
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrialBalanceSectionDTO {
+
+    private String section;
+    private List<TrialBalanceLineDTO> lines = new ArrayList<>();
+
+    private BigDecimal openingDebit = BigDecimal.ZERO;
+    private BigDecimal openingCredit = BigDecimal.ZERO;
+    private BigDecimal debitTurnover = BigDecimal.ZERO;
+    private BigDecimal creditTurnover = BigDecimal.ZERO;
+    private BigDecimal closingDebit = BigDecimal.ZERO;
+    private BigDecimal closingCredit = BigDecimal.ZERO;
+
+    /**
+     * Add a line and roll it into the section subtotals
+     */
+    public void addLine(TrialBalanceLineDTO line) {
+        lines.add(line);
+        openingDebit = openingDebit.add(line.getOpeningDebit());
+        openingCredit = openingCredit.add(line.getOpeningCredit());
+        debitTurnover = debitTurnover.add(line.getDebitTurnover());
+        creditTurnover = creditTurnover.add(line.getCreditTurnover());
+        closingDebit = closingDebit.add(line.getClosingDebit());
+        closingCredit = closingCredit.add(line.getClosingCredit());
+    }
+}
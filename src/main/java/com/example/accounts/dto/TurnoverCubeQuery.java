@@ -0,0 +1,43 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.CubeDimension;
+import io.swagger.v3.oas.annotations.Parameter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Slice of the turnover cube: the dimensions to group by plus optional filters
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnoverCubeQuery {
+
+    @Parameter(description = "Dimensions to group by; all others are rolled up. Empty returns the grand total")
+    private List<CubeDimension> dimensions;
+
+    @Parameter(description = "First period, as any date in its month")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @Parameter(description = "Last period, as any date in its month")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private List<Long> accountIds;
+
+    @Parameter(description = "Account code prefix, e.g. 4 for all revenue accounts")
+    private String accountCodePrefix;
+
+    private Long companyId;
+    private Long itemId;
+    private String warehouse;
+    private String contract;
+}
@@ -0,0 +1,25 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.enums.CubeDimension;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnoverCubeResponse {
+    private List<CubeDimension> dimensions;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private List<TurnoverCubeRowDTO> rows;
+    private BigDecimal totalDebit;
+    private BigDecimal totalCredit;
+    private BigDecimal totalQuantity;
+}
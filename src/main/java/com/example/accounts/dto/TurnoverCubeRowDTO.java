@@ -0,0 +1,30 @@
+package com.example.accounts.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One group of a turnover cube slice; dimensions that were rolled up are null
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnoverCubeRowDTO {
+    private Long accountId;
+    private String accountCode;
+    private Long companyId;
+    private Long itemId;
+    private String warehouse;
+    private String contract;
+    private Integer fiscalYear;
+    private Integer fiscalPeriod;
+    private BigDecimal debitTurnover;
+    private BigDecimal creditTurnover;
+    private BigDecimal netTurnover; // debit - credit
+    private BigDecimal quantity;
+}
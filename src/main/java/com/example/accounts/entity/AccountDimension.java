@@ -16,7 +16,8 @@ import lombok.NoArgsConstructor;
 public class AccountDimension {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "account_dimensions_id")
+    @TableGenerator(name = "account_dimensions_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "account_dimensions", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "dimension_id")
     private Long dimensionId;
 
@@ -0,0 +1,77 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running balance of a GL account per company and fiscal period (calendar month).
+ * Maintained incrementally when journal entries are posted or reversed.
+ * The unique key uses the generated company_key (company_id, or 0 for lines without a company)
+ * so it covers every row and concurrent first postings meet on the same key.
+ */
+@Entity
+@Table(name = "account_period_balances", uniqueConstraints = @UniqueConstraint(name = "uk_apb_account_company_period", columnNames = {
+        "account_id", "company_key", "fiscal_year", "fiscal_period" }))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountPeriodBalance {
+
+    /**
+     * company_key of rows without a company
+     */
+    public static final long NO_COMPANY = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "balance_id")
+    private Long balanceId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "company_id")
+    private Long companyId;
+
+    @Column(name = "company_key", insertable = false, updatable = false)
+    private Long companyKey;
+
+    @Column(name = "fiscal_year", nullable = false)
+    private Integer fiscalYear;
+
+    @Column(name = "fiscal_period", nullable = false)
+    private Integer fiscalPeriod; // 1 - 12
+
+    @Column(name = "opening_balance", precision = 19, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal openingBalance = BigDecimal.ZERO;
+
+    @Column(name = "debit_turnover", precision = 19, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal debitTurnover = BigDecimal.ZERO;
+
+    @Column(name = "credit_turnover", precision = 19, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal creditTurnover = BigDecimal.ZERO;
+
+    @Column(name = "closing_balance", precision = 19, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal closingBalance = BigDecimal.ZERO;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "audit_logs_id")
+    @TableGenerator(name = "audit_logs_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "audit_logs", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "audit_id")
     private Long auditId;
 
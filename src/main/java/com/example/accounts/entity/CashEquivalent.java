@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class CashEquivalent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cash_equivalents_id")
+    @TableGenerator(name = "cash_equivalents_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "cash_equivalents", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "cash_equivalent_id")
     private Long cashEquivalentId;
 
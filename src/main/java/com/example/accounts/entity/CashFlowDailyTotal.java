@@ -0,0 +1,61 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Posted cash flow of one entity, day, cash flow item, flow type, category and currency, with the
+ * number of transactions behind it. Maintained incrementally when cash flow transactions are
+ * posted. A missing entity, category or currency is stored as an empty string so the unique key
+ * covers every row.
+ */
+@Entity
+@Table(name = "cash_flow_daily_totals", uniqueConstraints = @UniqueConstraint(name = "uk_cash_flow_daily_totals", columnNames = {
+        "entity", "transaction_date", "cash_flow_item_id", "flow_type", "category", "currency" }))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CashFlowDailyTotal {
+
+    public static final String NO_VALUE = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "total_id")
+    private Long totalId;
+
+    @Column(name = "entity", nullable = false, length = 200)
+    private String entity;
+
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDate transactionDate;
+
+    @Column(name = "cash_flow_item_id", nullable = false)
+    private Long cashFlowItemId;
+
+    @Column(name = "flow_type", nullable = false, length = 20)
+    private String flowType;
+
+    @Column(name = "category", nullable = false, length = 50)
+    private String category;
+
+    @Column(name = "currency", nullable = false, length = 10)
+    private String currency;
+
+    @Column(name = "amount", precision = 19, scale = 4, nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Integer transactionCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "cash_flow_items")
+@BatchSize(size = 50)
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,7 +21,8 @@ import java.time.LocalDateTime;
 public class CashFlowItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cash_flow_items_id")
+    @TableGenerator(name = "cash_flow_items_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "cash_flow_items", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "cash_flow_item_id")
     private Long cashFlowItemId;
 
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class CashFlowTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "cash_flow_transactions_id")
+    @TableGenerator(name = "cash_flow_transactions_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "cash_flow_transactions", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "transaction_id")
     private Long transactionId;
 
@@ -82,6 +83,11 @@ public class CashFlowTransaction {
     @Column(name = "updated_by", length = 100)
     private String updatedBy;
 
+    // Optimistic lock; a concurrent post of the same document fails instead of committing twice
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,6 +16,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "chart_of_accounts")
+@BatchSize(size = 50)
 @Data
 @Builder
 @NoArgsConstructor
@@ -22,7 +24,8 @@ import java.util.List;
 public class ChartOfAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "chart_of_accounts_id")
+    @TableGenerator(name = "chart_of_accounts_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "chart_of_accounts", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "account_id")
     private Long accountId;
 
@@ -62,6 +65,7 @@ public class ChartOfAccount {
     private String details;
 
     @OneToMany(mappedBy = "chartOfAccount", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<AccountDimension> dimensions = new ArrayList<>();
 
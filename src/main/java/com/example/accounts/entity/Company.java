@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,6 +14,22 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "companies")
+@BatchSize(size = 50)
+@NamedEntityGraph(name = "Company.withGLAccounts", attributeNodes = @NamedAttributeNode(value = "companyGLAccount", subgraph = "glAccounts"), subgraphs = @NamedSubgraph(name = "glAccounts", attributeNodes = {
+        @NamedAttributeNode("accountsReceivable"),
+        @NamedAttributeNode("advancesReceived"),
+        @NamedAttributeNode("pdcsReceived"),
+        @NamedAttributeNode("contractAssets"),
+        @NamedAttributeNode("retentionReceivables"),
+        @NamedAttributeNode("retentionOutputVAT"),
+        @NamedAttributeNode("accountsPayable"),
+        @NamedAttributeNode("advancesPaid"),
+        @NamedAttributeNode("pdcsIssued"),
+        @NamedAttributeNode("retentionPayables"),
+        @NamedAttributeNode("retentionInputVAT"),
+        @NamedAttributeNode("unbilledPurchases"),
+        @NamedAttributeNode("advanceToReceive")
+}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,7 +37,8 @@ import java.time.LocalDateTime;
 public class Company {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "companies_id")
+    @TableGenerator(name = "companies_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "companies", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "company_id")
     private Long companyId;
 
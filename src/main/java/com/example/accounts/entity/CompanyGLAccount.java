@@ -4,10 +4,14 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "company_gl_accounts")
+@BatchSize(size = 50)
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,12 +19,15 @@ import lombok.NoArgsConstructor;
 public class CompanyGLAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "company_gl_accounts_id")
+    @TableGenerator(name = "company_gl_accounts_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "company_gl_accounts", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "company_gl_account_id")
     private Long companyGLAccountId;
 
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "company_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Company company;
 
     // Customer Accounts
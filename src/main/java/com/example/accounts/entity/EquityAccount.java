@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,13 +16,15 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "equity_accounts")
+@BatchSize(size = 50)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class EquityAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "equity_accounts_id")
+    @TableGenerator(name = "equity_accounts_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "equity_accounts", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "equity_account_id")
     private Long equityAccountId;
 
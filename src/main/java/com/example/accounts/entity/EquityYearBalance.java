@@ -0,0 +1,51 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Posted equity movements of one account, company, fiscal year and transaction type. Balances are
+ * not stored: the balance at the end of a year is the sum of the amounts up to that year, so a
+ * posting only ever touches its own row. Maintained incrementally when equity transactions are
+ * posted; a missing company is stored as an empty string so the unique key covers every row.
+ */
+@Entity
+@Table(name = "equity_year_balances", uniqueConstraints = @UniqueConstraint(name = "uk_equity_year_balances", columnNames = {
+        "equity_account_id", "company_name", "fiscal_year", "transaction_type" }))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquityYearBalance {
+
+    public static final String NO_COMPANY = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "balance_id")
+    private Long balanceId;
+
+    @Column(name = "equity_account_id", nullable = false)
+    private Long equityAccountId;
+
+    @Column(name = "company_name", nullable = false, length = 200)
+    private String companyName;
+
+    @Column(name = "fiscal_year", nullable = false)
+    private Integer fiscalYear;
+
+    @Column(name = "transaction_type", nullable = false, length = 50)
+    private String transactionType;
+
+    @Column(name = "amount", precision = 19, scale = 4, nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class ExpenseItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "expense_items_id")
+    @TableGenerator(name = "expense_items_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "expense_items", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "expense_item_id")
     private Long expenseItemId;
 
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,6 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "expense_item_types")
+@BatchSize(size = 50)
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,7 +21,8 @@ import java.time.LocalDateTime;
 public class ExpenseItemType {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "expense_item_types_id")
+    @TableGenerator(name = "expense_item_types_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "expense_item_types", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "expense_item_type_id")
     private Long expenseItemTypeId;
 
@@ -0,0 +1,17 @@
+package com.example.accounts.entity;
+
+/**
+ * Shared settings for the table-backed id generators.
+ * Ids are reserved in blocks from the id_generators table (pooled-lo), so Hibernate can
+ * batch inserts; IDENTITY columns force one round trip per inserted row.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+    public static final String PK_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
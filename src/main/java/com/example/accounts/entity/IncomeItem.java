@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class IncomeItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "income_items_id")
+    @TableGenerator(name = "income_items_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "income_items", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "income_item_id")
     private Long incomeItemId;
 
@@ -7,10 +7,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -18,6 +20,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "invoices")
+@NamedEntityGraph(name = "Invoice.detail", attributeNodes = {
+        @NamedAttributeNode(value = "company", subgraph = "company"),
+        @NamedAttributeNode("journalEntry"),
+        @NamedAttributeNode(value = "lines", subgraph = "lines")
+}, subgraphs = {
+        @NamedSubgraph(name = "lines", attributeNodes = @NamedAttributeNode(value = "item", subgraph = "item")),
+        // Inverse one-to-ones cannot be proxied, so fetch them with their owners
+        @NamedSubgraph(name = "company", attributeNodes = @NamedAttributeNode("companyGLAccount")),
+        @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("itemGLAccount"))
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -25,7 +37,8 @@ import java.util.List;
 public class Invoice {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "invoices_id")
+    @TableGenerator(name = "invoices_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "invoices", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "invoice_id")
     private Long invoiceId;
 
@@ -104,6 +117,7 @@ public class Invoice {
     private ChartOfAccount prepaymentsGLAccount;
 
     @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<InvoiceLine> lines = new ArrayList<>();
 
@@ -121,6 +135,11 @@ public class Invoice {
     @Column(name = "created_by", length = 100)
     private String createdBy;
 
+    // Optimistic lock; a concurrent post of the same document fails instead of committing twice
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Helper methods
     public void addLine(InvoiceLine line) {
         lines.add(line);
@@ -133,19 +152,19 @@ public class Invoice {
     }
 
     public void calculateTotals() {
-        this.subtotalAmount = lines.stream()
-                .map(InvoiceLine::getLineAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        this.vatAmount = lines.stream()
-                .map(InvoiceLine::getVatAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        this.discountAmount = lines.stream()
-                .map(InvoiceLine::getDiscountAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        this.totalAmount = subtotalAmount.add(vatAmount).subtract(discountAmount);
+        Money subtotal = Money.ZERO;
+        Money vat = Money.ZERO;
+        Money discount = Money.ZERO;
+        for (InvoiceLine line : lines) {
+            subtotal = subtotal.plus(Money.of(line.getLineAmount(), RoundingMode.HALF_UP));
+            vat = vat.plus(Money.of(line.getVatAmount(), RoundingMode.HALF_UP));
+            discount = discount.plus(Money.of(line.getDiscountAmount(), RoundingMode.HALF_UP));
+        }
+
+        this.subtotalAmount = subtotal.toBigDecimal();
+        this.vatAmount = vat.toBigDecimal();
+        this.discountAmount = discount.toBigDecimal();
+        this.totalAmount = subtotal.plus(vat).minus(discount).toBigDecimal();
     }
 
     public BigDecimal getBalanceAmount() {
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 @Entity
 @Table(name = "invoice_lines")
@@ -17,7 +18,8 @@ import java.math.BigDecimal;
 public class InvoiceLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "invoice_lines_id")
+    @TableGenerator(name = "invoice_lines_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "invoice_lines", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "line_id")
     private Long lineId;
 
@@ -65,12 +67,16 @@ public class InvoiceLine {
     @Builder.Default
     private BigDecimal netAmount = BigDecimal.ZERO;
 
-    // Calculate amounts
+    // Calculate amounts, rounding each one half-up to cents
     public void calculateAmounts() {
-        this.lineAmount = quantity.multiply(unitPrice);
-        this.discountAmount = lineAmount.multiply(discountRate).divide(BigDecimal.valueOf(100));
-        BigDecimal amountAfterDiscount = lineAmount.subtract(discountAmount);
-        this.vatAmount = amountAfterDiscount.multiply(vatRate).divide(BigDecimal.valueOf(100));
-        this.netAmount = amountAfterDiscount.add(vatAmount);
+        Money line = Money.of(unitPrice, RoundingMode.HALF_UP).times(quantity, RoundingMode.HALF_UP);
+        Money discount = line.percent(discountRate, RoundingMode.HALF_UP);
+        Money afterDiscount = line.minus(discount);
+        Money vat = afterDiscount.percent(vatRate, RoundingMode.HALF_UP);
+
+        this.lineAmount = line.toBigDecimal();
+        this.discountAmount = discount.toBigDecimal();
+        this.vatAmount = vat.toBigDecimal();
+        this.netAmount = afterDiscount.plus(vat).toBigDecimal();
     }
 }
@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,6 +14,17 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "items")
+@BatchSize(size = 50)
+@NamedEntityGraph(name = "Item.withGLAccounts", attributeNodes = @NamedAttributeNode(value = "itemGLAccount", subgraph = "glAccounts"), subgraphs = @NamedSubgraph(name = "glAccounts", attributeNodes = {
+        @NamedAttributeNode("glAccount"),
+        @NamedAttributeNode("goodsOnConsignmentAccount"),
+        @NamedAttributeNode("salesRevenueAccount"),
+        @NamedAttributeNode("tradeDiscountsAccount"),
+        @NamedAttributeNode("costOfGoodsSoldAccount"),
+        @NamedAttributeNode("deferredExpensesAccount"),
+        @NamedAttributeNode("outputVATAccount"),
+        @NamedAttributeNode("inputVATAccount")
+}))
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,7 +32,8 @@ import java.time.LocalDateTime;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "items_id")
+    @TableGenerator(name = "items_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "items", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "item_id")
     private Long itemId;
 
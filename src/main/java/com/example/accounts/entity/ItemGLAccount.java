@@ -4,10 +4,14 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
 @Table(name = "item_gl_accounts")
+@BatchSize(size = 50)
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,12 +19,15 @@ import lombok.NoArgsConstructor;
 public class ItemGLAccount {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "item_gl_accounts_id")
+    @TableGenerator(name = "item_gl_accounts_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "item_gl_accounts", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "item_gl_account_id")
     private Long itemGLAccountId;
 
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     private Item item;
 
     // Main GL Account
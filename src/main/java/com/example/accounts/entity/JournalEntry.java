@@ -6,11 +6,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -18,6 +22,20 @@ import java.util.List;
 
 @Entity
 @Table(name = "journal_entries")
+@BatchSize(size = 50)
+@NamedEntityGraph(name = "JournalEntry.detail", attributeNodes = {
+        @NamedAttributeNode(value = "company", subgraph = "company"),
+        @NamedAttributeNode(value = "lines", subgraph = "lines")
+}, subgraphs = {
+        @NamedSubgraph(name = "lines", attributeNodes = {
+                @NamedAttributeNode("account"),
+                @NamedAttributeNode(value = "item", subgraph = "item"),
+                @NamedAttributeNode(value = "company", subgraph = "company")
+        }),
+        // Inverse one-to-ones cannot be proxied, so fetch them with their owners
+        @NamedSubgraph(name = "company", attributeNodes = @NamedAttributeNode("companyGLAccount")),
+        @NamedSubgraph(name = "item", attributeNodes = @NamedAttributeNode("itemGLAccount"))
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -25,7 +43,8 @@ import java.util.List;
 public class JournalEntry {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "journal_entries_id")
+    @TableGenerator(name = "journal_entries_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "journal_entries", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "journal_entry_id")
     private Long journalEntryId;
 
@@ -68,7 +87,15 @@ public class JournalEntry {
     @Column(name = "posted_by", length = 100)
     private String postedBy;
 
+    // Set on contra entries: the posted entry this one reverses
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "reversal_of_id")
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private JournalEntry reversalOf;
+
     @OneToMany(mappedBy = "journalEntry", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
     @Builder.Default
     private List<JournalEntryLine> lines = new ArrayList<>();
 
@@ -83,6 +110,11 @@ public class JournalEntry {
     @Column(name = "created_by", length = 100)
     private String createdBy;
 
+    // Optimistic lock; a concurrent post of the same document fails instead of committing twice
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // Helper methods
     public void addLine(JournalEntryLine line) {
         lines.add(line);
@@ -95,16 +127,55 @@ public class JournalEntry {
     }
 
     public void calculateTotals() {
-        this.totalDebit = lines.stream()
-                .map(JournalEntryLine::getDebitAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        this.totalCredit = lines.stream()
-                .map(JournalEntryLine::getCreditAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Money debit = Money.ZERO;
+        Money credit = Money.ZERO;
+        for (JournalEntryLine line : lines) {
+            debit = debit.plus(Money.of(line.getDebitAmount(), RoundingMode.HALF_UP));
+            credit = credit.plus(Money.of(line.getCreditAmount(), RoundingMode.HALF_UP));
+        }
+        this.totalDebit = debit.toBigDecimal();
+        this.totalCredit = credit.toBigDecimal();
     }
 
     public boolean isBalanced() {
         return totalDebit.compareTo(totalCredit) == 0;
     }
+
+    /**
+     * Build the posted contra entry for this one: same lines with debits and credits swapped
+     * and quantities negated, dated on the reversal date and linked back through reversalOf
+     */
+    public JournalEntry reversal(String reversalNumber, LocalDate reversalDate, String reversedBy) {
+        JournalEntry reversal = JournalEntry.builder()
+                .entryNumber(reversalNumber)
+                .entryDate(reversalDate)
+                .documentType(documentType)
+                .description("Reversal of " + entryNumber)
+                .company(company)
+                .referenceNumber(referenceNumber)
+                .totalDebit(totalCredit)
+                .totalCredit(totalDebit)
+                .status(JournalEntryStatus.POSTED)
+                .postedDate(LocalDateTime.now())
+                .postedBy(reversedBy)
+                .createdBy(reversedBy)
+                .reversalOf(this)
+                .build();
+
+        for (JournalEntryLine line : lines) {
+            reversal.addLine(JournalEntryLine.builder()
+                    .lineNumber(line.getLineNumber())
+                    .account(line.getAccount())
+                    .debitAmount(line.getCreditAmount())
+                    .creditAmount(line.getDebitAmount())
+                    .description(line.getDescription())
+                    .item(line.getItem())
+                    .company(line.getCompany())
+                    .warehouse(line.getWarehouse())
+                    .contract(line.getContract())
+                    .quantity(line.getQuantity() != null ? line.getQuantity().negate() : null)
+                    .build());
+        }
+        return reversal;
+    }
 }
@@ -17,7 +17,8 @@ import java.math.BigDecimal;
 public class JournalEntryLine {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "journal_entry_lines_id")
+    @TableGenerator(name = "journal_entry_lines_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "journal_entry_lines", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "line_id")
     private Long lineId;
 
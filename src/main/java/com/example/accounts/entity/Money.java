@@ -0,0 +1,158 @@
+package com.example.accounts.entity;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Immutable fixed-point amount held as a long count of minor units (hundredths), the scale of
+ * every amount column in the schema.
+ * <p>
+ * Used for document arithmetic such as line amounts and totals: additions are plain long adds and
+ * rate or quantity multiplications round once, with an explicit {@link RoundingMode}, straight to
+ * minor units. Entities keep {@link BigDecimal} fields; convert with {@link #of(BigDecimal, RoundingMode)}
+ * and {@link #toBigDecimal()} at the persistence and JSON boundaries. Overflowing the long range
+ * throws {@link ArithmeticException}.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0);
+
+    private static final int MAX_FAST_SCALE = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_FAST_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final long minorUnits;
+
+    private Money(long minorUnits) {
+        this.minorUnits = minorUnits;
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * Convert a decimal amount, rounding digits beyond {@link #SCALE}; null is zero
+     */
+    public static Money of(BigDecimal amount, RoundingMode roundingMode) {
+        if (amount == null) {
+            return ZERO;
+        }
+        if (amount.scale() == SCALE && amount.precision() <= MAX_FAST_SCALE) {
+            // Column values already have the scale; this skips the BigInteger round trip
+            return ofMinor(amount.scaleByPowerOfTen(SCALE).longValue());
+        }
+        return ofMinor(amount.setScale(SCALE, roundingMode).unscaledValue().longValueExact());
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return ofMinor(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinor(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * Multiply by a decimal factor such as a quantity, rounding the product to minor units
+     */
+    public Money times(BigDecimal factor, RoundingMode roundingMode) {
+        return multiply(factor, 0, roundingMode);
+    }
+
+    /**
+     * Take a percentage, e.g. 12.5 for a 12.5% VAT rate, rounding the result to minor units
+     */
+    public Money percent(BigDecimal rate, RoundingMode roundingMode) {
+        return multiply(rate, 2, roundingMode);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && minorUnits == other.minorUnits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    /**
+     * minorUnits * factor / 10^extraScale, rounded once; stays in long arithmetic when the factor's
+     * unscaled value and the product fit
+     */
+    private Money multiply(BigDecimal factor, int extraScale, RoundingMode roundingMode) {
+        if (factor == null || factor.signum() == 0 || minorUnits == 0) {
+            return ZERO;
+        }
+        int divisorScale = factor.scale() + extraScale;
+        if (divisorScale >= 0 && divisorScale <= MAX_FAST_SCALE && factor.precision() <= MAX_FAST_SCALE) {
+            long unscaled = factor.scaleByPowerOfTen(factor.scale()).longValue();
+            long high = Math.multiplyHigh(minorUnits, unscaled);
+            long product = minorUnits * unscaled;
+            if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+                return ofMinor(divide(product, POWERS_OF_TEN[divisorScale], roundingMode));
+            }
+        }
+        BigDecimal exact = new BigDecimal(BigInteger.valueOf(minorUnits)).multiply(factor).movePointLeft(extraScale);
+        return ofMinor(exact.setScale(0, roundingMode).longValueExact());
+    }
+
+    /**
+     * dividend / divisor rounded with the given mode, for a positive divisor
+     */
+    static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int sign = Long.signum(remainder);
+        int half = Long.compare(Math.abs(remainder), divisor - Math.abs(remainder));
+        boolean awayFromZero = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> half >= 0;
+            case HALF_DOWN -> half > 0;
+            case HALF_EVEN -> half > 0 || (half == 0 && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+}
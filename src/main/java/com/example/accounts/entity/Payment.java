@@ -0,0 +1,95 @@
+package com.example.accounts.entity;
+
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.PaymentMethod;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A customer receipt (RECEIPT_VOUCHER) or supplier payment (PAYMENT_VOUCHER) and the open
+ * invoices it settles. Any amount not allocated to invoices is booked as an advance.
+ */
+@Entity
+@Table(name = "payments")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Payment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payments_id")
+    @TableGenerator(name = "payments_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "payments", allocationSize = IdGenerators.ALLOCATION_SIZE)
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "payment_number", unique = true, nullable = false, length = 50)
+    private String paymentNumber;
+
+    @Column(name = "payment_date", nullable = false)
+    private LocalDate paymentDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "document_type", nullable = false)
+    private DocumentType documentType;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "company_id", nullable = false)
+    private Company company;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false)
+    private PaymentMethod paymentMethod;
+
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal amount;
+
+    @Column(name = "allocated_amount", precision = 19, scale = 2, nullable = false)
+    @Builder.Default
+    private BigDecimal allocatedAmount = BigDecimal.ZERO;
+
+    // Bank or cash account the money moves through
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bank_account_id", nullable = false)
+    private ChartOfAccount bankAccount;
+
+    @Column(length = 100)
+    private String reference;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "journal_entry_id")
+    private JournalEntry journalEntry;
+
+    @OneToMany(mappedBy = "payment", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50)
+    @Builder.Default
+    private List<PaymentAllocation> allocations = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "created_by", length = 100)
+    private String createdBy;
+
+    // Helper methods
+    public void addAllocation(PaymentAllocation allocation) {
+        allocations.add(allocation);
+        allocation.setPayment(this);
+    }
+
+    public BigDecimal getUnallocatedAmount() {
+        return amount.subtract(allocatedAmount);
+    }
+}
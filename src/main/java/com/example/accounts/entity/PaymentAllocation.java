@@ -0,0 +1,41 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "payment_allocations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentAllocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payment_allocations_id")
+    @TableGenerator(name = "payment_allocations_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "payment_allocations", allocationSize = IdGenerators.ALLOCATION_SIZE)
+    @Column(name = "allocation_id")
+    private Long allocationId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "payment_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Payment payment;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "invoice_id", nullable = false)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Invoice invoice;
+
+    @Column(precision = 19, scale = 2, nullable = false)
+    private BigDecimal amount;
+}
@@ -0,0 +1,67 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Posted turnover of one combination of account, company, item, warehouse, contract and
+ * fiscal period (calendar month). Maintained incrementally when journal entries are posted.
+ * Missing dimensions are stored as 0 / empty string rather than NULL so the unique key
+ * covers every cell and lookups are plain equality matches.
+ */
+@Entity
+@Table(name = "turnover_cube", uniqueConstraints = @UniqueConstraint(name = "uk_turnover_cube_cell", columnNames = {
+        "account_id", "company_id", "item_id", "warehouse", "contract", "fiscal_year", "fiscal_period" }))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TurnoverCubeCell {
+
+    public static final long NO_ID = 0L;
+    public static final String NO_VALUE = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "cell_id")
+    private Long cellId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "company_id", nullable = false)
+    private Long companyId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "warehouse", nullable = false, length = 100)
+    private String warehouse;
+
+    @Column(name = "contract", nullable = false, length = 100)
+    private String contract;
+
+    @Column(name = "fiscal_year", nullable = false)
+    private Integer fiscalYear;
+
+    @Column(name = "fiscal_period", nullable = false)
+    private Integer fiscalPeriod; // 1 - 12
+
+    @Column(name = "debit_turnover", precision = 19, scale = 2, nullable = false)
+    private BigDecimal debitTurnover;
+
+    @Column(name = "credit_turnover", precision = 19, scale = 2, nullable = false)
+    private BigDecimal creditTurnover;
+
+    @Column(name = "quantity", precision = 19, scale = 4, nullable = false)
+    private BigDecimal quantity;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
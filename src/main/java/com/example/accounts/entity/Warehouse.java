@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class Warehouse {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "warehouses_id")
+    @TableGenerator(name = "warehouses_id", table = IdGenerators.TABLE, pkColumnName = IdGenerators.PK_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "warehouses", allocationSize = IdGenerators.ALLOCATION_SIZE)
     @Column(name = "warehouse_id")
     private Long warehouseId;
 
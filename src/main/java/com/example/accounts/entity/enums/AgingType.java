@@ -0,0 +1,21 @@
+package com.example.accounts.entity.enums;
+
+import java.util.Set;
+
+/**
+ * Side of an aging report: receivables from customer invoices or payables from supplier invoices
+ */
+public enum AgingType {
+    AR(Set.of(DocumentType.CUSTOMER_INVOICE)),
+    AP(Set.of(DocumentType.SUPPLIER_INVOICE, DocumentType.INVOICE_RECEIVED));
+
+    private final Set<DocumentType> documentTypes;
+
+    AgingType(Set<DocumentType> documentTypes) {
+        this.documentTypes = documentTypes;
+    }
+
+    public Set<DocumentType> getDocumentTypes() {
+        return documentTypes;
+    }
+}
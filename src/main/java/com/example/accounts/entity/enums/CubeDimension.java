@@ -0,0 +1,14 @@
+package com.example.accounts.entity.enums;
+
+/**
+ * Dimensions a turnover cube slice can be grouped by; PERIOD implies YEAR
+ */
+public enum CubeDimension {
+    ACCOUNT,
+    COMPANY,
+    ITEM,
+    WAREHOUSE,
+    CONTRACT,
+    YEAR,
+    PERIOD
+}
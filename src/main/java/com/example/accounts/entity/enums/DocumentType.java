@@ -1,12 +1,23 @@
 package com.example.accounts.entity.enums;
 
 public enum DocumentType {
-    CUSTOMER_INVOICE,
-    SUPPLIER_INVOICE,
-    INVOICE_RECEIVED,
-    CREDIT_NOTE,
-    DEBIT_NOTE,
-    PAYMENT_VOUCHER,
-    RECEIPT_VOUCHER,
-    JOURNAL_ENTRY
+    CUSTOMER_INVOICE("CI"),
+    SUPPLIER_INVOICE("SI"),
+    INVOICE_RECEIVED("IR"),
+    CREDIT_NOTE("CN"),
+    DEBIT_NOTE("DN"),
+    PAYMENT_VOUCHER("PV"),
+    RECEIPT_VOUCHER("RV"),
+    JOURNAL_ENTRY("JE");
+
+    /** Short code used in generated document numbers */
+    private final String code;
+
+    DocumentType(String code) {
+        this.code = code;
+    }
+
+    public String getCode() {
+        return code;
+    }
 }
@@ -1,7 +1,21 @@
 package com.example.accounts.entity.enums;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum JournalEntryStatus {
     DRAFT,
     POSTED,
-    REVERSED
+    REVERSED, // posted and later offset by a contra entry; still counts in balances
+    VOIDED;   // reversed before contra entries existed; excluded from balances
+
+    /**
+     * Statuses whose lines count towards balances, ledgers and reports
+     */
+    public static final Set<JournalEntryStatus> BOOKED = Collections.unmodifiableSet(EnumSet.of(POSTED, REVERSED));
+
+    public boolean isBooked() {
+        return BOOKED.contains(this);
+    }
 }
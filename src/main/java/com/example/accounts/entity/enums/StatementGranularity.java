@@ -0,0 +1,9 @@
+package com.example.accounts.entity.enums;
+
+/**
+ * Period length of the statements a periodic cash flow report is split into
+ */
+public enum StatementGranularity {
+    MONTH,
+    QUARTER
+}
@@ -0,0 +1,12 @@
+package com.example.accounts.exception;
+
+/**
+ * Exception thrown when the posting engine cannot accept a request,
+ * e.g. because its queue is full or it is shutting down
+ */
+public class PostingRejectedException extends RuntimeException {
+
+    public PostingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.AccountPeriodBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository for per-account, per-period balances
+ */
+@Repository
+public interface AccountPeriodBalanceRepository extends JpaRepository<AccountPeriodBalance, Long> {
+
+    /**
+     * Atomically add turnover to an existing period row. Returns 0 when the row does not exist yet.
+     */
+    @Modifying
+    @Query("UPDATE AccountPeriodBalance b SET b.debitTurnover = b.debitTurnover + :debit, " +
+            "b.creditTurnover = b.creditTurnover + :credit, " +
+            "b.closingBalance = b.closingBalance + :debit - :credit, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.accountId = :accountId " +
+            "AND b.companyKey = :companyKey " +
+            "AND b.fiscalYear = :year AND b.fiscalPeriod = :period")
+    int addTurnover(@Param("accountId") Long accountId,
+            @Param("companyKey") Long companyKey,
+            @Param("year") Integer year,
+            @Param("period") Integer period,
+            @Param("debit") BigDecimal debit,
+            @Param("credit") BigDecimal credit);
+
+    /**
+     * Insert a new period row without managing it in the persistence context, so later bulk updates in the
+     * same transaction never leave a stale entity behind. When a concurrent posting inserted the row first,
+     * the turnover is added to it instead, exactly as {@link #addTurnover} would.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO account_period_balances (account_id, company_id, fiscal_year, fiscal_period, " +
+            "opening_balance, debit_turnover, credit_turnover, closing_balance) " +
+            "VALUES (:accountId, :companyId, :year, :period, :opening, :debit, :credit, :closing) " +
+            "ON DUPLICATE KEY UPDATE debit_turnover = debit_turnover + :debit, " +
+            "credit_turnover = credit_turnover + :credit, closing_balance = closing_balance + :debit - :credit, " +
+            "updated_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    int insertPeriod(@Param("accountId") Long accountId,
+            @Param("companyId") Long companyId,
+            @Param("year") Integer year,
+            @Param("period") Integer period,
+            @Param("opening") BigDecimal opening,
+            @Param("debit") BigDecimal debit,
+            @Param("credit") BigDecimal credit,
+            @Param("closing") BigDecimal closing);
+
+    /**
+     * Carry a net movement forward into every later period of the same account and company
+     */
+    @Modifying
+    @Query("UPDATE AccountPeriodBalance b SET b.openingBalance = b.openingBalance + :net, " +
+            "b.closingBalance = b.closingBalance + :net, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.accountId = :accountId " +
+            "AND b.companyKey = :companyKey " +
+            "AND (b.fiscalYear > :year OR (b.fiscalYear = :year AND b.fiscalPeriod > :period))")
+    int shiftLaterPeriods(@Param("accountId") Long accountId,
+            @Param("companyKey") Long companyKey,
+            @Param("year") Integer year,
+            @Param("period") Integer period,
+            @Param("net") BigDecimal net);
+
+    /**
+     * Closing balance of the nearest earlier period, locking that row until the transaction ends.
+     * A concurrent posting to an earlier period updates this row before shifting later periods, so the
+     * lock makes it wait for the new row (or makes this read wait for its shift) instead of missing it.
+     */
+    @Query(value = "SELECT closing_balance FROM account_period_balances WHERE account_id = :accountId " +
+            "AND company_key = :companyKey " +
+            "AND (fiscal_year < :year OR (fiscal_year = :year AND fiscal_period < :period)) " +
+            "ORDER BY fiscal_year DESC, fiscal_period DESC LIMIT 1 FOR UPDATE", nativeQuery = true)
+    List<BigDecimal> lockPrecedingClosing(@Param("accountId") Long accountId,
+            @Param("companyKey") Long companyKey,
+            @Param("year") Integer year,
+            @Param("period") Integer period);
+
+    /**
+     * Latest row at or before the given period for every account/company key.
+     * Optional account and company filters are ignored when null.
+     */
+    @Query("SELECT b.accountId AS accountId, b.companyId AS companyId, b.fiscalYear AS fiscalYear, " +
+            "b.fiscalPeriod AS fiscalPeriod, b.openingBalance AS openingBalance, b.debitTurnover AS debitTurnover, " +
+            "b.creditTurnover AS creditTurnover, b.closingBalance AS closingBalance " +
+            "FROM AccountPeriodBalance b WHERE " +
+            "(:accountId IS NULL OR b.accountId = :accountId) " +
+            "AND (:companyId IS NULL OR b.companyId = :companyId) " +
+            "AND (b.fiscalYear * 100 + b.fiscalPeriod) = (" +
+            "SELECT MAX(b2.fiscalYear * 100 + b2.fiscalPeriod) FROM AccountPeriodBalance b2 " +
+            "WHERE b2.accountId = b.accountId " +
+            "AND b2.companyKey = b.companyKey " +
+            "AND (b2.fiscalYear * 100 + b2.fiscalPeriod) <= :periodKey) " +
+            "ORDER BY b.accountId, b.companyKey")
+    List<PeriodBalanceView> findLatestUpToPeriod(@Param("accountId") Long accountId,
+            @Param("companyId") Long companyId,
+            @Param("periodKey") Integer periodKey);
+
+    @Query("SELECT b FROM AccountPeriodBalance b ORDER BY b.accountId, b.companyKey, b.fiscalYear, b.fiscalPeriod")
+    List<AccountPeriodBalance> findAllOrdered();
+
+    interface PeriodBalanceView {
+        Long getAccountId();
+
+        Long getCompanyId();
+
+        Integer getFiscalYear();
+
+        Integer getFiscalPeriod();
+
+        BigDecimal getOpeningBalance();
+
+        BigDecimal getDebitTurnover();
+
+        BigDecimal getCreditTurnover();
+
+        BigDecimal getClosingBalance();
+    }
+}
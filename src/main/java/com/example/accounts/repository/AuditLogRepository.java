@@ -1,7 +1,11 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.AuditLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -19,4 +23,11 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
 
     List<AuditLog> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Query("SELECT a FROM AuditLog a WHERE (:userId IS NULL OR a.userId = :userId) "
+            + "AND (:entityType IS NULL OR a.entityType = :entityType) AND (:entityId IS NULL OR a.entityId = :entityId) "
+            + "AND (:fromTime IS NULL OR a.createdAt >= :fromTime) AND (:toTime IS NULL OR a.createdAt <= :toTime)")
+    Page<AuditLog> findPage(@Param("userId") Long userId, @Param("entityType") String entityType,
+            @Param("entityId") Long entityId, @Param("fromTime") LocalDateTime fromTime,
+            @Param("toTime") LocalDateTime toTime, Pageable pageable);
 }
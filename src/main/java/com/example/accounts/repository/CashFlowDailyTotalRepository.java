@@ -0,0 +1,123 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.CashFlowDailyTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository maintaining and reading the cash_flow_daily_totals rollup
+ */
+@Repository
+public interface CashFlowDailyTotalRepository extends JpaRepository<CashFlowDailyTotal, Long> {
+
+    /**
+     * Atomically add a posted transaction to an existing row. Returns 0 when the row does not exist yet.
+     */
+    @Modifying
+    @Query("UPDATE CashFlowDailyTotal d SET d.amount = d.amount + :amount, "
+            + "d.transactionCount = d.transactionCount + 1, d.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE d.entity = :entity AND d.transactionDate = :date AND d.cashFlowItemId = :itemId "
+            + "AND d.flowType = :flowType AND d.category = :category AND d.currency = :currency")
+    int addTransaction(@Param("entity") String entity,
+            @Param("date") LocalDate date,
+            @Param("itemId") Long itemId,
+            @Param("flowType") String flowType,
+            @Param("category") String category,
+            @Param("currency") String currency,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * Insert a new daily total, or add to it when a concurrent posting created it first
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cash_flow_daily_totals (entity, transaction_date, cash_flow_item_id, flow_type, "
+            + "category, currency, amount, transaction_count, updated_at) "
+            + "VALUES (:entity, :date, :itemId, :flowType, :category, :currency, :amount, 1, CURRENT_TIMESTAMP) "
+            + "ON DUPLICATE KEY UPDATE amount = amount + :amount, transaction_count = transaction_count + 1, "
+            + "updated_at = CURRENT_TIMESTAMP",
+            nativeQuery = true)
+    int insertTotal(@Param("entity") String entity,
+            @Param("date") LocalDate date,
+            @Param("itemId") Long itemId,
+            @Param("flowType") String flowType,
+            @Param("category") String category,
+            @Param("currency") String currency,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * Totals per cash flow item, flow type and category, for one entity or all when entity is null
+     * and over a date range or all time when the dates are null
+     */
+    @Query("SELECT i.cashFlowItemId AS cashFlowItemId, i.code AS itemCode, i.description AS itemDescription, "
+            + "i.displayOrder AS displayOrder, d.flowType AS flowType, d.category AS category, SUM(d.amount) AS amount "
+            + "FROM CashFlowDailyTotal d JOIN CashFlowItem i ON i.cashFlowItemId = d.cashFlowItemId "
+            + "WHERE (:entity IS NULL OR d.entity = :entity) "
+            + "AND (:startDate IS NULL OR d.transactionDate >= :startDate) AND (:endDate IS NULL OR d.transactionDate <= :endDate) "
+            + "GROUP BY i.cashFlowItemId, i.code, i.description, i.displayOrder, d.flowType, d.category")
+    List<ItemTotal> findItemTotals(
+            @Param("entity") String entity,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * The same totals per calendar month of the range, for monthly and quarterly statements
+     */
+    @Query("SELECT YEAR(d.transactionDate) AS fiscalYear, MONTH(d.transactionDate) AS fiscalMonth, "
+            + "i.cashFlowItemId AS cashFlowItemId, i.code AS itemCode, i.description AS itemDescription, "
+            + "i.displayOrder AS displayOrder, d.flowType AS flowType, d.category AS category, SUM(d.amount) AS amount "
+            + "FROM CashFlowDailyTotal d JOIN CashFlowItem i ON i.cashFlowItemId = d.cashFlowItemId "
+            + "WHERE (:entity IS NULL OR d.entity = :entity) "
+            + "AND d.transactionDate >= :startDate AND d.transactionDate <= :endDate "
+            + "GROUP BY YEAR(d.transactionDate), MONTH(d.transactionDate), i.cashFlowItemId, i.code, i.description, "
+            + "i.displayOrder, d.flowType, d.category")
+    List<MonthItemTotal> findMonthItemTotals(
+            @Param("entity") String entity,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "DELETE FROM cash_flow_daily_totals", nativeQuery = true)
+    int deleteAllTotals();
+
+    /**
+     * Refill the rollup from posted cash flow transactions in one statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO cash_flow_daily_totals (entity, transaction_date, cash_flow_item_id, flow_type, "
+            + "category, currency, amount, transaction_count, updated_at) "
+            + "SELECT COALESCE(t.entity, ''), t.transaction_date, t.cash_flow_item_id, t.flow_type, "
+            + "COALESCE(t.category, ''), COALESCE(t.currency, ''), SUM(t.amount), COUNT(*), CURRENT_TIMESTAMP "
+            + "FROM cash_flow_transactions t WHERE t.is_posted = TRUE "
+            + "GROUP BY COALESCE(t.entity, ''), t.transaction_date, t.cash_flow_item_id, t.flow_type, "
+            + "COALESCE(t.category, ''), COALESCE(t.currency, '')", nativeQuery = true)
+    int insertFromPostedTransactions();
+
+    interface ItemTotal {
+        Long getCashFlowItemId();
+
+        String getItemCode();
+
+        String getItemDescription();
+
+        Integer getDisplayOrder();
+
+        String getFlowType();
+
+        String getCategory();
+
+        BigDecimal getAmount();
+    }
+
+    interface MonthItemTotal extends ItemTotal {
+        Integer getFiscalYear();
+
+        Integer getFiscalMonth();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.CashFlowTransaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -73,6 +75,22 @@ public interface CashFlowTransactionRepository extends JpaRepository<CashFlowTra
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
 
+    /**
+     * Page transactions matching the optional filters
+     */
+    @Query("SELECT t FROM CashFlowTransaction t WHERE (:flowType IS NULL OR t.flowType = :flowType) "
+            + "AND (:category IS NULL OR t.category = :category) AND (:entity IS NULL OR t.entity = :entity) "
+            + "AND (:isPosted IS NULL OR t.isPosted = :isPosted) "
+            + "AND (:startDate IS NULL OR t.transactionDate >= :startDate) AND (:endDate IS NULL OR t.transactionDate <= :endDate)")
+    Page<CashFlowTransaction> findPage(
+            @Param("flowType") String flowType,
+            @Param("category") String category,
+            @Param("entity") String entity,
+            @Param("isPosted") Boolean isPosted,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
     /**
      * Find unposted transactions
      */
@@ -99,4 +117,5 @@ public interface CashFlowTransactionRepository extends JpaRepository<CashFlowTra
             @Param("itemId") Long itemId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
 }
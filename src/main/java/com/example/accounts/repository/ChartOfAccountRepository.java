@@ -1,6 +1,8 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.ChartOfAccount;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -24,6 +26,18 @@ public interface ChartOfAccountRepository extends JpaRepository<ChartOfAccount,
 
     boolean existsByAccountCode(String accountCode);
 
+    @org.springframework.data.jpa.repository.Query("SELECT c.accountId FROM ChartOfAccount c WHERE c.accountCode LIKE CONCAT(:prefix, '%')")
+    List<Long> findIdsByAccountCodePrefix(
+            @org.springframework.data.repository.query.Param("prefix") String prefix);
+
+    @org.springframework.data.jpa.repository.Query("SELECT c FROM ChartOfAccount c WHERE (:section IS NULL OR c.section = :section) "
+            + "AND (:parentGroup IS NULL OR c.parentGroup = :parentGroup) AND (:isActive IS NULL OR c.isActive = :isActive)")
+    Page<ChartOfAccount> findPage(
+            @org.springframework.data.repository.query.Param("section") String section,
+            @org.springframework.data.repository.query.Param("parentGroup") String parentGroup,
+            @org.springframework.data.repository.query.Param("isActive") Boolean isActive,
+            Pageable pageable);
+
     @org.springframework.data.jpa.repository.Query("SELECT c.description FROM ChartOfAccount c WHERE c.parentGroup = :parentGroup")
     List<String> findDescriptionsByParentGroup(
             @org.springframework.data.repository.query.Param("parentGroup") String parentGroup);
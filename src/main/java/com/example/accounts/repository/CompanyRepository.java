@@ -2,20 +2,59 @@ package com.example.accounts.repository;
 
 import com.example.accounts.entity.Company;
 import com.example.accounts.entity.enums.CompanyType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long> {
 
+    @EntityGraph("Company.withGLAccounts")
     Optional<Company> findByCode(String code);
 
+    @EntityGraph("Company.withGLAccounts")
     List<Company> findByCompanyType(CompanyType companyType);
 
+    @EntityGraph("Company.withGLAccounts")
     List<Company> findByIsActive(Boolean isActive);
 
+    @EntityGraph("Company.withGLAccounts")
+    @Query("SELECT c FROM Company c WHERE (:companyType IS NULL OR c.companyType = :companyType) "
+            + "AND (:isActive IS NULL OR c.isActive = :isActive)")
+    Page<Company> findPage(@Param("companyType") CompanyType companyType, @Param("isActive") Boolean isActive,
+            Pageable pageable);
+
+    @EntityGraph("Company.withGLAccounts")
+    Optional<Company> findWithGLAccountsByCompanyId(Long companyId);
+
     boolean existsByCode(String code);
+
+    /**
+     * Receivable, payable and advance accounts of companies with GL accounts configured
+     */
+    @Query("SELECT g.company.companyId AS companyId, ar.accountId AS accountsReceivableId, "
+            + "ap.accountId AS accountsPayableId, adr.accountId AS advancesReceivedId, adp.accountId AS advancesPaidId "
+            + "FROM CompanyGLAccount g LEFT JOIN g.accountsReceivable ar LEFT JOIN g.accountsPayable ap "
+            + "LEFT JOIN g.advancesReceived adr LEFT JOIN g.advancesPaid adp WHERE g.company.companyId IN :companyIds")
+    List<SettlementAccounts> findSettlementAccounts(@Param("companyIds") Collection<Long> companyIds);
+
+    interface SettlementAccounts {
+        Long getCompanyId();
+
+        Long getAccountsReceivableId();
+
+        Long getAccountsPayableId();
+
+        Long getAdvancesReceivedId();
+
+        Long getAdvancesPaidId();
+    }
 }
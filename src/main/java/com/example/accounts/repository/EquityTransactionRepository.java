@@ -51,15 +51,6 @@ public interface EquityTransactionRepository extends JpaRepository<EquityTransac
             @Param("type") String type,
             @Param("year") Integer year);
 
-    /**
-     * Get total by account, type, and year (DYNAMIC CALCULATION)
-     */
-    @Query("SELECT COALESCE(SUM(et.amount), 0) FROM EquityTransaction et WHERE et.equityAccount.equityAccountId = :accountId AND et.transactionType = :type AND et.fiscalYear = :year")
-    BigDecimal getTotalByAccountTypeAndYear(
-            @Param("accountId") Long accountId,
-            @Param("type") String type,
-            @Param("year") Integer year);
-
     /**
      * Get total by account and year (DYNAMIC CALCULATION)
      */
@@ -68,22 +59,6 @@ public interface EquityTransactionRepository extends JpaRepository<EquityTransac
             @Param("accountId") Long accountId,
             @Param("year") Integer year);
 
-    /**
-     * Get opening balance for a year (DYNAMIC - closing balance of previous year)
-     */
-    @Query("SELECT COALESCE(SUM(et.amount), 0) FROM EquityTransaction et WHERE et.equityAccount.equityAccountId = :accountId AND et.fiscalYear < :year")
-    BigDecimal getOpeningBalance(
-            @Param("accountId") Long accountId,
-            @Param("year") Integer year);
-
-    /**
-     * Get closing balance for a year (DYNAMIC CALCULATION)
-     */
-    @Query("SELECT COALESCE(SUM(et.amount), 0) FROM EquityTransaction et WHERE et.equityAccount.equityAccountId = :accountId AND et.fiscalYear <= :year")
-    BigDecimal getClosingBalance(
-            @Param("accountId") Long accountId,
-            @Param("year") Integer year);
-
     /**
      * Find unposted transactions
      */
@@ -103,4 +78,5 @@ public interface EquityTransactionRepository extends JpaRepository<EquityTransac
      */
     @Query("SELECT DISTINCT et.fiscalYear FROM EquityTransaction et ORDER BY et.fiscalYear DESC")
     List<Integer> findAllFiscalYears();
+
 }
@@ -0,0 +1,101 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.EquityYearBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository maintaining and reading the equity_year_balances rollup
+ */
+@Repository
+public interface EquityYearBalanceRepository extends JpaRepository<EquityYearBalance, Long> {
+
+    /**
+     * Atomically add a posted amount to an existing row. Returns 0 when the row does not exist yet.
+     */
+    @Modifying
+    @Query("UPDATE EquityYearBalance b SET b.amount = b.amount + :amount, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.equityAccountId = :accountId AND b.companyName = :companyName " +
+            "AND b.fiscalYear = :year AND b.transactionType = :type")
+    int addAmount(@Param("accountId") Long accountId,
+            @Param("companyName") String companyName,
+            @Param("year") Integer year,
+            @Param("type") String type,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * Insert the first row of an account, company, year and type. When a concurrent posting
+     * inserted the row first, the amount is added to it instead.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO equity_year_balances (equity_account_id, company_name, fiscal_year, " +
+            "transaction_type, amount, updated_at) " +
+            "VALUES (:accountId, :companyName, :year, :type, :amount, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE amount = amount + :amount, updated_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    int insertRow(@Param("accountId") Long accountId,
+            @Param("companyName") String companyName,
+            @Param("year") Integer year,
+            @Param("type") String type,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * Totals per equity account, fiscal year and transaction type over a year range, for one
+     * company or all when companyName is null
+     */
+    @Query("SELECT b.equityAccountId AS equityAccountId, b.fiscalYear AS fiscalYear, " +
+            "b.transactionType AS transactionType, SUM(b.amount) AS amount FROM EquityYearBalance b " +
+            "WHERE b.fiscalYear BETWEEN :startYear AND :endYear " +
+            "AND (:companyName IS NULL OR b.companyName = :companyName) " +
+            "GROUP BY b.equityAccountId, b.fiscalYear, b.transactionType")
+    List<YearTypeTotal> findYearTypeTotals(@Param("startYear") Integer startYear,
+            @Param("endYear") Integer endYear,
+            @Param("companyName") String companyName);
+
+    /**
+     * Balance of each account at the start of the given year, i.e. the sum of every earlier year,
+     * for one company or all when companyName is null
+     */
+    @Query("SELECT b.equityAccountId AS equityAccountId, SUM(b.amount) AS amount FROM EquityYearBalance b " +
+            "WHERE b.fiscalYear < :year AND (:companyName IS NULL OR b.companyName = :companyName) " +
+            "GROUP BY b.equityAccountId")
+    List<AccountBalance> findBalancesBefore(@Param("year") Integer year,
+            @Param("companyName") String companyName);
+
+    @Modifying
+    @Query(value = "DELETE FROM equity_year_balances", nativeQuery = true)
+    int deleteAllRows();
+
+    /**
+     * Refill the rollup from posted equity transactions in one statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO equity_year_balances (equity_account_id, company_name, fiscal_year, " +
+            "transaction_type, amount, updated_at) " +
+            "SELECT t.equity_account_id, COALESCE(t.company_name, ''), t.fiscal_year, t.transaction_type, " +
+            "SUM(t.amount), CURRENT_TIMESTAMP FROM equity_transactions t WHERE t.is_posted = TRUE " +
+            "GROUP BY t.equity_account_id, COALESCE(t.company_name, ''), t.fiscal_year, t.transaction_type",
+            nativeQuery = true)
+    int insertFromPostedTransactions();
+
+    interface YearTypeTotal {
+        Long getEquityAccountId();
+
+        Integer getFiscalYear();
+
+        String getTransactionType();
+
+        BigDecimal getAmount();
+    }
+
+    interface AccountBalance {
+        Long getEquityAccountId();
+
+        BigDecimal getAmount();
+    }
+}
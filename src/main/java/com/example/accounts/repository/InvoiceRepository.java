@@ -1,21 +1,50 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.Invoice;
+import com.example.accounts.entity.enums.DocumentType;
 import com.example.accounts.entity.enums.InvoiceStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Long>, JpaSpecificationExecutor<Invoice>,
+        InvoiceSearchRepository {
 
+    @EntityGraph("Invoice.detail")
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
 
+    /**
+     * Pages invoice ids only; fetching the lines graph in the same query would
+     * force Hibernate to page in memory.
+     */
+    @Query("SELECT i.invoiceId FROM Invoice i WHERE (:companyId IS NULL OR i.company.companyId = :companyId) "
+            + "AND (:status IS NULL OR i.status = :status) AND (:documentType IS NULL OR i.documentType = :documentType) "
+            + "AND (:fromDate IS NULL OR i.invoiceDate >= :fromDate) AND (:toDate IS NULL OR i.invoiceDate <= :toDate)")
+    Page<Long> findIds(@Param("companyId") Long companyId, @Param("status") InvoiceStatus status,
+            @Param("documentType") DocumentType documentType, @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate, Pageable pageable);
+
+    @EntityGraph("Invoice.detail")
+    List<Invoice> findWithDetailsByInvoiceIdIn(Collection<Long> invoiceIds);
+
+    @EntityGraph("Invoice.detail")
+    Optional<Invoice> findWithDetailsByInvoiceId(Long invoiceId);
+
     List<Invoice> findByStatus(InvoiceStatus status);
 
+    @EntityGraph("Invoice.detail")
     List<Invoice> findByCompanyCompanyId(Long companyId);
 
     List<Invoice> findByInvoiceDateBetween(LocalDate startDate, LocalDate endDate);
@@ -23,4 +52,106 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     List<Invoice> findByIsPosted(Boolean isPosted);
 
     boolean existsByInvoiceNumber(String invoiceNumber);
+
+    @Query("SELECT i.invoiceId AS invoiceId, i.company.companyId AS companyId, i.status AS status, "
+            + "i.isPosted AS isPosted FROM Invoice i WHERE i.invoiceId IN :invoiceIds")
+    List<PostingCandidate> findPostingCandidatesByInvoiceIdIn(@Param("invoiceIds") Collection<Long> invoiceIds);
+
+    /**
+     * Unposted invoices in the given status matching every given filter, in posting order
+     */
+    @Query("SELECT i.invoiceId AS invoiceId, i.company.companyId AS companyId, i.status AS status, "
+            + "i.isPosted AS isPosted FROM Invoice i WHERE i.status = :status AND i.isPosted = false "
+            + "AND (:companyId IS NULL OR i.company.companyId = :companyId) "
+            + "AND (:documentType IS NULL OR i.documentType = :documentType) "
+            + "AND (:fromDate IS NULL OR i.invoiceDate >= :fromDate) AND (:toDate IS NULL OR i.invoiceDate <= :toDate) "
+            + "ORDER BY i.invoiceDate, i.invoiceId")
+    List<PostingCandidate> findPostingCandidates(@Param("status") InvoiceStatus status,
+            @Param("companyId") Long companyId, @Param("documentType") DocumentType documentType,
+            @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+
+    /**
+     * Open amounts of posted invoices per counterparty, bucketed by how far each invoice is past
+     * its due date (its invoice date when it has none) on the as-of date. The bucket bounds are
+     * the as-of date minus 30, 60, 90 and 120 days.
+     */
+    @Query(value = "SELECT i.company_id AS companyId, c.code AS companyCode, c.name AS companyName, "
+            + "COUNT(*) AS invoiceCount, "
+            + "SUM(CASE WHEN COALESCE(i.due_date, i.invoice_date) >= :asOf "
+            + "THEN i.total_amount - i.paid_amount ELSE 0 END) AS currentAmount, "
+            + "SUM(CASE WHEN COALESCE(i.due_date, i.invoice_date) < :asOf AND COALESCE(i.due_date, i.invoice_date) >= :days30 "
+            + "THEN i.total_amount - i.paid_amount ELSE 0 END) AS days1To30, "
+            + "SUM(CASE WHEN COALESCE(i.due_date, i.invoice_date) < :days30 AND COALESCE(i.due_date, i.invoice_date) >= :days60 "
+            + "THEN i.total_amount - i.paid_amount ELSE 0 END) AS days31To60, "
+            + "SUM(CASE WHEN COALESCE(i.due_date, i.invoice_date) < :days60 AND COALESCE(i.due_date, i.invoice_date) >= :days90 "
+            + "THEN i.total_amount - i.paid_amount ELSE 0 END) AS days61To90, "
+            + "SUM(CASE WHEN COALESCE(i.due_date, i.invoice_date) < :days90 AND COALESCE(i.due_date, i.invoice_date) >= :days120 "
+            + "THEN i.total_amount - i.paid_amount ELSE 0 END) AS days91To120, "
+            + "SUM(CASE WHEN COALESCE(i.due_date, i.invoice_date) < :days120 "
+            + "THEN i.total_amount - i.paid_amount ELSE 0 END) AS over120 "
+            + "FROM invoices i JOIN companies c ON c.company_id = i.company_id "
+            + "WHERE i.document_type IN (:documentTypes) AND i.status IN (:statuses) AND i.invoice_date <= :asOf "
+            + "AND i.total_amount <> i.paid_amount AND (:companyId IS NULL OR i.company_id = :companyId) "
+            + "GROUP BY i.company_id, c.code, c.name ORDER BY c.name, i.company_id", nativeQuery = true)
+    List<AgingBucketView> findAgingBuckets(@Param("documentTypes") Collection<String> documentTypes,
+            @Param("statuses") Collection<String> statuses, @Param("companyId") Long companyId,
+            @Param("asOf") LocalDate asOf, @Param("days30") LocalDate days30, @Param("days60") LocalDate days60,
+            @Param("days90") LocalDate days90, @Param("days120") LocalDate days120);
+
+    /**
+     * Posted invoices of the given companies that are not fully paid, oldest due first within each company
+     */
+    @Query("SELECT i.invoiceId AS invoiceId, i.invoiceNumber AS invoiceNumber, i.company.companyId AS companyId, "
+            + "i.documentType AS documentType, i.totalAmount AS totalAmount, i.paidAmount AS paidAmount "
+            + "FROM Invoice i WHERE i.company.companyId IN :companyIds AND i.status IN :statuses "
+            + "AND i.paidAmount < i.totalAmount "
+            + "ORDER BY i.company.companyId, COALESCE(i.dueDate, i.invoiceDate), i.invoiceDate, i.invoiceId")
+    List<OpenInvoiceView> findOpenInvoices(@Param("companyIds") Collection<Long> companyIds,
+            @Param("statuses") Collection<InvoiceStatus> statuses);
+
+    interface OpenInvoiceView {
+        Long getInvoiceId();
+
+        String getInvoiceNumber();
+
+        Long getCompanyId();
+
+        DocumentType getDocumentType();
+
+        BigDecimal getTotalAmount();
+
+        BigDecimal getPaidAmount();
+    }
+
+    interface AgingBucketView {
+        Long getCompanyId();
+
+        String getCompanyCode();
+
+        String getCompanyName();
+
+        Long getInvoiceCount();
+
+        BigDecimal getCurrentAmount();
+
+        BigDecimal getDays1To30();
+
+        BigDecimal getDays31To60();
+
+        BigDecimal getDays61To90();
+
+        BigDecimal getDays91To120();
+
+        BigDecimal getOver120();
+    }
+
+    interface PostingCandidate {
+        Long getInvoiceId();
+
+        Long getCompanyId();
+
+        InvoiceStatus getStatus();
+
+        Boolean getIsPosted();
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.Invoice;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Invoice search returning list columns only, newest first and paged by keyset.
+ */
+public interface InvoiceSearchRepository {
+
+    /**
+     * Up to {@code limit} invoices matching the filter, ordered by (invoiceDate, invoiceId)
+     * descending and starting strictly after the given position; a null afterDate starts at the
+     * newest invoice
+     */
+    List<InvoiceSearchRow> searchInvoices(Specification<Invoice> filter, LocalDate afterDate, Long afterId,
+            int limit);
+
+    record InvoiceSearchRow(Long invoiceId, String invoiceNumber, LocalDate invoiceDate, LocalDate dueDate,
+            DocumentType documentType, InvoiceStatus status, Long companyId, String companyCode,
+            String companyName, String warehouse, String contract, BigDecimal totalAmount,
+            BigDecimal paidAmount) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.Company;
+import com.example.accounts.entity.Invoice;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class InvoiceSearchRepositoryImpl implements InvoiceSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<InvoiceSearchRow> searchInvoices(Specification<Invoice> filter, LocalDate afterDate, Long afterId,
+            int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<InvoiceSearchRow> query = cb.createQuery(InvoiceSearchRow.class);
+        Root<Invoice> invoice = query.from(Invoice.class);
+        Join<Invoice, Company> company = invoice.join("company");
+        Path<LocalDate> date = invoice.get("invoiceDate");
+        Path<Long> id = invoice.get("invoiceId");
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate matches = filter.toPredicate(invoice, query, cb);
+        if (matches != null) {
+            predicates.add(matches);
+        }
+        if (afterDate != null) {
+            predicates.add(cb.or(cb.lessThan(date, afterDate),
+                    cb.and(cb.equal(date, afterDate), cb.lessThan(id, afterId))));
+        }
+
+        query.select(cb.construct(InvoiceSearchRow.class, id, invoice.get("invoiceNumber"), date,
+                        invoice.get("dueDate"), invoice.get("documentType"), invoice.get("status"),
+                        company.get("companyId"), company.get("code"), company.get("name"),
+                        invoice.get("warehouse"), invoice.get("contract"), invoice.get("totalAmount"),
+                        invoice.get("paidAmount")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(date), cb.desc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.dto.DocumentSearchQuery;
+import com.example.accounts.entity.Invoice;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Invoice search filters. Each one matches everything when its value is null, so a search is
+ * the AND of whichever filters were given.
+ */
+public final class InvoiceSpecifications {
+
+    private InvoiceSpecifications() {
+    }
+
+    public static Specification<Invoice> matching(InvoiceStatus status, DocumentSearchQuery query) {
+        return Specification.allOf(List.of(
+                hasCompany(query.getCompanyId()),
+                hasDocumentType(query.getDocumentType()),
+                hasStatus(status),
+                datedBetween(query.getFrom(), query.getTo()),
+                totalBetween(query.getMinAmount(), query.getMaxAmount()),
+                numberStartsWith(query.getReference()),
+                hasWarehouse(query.getWarehouse()),
+                hasContract(query.getContract())));
+    }
+
+    public static Specification<Invoice> hasCompany(Long companyId) {
+        return (root, cq, cb) -> companyId == null ? null : cb.equal(root.get("company").get("companyId"), companyId);
+    }
+
+    public static Specification<Invoice> hasDocumentType(DocumentType documentType) {
+        return (root, cq, cb) -> documentType == null ? null : cb.equal(root.get("documentType"), documentType);
+    }
+
+    public static Specification<Invoice> hasStatus(InvoiceStatus status) {
+        return (root, cq, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Invoice> datedBetween(LocalDate from, LocalDate to) {
+        return (root, cq, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("invoiceDate"), from, to);
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("invoiceDate"), from);
+            }
+            return to == null ? null : cb.lessThanOrEqualTo(root.get("invoiceDate"), to);
+        };
+    }
+
+    public static Specification<Invoice> totalBetween(BigDecimal min, BigDecimal max) {
+        return (root, cq, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get("totalAmount"), min, max);
+            }
+            if (min != null) {
+                return cb.greaterThanOrEqualTo(root.get("totalAmount"), min);
+            }
+            return max == null ? null : cb.lessThanOrEqualTo(root.get("totalAmount"), max);
+        };
+    }
+
+    public static Specification<Invoice> numberStartsWith(String prefix) {
+        return (root, cq, cb) -> prefix == null || prefix.isBlank() ? null
+                : cb.like(root.get("invoiceNumber"), LikePatterns.startsWith(prefix), LikePatterns.ESCAPE);
+    }
+
+    public static Specification<Invoice> hasWarehouse(String warehouse) {
+        return (root, cq, cb) -> warehouse == null ? null : cb.equal(root.get("warehouse"), warehouse);
+    }
+
+    public static Specification<Invoice> hasContract(String contract) {
+        return (root, cq, cb) -> contract == null ? null : cb.equal(root.get("contract"), contract);
+    }
+}
@@ -2,8 +2,12 @@ package com.example.accounts.repository;
 
 import com.example.accounts.entity.ItemGLAccount;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +15,31 @@ public interface ItemGLAccountRepository extends JpaRepository<ItemGLAccount, Lo
     Optional<ItemGLAccount> findByItemItemId(Long itemId);
 
     boolean existsByItemItemId(Long itemId);
+
+    /**
+     * Accounts an invoice line for the item posts to, for items with GL accounts configured
+     */
+    @Query("SELECT g.item.itemId AS itemId, gl.accountId AS glAccountId, rev.accountId AS salesRevenueId, "
+            + "dis.accountId AS tradeDiscountsId, cogs.accountId AS costOfGoodsSoldId, "
+            + "ovat.accountId AS outputVATId, ivat.accountId AS inputVATId "
+            + "FROM ItemGLAccount g LEFT JOIN g.glAccount gl LEFT JOIN g.salesRevenueAccount rev "
+            + "LEFT JOIN g.tradeDiscountsAccount dis LEFT JOIN g.costOfGoodsSoldAccount cogs "
+            + "LEFT JOIN g.outputVATAccount ovat LEFT JOIN g.inputVATAccount ivat WHERE g.item.itemId IN :itemIds")
+    List<PostingAccounts> findPostingAccounts(@Param("itemIds") Collection<Long> itemIds);
+
+    interface PostingAccounts {
+        Long getItemId();
+
+        Long getGlAccountId();
+
+        Long getSalesRevenueId();
+
+        Long getTradeDiscountsId();
+
+        Long getCostOfGoodsSoldId();
+
+        Long getOutputVATId();
+
+        Long getInputVATId();
+    }
 }
@@ -2,7 +2,12 @@ package com.example.accounts.repository;
 
 import com.example.accounts.entity.Item;
 import com.example.accounts.entity.enums.ItemType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,13 +16,26 @@ import java.util.Optional;
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    @EntityGraph("Item.withGLAccounts")
     Optional<Item> findByCode(String code);
 
+    @EntityGraph("Item.withGLAccounts")
     List<Item> findByItemType(ItemType itemType);
 
+    @EntityGraph("Item.withGLAccounts")
     List<Item> findByIsActive(Boolean isActive);
 
+    @EntityGraph("Item.withGLAccounts")
     List<Item> findByCategory(String category);
 
+    @EntityGraph("Item.withGLAccounts")
+    @Query("SELECT i FROM Item i WHERE (:itemType IS NULL OR i.itemType = :itemType) "
+            + "AND (:isActive IS NULL OR i.isActive = :isActive) AND (:category IS NULL OR i.category = :category)")
+    Page<Item> findPage(@Param("itemType") ItemType itemType, @Param("isActive") Boolean isActive,
+            @Param("category") String category, Pageable pageable);
+
+    @EntityGraph("Item.withGLAccounts")
+    Optional<Item> findWithGLAccountsByItemId(Long itemId);
+
     boolean existsByCode(String code);
 }
@@ -0,0 +1,164 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.JournalEntryLine;
+import com.example.accounts.entity.enums.AccountBalanceType;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for journal entry lines (read-side aggregates)
+ */
+@Repository
+public interface JournalEntryLineRepository extends JpaRepository<JournalEntryLine, Long> {
+
+    String LEDGER_LINE_SELECT = "SELECT l.lineId AS lineId, je.journalEntryId AS journalEntryId, " +
+            "je.entryDate AS entryDate, je.entryNumber AS entryNumber, " +
+            "COALESCE(l.description, je.description) AS description, " +
+            "l.debitAmount AS debitAmount, l.creditAmount AS creditAmount " +
+            "FROM JournalEntryLine l JOIN l.journalEntry je LEFT JOIN l.company lc LEFT JOIN je.company jc ";
+
+    String LEDGER_LINE_FILTER = "WHERE l.account.accountId = :accountId AND je.status IN :statuses " +
+            "AND (:companyId IS NULL OR COALESCE(lc.companyId, jc.companyId) = :companyId) " +
+            "AND (:to IS NULL OR je.entryDate <= :to) ";
+
+    String LEDGER_LINE_ORDER = "ORDER BY je.entryDate, je.journalEntryId, l.lineId";
+
+    /** Lines strictly after the (entryDate, journalEntryId, lineId) position */
+    String AFTER_KEYSET = "(je.entryDate > :afterDate OR (je.entryDate = :afterDate AND " +
+            "(je.journalEntryId > :afterEntryId OR (je.journalEntryId = :afterEntryId AND l.lineId > :afterLineId)))) ";
+
+    /** Lines strictly before the (entryDate, journalEntryId, lineId) position */
+    String BEFORE_KEYSET = "(je.entryDate < :beforeDate OR (je.entryDate = :beforeDate AND " +
+            "(je.journalEntryId < :beforeEntryId OR (je.journalEntryId = :beforeEntryId AND l.lineId < :beforeLineId)))) ";
+
+    /**
+     * First page of an account's ledger, starting at {@code from} (inclusive)
+     */
+    @Query(LEDGER_LINE_SELECT + LEDGER_LINE_FILTER + "AND je.entryDate >= :from " + LEDGER_LINE_ORDER)
+    List<LedgerLineView> findLedgerLinesFrom(@Param("accountId") Long accountId,
+            @Param("companyId") Long companyId,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<JournalEntryStatus> statuses,
+            Limit limit);
+
+    /**
+     * Next page of an account's ledger, continuing after the keyset position of the previous page
+     */
+    @Query(LEDGER_LINE_SELECT + LEDGER_LINE_FILTER + "AND " + AFTER_KEYSET + LEDGER_LINE_ORDER)
+    List<LedgerLineView> findLedgerLinesAfter(@Param("accountId") Long accountId,
+            @Param("companyId") Long companyId,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterEntryId") Long afterEntryId,
+            @Param("afterLineId") Long afterLineId,
+            @Param("to") LocalDate to,
+            @Param("statuses") Collection<JournalEntryStatus> statuses,
+            Limit limit);
+
+    /**
+     * Net (debit - credit) of an account's lines dated on or after {@code since} and ordered
+     * before the given keyset position. Seeds the running balance within the current month.
+     */
+    @Query("SELECT COALESCE(SUM(l.debitAmount - l.creditAmount), 0) " +
+            "FROM JournalEntryLine l JOIN l.journalEntry je LEFT JOIN l.company lc LEFT JOIN je.company jc " +
+            "WHERE l.account.accountId = :accountId AND je.status IN :statuses " +
+            "AND (:companyId IS NULL OR COALESCE(lc.companyId, jc.companyId) = :companyId) " +
+            "AND je.entryDate >= :since AND " + BEFORE_KEYSET)
+    BigDecimal sumNetBefore(@Param("accountId") Long accountId,
+            @Param("companyId") Long companyId,
+            @Param("since") LocalDate since,
+            @Param("beforeDate") LocalDate beforeDate,
+            @Param("beforeEntryId") Long beforeEntryId,
+            @Param("beforeLineId") Long beforeLineId,
+            @Param("statuses") Collection<JournalEntryStatus> statuses);
+
+    /**
+     * Debit/credit turnover per account, company and calendar month over entries in the given statuses.
+     * The line company wins over the header company, matching how balances are maintained on posting.
+     */
+    @Query("SELECT l.account.accountId AS accountId, COALESCE(lc.companyId, jc.companyId) AS companyId, " +
+            "YEAR(je.entryDate) AS fiscalYear, MONTH(je.entryDate) AS fiscalPeriod, " +
+            "SUM(l.debitAmount) AS debitTurnover, SUM(l.creditAmount) AS creditTurnover " +
+            "FROM JournalEntryLine l JOIN l.journalEntry je LEFT JOIN l.company lc LEFT JOIN je.company jc " +
+            "WHERE je.status IN :statuses " +
+            "GROUP BY l.account.accountId, COALESCE(lc.companyId, jc.companyId), YEAR(je.entryDate), MONTH(je.entryDate)")
+    List<PeriodTurnover> sumTurnoverByAccountCompanyAndPeriod(
+            @Param("statuses") Collection<JournalEntryStatus> statuses);
+
+    /**
+     * Trial balance in a single grouped pass: balance brought forward before {@code from}
+     * plus debit/credit turnover between {@code from} and {@code to}, per account.
+     */
+    @Query("SELECT a.accountId AS accountId, a.accountCode AS accountCode, a.description AS accountDescription, " +
+            "a.section AS section, a.accountType AS accountType, " +
+            "SUM(CASE WHEN je.entryDate < :from THEN l.debitAmount - l.creditAmount ELSE 0 END) AS openingBalance, " +
+            "SUM(CASE WHEN je.entryDate >= :from THEN l.debitAmount ELSE 0 END) AS debitTurnover, " +
+            "SUM(CASE WHEN je.entryDate >= :from THEN l.creditAmount ELSE 0 END) AS creditTurnover " +
+            "FROM JournalEntryLine l JOIN l.journalEntry je JOIN l.account a " +
+            "LEFT JOIN l.company lc LEFT JOIN je.company jc " +
+            "WHERE je.status IN :statuses AND je.entryDate <= :to " +
+            "AND (:companyId IS NULL OR COALESCE(lc.companyId, jc.companyId) = :companyId) " +
+            "GROUP BY a.accountId, a.accountCode, a.description, a.section, a.accountType " +
+            "ORDER BY a.accountCode")
+    List<TrialBalanceRow> sumTrialBalance(@Param("from") LocalDate from,
+            @Param("to") LocalDate to,
+            @Param("companyId") Long companyId,
+            @Param("statuses") Collection<JournalEntryStatus> statuses);
+
+    interface TrialBalanceRow {
+        Long getAccountId();
+
+        String getAccountCode();
+
+        String getAccountDescription();
+
+        String getSection();
+
+        AccountBalanceType getAccountType();
+
+        BigDecimal getOpeningBalance();
+
+        BigDecimal getDebitTurnover();
+
+        BigDecimal getCreditTurnover();
+    }
+
+    interface LedgerLineView {
+        Long getLineId();
+
+        Long getJournalEntryId();
+
+        LocalDate getEntryDate();
+
+        String getEntryNumber();
+
+        String getDescription();
+
+        BigDecimal getDebitAmount();
+
+        BigDecimal getCreditAmount();
+    }
+
+    interface PeriodTurnover {
+        Long getAccountId();
+
+        Long getCompanyId();
+
+        Integer getFiscalYear();
+
+        Integer getFiscalPeriod();
+
+        BigDecimal getDebitTurnover();
+
+        BigDecimal getCreditTurnover();
+    }
+}
@@ -1,24 +1,69 @@
 package com.example.accounts.repository;
 
 import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.enums.DocumentType;
 import com.example.accounts.entity.enums.JournalEntryStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long> {
+public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long>, JpaSpecificationExecutor<JournalEntry>,
+        JournalEntrySearchRepository {
 
     Optional<JournalEntry> findByEntryNumber(String entryNumber);
 
+    @EntityGraph("JournalEntry.detail")
     List<JournalEntry> findByStatus(JournalEntryStatus status);
 
+    /**
+     * Pages entry ids only; fetching the lines graph in the same query would
+     * force Hibernate to page in memory.
+     */
+    @Query("SELECT j.journalEntryId FROM JournalEntry j WHERE (:status IS NULL OR j.status = :status) "
+            + "AND (:fromDate IS NULL OR j.entryDate >= :fromDate) AND (:toDate IS NULL OR j.entryDate <= :toDate)")
+    Page<Long> findIds(@Param("status") JournalEntryStatus status, @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate, Pageable pageable);
+
+    @EntityGraph("JournalEntry.detail")
+    List<JournalEntry> findWithDetailsByJournalEntryIdIn(Collection<Long> journalEntryIds);
+
+    @EntityGraph("JournalEntry.detail")
+    Optional<JournalEntry> findWithDetailsByJournalEntryId(Long journalEntryId);
+
+    /**
+     * Next ids, in id order, of posted entries matching a bulk reversal filter.
+     * Contra entries are never selected.
+     */
+    @Query("SELECT j.journalEntryId FROM JournalEntry j WHERE j.status = :status AND j.reversalOf IS NULL "
+            + "AND j.journalEntryId > :afterId "
+            + "AND (:referencePrefix IS NULL OR j.referenceNumber LIKE CONCAT(:referencePrefix, '%')) "
+            + "AND (:documentType IS NULL OR j.documentType = :documentType) "
+            + "AND (:fromDate IS NULL OR j.entryDate >= :fromDate) AND (:toDate IS NULL OR j.entryDate <= :toDate) "
+            + "AND (:companyId IS NULL OR j.company.companyId = :companyId) "
+            + "ORDER BY j.journalEntryId")
+    List<Long> findReversibleIds(@Param("status") JournalEntryStatus status, @Param("afterId") Long afterId,
+            @Param("referencePrefix") String referencePrefix, @Param("documentType") DocumentType documentType,
+            @Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate,
+            @Param("companyId") Long companyId, Limit limit);
+
     List<JournalEntry> findByEntryDateBetween(LocalDate startDate, LocalDate endDate);
 
     List<JournalEntry> findByCompanyCompanyId(Long companyId);
 
     boolean existsByEntryNumber(String entryNumber);
+
+    @Query("SELECT j.entryNumber FROM JournalEntry j WHERE j.entryNumber IN :entryNumbers")
+    List<String> findExistingEntryNumbers(@Param("entryNumbers") Collection<String> entryNumbers);
 }
@@ -0,0 +1,30 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Journal entry search returning header columns only, newest first and paged by keyset.
+ */
+public interface JournalEntrySearchRepository {
+
+    /**
+     * Up to {@code limit} entries matching the filter, ordered by (entryDate, journalEntryId)
+     * descending and starting strictly after the given position; a null afterDate starts at the
+     * newest entry
+     */
+    List<JournalEntrySearchRow> searchJournalEntries(Specification<JournalEntry> filter, LocalDate afterDate,
+            Long afterId, int limit);
+
+    record JournalEntrySearchRow(Long journalEntryId, String entryNumber, LocalDate entryDate,
+            DocumentType documentType, JournalEntryStatus status, String description, String referenceNumber,
+            Long companyId, String companyCode, String companyName, BigDecimal totalDebit,
+            BigDecimal totalCredit) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.Company;
+import com.example.accounts.entity.JournalEntry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class JournalEntrySearchRepositoryImpl implements JournalEntrySearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<JournalEntrySearchRow> searchJournalEntries(Specification<JournalEntry> filter, LocalDate afterDate,
+            Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<JournalEntrySearchRow> query = cb.createQuery(JournalEntrySearchRow.class);
+        Root<JournalEntry> entry = query.from(JournalEntry.class);
+        // Entries without a header company are still listed
+        Join<JournalEntry, Company> company = entry.join("company", JoinType.LEFT);
+        Path<LocalDate> date = entry.get("entryDate");
+        Path<Long> id = entry.get("journalEntryId");
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate matches = filter.toPredicate(entry, query, cb);
+        if (matches != null) {
+            predicates.add(matches);
+        }
+        if (afterDate != null) {
+            predicates.add(cb.or(cb.lessThan(date, afterDate),
+                    cb.and(cb.equal(date, afterDate), cb.lessThan(id, afterId))));
+        }
+
+        query.select(cb.construct(JournalEntrySearchRow.class, id, entry.get("entryNumber"), date,
+                        entry.get("documentType"), entry.get("status"), entry.get("description"),
+                        entry.get("referenceNumber"), company.get("companyId"), company.get("code"),
+                        company.get("name"), entry.get("totalDebit"), entry.get("totalCredit")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(date), cb.desc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.dto.DocumentSearchQuery;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.JournalEntryLine;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Journal entry search filters. Each one matches everything when its value is null, so a search
+ * is the AND of whichever filters were given. Warehouse and contract live on the lines and match
+ * entries with at least one such line.
+ */
+public final class JournalEntrySpecifications {
+
+    private JournalEntrySpecifications() {
+    }
+
+    public static Specification<JournalEntry> matching(JournalEntryStatus status, DocumentSearchQuery query) {
+        return Specification.allOf(List.of(
+                hasCompany(query.getCompanyId()),
+                hasDocumentType(query.getDocumentType()),
+                hasStatus(status),
+                datedBetween(query.getFrom(), query.getTo()),
+                totalBetween(query.getMinAmount(), query.getMaxAmount()),
+                referenceStartsWith(query.getReference()),
+                hasLineWith("warehouse", query.getWarehouse()),
+                hasLineWith("contract", query.getContract())));
+    }
+
+    public static Specification<JournalEntry> hasCompany(Long companyId) {
+        return (root, cq, cb) -> companyId == null ? null : cb.equal(root.get("company").get("companyId"), companyId);
+    }
+
+    public static Specification<JournalEntry> hasDocumentType(DocumentType documentType) {
+        return (root, cq, cb) -> documentType == null ? null : cb.equal(root.get("documentType"), documentType);
+    }
+
+    public static Specification<JournalEntry> hasStatus(JournalEntryStatus status) {
+        return (root, cq, cb) -> status == null ? null : cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<JournalEntry> datedBetween(LocalDate from, LocalDate to) {
+        return (root, cq, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("entryDate"), from, to);
+            }
+            if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("entryDate"), from);
+            }
+            return to == null ? null : cb.lessThanOrEqualTo(root.get("entryDate"), to);
+        };
+    }
+
+    /**
+     * Entry total, i.e. total debit (equal to total credit once balanced)
+     */
+    public static Specification<JournalEntry> totalBetween(BigDecimal min, BigDecimal max) {
+        return (root, cq, cb) -> {
+            if (min != null && max != null) {
+                return cb.between(root.get("totalDebit"), min, max);
+            }
+            if (min != null) {
+                return cb.greaterThanOrEqualTo(root.get("totalDebit"), min);
+            }
+            return max == null ? null : cb.lessThanOrEqualTo(root.get("totalDebit"), max);
+        };
+    }
+
+    public static Specification<JournalEntry> referenceStartsWith(String prefix) {
+        return (root, cq, cb) -> prefix == null || prefix.isBlank() ? null
+                : cb.like(root.get("referenceNumber"), LikePatterns.startsWith(prefix), LikePatterns.ESCAPE);
+    }
+
+    /**
+     * EXISTS a line of the entry whose attribute equals the value; a subquery rather than a join
+     * so an entry with several matching lines is returned once
+     */
+    public static Specification<JournalEntry> hasLineWith(String lineAttribute, String value) {
+        return (root, cq, cb) -> {
+            if (value == null) {
+                return null;
+            }
+            Subquery<Long> lines = cq.subquery(Long.class);
+            Root<JournalEntryLine> line = lines.from(JournalEntryLine.class);
+            lines.select(line.get("lineId")).where(
+                    cb.equal(line.get("journalEntry"), root),
+                    cb.equal(line.get(lineAttribute), value));
+            return cb.exists(lines);
+        };
+    }
+}
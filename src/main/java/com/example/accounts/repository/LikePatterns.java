@@ -0,0 +1,26 @@
+package com.example.accounts.repository;
+
+/**
+ * LIKE patterns built from user input, with any {@code %} or {@code _} in the input matched
+ * literally. The escape character is {@code !} rather than a backslash, which MySQL would also
+ * treat as a string escape.
+ */
+public final class LikePatterns {
+
+    public static final char ESCAPE = '!';
+
+    private LikePatterns() {
+    }
+
+    public static String startsWith(String prefix) {
+        StringBuilder pattern = new StringBuilder(prefix.length() + 2);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+}
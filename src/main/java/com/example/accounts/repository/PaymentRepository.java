@@ -0,0 +1,22 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.Payment;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentRepository extends JpaRepository<Payment, Long> {
+
+    @EntityGraph(attributePaths = { "journalEntry", "allocations", "allocations.invoice" })
+    Optional<Payment> findWithAllocationsByPaymentId(Long paymentId);
+
+    @Query("SELECT p.paymentNumber FROM Payment p WHERE p.paymentNumber IN :paymentNumbers")
+    List<String> findExistingPaymentNumbers(@Param("paymentNumbers") Collection<String> paymentNumbers);
+}
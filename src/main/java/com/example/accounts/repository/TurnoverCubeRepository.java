@@ -0,0 +1,81 @@
+package com.example.accounts.repository;
+
+import com.example.accounts.entity.TurnoverCubeCell;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+/**
+ * Repository maintaining the turnover cube; slices are read with dynamic SQL in TurnoverCubeService
+ */
+@Repository
+public interface TurnoverCubeRepository extends JpaRepository<TurnoverCubeCell, Long> {
+
+    /**
+     * Atomically add turnover to an existing cell. Returns 0 when the cell does not exist yet.
+     */
+    @Modifying
+    @Query("UPDATE TurnoverCubeCell c SET c.debitTurnover = c.debitTurnover + :debit, " +
+            "c.creditTurnover = c.creditTurnover + :credit, c.quantity = c.quantity + :quantity, " +
+            "c.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE c.accountId = :accountId AND c.companyId = :companyId AND c.itemId = :itemId " +
+            "AND c.warehouse = :warehouse AND c.contract = :contract " +
+            "AND c.fiscalYear = :year AND c.fiscalPeriod = :period")
+    int addTurnover(@Param("accountId") Long accountId,
+            @Param("companyId") Long companyId,
+            @Param("itemId") Long itemId,
+            @Param("warehouse") String warehouse,
+            @Param("contract") String contract,
+            @Param("year") Integer year,
+            @Param("period") Integer period,
+            @Param("debit") BigDecimal debit,
+            @Param("credit") BigDecimal credit,
+            @Param("quantity") BigDecimal quantity);
+
+    /**
+     * Insert a new cell, or add to it when a concurrent posting created it first
+     */
+    @Modifying
+    @Query(value = "INSERT INTO turnover_cube (account_id, company_id, item_id, warehouse, contract, fiscal_year, " +
+            "fiscal_period, debit_turnover, credit_turnover, quantity, updated_at) " +
+            "VALUES (:accountId, :companyId, :itemId, :warehouse, :contract, :year, :period, :debit, :credit, " +
+            ":quantity, CURRENT_TIMESTAMP) " +
+            "ON DUPLICATE KEY UPDATE debit_turnover = debit_turnover + :debit, " +
+            "credit_turnover = credit_turnover + :credit, quantity = quantity + :quantity, " +
+            "updated_at = CURRENT_TIMESTAMP", nativeQuery = true)
+    int insertCell(@Param("accountId") Long accountId,
+            @Param("companyId") Long companyId,
+            @Param("itemId") Long itemId,
+            @Param("warehouse") String warehouse,
+            @Param("contract") String contract,
+            @Param("year") Integer year,
+            @Param("period") Integer period,
+            @Param("debit") BigDecimal debit,
+            @Param("credit") BigDecimal credit,
+            @Param("quantity") BigDecimal quantity);
+
+    @Modifying
+    @Query(value = "DELETE FROM turnover_cube", nativeQuery = true)
+    int deleteAllCells();
+
+    /**
+     * Refill the cube from booked journal lines in one statement
+     */
+    @Modifying
+    @Query(value = "INSERT INTO turnover_cube (account_id, company_id, item_id, warehouse, contract, fiscal_year, " +
+            "fiscal_period, debit_turnover, credit_turnover, quantity, updated_at) " +
+            "SELECT l.account_id, COALESCE(l.company_id, j.company_id, 0), COALESCE(l.item_id, 0), " +
+            "COALESCE(l.warehouse, ''), COALESCE(l.contract, ''), YEAR(j.entry_date), MONTH(j.entry_date), " +
+            "SUM(l.debit_amount), SUM(l.credit_amount), SUM(COALESCE(l.quantity, 0)), CURRENT_TIMESTAMP " +
+            "FROM journal_entry_lines l JOIN journal_entries j ON j.journal_entry_id = l.journal_entry_id " +
+            "WHERE j.status IN (:statuses) " +
+            "GROUP BY l.account_id, COALESCE(l.company_id, j.company_id, 0), COALESCE(l.item_id, 0), " +
+            "COALESCE(l.warehouse, ''), COALESCE(l.contract, ''), YEAR(j.entry_date), MONTH(j.entry_date)",
+            nativeQuery = true)
+    int insertFromJournalLines(@Param("statuses") Collection<String> statuses);
+}
@@ -0,0 +1,340 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.AccountBalanceResponse;
+import com.example.accounts.dto.BalanceDriftResponse;
+import com.example.accounts.dto.BalanceRebuildResponse;
+import com.example.accounts.entity.AccountPeriodBalance;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.JournalEntryLine;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.exception.ResourceNotFoundException;
+import com.example.accounts.repository.AccountPeriodBalanceRepository;
+import com.example.accounts.repository.AccountPeriodBalanceRepository.PeriodBalanceView;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.JournalEntryLineRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining the account_period_balances table.
+ * Balances are kept debit-positive: closing = opening + debit turnover - credit turnover.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AccountBalanceService {
+
+    private final AccountPeriodBalanceRepository balanceRepository;
+    private final JournalEntryLineRepository journalEntryLineRepository;
+    private final ChartOfAccountRepository chartOfAccountRepository;
+    private final TurnoverCubeService turnoverCubeService;
+    private final LedgerSnapshotService ledgerSnapshotService;
+
+    /**
+     * Add the lines of a posted journal entry to the period balances
+     */
+    public void applyPosting(JournalEntry journalEntry) {
+        applyPostings(List.of(journalEntry));
+    }
+
+    /**
+     * Add the lines of several posted journal entries to the period balances,
+     * collapsing them so each account/company/period costs one update.
+     * The dimensional turnover cube is updated in the same transaction;
+     * the in-memory ledger snapshot, when enabled, after it commits.
+     */
+    public void applyPostings(Collection<JournalEntry> journalEntries) {
+        Map<BalanceKey, BigDecimal[]> turnovers = new LinkedHashMap<>();
+        for (JournalEntry journalEntry : journalEntries) {
+            int year = journalEntry.getEntryDate().getYear();
+            int period = journalEntry.getEntryDate().getMonthValue();
+            Long headerCompanyId = journalEntry.getCompany() != null ? journalEntry.getCompany().getCompanyId()
+                    : null;
+
+            for (JournalEntryLine line : journalEntry.getLines()) {
+                Long companyId = line.getCompany() != null ? line.getCompany().getCompanyId() : headerCompanyId;
+                BalanceKey key = new BalanceKey(line.getAccount().getAccountId(), companyId, year, period);
+                BigDecimal[] amounts = turnovers.computeIfAbsent(key, k -> new BigDecimal[] { BigDecimal.ZERO,
+                        BigDecimal.ZERO });
+                amounts[0] = amounts[0].add(line.getDebitAmount());
+                amounts[1] = amounts[1].add(line.getCreditAmount());
+            }
+        }
+
+        for (Map.Entry<BalanceKey, BigDecimal[]> entry : turnovers.entrySet()) {
+            addTurnover(entry.getKey(), entry.getValue()[0], entry.getValue()[1]);
+        }
+        turnoverCubeService.applyPostings(journalEntries);
+        ledgerSnapshotService.onPosted(journalEntries);
+    }
+
+    private void addTurnover(BalanceKey key, BigDecimal debit, BigDecimal credit) {
+        int updated = balanceRepository.addTurnover(key.accountId(), key.companyKey(), key.year(), key.period(),
+                debit, credit);
+
+        if (updated == 0) {
+            // Upsert: a concurrent first posting to the same key turns this insert into an add.
+            // The preceding row stays locked until commit so an earlier-period shift cannot miss the new row.
+            BigDecimal opening = balanceRepository.lockPrecedingClosing(key.accountId(), key.companyKey(),
+                    key.year(), key.period())
+                    .stream().findFirst().orElse(BigDecimal.ZERO);
+
+            balanceRepository.insertPeriod(key.accountId(), key.companyId(), key.year(), key.period(),
+                    opening, debit, credit, opening.add(debit).subtract(credit));
+        }
+
+        BigDecimal net = debit.subtract(credit);
+        if (net.signum() != 0) {
+            balanceRepository.shiftLaterPeriods(key.accountId(), key.companyKey(), key.year(), key.period(), net);
+        }
+    }
+
+    /**
+     * Balance of one account for a period, summed over companies unless a company is given
+     */
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse getAccountBalance(Long accountId, Long companyId, Integer year, Integer period) {
+        validatePeriod(year, period);
+        ChartOfAccount account = chartOfAccountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
+
+        AccountBalanceResponse response = emptyBalance(account, companyId, year, period);
+        for (PeriodBalanceView balance : balanceRepository.findLatestUpToPeriod(accountId, companyId,
+                year * 100 + period)) {
+            accumulate(response, balance, year, period);
+        }
+        return response;
+    }
+
+    /**
+     * Balances of every account with activity up to the given period, one row per account
+     */
+    @Transactional(readOnly = true)
+    public List<AccountBalanceResponse> getPeriodBalances(Integer year, Integer period, Long companyId) {
+        validatePeriod(year, period);
+        List<PeriodBalanceView> balances = balanceRepository.findLatestUpToPeriod(null, companyId,
+                year * 100 + period);
+
+        Set<Long> accountIds = balances.stream().map(PeriodBalanceView::getAccountId).collect(Collectors.toSet());
+        Map<Long, ChartOfAccount> accounts = chartOfAccountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(ChartOfAccount::getAccountId, Function.identity()));
+
+        Map<Long, AccountBalanceResponse> byAccount = new LinkedHashMap<>();
+        for (PeriodBalanceView balance : balances) {
+            AccountBalanceResponse response = byAccount.computeIfAbsent(balance.getAccountId(),
+                    id -> emptyBalance(accounts.get(id), companyId, year, period));
+            accumulate(response, balance, year, period);
+        }
+
+        List<AccountBalanceResponse> responses = new ArrayList<>(byAccount.values());
+        responses.sort(Comparator.comparing(AccountBalanceResponse::getAccountCode,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return responses;
+    }
+
+    /**
+     * Recompute all period balances from posted journal entry lines and report drift.
+     * When dryRun is false, drifted rows are corrected in place.
+     */
+    public BalanceRebuildResponse rebuild(boolean dryRun) {
+        log.info("Rebuilding account period balances (dryRun={})", dryRun);
+
+        List<JournalEntryLineRepository.PeriodTurnover> turnovers = journalEntryLineRepository
+                .sumTurnoverByAccountCompanyAndPeriod(JournalEntryStatus.BOOKED);
+
+        // Rebuild expected rows in key order so opening balances chain from the previous period
+        Map<BalanceKey, AccountPeriodBalance> expected = new TreeMap<>();
+        for (JournalEntryLineRepository.PeriodTurnover t : turnovers) {
+            BalanceKey key = new BalanceKey(t.getAccountId(), t.getCompanyId(), t.getFiscalYear(),
+                    t.getFiscalPeriod());
+            expected.put(key, AccountPeriodBalance.builder()
+                    .accountId(key.accountId())
+                    .companyId(key.companyId())
+                    .fiscalYear(key.year())
+                    .fiscalPeriod(key.period())
+                    .debitTurnover(t.getDebitTurnover())
+                    .creditTurnover(t.getCreditTurnover())
+                    .build());
+        }
+
+        BalanceKey previousKey = null;
+        BigDecimal running = BigDecimal.ZERO;
+        for (Map.Entry<BalanceKey, AccountPeriodBalance> entry : expected.entrySet()) {
+            if (previousKey == null || !previousKey.sameAccountAndCompany(entry.getKey())) {
+                running = BigDecimal.ZERO;
+            }
+            AccountPeriodBalance row = entry.getValue();
+            row.setOpeningBalance(running);
+            running = running.add(row.getDebitTurnover()).subtract(row.getCreditTurnover());
+            row.setClosingBalance(running);
+            previousKey = entry.getKey();
+        }
+
+        List<AccountPeriodBalance> stored = balanceRepository.findAllOrdered();
+        Map<BalanceKey, AccountPeriodBalance> storedByKey = new HashMap<>();
+        for (AccountPeriodBalance balance : stored) {
+            storedByKey.put(BalanceKey.of(balance), balance);
+        }
+
+        List<BalanceDriftResponse> drifts = new ArrayList<>();
+        List<AccountPeriodBalance> toSave = new ArrayList<>();
+        List<AccountPeriodBalance> toDelete = new ArrayList<>();
+        int inserted = 0;
+        int updated = 0;
+
+        for (Map.Entry<BalanceKey, AccountPeriodBalance> entry : expected.entrySet()) {
+            AccountPeriodBalance want = entry.getValue();
+            AccountPeriodBalance have = storedByKey.remove(entry.getKey());
+            if (have == null) {
+                drifts.add(toDrift(entry.getKey(), null, want.getClosingBalance()));
+                toSave.add(want);
+                inserted++;
+            } else if (!sameAmounts(have, want)) {
+                drifts.add(toDrift(entry.getKey(), have.getClosingBalance(), want.getClosingBalance()));
+                have.setOpeningBalance(want.getOpeningBalance());
+                have.setDebitTurnover(want.getDebitTurnover());
+                have.setCreditTurnover(want.getCreditTurnover());
+                have.setClosingBalance(want.getClosingBalance());
+                toSave.add(have);
+                updated++;
+            }
+        }
+        for (Map.Entry<BalanceKey, AccountPeriodBalance> orphan : storedByKey.entrySet()) {
+            if (isZero(orphan.getValue())) {
+                // Fully reversed period: equivalent to having no row at all
+                continue;
+            }
+            drifts.add(toDrift(orphan.getKey(), orphan.getValue().getClosingBalance(), null));
+            toDelete.add(orphan.getValue());
+        }
+
+        if (!dryRun) {
+            balanceRepository.deleteAll(toDelete);
+            balanceRepository.saveAll(toSave);
+        }
+
+        if (!drifts.isEmpty()) {
+            log.warn("Account period balances drifted: {} rows (dryRun={})", drifts.size(), dryRun);
+        }
+
+        return BalanceRebuildResponse.builder()
+                .dryRun(dryRun)
+                .expectedRows(expected.size())
+                .storedRows(stored.size())
+                .driftCount(drifts.size())
+                .insertedRows(inserted)
+                .updatedRows(updated)
+                .deletedRows(toDelete.size())
+                .drifts(drifts)
+                .build();
+    }
+
+    private void validatePeriod(Integer year, Integer period) {
+        if (year == null || period == null || period < 1 || period > 12) {
+            throw new InvalidTransactionException("Fiscal period must be between 1 and 12");
+        }
+    }
+
+    private AccountBalanceResponse emptyBalance(ChartOfAccount account, Long companyId, Integer year,
+            Integer period) {
+        return AccountBalanceResponse.builder()
+                .accountId(account != null ? account.getAccountId() : null)
+                .accountCode(account != null ? account.getAccountCode() : null)
+                .accountDescription(account != null ? account.getDescription() : null)
+                .companyId(companyId)
+                .fiscalYear(year)
+                .fiscalPeriod(period)
+                .openingBalance(BigDecimal.ZERO)
+                .debitTurnover(BigDecimal.ZERO)
+                .creditTurnover(BigDecimal.ZERO)
+                .closingBalance(BigDecimal.ZERO)
+                .build();
+    }
+
+    private void accumulate(AccountBalanceResponse response, PeriodBalanceView balance, Integer year,
+            Integer period) {
+        boolean inPeriod = balance.getFiscalYear().equals(year) && balance.getFiscalPeriod().equals(period);
+        if (inPeriod) {
+            // Row for the requested period: carry its turnover
+            response.setOpeningBalance(response.getOpeningBalance().add(balance.getOpeningBalance()));
+            response.setDebitTurnover(response.getDebitTurnover().add(balance.getDebitTurnover()));
+            response.setCreditTurnover(response.getCreditTurnover().add(balance.getCreditTurnover()));
+        } else {
+            // No activity in the requested period: the last closing carries forward unchanged
+            response.setOpeningBalance(response.getOpeningBalance().add(balance.getClosingBalance()));
+        }
+        response.setClosingBalance(response.getClosingBalance().add(balance.getClosingBalance()));
+    }
+
+    private boolean sameAmounts(AccountPeriodBalance a, AccountPeriodBalance b) {
+        return a.getOpeningBalance().compareTo(b.getOpeningBalance()) == 0
+                && a.getDebitTurnover().compareTo(b.getDebitTurnover()) == 0
+                && a.getCreditTurnover().compareTo(b.getCreditTurnover()) == 0
+                && a.getClosingBalance().compareTo(b.getClosingBalance()) == 0;
+    }
+
+    private boolean isZero(AccountPeriodBalance balance) {
+        return balance.getOpeningBalance().signum() == 0
+                && balance.getDebitTurnover().signum() == 0
+                && balance.getCreditTurnover().signum() == 0
+                && balance.getClosingBalance().signum() == 0;
+    }
+
+    private BalanceDriftResponse toDrift(BalanceKey key, BigDecimal stored, BigDecimal expected) {
+        return BalanceDriftResponse.builder()
+                .accountId(key.accountId())
+                .companyId(key.companyId())
+                .fiscalYear(key.year())
+                .fiscalPeriod(key.period())
+                .storedClosingBalance(stored)
+                .expectedClosingBalance(expected)
+                .build();
+    }
+
+    private record BalanceKey(Long accountId, Long companyId, int year, int period)
+            implements Comparable<BalanceKey> {
+
+        private static final Comparator<BalanceKey> ORDER = Comparator
+                .comparing(BalanceKey::accountId)
+                .thenComparing(BalanceKey::companyId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparingInt(BalanceKey::year)
+                .thenComparingInt(BalanceKey::period);
+
+        static BalanceKey of(AccountPeriodBalance balance) {
+            return new BalanceKey(balance.getAccountId(), balance.getCompanyId(), balance.getFiscalYear(),
+                    balance.getFiscalPeriod());
+        }
+
+        long companyKey() {
+            return companyId != null ? companyId : AccountPeriodBalance.NO_COMPANY;
+        }
+
+        boolean sameAccountAndCompany(BalanceKey other) {
+            return accountId.equals(other.accountId) && Objects.equals(companyId, other.companyId);
+        }
+
+        @Override
+        public int compareTo(BalanceKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
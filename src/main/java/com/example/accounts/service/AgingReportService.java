@@ -0,0 +1,154 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.AgingReportDTO;
+import com.example.accounts.dto.AgingRowDTO;
+import com.example.accounts.entity.enums.AgingType;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import com.example.accounts.repository.InvoiceRepository;
+import com.example.accounts.repository.InvoiceRepository.AgingBucketView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Service for the AR/AP aging report.
+ * The buckets are computed by one grouped query over the invoices table; finished reports are
+ * cached per type, as-of day and counterparty filter until a posting or payment for one of the
+ * counterparties commits.
+ */
+@Service
+public class AgingReportService {
+
+    private static final List<String> OPEN_STATUSES = List.of(InvoiceStatus.POSTED.name(),
+            InvoiceStatus.PARTIALLY_PAID.name());
+
+    private final InvoiceRepository invoiceRepository;
+    private final int cacheSize;
+
+    // Guarded by itself; the generation moves on with every invalidation so a report computed
+    // from data read before a commit is never cached after that commit's invalidation
+    private final Map<CacheKey, AgingReportDTO> cache = new HashMap<>();
+    private long generation;
+
+    public AgingReportService(InvoiceRepository invoiceRepository,
+            @Value("${accounts.aging.cache-size:500}") int cacheSize) {
+        this.invoiceRepository = invoiceRepository;
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Open invoice amounts per counterparty in current, 1-30, 31-60, 61-90, 91-120 and 120+ days past due
+     */
+    @Transactional(readOnly = true)
+    public AgingReportDTO getAgingReport(AgingType type, LocalDate asOf, Long companyId) {
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+        CacheKey key = new CacheKey(type, date, companyId);
+        long seenGeneration;
+        synchronized (cache) {
+            AgingReportDTO cached = cache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            seenGeneration = generation;
+        }
+
+        AgingReportDTO report = buildReport(type, date, companyId);
+        synchronized (cache) {
+            if (generation == seenGeneration) {
+                if (cache.size() >= cacheSize) {
+                    cache.clear();
+                }
+                cache.put(key, report);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Drop cached reports that cover any of the given counterparties once the current transaction commits
+     */
+    public void invalidate(Collection<Long> companyIds) {
+        Set<Long> affected = Set.copyOf(companyIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(affected);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(affected);
+            }
+        });
+    }
+
+    private void evict(Set<Long> companyIds) {
+        synchronized (cache) {
+            generation++;
+            cache.keySet().removeIf(key -> key.companyId() == null || companyIds.contains(key.companyId()));
+        }
+    }
+
+    private AgingReportDTO buildReport(AgingType type, LocalDate asOf, Long companyId) {
+        List<AgingBucketView> buckets = invoiceRepository.findAgingBuckets(
+                type.getDocumentTypes().stream().map(Enum::name).toList(), OPEN_STATUSES, companyId,
+                asOf, asOf.minusDays(30), asOf.minusDays(60), asOf.minusDays(90), asOf.minusDays(120));
+
+        List<AgingRowDTO> rows = buckets.stream().map(AgingReportService::toRow).toList();
+        AgingRowDTO totals = AgingRowDTO.builder()
+                .invoiceCount(rows.stream().mapToLong(AgingRowDTO::getInvoiceCount).sum())
+                .current(sum(rows, AgingRowDTO::getCurrent))
+                .days1To30(sum(rows, AgingRowDTO::getDays1To30))
+                .days31To60(sum(rows, AgingRowDTO::getDays31To60))
+                .days61To90(sum(rows, AgingRowDTO::getDays61To90))
+                .days91To120(sum(rows, AgingRowDTO::getDays91To120))
+                .over120(sum(rows, AgingRowDTO::getOver120))
+                .total(sum(rows, AgingRowDTO::getTotal))
+                .build();
+
+        return AgingReportDTO.builder()
+                .type(type)
+                .asOf(asOf)
+                .companyId(companyId)
+                .rows(rows)
+                .totals(totals)
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static AgingRowDTO toRow(AgingBucketView bucket) {
+        AgingRowDTO row = AgingRowDTO.builder()
+                .companyId(bucket.getCompanyId())
+                .companyCode(bucket.getCompanyCode())
+                .companyName(bucket.getCompanyName())
+                .invoiceCount(bucket.getInvoiceCount())
+                .current(bucket.getCurrentAmount())
+                .days1To30(bucket.getDays1To30())
+                .days31To60(bucket.getDays31To60())
+                .days61To90(bucket.getDays61To90())
+                .days91To120(bucket.getDays91To120())
+                .over120(bucket.getOver120())
+                .build();
+        row.setTotal(row.getCurrent().add(row.getDays1To30()).add(row.getDays31To60()).add(row.getDays61To90())
+                .add(row.getDays91To120()).add(row.getOver120()));
+        return row;
+    }
+
+    private static BigDecimal sum(List<AgingRowDTO> rows, Function<AgingRowDTO, BigDecimal> amount) {
+        return rows.stream().map(amount).reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    private record CacheKey(AgingType type, LocalDate asOf, Long companyId) {
+    }
+}
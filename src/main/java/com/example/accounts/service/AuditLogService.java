@@ -1,10 +1,14 @@
 package com.example.accounts.service;
 
 import com.example.accounts.dto.AuditLogResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.entity.AuditLog;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.AuditLogRepository;
+import com.example.accounts.service.PagingPolicy.SortFields;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +22,10 @@ import java.util.stream.Collectors;
 public class AuditLogService {
 
     private final AuditLogRepository auditLogRepository;
+    private final PagingPolicy pagingPolicy;
+
+    private static final SortFields SORT_FIELDS = SortFields.of("auditId",
+            Sort.by(Sort.Direction.DESC, "createdAt"), "createdAt", "userId", "entityType", "action");
 
     public AuditLogResponse getAuditLogById(Long auditId) {
         AuditLog auditLog = auditLogRepository.findById(auditId)
@@ -43,10 +51,12 @@ public class AuditLogService {
                 .collect(Collectors.toList());
     }
 
-    public List<AuditLogResponse> getAllAuditLogs() {
-        return auditLogRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public PageResponse<AuditLogResponse> getAuditLogs(Long userId, String entityType, Long entityId,
+            LocalDateTime fromTime, LocalDateTime toTime, PageQuery pageQuery) {
+        return pagingPolicy.toResponse(pageQuery,
+                auditLogRepository.findPage(userId, entityType, entityId, fromTime, toTime,
+                        pagingPolicy.toPageable(pageQuery, SORT_FIELDS)),
+                this::mapToResponse);
     }
 
     private AuditLogResponse mapToResponse(AuditLog auditLog) {
@@ -0,0 +1,59 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.CashFlowDailyTotalRebuildResponse;
+import com.example.accounts.entity.CashFlowDailyTotal;
+import com.example.accounts.entity.CashFlowTransaction;
+import com.example.accounts.repository.CashFlowDailyTotalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service maintaining the cash_flow_daily_totals table.
+ * Posting a cash flow transaction adds it to its day's row, so a statement for any range sums at
+ * most one row per day for each item instead of every transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CashFlowDailyTotalService {
+
+    private final CashFlowDailyTotalRepository dailyTotalRepository;
+
+    /**
+     * Add a transaction that has just been posted to the rollup
+     */
+    public void applyPosting(CashFlowTransaction transaction) {
+        String entity = valueOrEmpty(transaction.getEntity());
+        String category = valueOrEmpty(transaction.getCategory());
+        String currency = valueOrEmpty(transaction.getCurrency());
+        Long itemId = transaction.getCashFlowItem().getCashFlowItemId();
+
+        int updated = dailyTotalRepository.addTransaction(entity, transaction.getTransactionDate(), itemId,
+                transaction.getFlowType(), category, currency, transaction.getAmount());
+        if (updated == 0) {
+            // Upsert: a concurrent first posting to the same day turns this insert into an add
+            dailyTotalRepository.insertTotal(entity, transaction.getTransactionDate(), itemId,
+                    transaction.getFlowType(), category, currency, transaction.getAmount());
+        }
+    }
+
+    /**
+     * Recompute the whole rollup from posted cash flow transactions
+     */
+    public CashFlowDailyTotalRebuildResponse rebuild() {
+        int deleted = dailyTotalRepository.deleteAllTotals();
+        int inserted = dailyTotalRepository.insertFromPostedTransactions();
+        log.info("Rebuilt cash flow daily totals: {} rows replaced by {}", deleted, inserted);
+        return CashFlowDailyTotalRebuildResponse.builder()
+                .deletedRows(deleted)
+                .insertedRows(inserted)
+                .build();
+    }
+
+    private static String valueOrEmpty(String value) {
+        return value != null ? value : CashFlowDailyTotal.NO_VALUE;
+    }
+}
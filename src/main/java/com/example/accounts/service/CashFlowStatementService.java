@@ -2,26 +2,38 @@ package com.example.accounts.service;
 
 import com.example.accounts.dto.*;
 import com.example.accounts.entity.CashFlowItem;
+import com.example.accounts.entity.CashFlowDailyTotal;
 import com.example.accounts.entity.CashFlowTransaction;
+import com.example.accounts.entity.enums.StatementGranularity;
+import com.example.accounts.exception.InvalidTransactionException;
 import com.example.accounts.exception.ResourceNotFoundException;
+import com.example.accounts.repository.CashFlowDailyTotalRepository;
+import com.example.accounts.repository.CashFlowDailyTotalRepository.ItemTotal;
+import com.example.accounts.repository.CashFlowDailyTotalRepository.MonthItemTotal;
 import com.example.accounts.repository.CashFlowItemRepository;
 import com.example.accounts.repository.CashFlowTransactionRepository;
+import com.example.accounts.service.PagingPolicy.SortFields;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Service for Cash Flow Statement operations
+ * Statements are summed from the cash_flow_daily_totals rollup of posted transactions.
  */
 @Service
 @RequiredArgsConstructor
@@ -31,6 +43,13 @@ public class CashFlowStatementService {
 
     private final CashFlowTransactionRepository transactionRepository;
     private final CashFlowItemRepository cashFlowItemRepository;
+    private final PagingPolicy pagingPolicy;
+    private final CashFlowDailyTotalRepository dailyTotalRepository;
+    private final CashFlowDailyTotalService dailyTotalService;
+
+    private static final SortFields SORT_FIELDS = SortFields.of("transactionId",
+            Sort.by(Sort.Direction.DESC, "transactionDate"), "transactionDate", "transactionNumber", "amount",
+            "flowType", "category");
 
     /**
      * Create cash flow transaction
@@ -71,9 +90,14 @@ public class CashFlowStatementService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Cash flow transaction not found with id: " + transactionId));
 
+        if (Boolean.TRUE.equals(transaction.getIsPosted())) {
+            throw new InvalidTransactionException("Cash flow transaction is already posted");
+        }
+
         transaction.setIsPosted(true);
         transaction.setPostedDate(LocalDateTime.now());
         transactionRepository.save(transaction);
+        dailyTotalService.applyPosting(transaction);
 
         log.info("Posted cash flow transaction: {}", transactionId);
     }
@@ -126,6 +150,68 @@ public class CashFlowStatementService {
     public CashFlowStatementDTO generateStatement(LocalDate startDate, LocalDate endDate, String entity) {
         log.info("Generating cash flow statement from {} to {} for entity: {}", startDate, endDate, entity);
 
+        // Posted totals per item, flow type and category, summed from the daily rollup
+        boolean dated = startDate != null && endDate != null;
+        List<CashFlowLineItemDTO> lineItems = dailyTotalRepository.findItemTotals(entityFilter(entity),
+                dated ? startDate : null, dated ? endDate : null).stream()
+                .map(CashFlowStatementService::toLineItem)
+                .collect(Collectors.toList());
+
+        CashFlowStatementDTO statement = newStatement(startDate, endDate, entity, lineItems);
+        log.info("Generated cash flow statement with {} inflow items and {} outflow items",
+                statement.getInflowItems().size(), statement.getOutflowItems().size());
+        return statement;
+    }
+
+    /**
+     * Generate one statement per month or quarter of the range, derived from monthly totals of
+     * the daily rollup in a single query
+     */
+    @Transactional(readOnly = true)
+    public List<CashFlowStatementDTO> generatePeriodicStatements(LocalDate startDate, LocalDate endDate,
+            String entity, StatementGranularity granularity) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new InvalidTransactionException("startDate and endDate are required and must be in order");
+        }
+        int monthsPerPeriod = granularity == StatementGranularity.QUARTER ? 3 : 1;
+
+        // Periods of the range, keyed by their first month and clipped to the requested dates
+        Map<YearMonth, LocalDate[]> periods = new LinkedHashMap<>();
+        for (YearMonth month = periodStart(YearMonth.from(startDate), monthsPerPeriod);
+                !month.atDay(1).isAfter(endDate); month = month.plusMonths(monthsPerPeriod)) {
+            LocalDate from = month.atDay(1).isBefore(startDate) ? startDate : month.atDay(1);
+            LocalDate periodEnd = month.plusMonths(monthsPerPeriod - 1).atEndOfMonth();
+            periods.put(month, new LocalDate[] { from, periodEnd.isAfter(endDate) ? endDate : periodEnd });
+        }
+
+        Map<YearMonth, Map<List<Object>, CashFlowLineItemDTO>> periodItems = new LinkedHashMap<>();
+        for (MonthItemTotal total : dailyTotalRepository.findMonthItemTotals(entityFilter(entity), startDate,
+                endDate)) {
+            YearMonth period = periodStart(YearMonth.of(total.getFiscalYear(), total.getFiscalMonth()),
+                    monthsPerPeriod);
+            periodItems.computeIfAbsent(period, k -> new LinkedHashMap<>())
+                    .merge(Arrays.asList(total.getCashFlowItemId(), total.getFlowType(), total.getCategory()),
+                            toLineItem(total), (sum, month) -> {
+                                sum.setAmount(sum.getAmount().add(month.getAmount()));
+                                return sum;
+                            });
+        }
+
+        List<CashFlowStatementDTO> statements = new ArrayList<>();
+        for (Map.Entry<YearMonth, LocalDate[]> period : periods.entrySet()) {
+            Map<List<Object>, CashFlowLineItemDTO> lineItems = periodItems.getOrDefault(period.getKey(), Map.of());
+            statements.add(newStatement(period.getValue()[0], period.getValue()[1], entity, lineItems.values()));
+        }
+        log.info("Generated {} {} cash flow statements from {} to {} for entity: {}", statements.size(),
+                granularity, startDate, endDate, entity);
+        return statements;
+    }
+
+    /**
+     * Statement header plus its inflow and outflow sections, each sorted by display order
+     */
+    private static CashFlowStatementDTO newStatement(LocalDate startDate, LocalDate endDate, String entity,
+            Collection<CashFlowLineItemDTO> lineItems) {
         CashFlowStatementDTO statement = new CashFlowStatementDTO();
         statement.setStartDate(startDate);
         statement.setEndDate(endDate);
@@ -139,89 +225,49 @@ public class CashFlowStatementService {
             statement.setPeriod(String.format("Data from %s to %s", startDate, endDate));
         }
 
-        // Get transactions for the period
-        List<CashFlowTransaction> transactions;
-        if (entity != null && !entity.isEmpty()) {
-            if (startDate != null && endDate != null) {
-                transactions = transactionRepository.findByEntityAndDateRange(entity, startDate, endDate);
-            } else {
-                transactions = transactionRepository.findByEntity(entity);
-            }
-        } else {
-            if (startDate != null && endDate != null) {
-                transactions = transactionRepository.findByDateRange(startDate, endDate);
-            } else {
-                transactions = transactionRepository.findAll();
-            }
-        }
-
-        // Group transactions by cash flow item
-        Map<Long, List<CashFlowTransaction>> groupedByItem = transactions.stream()
-                .collect(Collectors.groupingBy(t -> t.getCashFlowItem().getCashFlowItemId()));
-
-        // Process inflow items
         List<CashFlowLineItemDTO> inflowItems = new ArrayList<>();
-        for (Map.Entry<Long, List<CashFlowTransaction>> entry : groupedByItem.entrySet()) {
-            List<CashFlowTransaction> itemTransactions = entry.getValue();
-            CashFlowTransaction firstTransaction = itemTransactions.get(0);
-
-            if ("INFLOW".equals(firstTransaction.getFlowType())) {
-                BigDecimal totalAmount = itemTransactions.stream()
-                        .map(CashFlowTransaction::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                CashFlowLineItemDTO lineItem = new CashFlowLineItemDTO();
-                lineItem.setItemCode(firstTransaction.getCashFlowItem().getCode());
-                lineItem.setItemDescription(firstTransaction.getCashFlowItem().getDescription());
-                lineItem.setFlowType("INFLOW");
-                lineItem.setCategory(firstTransaction.getCategory());
-                lineItem.setAmount(totalAmount);
-                lineItem.setDisplayOrder(firstTransaction.getCashFlowItem().getDisplayOrder());
-
-                inflowItems.add(lineItem);
-            }
-        }
-
-        // Sort inflow items by display order
-        inflowItems.sort(Comparator.comparing(
-                item -> item.getDisplayOrder() != null ? item.getDisplayOrder() : Integer.MAX_VALUE));
-        statement.setInflowItems(inflowItems);
-
-        // Process outflow items
         List<CashFlowLineItemDTO> outflowItems = new ArrayList<>();
-        for (Map.Entry<Long, List<CashFlowTransaction>> entry : groupedByItem.entrySet()) {
-            List<CashFlowTransaction> itemTransactions = entry.getValue();
-            CashFlowTransaction firstTransaction = itemTransactions.get(0);
-
-            if ("OUTFLOW".equals(firstTransaction.getFlowType())) {
-                BigDecimal totalAmount = itemTransactions.stream()
-                        .map(CashFlowTransaction::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                CashFlowLineItemDTO lineItem = new CashFlowLineItemDTO();
-                lineItem.setItemCode(firstTransaction.getCashFlowItem().getCode());
-                lineItem.setItemDescription(firstTransaction.getCashFlowItem().getDescription());
-                lineItem.setFlowType("OUTFLOW");
-                lineItem.setCategory(firstTransaction.getCategory());
-                lineItem.setAmount(totalAmount);
-                lineItem.setDisplayOrder(firstTransaction.getCashFlowItem().getDisplayOrder());
-
+        for (CashFlowLineItemDTO lineItem : lineItems) {
+            if ("INFLOW".equals(lineItem.getFlowType())) {
+                inflowItems.add(lineItem);
+            } else if ("OUTFLOW".equals(lineItem.getFlowType())) {
                 outflowItems.add(lineItem);
             }
         }
 
-        // Sort outflow items by display order
-        outflowItems.sort(Comparator.comparing(
-                item -> item.getDisplayOrder() != null ? item.getDisplayOrder() : Integer.MAX_VALUE));
+        // Sort items by display order
+        Comparator<CashFlowLineItemDTO> byDisplayOrder = Comparator.comparing(
+                item -> item.getDisplayOrder() != null ? item.getDisplayOrder() : Integer.MAX_VALUE);
+        inflowItems.sort(byDisplayOrder.thenComparing(CashFlowLineItemDTO::getItemCode));
+        outflowItems.sort(byDisplayOrder.thenComparing(CashFlowLineItemDTO::getItemCode));
+        statement.setInflowItems(inflowItems);
         statement.setOutflowItems(outflowItems);
 
         // Calculate totals
         statement.calculateTotals();
+        return statement;
+    }
 
-        log.info("Generated cash flow statement with {} inflow items and {} outflow items",
-                inflowItems.size(), outflowItems.size());
+    private static CashFlowLineItemDTO toLineItem(ItemTotal total) {
+        return CashFlowLineItemDTO.builder()
+                .itemCode(total.getItemCode())
+                .itemDescription(total.getItemDescription())
+                .flowType(total.getFlowType())
+                .category(CashFlowDailyTotal.NO_VALUE.equals(total.getCategory()) ? null : total.getCategory())
+                .amount(total.getAmount())
+                .displayOrder(total.getDisplayOrder())
+                .build();
+    }
 
-        return statement;
+    private static String entityFilter(String entity) {
+        return entity != null && !entity.isEmpty() ? entity : null;
+    }
+
+    /**
+     * First month of the period a month falls in; quarters start in January, April, July and October
+     */
+    private static YearMonth periodStart(YearMonth month, int monthsPerPeriod) {
+        return month.minusMonths((month.getMonthValue() - 1) % monthsPerPeriod);
     }
 
     /**
@@ -236,13 +282,15 @@ public class CashFlowStatementService {
     }
 
     /**
-     * Get all transactions
+     * Get a page of transactions matching the optional filters
      */
     @Transactional(readOnly = true)
-    public List<CashFlowTransactionResponse> getAll() {
-        return transactionRepository.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public PageResponse<CashFlowTransactionResponse> getTransactions(String flowType, String category, String entity,
+            Boolean isPosted, LocalDate startDate, LocalDate endDate, PageQuery pageQuery) {
+        return pagingPolicy.toResponse(pageQuery,
+                transactionRepository.findPage(flowType, category, entity, isPosted, startDate, endDate,
+                        pagingPolicy.toPageable(pageQuery, SORT_FIELDS)),
+                this::toResponse);
     }
 
     /**
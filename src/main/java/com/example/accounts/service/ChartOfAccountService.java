@@ -5,12 +5,16 @@ import com.example.accounts.dto.AccountDimensionResponse;
 import com.example.accounts.dto.ChartOfAccountRequest;
 import com.example.accounts.dto.ChartOfAccountResponse;
 import com.example.accounts.dto.ChartOfAccountTreeNode;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.entity.AccountDimension;
 import com.example.accounts.entity.ChartOfAccount;
 import com.example.accounts.exception.DuplicateResourceException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.service.PagingPolicy.SortFields;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +30,10 @@ import java.util.stream.Collectors;
 public class ChartOfAccountService {
 
     private final ChartOfAccountRepository chartOfAccountRepository;
+    private final PagingPolicy pagingPolicy;
+
+    private static final SortFields SORT_FIELDS = SortFields.of("accountId",
+            Sort.by("accountCode"), "accountCode", "description", "section", "parentGroup");
 
     public ChartOfAccountResponse createAccount(ChartOfAccountRequest request) {
         if (chartOfAccountRepository.existsByAccountCode(request.getAccountCode())) {
@@ -86,10 +94,12 @@ public class ChartOfAccountService {
                 .collect(Collectors.toList());
     }
 
-    public List<ChartOfAccountResponse> getAllAccounts() {
-        return chartOfAccountRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public PageResponse<ChartOfAccountResponse> getAccounts(String section, String parentGroup, Boolean isActive,
+            PageQuery pageQuery) {
+        return pagingPolicy.toResponse(pageQuery,
+                chartOfAccountRepository.findPage(section, parentGroup, isActive,
+                        pagingPolicy.toPageable(pageQuery, SORT_FIELDS)),
+                this::mapToResponse);
     }
 
     public List<ChartOfAccountResponse> getActiveAccounts() {
@@ -0,0 +1,420 @@
+package com.example.accounts.service;
+
+import com.example.accounts.entity.enums.CubeDimension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Append-only columnar copy of booked journal lines for in-memory analytics.
+ * <p>
+ * Every line is one index across primitive column arrays: int ids for account, company and
+ * item (0 = none), the entry date as an int epoch day, warehouse and contract as int codes
+ * into per-column dictionaries, and debit, credit and quantity as longs in minor units
+ * (1/100 for amounts, 1/10000 for quantities). That is 48 bytes per line (six ints and three longs) with no per-row objects.
+ * <p>
+ * Readers work on an immutable {@link Columns} view published through a volatile field; the
+ * single writer fills array slots past the published size and then publishes a larger view,
+ * reallocating only when capacity runs out. Entries already present (tracked by journal entry
+ * id) are skipped on append, so re-delivering an entry is harmless.
+ */
+public final class ColumnarLedger {
+
+    public static final int NONE = 0;
+    public static final int ANY = -1;
+    /** Decimal places kept for debit and credit */
+    public static final int AMOUNT_SCALE = 2;
+    /** Decimal places kept for quantity */
+    public static final int QUANTITY_SCALE = 4;
+
+    private static final int INITIAL_CAPACITY = 1 << 14;
+    private static final int SCAN_CHUNK = 1 << 16;
+
+    // Writer state
+    private int size;
+    private int[] account = new int[INITIAL_CAPACITY];
+    private int[] company = new int[INITIAL_CAPACITY];
+    private int[] item = new int[INITIAL_CAPACITY];
+    private int[] day = new int[INITIAL_CAPACITY];
+    private int[] warehouse = new int[INITIAL_CAPACITY];
+    private int[] contract = new int[INITIAL_CAPACITY];
+    private long[] debit = new long[INITIAL_CAPACITY];
+    private long[] credit = new long[INITIAL_CAPACITY];
+    private long[] quantity = new long[INITIAL_CAPACITY];
+    private final Dictionary warehouses = new Dictionary();
+    private final Dictionary contracts = new Dictionary();
+    private final BitSet entries = new BitSet();
+    private int entryCount;
+    private int minDay = Integer.MAX_VALUE;
+    private int maxDay = Integer.MIN_VALUE;
+
+    private volatile Columns columns = snapshotColumns();
+
+    /**
+     * One booked journal line in the units the ledger stores
+     */
+    public record Line(int accountId, int companyId, int itemId, int epochDay, String warehouse, String contract,
+            long debitMinor, long creditMinor, long quantityMinor) {
+    }
+
+    /**
+     * Lines of one booked journal entry
+     */
+    public record Entry(long journalEntryId, List<Line> lines) {
+    }
+
+    /**
+     * Row filter; ids and codes use {@link #ANY} for "no filter"
+     */
+    public record Filter(int fromDay, int toDay, BitSet accountIds, int companyId, int itemId, String warehouse,
+            String contract) {
+
+        public static Filter all() {
+            return new Filter(Integer.MIN_VALUE, Integer.MAX_VALUE, null, ANY, ANY, null, null);
+        }
+    }
+
+    /**
+     * One group of an aggregation; dimensions that were not grouped hold 0 or null
+     */
+    public record Group(int accountId, int companyId, int itemId, String warehouse, String contract, int year,
+            int period, long debitMinor, long creditMinor, long quantityMinor) {
+    }
+
+    /**
+     * Append entries that are not present yet and publish them to readers
+     */
+    public synchronized int append(Collection<Entry> newEntries) {
+        int appended = 0;
+        for (Entry entry : newEntries) {
+            if (!markEntry(entry.journalEntryId())) {
+                continue;
+            }
+            for (Line line : entry.lines()) {
+                addRow(line.accountId(), line.companyId(), line.itemId(), line.epochDay(), line.warehouse(),
+                        line.contract(), line.debitMinor(), line.creditMinor(), line.quantityMinor());
+            }
+            appended++;
+        }
+        publish();
+        return appended;
+    }
+
+    /**
+     * Record an entry as loaded; false when it already was. For bulk loading before the ledger is shared.
+     */
+    synchronized boolean markEntry(long journalEntryId) {
+        if (journalEntryId < 0 || journalEntryId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal entry id out of range for the ledger snapshot: "
+                    + journalEntryId);
+        }
+        if (entries.get((int) journalEntryId)) {
+            return false;
+        }
+        entries.set((int) journalEntryId);
+        entryCount++;
+        return true;
+    }
+
+    /**
+     * Add one line without publishing it. For bulk loading before the ledger is shared.
+     */
+    synchronized void addRow(int accountId, int companyId, int itemId, int epochDay, String warehouseName,
+            String contractName, long debitMinor, long creditMinor, long quantityMinor) {
+        if (size == account.length) {
+            grow();
+        }
+        account[size] = accountId;
+        company[size] = companyId;
+        item[size] = itemId;
+        day[size] = epochDay;
+        warehouse[size] = warehouses.encode(warehouseName);
+        contract[size] = contracts.encode(contractName);
+        debit[size] = debitMinor;
+        credit[size] = creditMinor;
+        quantity[size] = quantityMinor;
+        minDay = Math.min(minDay, epochDay);
+        maxDay = Math.max(maxDay, epochDay);
+        size++;
+    }
+
+    synchronized void publish() {
+        columns = snapshotColumns();
+    }
+
+    public int size() {
+        return columns.size;
+    }
+
+    public synchronized int entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Heap held by the column arrays, including unused capacity
+     */
+    public long columnBytes() {
+        Columns view = columns;
+        return (long) view.account.length * (6 * Integer.BYTES + 3 * Long.BYTES);
+    }
+
+    /**
+     * Filter the published lines and sum them per group of the given dimensions, scanning in parallel
+     */
+    public List<Group> aggregate(Filter filter, Set<CubeDimension> dimensions) {
+        Columns view = columns;
+        int warehouseCode = filter.warehouse() == null ? ANY : view.warehouses.find(filter.warehouse());
+        int contractCode = filter.contract() == null ? ANY : view.contracts.find(filter.contract());
+        if (view.size == 0 || warehouseCode == Dictionary.MISSING || contractCode == Dictionary.MISSING) {
+            return List.of();
+        }
+
+        Scan scan = new Scan(view, filter, warehouseCode, contractCode, dimensions, periodTable(view, dimensions));
+        Map<Key, long[]> sums = new ScanTask(scan, 0, view.size).invoke();
+
+        List<Group> groups = new ArrayList<>(sums.size());
+        for (Map.Entry<Key, long[]> entry : sums.entrySet()) {
+            Key key = entry.getKey();
+            long[] amounts = entry.getValue();
+            int yearMonth = key.period;
+            groups.add(new Group(key.account, key.company, key.item, view.warehouses.decode(key.warehouse),
+                    view.contracts.decode(key.contract), key.year != 0 ? key.year : yearMonth / 100,
+                    dimensions.contains(CubeDimension.PERIOD) ? yearMonth % 100 : 0,
+                    amounts[0], amounts[1], amounts[2]));
+        }
+        return groups;
+    }
+
+    private Columns snapshotColumns() {
+        return new Columns(size, account, company, item, day, warehouse, contract, debit, credit, quantity,
+                warehouses.snapshot(), contracts.snapshot(), minDay, maxDay);
+    }
+
+    private void grow() {
+        int capacity = account.length * 2;
+        account = Arrays.copyOf(account, capacity);
+        company = Arrays.copyOf(company, capacity);
+        item = Arrays.copyOf(item, capacity);
+        day = Arrays.copyOf(day, capacity);
+        warehouse = Arrays.copyOf(warehouse, capacity);
+        contract = Arrays.copyOf(contract, capacity);
+        debit = Arrays.copyOf(debit, capacity);
+        credit = Arrays.copyOf(credit, capacity);
+        quantity = Arrays.copyOf(quantity, capacity);
+    }
+
+    /**
+     * Year * 100 + month per epoch day between the view's first and last date, so grouping by
+     * period never builds a LocalDate per line
+     */
+    private static int[] periodTable(Columns view, Set<CubeDimension> dimensions) {
+        if (!dimensions.contains(CubeDimension.YEAR) && !dimensions.contains(CubeDimension.PERIOD)) {
+            return null;
+        }
+        int[] table = new int[view.maxDay - view.minDay + 1];
+        LocalDate date = LocalDate.ofEpochDay(view.minDay);
+        for (int i = 0; i < table.length; i++) {
+            table[i] = date.getYear() * 100 + date.getMonthValue();
+            date = date.plusDays(1);
+        }
+        return table;
+    }
+
+    private record Columns(int size, int[] account, int[] company, int[] item, int[] day, int[] warehouse,
+            int[] contract, long[] debit, long[] credit, long[] quantity, Dictionary.View warehouses,
+            Dictionary.View contracts, int minDay, int maxDay) {
+    }
+
+    private record Scan(Columns columns, Filter filter, int warehouseCode, int contractCode,
+            Set<CubeDimension> dimensions, int[] periods) {
+    }
+
+    private static final class ScanTask extends RecursiveTask<Map<Key, long[]>> {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+
+        private ScanTask(Scan scan, int from, int to) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Key, long[]> compute() {
+            if (to - from <= SCAN_CHUNK) {
+                return scanRange();
+            }
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, middle);
+            left.fork();
+            Map<Key, long[]> right = new ScanTask(scan, middle, to).compute();
+            return merge(left.join(), right);
+        }
+
+        private Map<Key, long[]> scanRange() {
+            Columns c = scan.columns;
+            Filter f = scan.filter;
+            Set<CubeDimension> dims = scan.dimensions;
+            boolean byAccount = dims.contains(CubeDimension.ACCOUNT);
+            boolean byCompany = dims.contains(CubeDimension.COMPANY);
+            boolean byItem = dims.contains(CubeDimension.ITEM);
+            boolean byWarehouse = dims.contains(CubeDimension.WAREHOUSE);
+            boolean byContract = dims.contains(CubeDimension.CONTRACT);
+            boolean byPeriod = dims.contains(CubeDimension.PERIOD);
+            boolean byYear = dims.contains(CubeDimension.YEAR) && !byPeriod;
+
+            Map<Key, long[]> sums = new HashMap<>();
+            Key probe = new Key();
+            for (int i = from; i < to; i++) {
+                int d = c.day[i];
+                if (d < f.fromDay() || d > f.toDay()
+                        || (f.accountIds() != null && !f.accountIds().get(c.account[i]))
+                        || (f.companyId() != ANY && c.company[i] != f.companyId())
+                        || (f.itemId() != ANY && c.item[i] != f.itemId())
+                        || (scan.warehouseCode != ANY && c.warehouse[i] != scan.warehouseCode)
+                        || (scan.contractCode != ANY && c.contract[i] != scan.contractCode)) {
+                    continue;
+                }
+                int yearMonth = scan.periods != null ? scan.periods[d - c.minDay] : 0;
+                probe.set(byAccount ? c.account[i] : 0, byCompany ? c.company[i] : 0, byItem ? c.item[i] : 0,
+                        byWarehouse ? c.warehouse[i] : 0, byContract ? c.contract[i] : 0,
+                        byYear ? yearMonth / 100 : 0, byPeriod ? yearMonth : 0);
+                long[] amounts = sums.get(probe);
+                if (amounts == null) {
+                    amounts = new long[3];
+                    sums.put(probe.copy(), amounts);
+                }
+                amounts[0] += c.debit[i];
+                amounts[1] += c.credit[i];
+                amounts[2] += c.quantity[i];
+            }
+            return sums;
+        }
+
+        private static Map<Key, long[]> merge(Map<Key, long[]> a, Map<Key, long[]> b) {
+            Map<Key, long[]> into = a.size() >= b.size() ? a : b;
+            Map<Key, long[]> from = into == a ? b : a;
+            for (Map.Entry<Key, long[]> entry : from.entrySet()) {
+                long[] existing = into.putIfAbsent(entry.getKey(), entry.getValue());
+                if (existing != null) {
+                    existing[0] += entry.getValue()[0];
+                    existing[1] += entry.getValue()[1];
+                    existing[2] += entry.getValue()[2];
+                }
+            }
+            return into;
+        }
+    }
+
+    /**
+     * Group key; a mutable instance is reused as lookup probe and copied only for new groups
+     */
+    private static final class Key {
+        private int account;
+        private int company;
+        private int item;
+        private int warehouse;
+        private int contract;
+        private int year;
+        private int period;
+        private int hash;
+
+        private void set(int account, int company, int item, int warehouse, int contract, int year, int period) {
+            this.account = account;
+            this.company = company;
+            this.item = item;
+            this.warehouse = warehouse;
+            this.contract = contract;
+            this.year = year;
+            this.period = period;
+            int h = account;
+            h = 31 * h + company;
+            h = 31 * h + item;
+            h = 31 * h + warehouse;
+            h = 31 * h + contract;
+            h = 31 * h + year;
+            this.hash = 31 * h + period;
+        }
+
+        private Key copy() {
+            Key key = new Key();
+            key.set(account, company, item, warehouse, contract, year, period);
+            return key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && account == k.account && company == k.company && item == k.item
+                    && warehouse == k.warehouse && contract == k.contract && year == k.year && period == k.period;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Append-only string dictionary; code 0 is reserved for null
+     */
+    private static final class Dictionary {
+        private static final int MISSING = -2;
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] values = new String[16];
+        private int size = 1;
+        private View view; // last published view, until a new value is added
+
+        private int encode(String value) {
+            if (value == null || value.isEmpty()) {
+                return NONE;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                code = size;
+                values[size++] = value;
+                codes.put(value, code);
+                view = null;
+            }
+            return code;
+        }
+
+        /**
+         * Copying the codes costs as much as the dictionary is large, so appends that add no new
+         * value republish the previous view
+         */
+        private View snapshot() {
+            if (view == null) {
+                view = new View(Map.copyOf(codes), values);
+            }
+            return view;
+        }
+
+        /**
+         * Read-only view published with the columns; codes are never reassigned
+         */
+        private record View(Map<String, Integer> codes, String[] values) {
+
+            private int find(String value) {
+                Integer code = codes.get(value);
+                return code != null ? code : MISSING;
+            }
+
+            private String decode(int code) {
+                return code == NONE ? null : values[code];
+            }
+        }
+    }
+}
@@ -3,15 +3,18 @@ package com.example.accounts.service;
 import com.example.accounts.dto.CompanyGLAccountResponse;
 import com.example.accounts.dto.CompanyRequest;
 import com.example.accounts.dto.CompanyResponse;
-import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.entity.Company;
 import com.example.accounts.entity.CompanyGLAccount;
 import com.example.accounts.entity.enums.CompanyType;
 import com.example.accounts.exception.DuplicateResourceException;
 import com.example.accounts.exception.ResourceNotFoundException;
-import com.example.accounts.repository.ChartOfAccountRepository;
 import com.example.accounts.repository.CompanyRepository;
+import com.example.accounts.service.PagingPolicy.SortFields;
+import com.example.accounts.service.ReferenceResolver.References;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,7 +27,12 @@ import java.util.stream.Collectors;
 public class CompanyService {
 
     private final CompanyRepository companyRepository;
-    private final ChartOfAccountRepository chartOfAccountRepository;
+    private final ReferenceResolver referenceResolver;
+    private final PagingPolicy pagingPolicy;
+    private final PostingPlanCache postingPlanCache;
+
+    private static final SortFields SORT_FIELDS = SortFields.of("companyId",
+            Sort.by("code"), "code", "name", "companyType", "createdAt");
 
     public CompanyResponse createCompany(CompanyRequest request) {
         if (companyRepository.existsByCode(request.getCode())) {
@@ -57,7 +65,7 @@ public class CompanyService {
     }
 
     public CompanyResponse getCompanyById(Long companyId) {
-        Company company = companyRepository.findById(companyId)
+        Company company = companyRepository.findWithGLAccountsByCompanyId(companyId)
                 .orElseThrow(() -> new ResourceNotFoundException("Company not found with id: " + companyId));
         return mapToResponse(company);
     }
@@ -74,10 +82,10 @@ public class CompanyService {
                 .collect(Collectors.toList());
     }
 
-    public List<CompanyResponse> getAllCompanies() {
-        return companyRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public PageResponse<CompanyResponse> getCompanies(CompanyType companyType, Boolean isActive, PageQuery pageQuery) {
+        return pagingPolicy.toResponse(pageQuery,
+                companyRepository.findPage(companyType, isActive, pagingPolicy.toPageable(pageQuery, SORT_FIELDS)),
+                this::mapToResponse);
     }
 
     public List<CompanyResponse> getActiveCompanies() {
@@ -117,6 +125,7 @@ public class CompanyService {
         }
 
         Company updated = companyRepository.save(company);
+        postingPlanCache.invalidateCompanies(List.of(companyId));
         return mapToResponse(updated);
     }
 
@@ -139,48 +148,65 @@ public class CompanyService {
             throw new ResourceNotFoundException("Company not found with id: " + companyId);
         }
         companyRepository.deleteById(companyId);
+        postingPlanCache.invalidateCompanies(List.of(companyId));
     }
 
     private CompanyGLAccount createCompanyGLAccount(com.example.accounts.dto.CompanyGLAccountRequest request) {
+        References references = resolveAccounts(request);
         return CompanyGLAccount.builder()
-                .accountsReceivable(getAccountById(request.getAccountsReceivableId()))
-                .advancesReceived(getAccountById(request.getAdvancesReceivedId()))
-                .pdcsReceived(getAccountById(request.getPdcsReceivedId()))
-                .contractAssets(getAccountById(request.getContractAssetsId()))
-                .retentionReceivables(getAccountById(request.getRetentionReceivablesId()))
-                .retentionOutputVAT(getAccountById(request.getRetentionOutputVATId()))
-                .accountsPayable(getAccountById(request.getAccountsPayableId()))
-                .advancesPaid(getAccountById(request.getAdvancesPaidId()))
-                .pdcsIssued(getAccountById(request.getPdcsIssuedId()))
-                .retentionPayables(getAccountById(request.getRetentionPayablesId()))
-                .retentionInputVAT(getAccountById(request.getRetentionInputVATId()))
-                .unbilledPurchases(getAccountById(request.getUnbilledPurchasesId()))
-                .advanceToReceive(getAccountById(request.getAdvanceToReceiveId()))
+                .accountsReceivable(references.account(request.getAccountsReceivableId()))
+                .advancesReceived(references.account(request.getAdvancesReceivedId()))
+                .pdcsReceived(references.account(request.getPdcsReceivedId()))
+                .contractAssets(references.account(request.getContractAssetsId()))
+                .retentionReceivables(references.account(request.getRetentionReceivablesId()))
+                .retentionOutputVAT(references.account(request.getRetentionOutputVATId()))
+                .accountsPayable(references.account(request.getAccountsPayableId()))
+                .advancesPaid(references.account(request.getAdvancesPaidId()))
+                .pdcsIssued(references.account(request.getPdcsIssuedId()))
+                .retentionPayables(references.account(request.getRetentionPayablesId()))
+                .retentionInputVAT(references.account(request.getRetentionInputVATId()))
+                .unbilledPurchases(references.account(request.getUnbilledPurchasesId()))
+                .advanceToReceive(references.account(request.getAdvanceToReceiveId()))
                 .build();
     }
 
     private void updateCompanyGLAccount(CompanyGLAccount glAccount,
             com.example.accounts.dto.CompanyGLAccountRequest request) {
-        glAccount.setAccountsReceivable(getAccountById(request.getAccountsReceivableId()));
-        glAccount.setAdvancesReceived(getAccountById(request.getAdvancesReceivedId()));
-        glAccount.setPdcsReceived(getAccountById(request.getPdcsReceivedId()));
-        glAccount.setContractAssets(getAccountById(request.getContractAssetsId()));
-        glAccount.setRetentionReceivables(getAccountById(request.getRetentionReceivablesId()));
-        glAccount.setRetentionOutputVAT(getAccountById(request.getRetentionOutputVATId()));
-        glAccount.setAccountsPayable(getAccountById(request.getAccountsPayableId()));
-        glAccount.setAdvancesPaid(getAccountById(request.getAdvancesPaidId()));
-        glAccount.setPdcsIssued(getAccountById(request.getPdcsIssuedId()));
-        glAccount.setRetentionPayables(getAccountById(request.getRetentionPayablesId()));
-        glAccount.setRetentionInputVAT(getAccountById(request.getRetentionInputVATId()));
-        glAccount.setUnbilledPurchases(getAccountById(request.getUnbilledPurchasesId()));
-        glAccount.setAdvanceToReceive(getAccountById(request.getAdvanceToReceiveId()));
+        References references = resolveAccounts(request);
+        glAccount.setAccountsReceivable(references.account(request.getAccountsReceivableId()));
+        glAccount.setAdvancesReceived(references.account(request.getAdvancesReceivedId()));
+        glAccount.setPdcsReceived(references.account(request.getPdcsReceivedId()));
+        glAccount.setContractAssets(references.account(request.getContractAssetsId()));
+        glAccount.setRetentionReceivables(references.account(request.getRetentionReceivablesId()));
+        glAccount.setRetentionOutputVAT(references.account(request.getRetentionOutputVATId()));
+        glAccount.setAccountsPayable(references.account(request.getAccountsPayableId()));
+        glAccount.setAdvancesPaid(references.account(request.getAdvancesPaidId()));
+        glAccount.setPdcsIssued(references.account(request.getPdcsIssuedId()));
+        glAccount.setRetentionPayables(references.account(request.getRetentionPayablesId()));
+        glAccount.setRetentionInputVAT(references.account(request.getRetentionInputVATId()));
+        glAccount.setUnbilledPurchases(references.account(request.getUnbilledPurchasesId()));
+        glAccount.setAdvanceToReceive(references.account(request.getAdvanceToReceiveId()));
     }
 
-    private ChartOfAccount getAccountById(Long accountId) {
-        if (accountId == null)
-            return null;
-        return chartOfAccountRepository.findById(accountId)
-                .orElseThrow(() -> new ResourceNotFoundException("Chart of Account not found with id: " + accountId));
+    /**
+     * Load all 13 GL accounts of the request with a single query
+     */
+    private References resolveAccounts(com.example.accounts.dto.CompanyGLAccountRequest request) {
+        return referenceResolver.request()
+                .account(request.getAccountsReceivableId())
+                .account(request.getAdvancesReceivedId())
+                .account(request.getPdcsReceivedId())
+                .account(request.getContractAssetsId())
+                .account(request.getRetentionReceivablesId())
+                .account(request.getRetentionOutputVATId())
+                .account(request.getAccountsPayableId())
+                .account(request.getAdvancesPaidId())
+                .account(request.getPdcsIssuedId())
+                .account(request.getRetentionPayablesId())
+                .account(request.getRetentionInputVATId())
+                .account(request.getUnbilledPurchasesId())
+                .account(request.getAdvanceToReceiveId())
+                .resolve();
     }
 
     private CompanyResponse mapToResponse(Company company) {
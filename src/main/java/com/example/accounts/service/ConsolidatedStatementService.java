@@ -0,0 +1,311 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.CashFlowLineItemDTO;
+import com.example.accounts.dto.CashFlowStatementDTO;
+import com.example.accounts.dto.ConsolidatedCashFlowLineDTO;
+import com.example.accounts.dto.ConsolidatedCashFlowPeriodDTO;
+import com.example.accounts.dto.ConsolidatedCashFlowRequest;
+import com.example.accounts.dto.ConsolidatedCashFlowStatementDTO;
+import com.example.accounts.dto.ConsolidatedEquityRequest;
+import com.example.accounts.dto.ConsolidatedEquityStatementDTO;
+import com.example.accounts.dto.EquityRowDTO;
+import com.example.accounts.dto.EquityStatementDTO;
+import com.example.accounts.exception.InvalidTransactionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Consolidated statements for many companies and periods.
+ * <p>
+ * Every company/period slice is an independent single-company statement, generated in its own
+ * read-only transaction on its own virtual thread. A semaphore shared by all requests bounds how
+ * many slices run at once, so a large group report queues for permits instead of draining the
+ * connection pool. The slices are then merged into one statement with a column per company.
+ */
+@Service
+@Slf4j
+public class ConsolidatedStatementService {
+
+    public static final String TOTAL_COLUMN = "TOTAL";
+
+    private final EquityStatementService equityStatementService;
+    private final CashFlowStatementService cashFlowStatementService;
+    private final Semaphore queryPermits;
+    private final int maxSlices;
+
+    public ConsolidatedStatementService(EquityStatementService equityStatementService,
+            CashFlowStatementService cashFlowStatementService,
+            @Value("${accounts.consolidation.concurrent-slices:8}") int concurrentSlices,
+            @Value("${accounts.consolidation.max-slices:2000}") int maxSlices) {
+        this.equityStatementService = equityStatementService;
+        this.cashFlowStatementService = cashFlowStatementService;
+        this.queryPermits = new Semaphore(Math.max(1, concurrentSlices), true);
+        this.maxSlices = maxSlices;
+    }
+
+    /**
+     * Statement of changes in equity with one slice per company and fiscal year
+     */
+    public ConsolidatedEquityStatementDTO consolidateEquity(ConsolidatedEquityRequest request) {
+        long started = System.nanoTime();
+        List<String> companies = distinct(request.getCompanies(), "companies");
+        Integer startYear = request.getStartYear();
+        Integer endYear = request.getEndYear();
+        if (startYear == null || endYear == null || startYear > endYear) {
+            throw new InvalidTransactionException("startYear and endYear are required and must be in order");
+        }
+        int years = endYear - startYear + 1;
+        checkSlices(companies.size() * years);
+
+        // Opening balances come from the rollup, so a single-year statement needs no earlier slice
+        List<Callable<EquityStatementDTO>> slices = new ArrayList<>();
+        for (int year = startYear; year <= endYear; year++) {
+            for (String company : companies) {
+                int sliceYear = year;
+                slices.add(() -> equityStatementService.generateStatement(sliceYear, sliceYear, company));
+            }
+        }
+        List<EquityStatementDTO> statements = runSlices(slices);
+
+        ConsolidatedEquityStatementDTO consolidated = new ConsolidatedEquityStatementDTO();
+        consolidated.setStartYear(startYear);
+        consolidated.setEndYear(endYear);
+        consolidated.setCompanies(companies);
+        for (int y = 0; y < years; y++) {
+            List<EquityStatementDTO> yearStatements = statements.subList(y * companies.size(),
+                    (y + 1) * companies.size());
+            consolidated.getRows().addAll(mergeEquityRows(companies, yearStatements));
+        }
+        EquityStatementDTO first = statements.get(0);
+        consolidated.setCurrency(first.getCurrency());
+        EquityStatementDTO periodSource = new EquityStatementDTO();
+        periodSource.setStartYear(startYear);
+        periodSource.setEndYear(endYear);
+        periodSource.generatePeriodDescription();
+        consolidated.setPeriod(periodSource.getPeriod());
+        consolidated.setSlices(slices.size());
+        consolidated.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+
+        log.info("Consolidated equity statement for {} companies, {} to {}: {} slices in {} ms",
+                companies.size(), startYear, endYear, slices.size(), consolidated.getElapsedMillis());
+        return consolidated;
+    }
+
+    /**
+     * Cash flow statement with one slice per entity and period
+     */
+    public ConsolidatedCashFlowStatementDTO consolidateCashFlow(ConsolidatedCashFlowRequest request) {
+        long started = System.nanoTime();
+        List<String> entities = distinct(request.getEntities(), "entities");
+        List<ConsolidatedCashFlowRequest.Period> periods = request.getPeriods() == null
+                || request.getPeriods().isEmpty()
+                        ? List.of(new ConsolidatedCashFlowRequest.Period(null, null))
+                        : request.getPeriods();
+        for (ConsolidatedCashFlowRequest.Period period : periods) {
+            if ((period.getStartDate() == null) != (period.getEndDate() == null)
+                    || (period.getStartDate() != null && period.getStartDate().isAfter(period.getEndDate()))) {
+                throw new InvalidTransactionException("Each period needs both dates, in order, or neither");
+            }
+        }
+        checkSlices(entities.size() * periods.size());
+
+        List<Callable<CashFlowStatementDTO>> slices = new ArrayList<>();
+        for (ConsolidatedCashFlowRequest.Period period : periods) {
+            for (String entity : entities) {
+                slices.add(() -> cashFlowStatementService.generateStatement(period.getStartDate(),
+                        period.getEndDate(), entity));
+            }
+        }
+        List<CashFlowStatementDTO> statements = runSlices(slices);
+
+        ConsolidatedCashFlowStatementDTO consolidated = new ConsolidatedCashFlowStatementDTO();
+        consolidated.setEntities(entities);
+        consolidated.setCurrency(statements.get(0).getCurrency());
+        for (int p = 0; p < periods.size(); p++) {
+            consolidated.getPeriods().add(mergeCashFlowPeriod(entities,
+                    statements.subList(p * entities.size(), (p + 1) * entities.size())));
+        }
+        consolidated.setSlices(slices.size());
+        consolidated.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+
+        log.info("Consolidated cash flow statement for {} entities over {} periods: {} slices in {} ms",
+                entities.size(), periods.size(), slices.size(), consolidated.getElapsedMillis());
+        return consolidated;
+    }
+
+    /**
+     * Run the slices on virtual threads, at most as many at once as there are permits; results
+     * come back in slice order
+     */
+    private <T> List<T> runSlices(List<Callable<T>> slices) {
+        List<T> results = new ArrayList<>(slices.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> slice : slices) {
+                futures.add(executor.submit(() -> {
+                    queryPermits.acquire();
+                    try {
+                        return slice.call();
+                    } finally {
+                        queryPermits.release();
+                    }
+                }));
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidTransactionException("Consolidated statement was interrupted");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * One year's rows; every company statement has the same rows, each row carrying the
+     * company's Total Equity column
+     */
+    private static List<EquityRowDTO> mergeEquityRows(List<String> companies, List<EquityStatementDTO> statements) {
+        List<Map<String, EquityRowDTO>> rowsById = new ArrayList<>();
+        for (EquityStatementDTO statement : statements) {
+            Map<String, EquityRowDTO> rows = new LinkedHashMap<>();
+            statement.getRows().forEach(row -> rows.put(row.getRowId(), row));
+            rowsById.add(rows);
+        }
+
+        List<EquityRowDTO> merged = new ArrayList<>();
+        for (EquityRowDTO template : statements.get(0).getRows()) {
+            EquityRowDTO row = new EquityRowDTO();
+            row.setRowId(template.getRowId());
+            row.setRowDescription(template.getRowDescription());
+            row.setRowType(template.getRowType());
+            row.setCategory(template.getCategory());
+            row.setIsTotal(template.getIsTotal());
+            row.setIsBold(template.getIsBold());
+            row.setIsItalic(template.getIsItalic());
+            row.setIndentLevel(template.getIndentLevel());
+
+            // Section headers carry no values
+            if (!template.getValues().isEmpty()) {
+                BigDecimal total = BigDecimal.ZERO;
+                for (int c = 0; c < companies.size(); c++) {
+                    EquityRowDTO companyRow = rowsById.get(c).get(template.getRowId());
+                    BigDecimal amount = companyRow != null ? companyRow.getValue(TOTAL_COLUMN) : BigDecimal.ZERO;
+                    row.addValue(companies.get(c), amount);
+                    total = total.add(amount);
+                }
+                row.addValue(TOTAL_COLUMN, total);
+            }
+            merged.add(row);
+        }
+        return merged;
+    }
+
+    private static ConsolidatedCashFlowPeriodDTO mergeCashFlowPeriod(List<String> entities,
+            List<CashFlowStatementDTO> statements) {
+        CashFlowStatementDTO first = statements.get(0);
+        ConsolidatedCashFlowPeriodDTO period = new ConsolidatedCashFlowPeriodDTO();
+        period.setStartDate(first.getStartDate());
+        period.setEndDate(first.getEndDate());
+        period.setPeriod(first.getPeriod());
+
+        Map<List<String>, ConsolidatedCashFlowLineDTO> inflows = new LinkedHashMap<>();
+        Map<List<String>, ConsolidatedCashFlowLineDTO> outflows = new LinkedHashMap<>();
+        for (int e = 0; e < entities.size(); e++) {
+            CashFlowStatementDTO statement = statements.get(e);
+            String entity = entities.get(e);
+            statement.getInflowItems().forEach(item -> addLine(inflows, entity, item));
+            statement.getOutflowItems().forEach(item -> addLine(outflows, entity, item));
+            period.getTotalInflow().put(entity, statement.getTotalInflow());
+            period.getTotalOutflow().put(entity, statement.getTotalOutflow());
+            period.getNetFlow().put(entity, statement.getNetFlow());
+        }
+        period.setInflowItems(finishLines(inflows.values(), entities));
+        period.setOutflowItems(finishLines(outflows.values(), entities));
+        addTotal(period.getTotalInflow());
+        addTotal(period.getTotalOutflow());
+        addTotal(period.getNetFlow());
+        return period;
+    }
+
+    /**
+     * Lines are matched across entities by item and category, as the single statements group them
+     */
+    private static void addLine(Map<List<String>, ConsolidatedCashFlowLineDTO> lines, String entity,
+            CashFlowLineItemDTO item) {
+        List<String> key = Arrays.asList(item.getItemCode(), item.getCategory());
+        ConsolidatedCashFlowLineDTO line = lines.computeIfAbsent(key, k -> {
+            ConsolidatedCashFlowLineDTO created = new ConsolidatedCashFlowLineDTO();
+            created.setItemCode(item.getItemCode());
+            created.setItemDescription(item.getItemDescription());
+            created.setFlowType(item.getFlowType());
+            created.setCategory(item.getCategory());
+            created.setDisplayOrder(item.getDisplayOrder());
+            return created;
+        });
+        line.getAmounts().merge(entity, item.getAmount(), BigDecimal::add);
+    }
+
+    /**
+     * Give every line a value for every entity, in column order, plus the group total
+     */
+    private static List<ConsolidatedCashFlowLineDTO> finishLines(Iterable<ConsolidatedCashFlowLineDTO> lines,
+            List<String> entities) {
+        List<ConsolidatedCashFlowLineDTO> finished = new ArrayList<>();
+        for (ConsolidatedCashFlowLineDTO line : lines) {
+            Map<String, BigDecimal> amounts = new LinkedHashMap<>();
+            for (String entity : entities) {
+                amounts.put(entity, line.getAmounts().getOrDefault(entity, BigDecimal.ZERO));
+            }
+            addTotal(amounts);
+            line.setAmounts(amounts);
+            finished.add(line);
+        }
+        finished.sort(Comparator.comparing((ConsolidatedCashFlowLineDTO line) -> line.getDisplayOrder() != null
+                ? line.getDisplayOrder()
+                : Integer.MAX_VALUE).thenComparing(ConsolidatedCashFlowLineDTO::getItemCode));
+        return finished;
+    }
+
+    private static void addTotal(Map<String, BigDecimal> amounts) {
+        amounts.put(TOTAL_COLUMN, amounts.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    private static List<String> distinct(List<String> names, String field) {
+        List<String> distinct = names == null ? List.of()
+                : new ArrayList<>(new LinkedHashSet<>(names.stream()
+                        .filter(name -> name != null && !name.isBlank()).toList()));
+        if (distinct.isEmpty()) {
+            throw new InvalidTransactionException(field + " must not be empty");
+        }
+        if (distinct.contains(TOTAL_COLUMN)) {
+            throw new InvalidTransactionException(TOTAL_COLUMN + " is reserved for the group total column");
+        }
+        return distinct;
+    }
+
+    private void checkSlices(int slices) {
+        if (slices > maxSlices) {
+            throw new InvalidTransactionException("Consolidated statement needs " + slices
+                    + " slices; at most " + maxSlices + " are allowed");
+        }
+    }
+}
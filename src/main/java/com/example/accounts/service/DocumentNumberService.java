@@ -0,0 +1,174 @@
+package com.example.accounts.service;
+
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.exception.InvalidTransactionException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Server-side numbering of journal entries, invoices and payments.
+ * <p>
+ * Each series (journal entries, invoices, payments) keeps one sequence per company, document type and
+ * fiscal year. By default every node reserves numbers from the document_sequences table in
+ * blocks of accounts.numbering.block-size and hands them out from memory, so a new number
+ * costs no database round trip; numbers are unique and increasing per node, but unused
+ * numbers of a block are lost on restart. The next block is reserved in the background once
+ * half of the current one is used, on a connection of the {@link SideConnectionPool}, so
+ * callers rarely wait for it and never take a second main pool connection. With
+ * accounts.numbering.gapless=true each number is taken inside the creating transaction
+ * instead, which serializes creates per sequence but leaves no gaps.
+ * <p>
+ * Numbers look like {@code INV-CI-2025-000042}, or {@code INV-CI-2025-7-000042} for company 7.
+ * Client-supplied numbers in that format are rejected, since the sequence would hand the same
+ * number out later.
+ */
+@Service
+public class DocumentNumberService {
+
+    public static final String SERIES_JOURNAL_ENTRY = "JE";
+    public static final String SERIES_INVOICE = "INV";
+    public static final String SERIES_PAYMENT = "PAY";
+
+    private static final Pattern SERVER_NUMBER = Pattern.compile("(JE|INV|PAY)-[A-Z]{2}-\\d{4}-(\\d+-)?\\d{6,}");
+
+    private final DocumentSequenceAllocator allocator;
+    private final int blockSize;
+    private final boolean gapless;
+    private final Map<SequenceKey, Block> blocks = new ConcurrentHashMap<>();
+    private final ExecutorService refills = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DocumentNumberService(DocumentSequenceAllocator allocator,
+            @Value("${accounts.numbering.block-size:1000}") int blockSize,
+            @Value("${accounts.numbering.gapless:false}") boolean gapless) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("accounts.numbering.block-size must be positive");
+        }
+        this.allocator = allocator;
+        this.blockSize = blockSize;
+        this.gapless = gapless;
+    }
+
+    public String nextJournalEntryNumber(Long companyId, DocumentType documentType, LocalDate entryDate) {
+        return next(SERIES_JOURNAL_ENTRY, companyId, documentType, entryDate);
+    }
+
+    public String nextInvoiceNumber(Long companyId, DocumentType documentType, LocalDate invoiceDate) {
+        return next(SERIES_INVOICE, companyId, documentType, invoiceDate);
+    }
+
+    public String nextPaymentNumber(Long companyId, DocumentType documentType, LocalDate paymentDate) {
+        return next(SERIES_PAYMENT, companyId, documentType, paymentDate);
+    }
+
+    /**
+     * Whether a number has the format this service hands out for the series
+     */
+    public static boolean isServerNumber(String series, String number) {
+        Matcher matcher = SERVER_NUMBER.matcher(number);
+        return matcher.matches() && matcher.group(1).equals(series);
+    }
+
+    /**
+     * Rejects a client-supplied number that could collide with a server-assigned one
+     */
+    public static void checkClientNumber(String series, String number) {
+        if (isServerNumber(series, number)) {
+            throw new InvalidTransactionException("Number " + number
+                    + " is in the server numbering format; leave it blank to have one assigned");
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        refills.shutdownNow();
+    }
+
+    private String next(String series, Long companyId, DocumentType documentType, LocalDate documentDate) {
+        SequenceKey key = new SequenceKey(series, companyId != null ? companyId : 0L, documentType,
+                documentDate.getYear());
+        long value = gapless
+                ? allocator.allocateGapless(key)
+                : blocks.computeIfAbsent(key, k -> new Block()).next(key);
+        return format(key, value);
+    }
+
+    private static String format(SequenceKey key, long value) {
+        StringBuilder number = new StringBuilder(key.series()).append('-')
+                .append(key.documentType().getCode()).append('-')
+                .append(key.fiscalYear()).append('-');
+        if (key.companyId() != 0L) {
+            number.append(key.companyId()).append('-');
+        }
+        return number.append(String.format("%06d", value)).toString();
+    }
+
+    /**
+     * One numbering sequence; company 0 stands for documents without a company
+     */
+    public record SequenceKey(String series, long companyId, DocumentType documentType, int fiscalYear) {
+    }
+
+    /**
+     * Range of reserved numbers of one sequence that is not handed out yet, and the reservation
+     * of the range after it. Callers wait for a reservation outside the monitor, so the monitor is
+     * never held while a connection is awaited.
+     */
+    private final class Block {
+        private long next;
+        private long end; // exclusive
+        private CompletableFuture<Long> refill;
+
+        private long next(SequenceKey key) {
+            while (true) {
+                CompletableFuture<Long> pending;
+                synchronized (this) {
+                    if (next < end) {
+                        long value = next++;
+                        if (refill == null && end - next <= blockSize / 2) {
+                            refill = reserve(key);
+                        }
+                        return value;
+                    }
+                    if (refill == null) {
+                        refill = reserve(key);
+                    }
+                    pending = refill;
+                }
+
+                long first;
+                try {
+                    first = pending.join();
+                } catch (CompletionException e) {
+                    synchronized (this) {
+                        if (refill == pending) {
+                            refill = null; // let the next caller try again
+                        }
+                    }
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+                synchronized (this) {
+                    if (refill == pending) {
+                        refill = null;
+                        next = first;
+                        end = first + blockSize;
+                    }
+                }
+            }
+        }
+
+        private CompletableFuture<Long> reserve(SequenceKey key) {
+            return CompletableFuture.supplyAsync(() -> allocator.allocateBlock(key, blockSize), refills);
+        }
+    }
+}
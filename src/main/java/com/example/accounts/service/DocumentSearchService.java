@@ -0,0 +1,137 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.CursorPageResponse;
+import com.example.accounts.dto.DocumentSearchQuery;
+import com.example.accounts.dto.InvoiceSummaryResponse;
+import com.example.accounts.dto.JournalEntrySummaryResponse;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.InvoiceRepository;
+import com.example.accounts.repository.InvoiceSearchRepository.InvoiceSearchRow;
+import com.example.accounts.repository.InvoiceSpecifications;
+import com.example.accounts.repository.JournalEntryRepository;
+import com.example.accounts.repository.JournalEntrySearchRepository.JournalEntrySearchRow;
+import com.example.accounts.repository.JournalEntrySpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Multi-criteria search over invoices and journal entries for the UI grids.
+ * Filters are built as Specifications and the rows selected as list columns only, newest first,
+ * paged with a (date, id) keyset cursor rather than OFFSET so deep pages cost the same as the first.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DocumentSearchService {
+
+    private final InvoiceRepository invoiceRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final PagingPolicy pagingPolicy;
+
+    public CursorPageResponse<InvoiceSummaryResponse> searchInvoices(InvoiceStatus status, DocumentSearchQuery query) {
+        validate(query);
+        int size = pagingPolicy.pageSize(query.getSize());
+        SearchCursor after = SearchCursor.decode(query.getCursor());
+        // Fetch one extra row to know whether another page exists
+        List<InvoiceSearchRow> rows = invoiceRepository.searchInvoices(InvoiceSpecifications.matching(status, query),
+                after.date(), after.id(), size + 1);
+        return toPage(rows, size, row -> new SearchCursor(row.invoiceDate(), row.invoiceId()),
+                DocumentSearchService::toSummary);
+    }
+
+    public CursorPageResponse<JournalEntrySummaryResponse> searchJournalEntries(JournalEntryStatus status,
+            DocumentSearchQuery query) {
+        validate(query);
+        int size = pagingPolicy.pageSize(query.getSize());
+        SearchCursor after = SearchCursor.decode(query.getCursor());
+        List<JournalEntrySearchRow> rows = journalEntryRepository.searchJournalEntries(
+                JournalEntrySpecifications.matching(status, query), after.date(), after.id(), size + 1);
+        return toPage(rows, size, row -> new SearchCursor(row.entryDate(), row.journalEntryId()),
+                DocumentSearchService::toSummary);
+    }
+
+    private void validate(DocumentSearchQuery query) {
+        if (query.getFrom() != null && query.getTo() != null && query.getFrom().isAfter(query.getTo())) {
+            throw new InvalidTransactionException("From date must not be after to date");
+        }
+        if (query.getMinAmount() != null && query.getMaxAmount() != null
+                && query.getMinAmount().compareTo(query.getMaxAmount()) > 0) {
+            throw new InvalidTransactionException("minAmount must not be greater than maxAmount");
+        }
+    }
+
+    private static <R, T> CursorPageResponse<T> toPage(List<R> rows, int size, Function<R, SearchCursor> position,
+            Function<R, T> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<R> page = hasMore ? rows.subList(0, size) : rows;
+        return CursorPageResponse.<T>builder()
+                .content(page.stream().map(mapper).toList())
+                .size(size)
+                .nextCursor(hasMore ? position.apply(page.get(page.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private static InvoiceSummaryResponse toSummary(InvoiceSearchRow row) {
+        return InvoiceSummaryResponse.builder()
+                .invoiceId(row.invoiceId())
+                .invoiceNumber(row.invoiceNumber())
+                .invoiceDate(row.invoiceDate())
+                .dueDate(row.dueDate())
+                .documentType(row.documentType())
+                .status(row.status())
+                .companyId(row.companyId())
+                .companyCode(row.companyCode())
+                .companyName(row.companyName())
+                .warehouse(row.warehouse())
+                .contract(row.contract())
+                .totalAmount(row.totalAmount())
+                .paidAmount(row.paidAmount())
+                .build();
+    }
+
+    private static JournalEntrySummaryResponse toSummary(JournalEntrySearchRow row) {
+        return JournalEntrySummaryResponse.builder()
+                .journalEntryId(row.journalEntryId())
+                .entryNumber(row.entryNumber())
+                .entryDate(row.entryDate())
+                .documentType(row.documentType())
+                .status(row.status())
+                .description(row.description())
+                .referenceNumber(row.referenceNumber())
+                .companyId(row.companyId())
+                .companyCode(row.companyCode())
+                .companyName(row.companyName())
+                .totalDebit(row.totalDebit())
+                .totalCredit(row.totalCredit())
+                .build();
+    }
+
+    /**
+     * Position after the last row returned, encoded as a {@link KeysetCursor}; no cursor starts
+     * at the newest row
+     */
+    record SearchCursor(LocalDate date, Long id) {
+
+        private static final SearchCursor START = new SearchCursor(null, null);
+
+        String encode() {
+            return KeysetCursor.of(date, id).encode();
+        }
+
+        static SearchCursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return START;
+            }
+            KeysetCursor position = KeysetCursor.decode(cursor, 1, "search");
+            return new SearchCursor(position.date(), position.id(0));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.accounts.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Reserves ranges of document numbers from the document_sequences table.
+ * A sequence row is created on first use, starting at 1.
+ */
+@Service
+@RequiredArgsConstructor
+public class DocumentSequenceAllocator {
+
+    private static final String SELECT_SQL = "SELECT next_value FROM document_sequences WHERE series = ? "
+            + "AND company_id = ? AND document_type = ? AND fiscal_year = ? FOR UPDATE";
+
+    private static final String INSERT_SQL = "INSERT INTO document_sequences (series, company_id, document_type, "
+            + "fiscal_year, next_value) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL = "UPDATE document_sequences SET next_value = ? WHERE series = ? "
+            + "AND company_id = ? AND document_type = ? AND fiscal_year = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SideConnectionPool sidePool;
+
+    /**
+     * Reserve {@code count} consecutive numbers and return the first one.
+     * Runs in its own transaction on the side pool so the row lock is held only for the reservation
+     * and the caller's main pool connection, if any, is not joined by a second one;
+     * numbers of a block that is never fully used are lost.
+     */
+    public long allocateBlock(DocumentNumberService.SequenceKey key, int count) {
+        return sidePool.newTransaction().execute(status -> reserve(sidePool.jdbcTemplate(), key, count));
+    }
+
+    /**
+     * Reserve one number inside the caller's transaction. The sequence row stays locked until
+     * that transaction ends and a rollback gives the number back, so numbering has no gaps.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long allocateGapless(DocumentNumberService.SequenceKey key) {
+        return reserve(jdbcTemplate, key, 1);
+    }
+
+    private static long reserve(JdbcTemplate jdbcTemplate, DocumentNumberService.SequenceKey key, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Number block size must be positive");
+        }
+        Long first = selectForUpdate(jdbcTemplate, key);
+        if (first == null) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, key.series(), key.companyId(), key.documentType().name(),
+                        key.fiscalYear(), 1L + count);
+                return 1L;
+            } catch (DuplicateKeyException e) {
+                // Another node created the row first; lock and use it
+                first = selectForUpdate(jdbcTemplate, key);
+            }
+        }
+        jdbcTemplate.update(UPDATE_SQL, first + count, key.series(), key.companyId(), key.documentType().name(),
+                key.fiscalYear());
+        return first;
+    }
+
+    private static Long selectForUpdate(JdbcTemplate jdbcTemplate, DocumentNumberService.SequenceKey key) {
+        List<Long> values = jdbcTemplate.queryForList(SELECT_SQL, Long.class, key.series(), key.companyId(),
+                key.documentType().name(), key.fiscalYear());
+        return values.isEmpty() ? null : values.get(0);
+    }
+}
@@ -3,9 +3,13 @@ package com.example.accounts.service;
 import com.example.accounts.dto.*;
 import com.example.accounts.entity.EquityAccount;
 import com.example.accounts.entity.EquityTransaction;
+import com.example.accounts.exception.InvalidTransactionException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.EquityAccountRepository;
 import com.example.accounts.repository.EquityTransactionRepository;
+import com.example.accounts.repository.EquityYearBalanceRepository;
+import com.example.accounts.repository.EquityYearBalanceRepository.AccountBalance;
+import com.example.accounts.repository.EquityYearBalanceRepository.YearTypeTotal;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -14,12 +18,16 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * Service for Equity Statement
  * ALL CALCULATIONS ARE 100% DYNAMIC - NO HARD-CODED VALUES
+ * The statement for any year range is read from the equity_year_balances rollup of posted
+ * transactions with two grouped queries and pivoted in memory.
  */
 @Service
 @RequiredArgsConstructor
@@ -29,6 +37,8 @@ public class EquityStatementService {
 
     private final EquityTransactionRepository transactionRepository;
     private final EquityAccountRepository accountRepository;
+    private final EquityYearBalanceRepository yearBalanceRepository;
+    private final EquityYearBalanceService yearBalanceService;
 
     /**
      * Generate statement for ANY year range - completely dynamic
@@ -61,12 +71,17 @@ public class EquityStatementService {
 
         statement.setEquityColumns(columns);
 
+        // Two grouped queries for the whole range, pivoted in memory
+        String company = companyName != null && !companyName.isBlank() ? companyName : null;
+        EquityPivot pivot = new EquityPivot(yearBalanceRepository.findYearTypeTotals(startYear, endYear, company),
+                yearBalanceRepository.findBalancesBefore(startYear, company));
+
         // Build rows DYNAMICALLY for each year
         List<EquityRowDTO> allRows = new ArrayList<>();
 
         // Process each year in range
         for (int year = startYear; year <= endYear; year++) {
-            allRows.addAll(generateRowsForYear(year, accounts));
+            allRows.addAll(generateRowsForYear(year, accounts, pivot));
         }
 
         statement.setRows(allRows);
@@ -78,7 +93,7 @@ public class EquityStatementService {
     /**
      * Generate rows for a specific year - COMPLETELY DYNAMIC
      */
-    private List<EquityRowDTO> generateRowsForYear(Integer year, List<EquityAccount> accounts) {
+    private List<EquityRowDTO> generateRowsForYear(Integer year, List<EquityAccount> accounts, EquityPivot pivot) {
         List<EquityRowDTO> rows = new ArrayList<>();
 
         // 1. Opening Balance Row - CALCULATED DYNAMICALLY
@@ -90,8 +105,8 @@ public class EquityStatementService {
 
         BigDecimal totalOpening = BigDecimal.ZERO;
         for (EquityAccount account : accounts) {
-            // DYNAMIC CALCULATION: Get opening balance from previous year's closing
-            BigDecimal opening = transactionRepository.getOpeningBalance(account.getEquityAccountId(), year);
+            // DYNAMIC CALCULATION: Opening balance is the previous year's closing
+            BigDecimal opening = pivot.balance(account.getEquityAccountId());
             openingRow.addValue(account.getAccountType(), opening);
             totalOpening = totalOpening.add(opening);
         }
@@ -108,7 +123,7 @@ public class EquityStatementService {
 
         // 3. Profit for the Year - CALCULATED DYNAMICALLY
         rows.add(createTransactionRow("profit_year_" + year, "Profit for the Year",
-                "PROFIT_FOR_YEAR", year, accounts));
+                "PROFIT_FOR_YEAR", year, accounts, pivot));
 
         // 4. Other Comprehensive Income Header
         EquityRowDTO ociHeader = new EquityRowDTO();
@@ -121,32 +136,32 @@ public class EquityStatementService {
 
         // 5. OCI Items - CALCULATED DYNAMICALLY
         rows.add(createTransactionRow("oci_benefit_" + year, "Remeasurements of Defined Benefit Liability",
-                "OCI_DEFINED_BENEFIT", year, accounts, 1));
+                "OCI_DEFINED_BENEFIT", year, accounts, pivot, 1));
         rows.add(createTransactionRow("oci_fair_value_" + year,
                 "Revaluation of Non-Current Assets Held at Fair Value Model",
-                "OCI_FAIR_VALUE", year, accounts, 1));
+                "OCI_FAIR_VALUE", year, accounts, pivot, 1));
 
         // 6. Total Other Comprehensive Income - CALCULATED DYNAMICALLY
         rows.add(createTotalRow("total_oci_" + year, "Total Other Comprehensive Profit or Loss",
-                List.of("OCI_DEFINED_BENEFIT", "OCI_FAIR_VALUE"), year, accounts, true, 1));
+                List.of("OCI_DEFINED_BENEFIT", "OCI_FAIR_VALUE"), year, accounts, pivot, true, 1));
 
         // 7. Total Comprehensive Profit or Loss - CALCULATED DYNAMICALLY
         rows.add(createTotalRow("total_comprehensive_" + year, "Total Comprehensive Profit or Loss",
-                List.of("PROFIT_FOR_YEAR", "OCI_DEFINED_BENEFIT", "OCI_FAIR_VALUE"), year, accounts, true, 0));
+                List.of("PROFIT_FOR_YEAR", "OCI_DEFINED_BENEFIT", "OCI_FAIR_VALUE"), year, accounts, pivot, true, 0));
 
         // 8. Equity Transactions - CALCULATED DYNAMICALLY
         rows.add(createTransactionRow("issue_shares_" + year, "Issue of Ordinary Shares",
-                "ISSUE_ORDINARY_SHARES", year, accounts));
+                "ISSUE_ORDINARY_SHARES", year, accounts, pivot));
         rows.add(createTransactionRow("treasury_" + year, "Sale or Purchase of Treasury Shares",
-                "TREASURY_SHARES_TRANSACTION", year, accounts));
+                "TREASURY_SHARES_TRANSACTION", year, accounts, pivot));
         rows.add(createTransactionRow("ownership_" + year, "Changes in Ownership Interests",
-                "OWNERSHIP_CHANGES", year, accounts));
+                "OWNERSHIP_CHANGES", year, accounts, pivot));
         rows.add(createTransactionRow("dividends_" + year, "Dividends",
-                "DIVIDENDS", year, accounts));
+                "DIVIDENDS", year, accounts, pivot));
         rows.add(createTransactionRow("contributions_" + year, "Contributions from Shareholders",
-                "SHAREHOLDER_CONTRIBUTIONS", year, accounts));
+                "SHAREHOLDER_CONTRIBUTIONS", year, accounts, pivot));
         rows.add(createTransactionRow("other_" + year, "Other",
-                "OTHER_EQUITY", year, accounts));
+                "OTHER_EQUITY", year, accounts, pivot));
 
         // 9. Closing Balance Row - CALCULATED DYNAMICALLY
         EquityRowDTO closingRow = new EquityRowDTO();
@@ -155,10 +170,11 @@ public class EquityStatementService {
         closingRow.setRowType("CLOSING");
         closingRow.setIsBold(true);
 
+        // DYNAMIC CALCULATION: Roll every transaction of the year into the balances
+        pivot.close(year);
         BigDecimal totalClosing = BigDecimal.ZERO;
         for (EquityAccount account : accounts) {
-            // DYNAMIC CALCULATION: Sum all transactions up to this year
-            BigDecimal closing = transactionRepository.getClosingBalance(account.getEquityAccountId(), year);
+            BigDecimal closing = pivot.balance(account.getEquityAccountId());
             closingRow.addValue(account.getAccountType(), closing);
             totalClosing = totalClosing.add(closing);
         }
@@ -172,15 +188,15 @@ public class EquityStatementService {
      * Create transaction row - DYNAMIC CALCULATION
      */
     private EquityRowDTO createTransactionRow(String rowId, String description, String transactionType,
-            Integer year, List<EquityAccount> accounts) {
-        return createTransactionRow(rowId, description, transactionType, year, accounts, 0);
+            Integer year, List<EquityAccount> accounts, EquityPivot pivot) {
+        return createTransactionRow(rowId, description, transactionType, year, accounts, pivot, 0);
     }
 
     /**
      * Create transaction row with indent - DYNAMIC CALCULATION
      */
     private EquityRowDTO createTransactionRow(String rowId, String description, String transactionType,
-            Integer year, List<EquityAccount> accounts, Integer indentLevel) {
+            Integer year, List<EquityAccount> accounts, EquityPivot pivot, Integer indentLevel) {
         EquityRowDTO row = new EquityRowDTO();
         row.setRowId(rowId);
         row.setRowDescription(description);
@@ -190,10 +206,9 @@ public class EquityStatementService {
 
         BigDecimal total = BigDecimal.ZERO;
         for (EquityAccount account : accounts) {
-            // DYNAMIC CALCULATION: Get sum of all transactions of this type for this
+            // DYNAMIC CALCULATION: Sum of all transactions of this type for this
             // account and year
-            BigDecimal amount = transactionRepository.getTotalByAccountTypeAndYear(
-                    account.getEquityAccountId(), transactionType, year);
+            BigDecimal amount = pivot.amount(account.getEquityAccountId(), year, transactionType);
             row.addValue(account.getAccountType(), amount);
             total = total.add(amount);
         }
@@ -206,7 +221,7 @@ public class EquityStatementService {
      * Create total row - DYNAMIC CALCULATION
      */
     private EquityRowDTO createTotalRow(String rowId, String description, List<String> transactionTypes,
-            Integer year, List<EquityAccount> accounts, Boolean isBold, Integer indentLevel) {
+            Integer year, List<EquityAccount> accounts, EquityPivot pivot, Boolean isBold, Integer indentLevel) {
         EquityRowDTO row = new EquityRowDTO();
         row.setRowId(rowId);
         row.setRowDescription(description);
@@ -220,9 +235,7 @@ public class EquityStatementService {
             BigDecimal accountTotal = BigDecimal.ZERO;
             for (String type : transactionTypes) {
                 // DYNAMIC CALCULATION: Sum multiple transaction types
-                BigDecimal amount = transactionRepository.getTotalByAccountTypeAndYear(
-                        account.getEquityAccountId(), type, year);
-                accountTotal = accountTotal.add(amount);
+                accountTotal = accountTotal.add(pivot.amount(account.getEquityAccountId(), year, type));
             }
             row.addValue(account.getAccountType(), accountTotal);
             total = total.add(accountTotal);
@@ -271,9 +284,14 @@ public class EquityStatementService {
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Equity transaction not found with id: " + transactionId));
 
+        if (Boolean.TRUE.equals(transaction.getIsPosted())) {
+            throw new InvalidTransactionException("Equity transaction is already posted");
+        }
+
         transaction.setIsPosted(true);
         transaction.setPostedDate(LocalDateTime.now());
         transactionRepository.save(transaction);
+        yearBalanceService.applyPosting(transaction);
 
         log.info("Posted equity transaction: {}", transactionId);
     }
@@ -350,4 +368,43 @@ public class EquityStatementService {
 
         return response;
     }
+
+    /**
+     * Year/type totals of the statement range keyed by account, plus each account's running
+     * balance: it starts at the balance before the range and moves on as each year is closed
+     */
+    private static final class EquityPivot {
+
+        private final Map<CellKey, BigDecimal> amounts = new HashMap<>();
+        private final Map<Integer, Map<Long, BigDecimal>> yearTotals = new HashMap<>();
+        private final Map<Long, BigDecimal> balances = new HashMap<>();
+
+        EquityPivot(List<YearTypeTotal> totals, List<AccountBalance> openingBalances) {
+            for (YearTypeTotal total : totals) {
+                amounts.merge(new CellKey(total.getEquityAccountId(), total.getFiscalYear(),
+                        total.getTransactionType()), total.getAmount(), BigDecimal::add);
+                yearTotals.computeIfAbsent(total.getFiscalYear(), k -> new HashMap<>())
+                        .merge(total.getEquityAccountId(), total.getAmount(), BigDecimal::add);
+            }
+            for (AccountBalance balance : openingBalances) {
+                balances.merge(balance.getEquityAccountId(), balance.getAmount(), BigDecimal::add);
+            }
+        }
+
+        BigDecimal amount(Long equityAccountId, Integer year, String transactionType) {
+            return amounts.getOrDefault(new CellKey(equityAccountId, year, transactionType), BigDecimal.ZERO);
+        }
+
+        BigDecimal balance(Long equityAccountId) {
+            return balances.getOrDefault(equityAccountId, BigDecimal.ZERO);
+        }
+
+        void close(Integer year) {
+            yearTotals.getOrDefault(year, Map.of()).forEach((account, total) -> balances.merge(account, total,
+                    BigDecimal::add));
+        }
+
+        private record CellKey(Long equityAccountId, Integer fiscalYear, String transactionType) {
+        }
+    }
 }
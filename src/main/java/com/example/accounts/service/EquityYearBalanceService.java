@@ -0,0 +1,57 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.EquityYearBalanceRebuildResponse;
+import com.example.accounts.entity.EquityTransaction;
+import com.example.accounts.entity.EquityYearBalance;
+import com.example.accounts.repository.EquityYearBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+/**
+ * Service maintaining the equity_year_balances table.
+ * Posting an equity transaction adds its amount to its year/type row only; the equity statement
+ * sums the rows before its first year for the opening balances and never scans transactions.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class EquityYearBalanceService {
+
+    private final EquityYearBalanceRepository yearBalanceRepository;
+
+    /**
+     * Add a transaction that has just been posted to the rollup
+     */
+    public void applyPosting(EquityTransaction transaction) {
+        Long accountId = transaction.getEquityAccount().getEquityAccountId();
+        String companyName = transaction.getCompanyName() != null ? transaction.getCompanyName()
+                : EquityYearBalance.NO_COMPANY;
+        Integer year = transaction.getFiscalYear();
+        BigDecimal amount = transaction.getAmount();
+
+        int updated = yearBalanceRepository.addAmount(accountId, companyName, year,
+                transaction.getTransactionType(), amount);
+        if (updated == 0) {
+            // The insert is an upsert, so a concurrent first posting to the same row turns it into an add
+            yearBalanceRepository.insertRow(accountId, companyName, year, transaction.getTransactionType(), amount);
+        }
+    }
+
+    /**
+     * Recompute the whole rollup from posted equity transactions
+     */
+    public EquityYearBalanceRebuildResponse rebuild() {
+        int deleted = yearBalanceRepository.deleteAllRows();
+        int inserted = yearBalanceRepository.insertFromPostedTransactions();
+        log.info("Rebuilt equity year balances: {} rows replaced by {}", deleted, inserted);
+        return EquityYearBalanceRebuildResponse.builder()
+                .deletedRows(deleted)
+                .insertedRows(inserted)
+                .build();
+    }
+}
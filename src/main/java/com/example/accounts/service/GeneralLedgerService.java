@@ -0,0 +1,148 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.LedgerLineResponse;
+import com.example.accounts.dto.LedgerStatementResponse;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.exception.ResourceNotFoundException;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.JournalEntryLineRepository;
+import com.example.accounts.repository.JournalEntryLineRepository.LedgerLineView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service for the general-ledger account statement.
+ * Lines are paged with a (entryDate, journalEntryId, lineId) keyset cursor, never OFFSET.
+ * The running balance is seeded from the stored period balance of the previous month
+ * plus the lines of the current month that precede the page.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class GeneralLedgerService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final JournalEntryLineRepository journalEntryLineRepository;
+    private final ChartOfAccountRepository chartOfAccountRepository;
+    private final AccountBalanceService accountBalanceService;
+
+    /**
+     * One page of an account's ledger in chronological order with running balance.
+     * Without a cursor the statement starts at {@code from} (defaults to the start of the year).
+     */
+    public LedgerStatementResponse getAccountStatement(Long accountId, Long companyId, LocalDate from,
+            LocalDate to, String cursor, Integer size) {
+        ChartOfAccount account = chartOfAccountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + accountId));
+
+        int pageSize = size != null ? size : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidTransactionException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDate startDate = from != null ? from : (to != null ? to : LocalDate.now()).withDayOfYear(1);
+        if (to != null && startDate.isAfter(to)) {
+            throw new InvalidTransactionException("From date must not be after to date");
+        }
+
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        LedgerCursor position;
+        List<LedgerLineView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            position = new LedgerCursor(startDate, 0L, 0L);
+            rows = journalEntryLineRepository.findLedgerLinesFrom(accountId, companyId, startDate, to,
+                    JournalEntryStatus.BOOKED, limit);
+        } else {
+            position = LedgerCursor.decode(cursor);
+            rows = journalEntryLineRepository.findLedgerLinesAfter(accountId, companyId, position.entryDate(),
+                    position.journalEntryId(), position.lineId(), to, JournalEntryStatus.BOOKED, limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        BigDecimal openingBalance = balanceBefore(accountId, companyId, position, cursor != null && !cursor.isBlank());
+        BigDecimal running = openingBalance;
+        List<LedgerLineResponse> lines = new ArrayList<>(rows.size());
+        for (LedgerLineView row : rows) {
+            running = running.add(row.getDebitAmount()).subtract(row.getCreditAmount());
+            lines.add(LedgerLineResponse.builder()
+                    .lineId(row.getLineId())
+                    .journalEntryId(row.getJournalEntryId())
+                    .entryDate(row.getEntryDate())
+                    .entryNumber(row.getEntryNumber())
+                    .description(row.getDescription())
+                    .debitAmount(row.getDebitAmount())
+                    .creditAmount(row.getCreditAmount())
+                    .runningBalance(running)
+                    .build());
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            LedgerLineView last = rows.get(rows.size() - 1);
+            nextCursor = new LedgerCursor(last.getEntryDate(), last.getJournalEntryId(), last.getLineId()).encode();
+        }
+
+        return LedgerStatementResponse.builder()
+                .accountId(account.getAccountId())
+                .accountCode(account.getAccountCode())
+                .accountDescription(account.getDescription())
+                .companyId(companyId)
+                .fromDate(startDate)
+                .toDate(to)
+                .openingBalance(openingBalance)
+                .closingBalance(running)
+                .lines(lines)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    /**
+     * Balance of all posted lines ordered before the position: closing balance of the previous
+     * month from account_period_balances plus this month's lines up to the position.
+     */
+    private BigDecimal balanceBefore(Long accountId, Long companyId, LedgerCursor position, boolean inclusiveOfPosition) {
+        LocalDate monthStart = position.entryDate().withDayOfMonth(1);
+        LocalDate previousMonth = monthStart.minusMonths(1);
+        BigDecimal balance = accountBalanceService.getAccountBalance(accountId, companyId,
+                previousMonth.getYear(), previousMonth.getMonthValue()).getClosingBalance();
+
+        // A cursor points at the last line already returned, which belongs to the balance
+        long lineId = inclusiveOfPosition ? position.lineId() + 1 : position.lineId();
+        BigDecimal monthToDate = journalEntryLineRepository.sumNetBefore(accountId, companyId, monthStart,
+                position.entryDate(), position.journalEntryId(), lineId, JournalEntryStatus.BOOKED);
+        return balance.add(monthToDate);
+    }
+
+    /**
+     * Position after the last line returned, encoded as a {@link KeysetCursor}
+     */
+    record LedgerCursor(LocalDate entryDate, Long journalEntryId, Long lineId) {
+
+        String encode() {
+            return KeysetCursor.of(entryDate, journalEntryId, lineId).encode();
+        }
+
+        static LedgerCursor decode(String cursor) {
+            KeysetCursor position = KeysetCursor.decode(cursor, 2, "ledger");
+            return new LedgerCursor(position.date(), position.id(0), position.id(1));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.accounts.service;
+
+import com.example.accounts.entity.IdGenerators;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reserves id blocks from the id_generators table for rows written with plain JDBC,
+ * so they never collide with ids handed out by the entities' table generators.
+ */
+@Service
+@RequiredArgsConstructor
+public class IdBlockAllocator {
+
+    private static final String SELECT_SQL = "SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+            + " WHERE " + IdGenerators.PK_COLUMN + " = ? FOR UPDATE";
+
+    private static final String UPDATE_SQL = "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN
+            + " = ? WHERE " + IdGenerators.PK_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reserve {@code count} consecutive ids for the given table and return the first one.
+     * Runs in its own transaction so the row lock is held only for the reservation.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long allocate(String tableName, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Id block size must be positive");
+        }
+        Long first = jdbcTemplate.queryForObject(SELECT_SQL, Long.class, tableName);
+        if (first == null) {
+            throw new IllegalStateException("No id generator row for table: " + tableName);
+        }
+        jdbcTemplate.update(UPDATE_SQL, first + count, tableName);
+        return first;
+    }
+}
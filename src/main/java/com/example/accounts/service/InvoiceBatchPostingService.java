@@ -0,0 +1,173 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.InvoiceBatchPostRequest;
+import com.example.accounts.dto.InvoiceBatchPostResponse;
+import com.example.accounts.dto.InvoicePostingResultDTO;
+import com.example.accounts.entity.Invoice;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.InvoiceRepository;
+import com.example.accounts.repository.InvoiceRepository.PostingCandidate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Posts many invoices in one call, e.g. a billing run.
+ * <p>
+ * Invoices are partitioned by company and the partitions spread over a fixed number of lanes
+ * by a {@link LanedBatchExecutor}; a company always stays in one lane, so its invoices
+ * are posted in date order and lanes do not contend for the same balance rows. A lane posts its
+ * invoices in chunks, each in its own transaction through {@link InvoiceService#postInvoices}.
+ * When a chunk fails it is replayed one invoice per transaction, so every invoice gets its own
+ * result and one bad invoice does not hold back the rest.
+ */
+@Service
+@Slf4j
+public class InvoiceBatchPostingService {
+
+    public static final int MAX_CHUNK_SIZE = 1000;
+    private static final int ID_LOOKUP_SLICE = 1000;
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceService invoiceService;
+    private final PostingRetryPolicy retryPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final int defaultChunkSize;
+    private final LanedBatchExecutor laneExecutor;
+
+    public InvoiceBatchPostingService(InvoiceRepository invoiceRepository, InvoiceService invoiceService,
+            PostingRetryPolicy retryPolicy, PlatformTransactionManager transactionManager,
+            @Value("${accounts.invoice-posting.chunk-size:200}") int defaultChunkSize,
+            @Value("${accounts.invoice-posting.lanes:4}") int lanes) {
+        this.invoiceRepository = invoiceRepository;
+        this.invoiceService = invoiceService;
+        this.retryPolicy = retryPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.defaultChunkSize = defaultChunkSize;
+        this.laneExecutor = new LanedBatchExecutor(lanes, "Batch posting");
+    }
+
+    public InvoiceBatchPostResponse postBatch(InvoiceBatchPostRequest request, String postedBy) {
+        long started = System.nanoTime();
+        int chunkSize = resolveChunkSize(request.getChunkSize());
+        List<InvoicePostingResultDTO> results = new ArrayList<>();
+        Map<Long, List<PostingCandidate>> partitions = partition(request, results);
+
+        LanedBatchExecutor.Result<InvoicePostingResultDTO> posting = laneExecutor.run(partitions.values(),
+                chunkSize, chunk -> postChunk(chunk.stream().map(PostingCandidate::getInvoiceId).toList(), postedBy),
+                candidate -> postAlone(candidate, postedBy));
+        results.addAll(posting.results());
+        int chunks = posting.chunks();
+        int posted = (int) results.stream().filter(InvoicePostingResultDTO::isPosted).count();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Batch posting by {} posted {} of {} invoices for {} companies in {} chunks, {} ms",
+                postedBy, posted, results.size(), partitions.size(), chunks, elapsedMillis);
+        return InvoiceBatchPostResponse.builder()
+                .requested(results.size())
+                .posted(posted)
+                .failed(results.size() - posted)
+                .partitions(partitions.size())
+                .chunks(chunks)
+                .elapsedMillis(elapsedMillis)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Postable invoices grouped by company; requested ids that cannot be posted are reported straight away
+     */
+    private Map<Long, List<PostingCandidate>> partition(InvoiceBatchPostRequest request,
+            List<InvoicePostingResultDTO> results) {
+        List<PostingCandidate> candidates = new ArrayList<>();
+        if (request.getInvoiceIds() != null && !request.getInvoiceIds().isEmpty()) {
+            List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getInvoiceIds()));
+            for (int from = 0; from < ids.size(); from += ID_LOOKUP_SLICE) {
+                candidates.addAll(invoiceRepository.findPostingCandidatesByInvoiceIdIn(
+                        ids.subList(from, Math.min(from + ID_LOOKUP_SLICE, ids.size()))));
+            }
+            Set<Long> found = candidates.stream().map(PostingCandidate::getInvoiceId).collect(Collectors.toSet());
+            ids.stream().filter(id -> !found.contains(id))
+                    .forEach(id -> results.add(failed(id, null, "Invoice not found")));
+        } else {
+            validateFilter(request);
+            candidates = invoiceRepository.findPostingCandidates(InvoiceStatus.DRAFT, request.getCompanyId(),
+                    request.getDocumentType(), request.getFromDate(), request.getToDate());
+        }
+
+        Map<Long, List<PostingCandidate>> partitions = new LinkedHashMap<>();
+        for (PostingCandidate candidate : candidates) {
+            if (candidate.getIsPosted() || candidate.getStatus() != InvoiceStatus.DRAFT) {
+                results.add(failed(candidate.getInvoiceId(), candidate.getCompanyId(),
+                        "Invoice is not a draft: " + candidate.getStatus()));
+                continue;
+            }
+            partitions.computeIfAbsent(candidate.getCompanyId(), k -> new ArrayList<>()).add(candidate);
+        }
+        return partitions;
+    }
+
+    private List<InvoicePostingResultDTO> postChunk(List<Long> invoiceIds, String postedBy) {
+        return transactionTemplate.execute(status -> invoiceService.postInvoices(invoiceIds, postedBy).stream()
+                .map(InvoiceBatchPostingService::posted)
+                .toList());
+    }
+
+    private InvoicePostingResultDTO postAlone(PostingCandidate candidate, String postedBy) {
+        try {
+            return retryPolicy.execute("invoice.post",
+                    () -> postChunk(List.of(candidate.getInvoiceId()), postedBy)).get(0);
+        } catch (RuntimeException e) {
+            return failed(candidate.getInvoiceId(), candidate.getCompanyId(), e.getMessage());
+        }
+    }
+
+    private void validateFilter(InvoiceBatchPostRequest request) {
+        if (request.getCompanyId() == null && request.getDocumentType() == null && request.getFromDate() == null
+                && request.getToDate() == null) {
+            throw new InvalidTransactionException("Batch posting needs invoice ids or at least one filter");
+        }
+        if (request.getFromDate() != null && request.getToDate() != null
+                && request.getFromDate().isAfter(request.getToDate())) {
+            throw new InvalidTransactionException("fromDate must not be after toDate");
+        }
+    }
+
+    private int resolveChunkSize(Integer chunkSize) {
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < 1 || size > MAX_CHUNK_SIZE) {
+            throw new InvalidTransactionException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        return size;
+    }
+
+    private static InvoicePostingResultDTO posted(Invoice invoice) {
+        return InvoicePostingResultDTO.builder()
+                .invoiceId(invoice.getInvoiceId())
+                .invoiceNumber(invoice.getInvoiceNumber())
+                .companyId(invoice.getCompany().getCompanyId())
+                .posted(true)
+                .journalEntryId(invoice.getJournalEntry().getJournalEntryId())
+                .journalEntryNumber(invoice.getJournalEntry().getEntryNumber())
+                .build();
+    }
+
+    private static InvoicePostingResultDTO failed(Long invoiceId, Long companyId, String error) {
+        return InvoicePostingResultDTO.builder()
+                .invoiceId(invoiceId)
+                .companyId(companyId)
+                .posted(false)
+                .error(error)
+                .build();
+    }
+}
@@ -9,14 +9,29 @@ import com.example.accounts.exception.DuplicateResourceException;
 import com.example.accounts.exception.InvalidTransactionException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.*;
+import com.example.accounts.service.PagingPolicy.SortFields;
+import com.example.accounts.service.PostingPlanCache.CompanyPlan;
+import com.example.accounts.service.PostingPlanCache.ItemPlan;
+import com.example.accounts.service.PostingPlanCache.PostingPlans;
+import com.example.accounts.service.ReferenceResolver.References;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,21 +40,36 @@ import java.util.stream.Collectors;
 public class InvoiceService {
 
     private final InvoiceRepository invoiceRepository;
-    private final CompanyRepository companyRepository;
-    private final ItemRepository itemRepository;
+    private final ReferenceResolver referenceResolver;
     private final JournalEntryRepository journalEntryRepository;
+    private final AccountBalanceService accountBalanceService;
+    private final PagingPolicy pagingPolicy;
+    private final DocumentNumberService documentNumberService;
+    private final AgingReportService agingReportService;
+    private final PostingPlanCache postingPlanCache;
+    private final ChartOfAccountRepository chartOfAccountRepository;
+
+    private static final SortFields SORT_FIELDS = SortFields.of("invoiceId",
+            Sort.by(Sort.Direction.DESC, "invoiceDate"), "invoiceDate", "invoiceNumber", "dueDate", "status",
+            "totalAmount", "createdAt");
 
     public InvoiceResponse createInvoice(InvoiceRequest request) {
-        if (invoiceRepository.existsByInvoiceNumber(request.getInvoiceNumber())) {
-            throw new DuplicateResourceException("Invoice number already exists: " + request.getInvoiceNumber());
+        String invoiceNumber = request.getInvoiceNumber();
+        if (invoiceNumber == null || invoiceNumber.isBlank()) {
+            invoiceNumber = documentNumberService.nextInvoiceNumber(request.getCompanyId(),
+                    request.getDocumentType(), request.getInvoiceDate());
+        } else {
+            DocumentNumberService.checkClientNumber(DocumentNumberService.SERIES_INVOICE, invoiceNumber);
+            if (invoiceRepository.existsByInvoiceNumber(invoiceNumber)) {
+                throw new DuplicateResourceException("Invoice number already exists: " + invoiceNumber);
+            }
         }
 
-        Company company = companyRepository.findById(request.getCompanyId())
-                .orElseThrow(
-                        () -> new ResourceNotFoundException("Company not found with id: " + request.getCompanyId()));
+        References references = resolveReferences(request);
+        Company company = references.company(request.getCompanyId());
 
         Invoice invoice = Invoice.builder()
-                .invoiceNumber(request.getInvoiceNumber())
+                .invoiceNumber(invoiceNumber)
                 .invoiceDate(request.getInvoiceDate())
                 .dueDate(request.getDueDate())
                 .documentType(request.getDocumentType())
@@ -55,7 +85,7 @@ public class InvoiceService {
 
         // Add lines
         for (InvoiceLineRequest lineReq : request.getLines()) {
-            InvoiceLine line = createInvoiceLine(lineReq);
+            InvoiceLine line = createInvoiceLine(lineReq, references);
             invoice.addLine(line);
         }
 
@@ -67,15 +97,23 @@ public class InvoiceService {
     }
 
     public InvoiceResponse getInvoiceById(Long id) {
-        Invoice invoice = invoiceRepository.findById(id)
+        Invoice invoice = invoiceRepository.findWithDetailsByInvoiceId(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice not found with id: " + id));
         return mapToResponse(invoice);
     }
 
-    public List<InvoiceResponse> getAllInvoices() {
-        return invoiceRepository.findAll().stream()
-                .map(this::mapToResponse)
+    public PageResponse<InvoiceResponse> getInvoices(Long companyId, InvoiceStatus status, DocumentType documentType,
+            LocalDate fromDate, LocalDate toDate, PageQuery pageQuery) {
+        Page<Long> ids = invoiceRepository.findIds(companyId, status, documentType, fromDate, toDate,
+                pagingPolicy.toPageable(pageQuery, SORT_FIELDS));
+        pagingPolicy.checkUnpagedLimit(pageQuery, ids);
+
+        Map<Long, Invoice> byId = invoiceRepository.findWithDetailsByInvoiceIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Invoice::getInvoiceId, Function.identity()));
+        List<InvoiceResponse> content = ids.getContent().stream()
+                .map(id -> mapToResponse(byId.get(id)))
                 .collect(Collectors.toList());
+        return pagingPolicy.toResponse(ids, content);
     }
 
     public List<InvoiceResponse> getInvoicesByCompany(Long companyId) {
@@ -92,19 +130,64 @@ public class InvoiceService {
             throw new InvalidTransactionException("Invoice is already posted");
         }
 
-        // Create automatic journal entry
-        JournalEntry journalEntry = createJournalEntryForInvoice(invoice, postedBy);
-        JournalEntry savedJE = journalEntryRepository.save(journalEntry);
-
-        invoice.setJournalEntry(savedJE);
+        // Claim the invoice first: a concurrent post fails its version check here,
+        // before it inserts a duplicate journal entry or touches balances
         invoice.setIsPosted(true);
         invoice.setPostedDate(LocalDateTime.now());
         invoice.setStatus(InvoiceStatus.POSTED);
+        invoiceRepository.saveAndFlush(invoice);
+
+        // Create automatic journal entry
+        JournalEntry journalEntry = createJournalEntryForInvoice(invoice, postingPlans(List.of(invoice)), postedBy);
+        JournalEntry savedJE = journalEntryRepository.save(journalEntry);
+        accountBalanceService.applyPosting(savedJE);
+        agingReportService.invalidate(List.of(invoice.getCompany().getCompanyId()));
 
+        invoice.setJournalEntry(savedJE);
         Invoice saved = invoiceRepository.save(invoice);
         return mapToResponse(saved);
     }
 
+    /**
+     * Post several draft invoices in the current transaction. Their journal entries are inserted
+     * together through JDBC batching and the balances are updated once for the whole set; any
+     * invoice that cannot be posted fails the call.
+     */
+    public List<Invoice> postInvoices(Collection<Long> ids, String postedBy) {
+        Set<Long> invoiceIds = new LinkedHashSet<>(ids);
+        List<Invoice> invoices = new ArrayList<>(invoiceRepository.findWithDetailsByInvoiceIdIn(invoiceIds));
+        invoices.sort(Comparator.comparing(Invoice::getInvoiceDate).thenComparing(Invoice::getInvoiceId));
+        if (invoices.size() != invoiceIds.size()) {
+            Set<Long> found = invoices.stream().map(Invoice::getInvoiceId).collect(Collectors.toSet());
+            throw new ResourceNotFoundException("Invoice not found with id: "
+                    + invoiceIds.stream().filter(id -> !found.contains(id)).findFirst().orElseThrow());
+        }
+
+        PostingPlans plans = postingPlans(invoices);
+        List<JournalEntry> journalEntries = new ArrayList<>(invoices.size());
+        for (Invoice invoice : invoices) {
+            if (invoice.getIsPosted()) {
+                throw new InvalidTransactionException("Invoice is already posted: " + invoice.getInvoiceNumber());
+            }
+            journalEntries.add(createJournalEntryForInvoice(invoice, plans, postedBy));
+        }
+        List<JournalEntry> saved = journalEntryRepository.saveAll(journalEntries);
+
+        LocalDateTime postedDate = LocalDateTime.now();
+        for (int i = 0; i < invoices.size(); i++) {
+            Invoice invoice = invoices.get(i);
+            invoice.setIsPosted(true);
+            invoice.setPostedDate(postedDate);
+            invoice.setStatus(InvoiceStatus.POSTED);
+            invoice.setJournalEntry(saved.get(i));
+        }
+        // A concurrent post fails its version check here, before any balance is touched
+        invoiceRepository.flush();
+        accountBalanceService.applyPostings(saved);
+        agingReportService.invalidate(invoices.stream().map(invoice -> invoice.getCompany().getCompanyId()).toList());
+        return invoices;
+    }
+
     public InvoiceResponse updateInvoice(Long id, InvoiceRequest request) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Invoice not found with id: " + id));
@@ -113,11 +196,14 @@ public class InvoiceService {
             throw new InvalidTransactionException("Cannot update posted invoice");
         }
 
-        Company company = companyRepository.findById(request.getCompanyId())
-                .orElseThrow(
-                        () -> new ResourceNotFoundException("Company not found with id: " + request.getCompanyId()));
+        References references = resolveReferences(request);
+        Company company = references.company(request.getCompanyId());
 
-        invoice.setInvoiceNumber(request.getInvoiceNumber());
+        if (request.getInvoiceNumber() != null && !request.getInvoiceNumber().isBlank()
+                && !request.getInvoiceNumber().equals(invoice.getInvoiceNumber())) {
+            DocumentNumberService.checkClientNumber(DocumentNumberService.SERIES_INVOICE, request.getInvoiceNumber());
+            invoice.setInvoiceNumber(request.getInvoiceNumber());
+        }
         invoice.setInvoiceDate(request.getInvoiceDate());
         invoice.setDueDate(request.getDueDate());
         invoice.setDocumentType(request.getDocumentType());
@@ -131,7 +217,7 @@ public class InvoiceService {
         // Update lines - simple strategy: clear and recreate
         invoice.getLines().clear();
         for (InvoiceLineRequest lineReq : request.getLines()) {
-            InvoiceLine line = createInvoiceLine(lineReq);
+            InvoiceLine line = createInvoiceLine(lineReq, references);
             invoice.addLine(line);
         }
 
@@ -153,9 +239,23 @@ public class InvoiceService {
         invoiceRepository.deleteById(id);
     }
 
-    private JournalEntry createJournalEntryForInvoice(Invoice invoice, String postedBy) {
+    /**
+     * Posting plans for the counterparties and line items of the invoices
+     */
+    private PostingPlans postingPlans(Collection<Invoice> invoices) {
+        Set<Long> companyIds = new HashSet<>();
+        Set<Long> itemIds = new HashSet<>();
+        for (Invoice invoice : invoices) {
+            companyIds.add(invoice.getCompany().getCompanyId());
+            for (InvoiceLine line : invoice.getLines()) {
+                itemIds.add(line.getItem().getItemId());
+            }
+        }
+        return postingPlanCache.plans(companyIds, itemIds);
+    }
+
+    private JournalEntry createJournalEntryForInvoice(Invoice invoice, PostingPlans plans, String postedBy) {
         JournalEntry je = JournalEntry.builder()
-                .entryNumber("JE-INV-" + invoice.getInvoiceNumber())
                 .entryDate(invoice.getInvoiceDate())
                 .documentType(invoice.getDocumentType())
                 .description("Auto-posting for Invoice: " + invoice.getInvoiceNumber())
@@ -169,8 +269,9 @@ public class InvoiceService {
 
         boolean isCustomerInvoice = invoice.getDocumentType() == DocumentType.CUSTOMER_INVOICE;
         Company company = invoice.getCompany();
+        CompanyPlan companyPlan = plans.company(company.getCompanyId());
 
-        if (company.getCompanyGLAccount() == null) {
+        if (companyPlan == null) {
             throw new InvalidTransactionException("Company GL accounts not configured for: " + company.getName());
         }
 
@@ -179,8 +280,9 @@ public class InvoiceService {
         // For each invoice line, create GL postings
         for (InvoiceLine invLine : invoice.getLines()) {
             Item item = invLine.getItem();
+            ItemPlan itemPlan = plans.item(item.getItemId());
 
-            if (item.getItemGLAccount() == null) {
+            if (itemPlan == null) {
                 throw new InvalidTransactionException("Item GL accounts not configured for: " + item.getDescription());
             }
 
@@ -193,7 +295,7 @@ public class InvoiceService {
                 // Revenue line (Credit)
                 JournalEntryLine revenueLine = JournalEntryLine.builder()
                         .lineNumber(lineNumber++)
-                        .account(item.getItemGLAccount().getSalesRevenueAccount())
+                        .account(account(itemPlan.revenueAccountId()))
                         .debitAmount(BigDecimal.ZERO)
                         .creditAmount(invLine.getLineAmount().subtract(invLine.getDiscountAmount()))
                         .description("Sales - " + item.getDescription())
@@ -210,7 +312,7 @@ public class InvoiceService {
                 if (invLine.getVatAmount().compareTo(BigDecimal.ZERO) > 0) {
                     JournalEntryLine vatLine = JournalEntryLine.builder()
                             .lineNumber(lineNumber++)
-                            .account(item.getItemGLAccount().getOutputVATAccount())
+                            .account(account(itemPlan.outputVatAccountId()))
                             .debitAmount(BigDecimal.ZERO)
                             .creditAmount(invLine.getVatAmount())
                             .description("Output VAT - " + item.getDescription())
@@ -223,10 +325,10 @@ public class InvoiceService {
 
                 // Discount line (Debit) if applicable
                 if (invLine.getDiscountAmount().compareTo(BigDecimal.ZERO) > 0 &&
-                        item.getItemGLAccount().getTradeDiscountsAccount() != null) {
+                        itemPlan.discountAccountId() != null) {
                     JournalEntryLine discountLine = JournalEntryLine.builder()
                             .lineNumber(lineNumber++)
-                            .account(item.getItemGLAccount().getTradeDiscountsAccount())
+                            .account(account(itemPlan.discountAccountId()))
                             .debitAmount(invLine.getDiscountAmount())
                             .creditAmount(BigDecimal.ZERO)
                             .description("Trade Discount - " + item.getDescription())
@@ -244,18 +346,14 @@ public class InvoiceService {
                 // CR: Accounts Payable (Company GL)
 
                 // Expense/COGS line (Debit)
-                ChartOfAccount expenseAccount = item.getItemGLAccount().getGlAccount() != null
-                        ? item.getItemGLAccount().getGlAccount()
-                        : item.getItemGLAccount().getCostOfGoodsSoldAccount();
-
-                if (expenseAccount == null) {
+                if (itemPlan.expenseAccountId() == null) {
                     throw new InvalidTransactionException(
                             "No expense/COGS account configured for item: " + item.getDescription());
                 }
 
                 JournalEntryLine expenseLine = JournalEntryLine.builder()
                         .lineNumber(lineNumber++)
-                        .account(expenseAccount)
+                        .account(account(itemPlan.expenseAccountId()))
                         .debitAmount(invLine.getLineAmount().subtract(invLine.getDiscountAmount()))
                         .creditAmount(BigDecimal.ZERO)
                         .description("Purchase - " + item.getDescription())
@@ -272,7 +370,7 @@ public class InvoiceService {
                 if (invLine.getVatAmount().compareTo(BigDecimal.ZERO) > 0) {
                     JournalEntryLine vatLine = JournalEntryLine.builder()
                             .lineNumber(lineNumber++)
-                            .account(item.getItemGLAccount().getInputVATAccount())
+                            .account(account(itemPlan.inputVatAccountId()))
                             .debitAmount(invLine.getVatAmount())
                             .creditAmount(BigDecimal.ZERO)
                             .description("Input VAT - " + item.getDescription())
@@ -290,7 +388,7 @@ public class InvoiceService {
             // Debit Accounts Receivable
             JournalEntryLine arLine = JournalEntryLine.builder()
                     .lineNumber(lineNumber)
-                    .account(company.getCompanyGLAccount().getAccountsReceivable())
+                    .account(account(companyPlan.receivableAccountId()))
                     .debitAmount(invoice.getTotalAmount())
                     .creditAmount(BigDecimal.ZERO)
                     .description("AR - Invoice " + invoice.getInvoiceNumber())
@@ -302,7 +400,7 @@ public class InvoiceService {
             // Credit Accounts Payable
             JournalEntryLine apLine = JournalEntryLine.builder()
                     .lineNumber(lineNumber)
-                    .account(company.getCompanyGLAccount().getAccountsPayable())
+                    .account(account(companyPlan.payableAccountId()))
                     .debitAmount(BigDecimal.ZERO)
                     .creditAmount(invoice.getTotalAmount())
                     .description("AP - Invoice " + invoice.getInvoiceNumber())
@@ -321,16 +419,37 @@ public class InvoiceService {
                     je.getTotalDebit() + ", Credit: " + je.getTotalCredit());
         }
 
+        // Numbered last so a rejected posting does not use up a number
+        je.setEntryNumber(documentNumberService.nextJournalEntryNumber(
+                company.getCompanyId(), invoice.getDocumentType(), invoice.getInvoiceDate()));
         return je;
     }
 
-    private InvoiceLine createInvoiceLine(InvoiceLineRequest request) {
-        Item item = itemRepository.findById(request.getItemId())
-                .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + request.getItemId()));
+    /**
+     * Uninitialized reference to a planned account, null where the mapping leaves it unset
+     */
+    private ChartOfAccount account(Long accountId) {
+        return accountId != null ? chartOfAccountRepository.getReferenceById(accountId) : null;
+    }
+
+    /**
+     * Load the invoice company and every line's item in one query per type
+     */
+    private References resolveReferences(InvoiceRequest request) {
+        ReferenceResolver.Request references = referenceResolver.request().company(request.getCompanyId());
+        for (InvoiceLineRequest line : request.getLines()) {
+            if (line.getItemId() == null) {
+                throw new InvalidTransactionException("Item is required on every invoice line");
+            }
+            references.item(line.getItemId());
+        }
+        return references.resolve();
+    }
 
+    private InvoiceLine createInvoiceLine(InvoiceLineRequest request, References references) {
         InvoiceLine line = InvoiceLine.builder()
                 .lineNumber(request.getLineNumber())
-                .item(item)
+                .item(references.item(request.getItemId()))
                 .description(request.getDescription())
                 .quantity(request.getQuantity())
                 .unitPrice(request.getUnitPrice())
@@ -24,6 +24,7 @@ public class ItemGLAccountService {
     private final ItemGLAccountRepository repository;
     private final ItemRepository itemRepository;
     private final ChartOfAccountRepository chartOfAccountRepository;
+    private final PostingPlanCache postingPlanCache;
 
     public ItemGLAccountResponse create(ItemGLAccountRequest request) {
         Item item = itemRepository.findById(request.getItemId())
@@ -41,7 +42,9 @@ public class ItemGLAccountService {
                 .inputVATAccount(getAccount(request.getInputVATAccountId()))
                 .build();
 
-        return toResponse(repository.save(entity));
+        ItemGLAccount saved = repository.save(entity);
+        postingPlanCache.invalidateItems(List.of(item.getItemId()));
+        return toResponse(saved);
     }
 
     @Transactional(readOnly = true)
@@ -70,14 +73,16 @@ public class ItemGLAccountService {
         entity.setOutputVATAccount(getAccount(request.getOutputVATAccountId()));
         entity.setInputVATAccount(getAccount(request.getInputVATAccountId()));
 
-        return toResponse(repository.save(entity));
+        ItemGLAccount saved = repository.save(entity);
+        postingPlanCache.invalidateItems(List.of(entity.getItem().getItemId()));
+        return toResponse(saved);
     }
 
     public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("ItemGLAccount not found");
-        }
-        repository.deleteById(id);
+        ItemGLAccount entity = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("ItemGLAccount not found"));
+        repository.delete(entity);
+        postingPlanCache.invalidateItems(List.of(entity.getItem().getItemId()));
     }
 
     private ChartOfAccount getAccount(Long id) {
@@ -3,15 +3,18 @@ package com.example.accounts.service;
 import com.example.accounts.dto.ItemGLAccountResponse;
 import com.example.accounts.dto.ItemRequest;
 import com.example.accounts.dto.ItemResponse;
-import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.entity.Item;
 import com.example.accounts.entity.ItemGLAccount;
 import com.example.accounts.entity.enums.ItemType;
 import com.example.accounts.exception.DuplicateResourceException;
 import com.example.accounts.exception.ResourceNotFoundException;
-import com.example.accounts.repository.ChartOfAccountRepository;
 import com.example.accounts.repository.ItemRepository;
+import com.example.accounts.service.PagingPolicy.SortFields;
+import com.example.accounts.service.ReferenceResolver.References;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,7 +27,12 @@ import java.util.stream.Collectors;
 public class ItemService {
 
     private final ItemRepository itemRepository;
-    private final ChartOfAccountRepository chartOfAccountRepository;
+    private final ReferenceResolver referenceResolver;
+    private final PagingPolicy pagingPolicy;
+    private final PostingPlanCache postingPlanCache;
+
+    private static final SortFields SORT_FIELDS = SortFields.of("itemId",
+            Sort.by("code"), "code", "description", "itemType", "category", "createdAt");
 
     public ItemResponse createItem(ItemRequest request) {
         if (itemRepository.existsByCode(request.getCode())) {
@@ -59,7 +67,7 @@ public class ItemService {
     }
 
     public ItemResponse getItemById(Long itemId) {
-        Item item = itemRepository.findById(itemId)
+        Item item = itemRepository.findWithGLAccountsByItemId(itemId)
                 .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + itemId));
         return mapToResponse(item);
     }
@@ -76,10 +84,11 @@ public class ItemService {
                 .collect(Collectors.toList());
     }
 
-    public List<ItemResponse> getAllItems() {
-        return itemRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public PageResponse<ItemResponse> getItems(ItemType itemType, Boolean isActive, String category,
+            PageQuery pageQuery) {
+        return pagingPolicy.toResponse(pageQuery,
+                itemRepository.findPage(itemType, isActive, category, pagingPolicy.toPageable(pageQuery, SORT_FIELDS)),
+                this::mapToResponse);
     }
 
     public List<ItemResponse> getActiveItems() {
@@ -121,6 +130,7 @@ public class ItemService {
         }
 
         Item updated = itemRepository.save(item);
+        postingPlanCache.invalidateItems(List.of(itemId));
         return mapToResponse(updated);
     }
 
@@ -145,37 +155,49 @@ public class ItemService {
             throw new ResourceNotFoundException("Item not found with id: " + itemId);
         }
         itemRepository.deleteById(itemId);
+        postingPlanCache.invalidateItems(List.of(itemId));
     }
 
     private ItemGLAccount createItemGLAccount(com.example.accounts.dto.ItemGLAccountRequest request) {
+        References references = resolveAccounts(request);
         return ItemGLAccount.builder()
-                .glAccount(getAccountById(request.getGlAccountId()))
-                .goodsOnConsignmentAccount(getAccountById(request.getGoodsOnConsignmentAccountId()))
-                .salesRevenueAccount(getAccountById(request.getSalesRevenueAccountId()))
-                .tradeDiscountsAccount(getAccountById(request.getTradeDiscountsAccountId()))
-                .costOfGoodsSoldAccount(getAccountById(request.getCostOfGoodsSoldAccountId()))
-                .deferredExpensesAccount(getAccountById(request.getDeferredExpensesAccountId()))
-                .outputVATAccount(getAccountById(request.getOutputVATAccountId()))
-                .inputVATAccount(getAccountById(request.getInputVATAccountId()))
+                .glAccount(references.account(request.getGlAccountId()))
+                .goodsOnConsignmentAccount(references.account(request.getGoodsOnConsignmentAccountId()))
+                .salesRevenueAccount(references.account(request.getSalesRevenueAccountId()))
+                .tradeDiscountsAccount(references.account(request.getTradeDiscountsAccountId()))
+                .costOfGoodsSoldAccount(references.account(request.getCostOfGoodsSoldAccountId()))
+                .deferredExpensesAccount(references.account(request.getDeferredExpensesAccountId()))
+                .outputVATAccount(references.account(request.getOutputVATAccountId()))
+                .inputVATAccount(references.account(request.getInputVATAccountId()))
                 .build();
     }
 
     private void updateItemGLAccount(ItemGLAccount glAccount, com.example.accounts.dto.ItemGLAccountRequest request) {
-        glAccount.setGlAccount(getAccountById(request.getGlAccountId()));
-        glAccount.setGoodsOnConsignmentAccount(getAccountById(request.getGoodsOnConsignmentAccountId()));
-        glAccount.setSalesRevenueAccount(getAccountById(request.getSalesRevenueAccountId()));
-        glAccount.setTradeDiscountsAccount(getAccountById(request.getTradeDiscountsAccountId()));
-        glAccount.setCostOfGoodsSoldAccount(getAccountById(request.getCostOfGoodsSoldAccountId()));
-        glAccount.setDeferredExpensesAccount(getAccountById(request.getDeferredExpensesAccountId()));
-        glAccount.setOutputVATAccount(getAccountById(request.getOutputVATAccountId()));
-        glAccount.setInputVATAccount(getAccountById(request.getInputVATAccountId()));
+        References references = resolveAccounts(request);
+        glAccount.setGlAccount(references.account(request.getGlAccountId()));
+        glAccount.setGoodsOnConsignmentAccount(references.account(request.getGoodsOnConsignmentAccountId()));
+        glAccount.setSalesRevenueAccount(references.account(request.getSalesRevenueAccountId()));
+        glAccount.setTradeDiscountsAccount(references.account(request.getTradeDiscountsAccountId()));
+        glAccount.setCostOfGoodsSoldAccount(references.account(request.getCostOfGoodsSoldAccountId()));
+        glAccount.setDeferredExpensesAccount(references.account(request.getDeferredExpensesAccountId()));
+        glAccount.setOutputVATAccount(references.account(request.getOutputVATAccountId()));
+        glAccount.setInputVATAccount(references.account(request.getInputVATAccountId()));
     }
 
-    private ChartOfAccount getAccountById(Long accountId) {
-        if (accountId == null)
-            return null;
-        return chartOfAccountRepository.findById(accountId)
-                .orElseThrow(() -> new ResourceNotFoundException("Chart of Account not found with id: " + accountId));
+    /**
+     * Load all 8 GL accounts of the request with a single query
+     */
+    private References resolveAccounts(com.example.accounts.dto.ItemGLAccountRequest request) {
+        return referenceResolver.request()
+                .account(request.getGlAccountId())
+                .account(request.getGoodsOnConsignmentAccountId())
+                .account(request.getSalesRevenueAccountId())
+                .account(request.getTradeDiscountsAccountId())
+                .account(request.getCostOfGoodsSoldAccountId())
+                .account(request.getDeferredExpensesAccountId())
+                .account(request.getOutputVATAccountId())
+                .account(request.getInputVATAccountId())
+                .resolve();
     }
 
     private ItemResponse mapToResponse(Item item) {
@@ -0,0 +1,547 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.BulkImportError;
+import com.example.accounts.dto.BulkImportResponse;
+import com.example.accounts.dto.JournalEntryLineRequest;
+import com.example.accounts.dto.JournalEntryRequest;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.JournalEntryRepository;
+import com.example.accounts.service.ReferenceResolver.References;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of journal entries from NDJSON or CSV streams.
+ * The input is read incrementally and processed in chunks: each chunk resolves its account,
+ * item and company references with one query per type and is inserted with JDBC batch
+ * statements in its own transaction, using ids reserved in blocks from id_generators.
+ * Invalid entries are reported and skipped; they never abort the rest of the file.
+ * Imported entries are created as DRAFT.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JournalEntryImportService {
+
+    public static final String FORMAT_NDJSON = "NDJSON";
+    public static final String FORMAT_CSV = "CSV";
+    public static final int MAX_CHUNK_SIZE = 5000;
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_ENTRY_SQL = "INSERT INTO journal_entries (journal_entry_id, entry_number, " +
+            "entry_date, document_type, description, company_id, reference_number, total_debit, total_credit, status, " +
+            "created_by, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LINE_SQL = "INSERT INTO journal_entry_lines (line_id, journal_entry_id, " +
+            "line_number, account_id, debit_amount, credit_amount, description, item_id, company_id, warehouse, " +
+            "contract, quantity) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int[] ENTRY_ARG_TYPES = { Types.BIGINT, Types.VARCHAR, Types.DATE, Types.VARCHAR,
+            Types.VARCHAR, Types.BIGINT, Types.VARCHAR, Types.DECIMAL, Types.DECIMAL, Types.VARCHAR, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP };
+
+    private static final int[] LINE_ARG_TYPES = { Types.BIGINT, Types.BIGINT, Types.INTEGER, Types.BIGINT,
+            Types.DECIMAL, Types.DECIMAL, Types.VARCHAR, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.VARCHAR,
+            Types.DECIMAL };
+
+    /**
+     * CSV columns; one row per journal line, consecutive rows with the same entryNumber form one entry
+     * and a row without an entryNumber stands alone
+     */
+    private static final List<String> CSV_REQUIRED_COLUMNS = List.of(
+            "entrynumber", "entrydate", "documenttype", "description", "accountid");
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final ReferenceResolver referenceResolver;
+    private final JdbcTemplate jdbcTemplate;
+    private final IdBlockAllocator idBlockAllocator;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${accounts.journal-import.chunk-size:500}")
+    private int defaultChunkSize;
+
+    /**
+     * Import newline-delimited JSON, one {@link JournalEntryRequest} per line
+     */
+    public BulkImportResponse importNdjson(Reader input, Integer chunkSize, String importedBy) throws IOException {
+        ImportRun run = new ImportRun(FORMAT_NDJSON, resolveChunkSize(chunkSize), importedBy);
+        BufferedReader reader = new BufferedReader(input);
+        String line;
+        long rowNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.response.setRowsRead(run.response.getRowsRead() + 1);
+            PendingEntry entry = new PendingEntry(rowNumber);
+            try {
+                entry.request = objectMapper.readValue(line, JournalEntryRequest.class);
+            } catch (JsonProcessingException e) {
+                entry.parseError = "Malformed JSON: " + e.getOriginalMessage();
+            }
+            run.add(entry);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Import CSV with a header row; each row is one journal line
+     */
+    public BulkImportResponse importCsv(Reader input, Integer chunkSize, String importedBy) throws IOException {
+        ImportRun run = new ImportRun(FORMAT_CSV, resolveChunkSize(chunkSize), importedBy);
+        BufferedReader reader = new BufferedReader(input);
+
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return run.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> header = splitCsv(headerLine);
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = CSV_REQUIRED_COLUMNS.stream().filter(c -> !columns.containsKey(c)).toList();
+        if (!missing.isEmpty()) {
+            throw new InvalidTransactionException("CSV header is missing required columns: " + missing);
+        }
+
+        PendingEntry current = null;
+        String line;
+        long rowNumber = 1;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            run.response.setRowsRead(run.response.getRowsRead() + 1);
+            CsvRow row = new CsvRow(splitCsv(line), columns);
+            String entryNumber = row.get("entrynumber");
+
+            // A row without an entry number is an entry of its own, rejected at its own row
+            if (current == null || entryNumber == null
+                    || !Objects.equals(entryNumber, current.request.getEntryNumber())) {
+                if (current != null) {
+                    run.add(current);
+                }
+                current = new PendingEntry(rowNumber);
+                current.request = JournalEntryRequest.builder()
+                        .entryNumber(entryNumber)
+                        .lines(new ArrayList<>())
+                        .build();
+                try {
+                    current.request.setEntryDate(row.getDate("entrydate"));
+                    current.request.setDocumentType(row.getDocumentType("documenttype"));
+                    current.request.setDescription(row.get("description"));
+                    current.request.setReferenceNumber(row.get("referencenumber"));
+                    current.request.setCompanyId(row.getLong("companyid"));
+                } catch (IllegalArgumentException e) {
+                    current.rejectRow(rowNumber, e.getMessage());
+                }
+            }
+
+            try {
+                current.request.getLines().add(JournalEntryLineRequest.builder()
+                        .lineNumber(row.getInteger("linenumber"))
+                        .accountId(row.getLong("accountid"))
+                        .debitAmount(row.getDecimal("debitamount"))
+                        .creditAmount(row.getDecimal("creditamount"))
+                        .description(row.get("linedescription"))
+                        .itemId(row.getLong("itemid"))
+                        .companyId(row.getLong("linecompanyid"))
+                        .warehouse(row.get("warehouse"))
+                        .contract(row.get("contract"))
+                        .quantity(row.getDecimal("quantity"))
+                        .build());
+            } catch (IllegalArgumentException e) {
+                current.rejectRow(rowNumber, e.getMessage());
+            }
+        }
+        if (current != null) {
+            run.add(current);
+        }
+        return run.finish();
+    }
+
+    private int resolveChunkSize(Integer chunkSize) {
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < 1 || size > MAX_CHUNK_SIZE) {
+            throw new InvalidTransactionException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * Validate a chunk, resolve its references in bulk and insert the valid entries in one transaction
+     */
+    private void processChunk(ImportRun run, List<PendingEntry> chunk) {
+        // Numbers from earlier chunks are committed by now and found by resolveReferences
+        Set<String> chunkNumbers = new HashSet<>();
+        List<PendingEntry> candidates = new ArrayList<>(chunk.size());
+        for (PendingEntry entry : chunk) {
+            String error = validateEntry(entry);
+            if (error == null && !chunkNumbers.add(entry.request.getEntryNumber())) {
+                error = "Duplicate entry number in file: " + entry.request.getEntryNumber();
+            }
+            if (error != null) {
+                run.reject(entry, error);
+            } else {
+                candidates.add(entry);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<PendingEntry> imported = new TransactionTemplate(transactionManager).execute(status -> {
+                List<PendingEntry> valid = resolveReferences(run, candidates);
+                if (!valid.isEmpty()) {
+                    insertEntries(valid, run.importedBy);
+                }
+                return valid;
+            });
+            run.response.setEntriesImported(run.response.getEntriesImported() + imported.size());
+            run.response.setLinesImported(run.response.getLinesImported()
+                    + imported.stream().mapToLong(e -> e.request.getLines().size()).sum());
+        } catch (RuntimeException e) {
+            log.warn("Journal entry import chunk starting at row {} failed", candidates.get(0).rowNumber, e);
+            String message = "Chunk rolled back: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            candidates.stream().filter(entry -> entry.error == null).forEach(entry -> run.reject(entry, message));
+        }
+    }
+
+    private String validateEntry(PendingEntry entry) {
+        if (entry.parseError != null) {
+            return entry.parseError;
+        }
+        JournalEntryRequest request = entry.request;
+        Set<ConstraintViolation<JournalEntryRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        // Imported entries keep their source numbers; only the API assigns numbers
+        if (request.getEntryNumber() == null || request.getEntryNumber().isBlank()) {
+            return "Entry number is required";
+        }
+        if (DocumentNumberService.isServerNumber(DocumentNumberService.SERIES_JOURNAL_ENTRY, request.getEntryNumber())) {
+            return "Entry number is in the server numbering format: " + request.getEntryNumber();
+        }
+
+        BigDecimal totalDebit = BigDecimal.ZERO;
+        BigDecimal totalCredit = BigDecimal.ZERO;
+        for (JournalEntryLineRequest line : request.getLines()) {
+            if (line.getAccountId() == null) {
+                return "Account is required on every line";
+            }
+            BigDecimal debit = line.getDebitAmount() != null ? line.getDebitAmount() : BigDecimal.ZERO;
+            BigDecimal credit = line.getCreditAmount() != null ? line.getCreditAmount() : BigDecimal.ZERO;
+            if (debit.signum() < 0 || credit.signum() < 0) {
+                return "Debit and credit amounts must not be negative";
+            }
+            totalDebit = totalDebit.add(debit);
+            totalCredit = totalCredit.add(credit);
+        }
+        if (totalDebit.compareTo(totalCredit) != 0) {
+            return "Journal entry is not balanced. Debit: " + totalDebit + ", Credit: " + totalCredit;
+        }
+        return null;
+    }
+
+    /**
+     * Reject entries whose number already exists or that reference unknown accounts, items or companies.
+     * One query per reference type for the whole chunk.
+     */
+    private List<PendingEntry> resolveReferences(ImportRun run, List<PendingEntry> candidates) {
+        Set<String> entryNumbers = new HashSet<>();
+        ReferenceResolver.Request lookup = referenceResolver.request();
+        for (PendingEntry entry : candidates) {
+            entryNumbers.add(entry.request.getEntryNumber());
+            lookup.company(entry.request.getCompanyId());
+            for (JournalEntryLineRequest line : entry.request.getLines()) {
+                lookup.account(line.getAccountId())
+                        .item(line.getItemId())
+                        .company(line.getCompanyId());
+            }
+        }
+
+        Set<String> existingNumbers = new HashSet<>(journalEntryRepository.findExistingEntryNumbers(entryNumbers));
+        References references = lookup.lookup();
+
+        List<PendingEntry> valid = new ArrayList<>(candidates.size());
+        for (PendingEntry entry : candidates) {
+            String error = null;
+            JournalEntryRequest request = entry.request;
+            if (existingNumbers.contains(request.getEntryNumber())) {
+                error = "Journal entry number already exists: " + request.getEntryNumber();
+            } else if (request.getCompanyId() != null && !references.hasCompany(request.getCompanyId())) {
+                error = "Company not found with id: " + request.getCompanyId();
+            } else {
+                for (JournalEntryLineRequest line : request.getLines()) {
+                    if (!references.hasAccount(line.getAccountId())) {
+                        error = "Account not found with id: " + line.getAccountId();
+                    } else if (line.getItemId() != null && !references.hasItem(line.getItemId())) {
+                        error = "Item not found with id: " + line.getItemId();
+                    } else if (line.getCompanyId() != null && !references.hasCompany(line.getCompanyId())) {
+                        error = "Company not found with id: " + line.getCompanyId();
+                    }
+                    if (error != null) {
+                        break;
+                    }
+                }
+            }
+            if (error != null) {
+                run.reject(entry, error);
+            } else {
+                valid.add(entry);
+            }
+        }
+        return valid;
+    }
+
+    private void insertEntries(List<PendingEntry> entries, String importedBy) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int lineCount = entries.stream().mapToInt(e -> e.request.getLines().size()).sum();
+        long nextEntryId = idBlockAllocator.allocate("journal_entries", entries.size());
+        long nextLineId = idBlockAllocator.allocate("journal_entry_lines", lineCount);
+
+        List<Object[]> entryArgs = new ArrayList<>(entries.size());
+        List<Object[]> lineArgs = new ArrayList<>(lineCount);
+        for (PendingEntry entry : entries) {
+            JournalEntryRequest request = entry.request;
+            long journalEntryId = nextEntryId++;
+            BigDecimal total = entry.totalDebit();
+            entryArgs.add(new Object[] {
+                    journalEntryId,
+                    request.getEntryNumber(),
+                    request.getEntryDate(),
+                    request.getDocumentType().name(),
+                    request.getDescription(),
+                    request.getCompanyId(),
+                    request.getReferenceNumber(),
+                    total,
+                    total,
+                    JournalEntryStatus.DRAFT.name(),
+                    importedBy,
+                    now,
+                    now });
+
+            List<JournalEntryLineRequest> lines = request.getLines();
+            for (int n = 0; n < lines.size(); n++) {
+                JournalEntryLineRequest line = lines.get(n);
+                lineArgs.add(new Object[] {
+                        nextLineId++,
+                        journalEntryId,
+                        line.getLineNumber() != null ? line.getLineNumber() : n + 1,
+                        line.getAccountId(),
+                        line.getDebitAmount() != null ? line.getDebitAmount() : BigDecimal.ZERO,
+                        line.getCreditAmount() != null ? line.getCreditAmount() : BigDecimal.ZERO,
+                        line.getDescription(),
+                        line.getItemId(),
+                        line.getCompanyId(),
+                        line.getWarehouse(),
+                        line.getContract(),
+                        line.getQuantity() });
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ENTRY_SQL, entryArgs, ENTRY_ARG_TYPES);
+        jdbcTemplate.batchUpdate(INSERT_LINE_SQL, lineArgs, LINE_ARG_TYPES);
+    }
+
+    /**
+     * Split one CSV line, honouring double-quoted fields and "" escapes
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * State of one import call: the pending chunk and the report
+     */
+    private class ImportRun {
+        private final int chunkSize;
+        private final String importedBy;
+        private final BulkImportResponse response;
+        private final List<PendingEntry> chunk = new ArrayList<>();
+
+        ImportRun(String format, int chunkSize, String importedBy) {
+            this.chunkSize = chunkSize;
+            this.importedBy = importedBy;
+            this.response = BulkImportResponse.builder()
+                    .format(format)
+                    .chunkSize(chunkSize)
+                    .errorsTruncated(false)
+                    .build();
+        }
+
+        void add(PendingEntry entry) {
+            response.setEntriesRead(response.getEntriesRead() + 1);
+            chunk.add(entry);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(PendingEntry entry, String message) {
+            entry.error = message;
+            response.setEntriesRejected(response.getEntriesRejected() + 1);
+            if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+                response.getErrors().add(BulkImportError.builder()
+                        .rowNumber(entry.errorRow != null ? entry.errorRow : entry.rowNumber)
+                        .entryNumber(entry.request != null ? entry.request.getEntryNumber() : null)
+                        .message(message)
+                        .build());
+            } else {
+                response.setErrorsTruncated(true);
+            }
+        }
+
+        BulkImportResponse finish() {
+            flush();
+            log.info("{} journal entry import finished: {} entries imported, {} rejected, {} lines imported",
+                    response.getFormat(), response.getEntriesImported(), response.getEntriesRejected(),
+                    response.getLinesImported());
+            return response;
+        }
+
+        private void flush() {
+            if (!chunk.isEmpty()) {
+                processChunk(this, new ArrayList<>(chunk));
+                chunk.clear();
+            }
+        }
+    }
+
+    private static class PendingEntry {
+        private final long rowNumber;
+        private JournalEntryRequest request;
+        private String parseError;
+        private Long errorRow;
+        private String error;
+
+        PendingEntry(long rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+
+        void rejectRow(long row, String message) {
+            if (parseError == null) {
+                parseError = message;
+                errorRow = row;
+            }
+        }
+
+        BigDecimal totalDebit() {
+            return request.getLines().stream()
+                    .map(JournalEntryLineRequest::getDebitAmount)
+                    .filter(Objects::nonNull)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+    }
+
+    private record CsvRow(List<String> values, Map<String, Integer> columns) {
+
+        String get(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        Long getLong(String column) {
+            String value = get(column);
+            try {
+                return value != null ? Long.valueOf(value) : null;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + value);
+            }
+        }
+
+        Integer getInteger(String column) {
+            String value = get(column);
+            try {
+                return value != null ? Integer.valueOf(value) : null;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + value);
+            }
+        }
+
+        BigDecimal getDecimal(String column) {
+            String value = get(column);
+            try {
+                return value != null ? new BigDecimal(value) : null;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + value);
+            }
+        }
+
+        LocalDate getDate(String column) {
+            String value = get(column);
+            try {
+                return value != null ? LocalDate.parse(value) : null;
+            } catch (java.time.format.DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + value);
+            }
+        }
+
+        DocumentType getDocumentType(String column) {
+            String value = get(column);
+            try {
+                return value != null ? DocumentType.valueOf(value.toUpperCase(Locale.ROOT)) : null;
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + value);
+            }
+        }
+    }
+}
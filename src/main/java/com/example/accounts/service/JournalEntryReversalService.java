@@ -0,0 +1,158 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.BulkImportError;
+import com.example.accounts.dto.BulkReversalRequest;
+import com.example.accounts.dto.BulkReversalResponse;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.JournalEntryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bulk reversal of posted journal entries selected by a filter.
+ * Matching entries are walked in id order with a keyset cursor; each chunk is loaded with its
+ * lines in one query, reversed with mirrored contra entries (inserted through Hibernate JDBC
+ * batching) and committed in its own transaction, so a large reversal never holds one long
+ * transaction and a failure only rolls back the current chunk. The entries of a failed chunk are
+ * then reversed one by one, and the ones that still fail are reported in the response.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JournalEntryReversalService {
+
+    public static final int MAX_CHUNK_SIZE = 5000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final JournalEntryService journalEntryService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${accounts.journal-reversal.chunk-size:500}")
+    private int defaultChunkSize;
+
+    public BulkReversalResponse reverseMatching(BulkReversalRequest request, String reversedBy) {
+        validate(request);
+        int chunkSize = resolveChunkSize(request.getChunkSize());
+        // Never reverse an entry into a period before its own date
+        LocalDate toDate = request.getToDate();
+        if (request.getReversalDate() != null && (toDate == null || request.getReversalDate().isBefore(toDate))) {
+            toDate = request.getReversalDate();
+        }
+        String referencePrefix = request.getReferencePrefix() == null || request.getReferencePrefix().isBlank()
+                ? null : request.getReferencePrefix();
+        LocalDate effectiveToDate = toDate;
+
+        BulkReversalResponse response = BulkReversalResponse.builder()
+                .reversalDate(request.getReversalDate())
+                .chunkSize(chunkSize)
+                .build();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long afterId = 0L;
+        while (true) {
+            long cursor = afterId;
+            int chunkEntries;
+            try {
+                List<JournalEntry> reversals = transactionTemplate.execute(status -> {
+                    List<Long> ids = findChunk(request, referencePrefix, effectiveToDate, cursor, chunkSize);
+                    return ids.isEmpty() ? List.<JournalEntry>of() : reverse(ids, request, reversedBy);
+                });
+                if (reversals.isEmpty()) {
+                    break;
+                }
+                afterId = reversals.stream().mapToLong(r -> r.getReversalOf().getJournalEntryId()).max()
+                        .orElseThrow();
+                chunkEntries = reversals.size();
+                addReversed(response, reversals);
+            } catch (DataAccessException | InvalidTransactionException e) {
+                // The chunk rolled back: reverse its entries one by one so only the failing ones are left out
+                log.warn("Bulk reversal chunk after journal entry {} failed, retrying entry by entry", cursor, e);
+                List<Long> ids = transactionTemplate.execute(status ->
+                        findChunk(request, referencePrefix, effectiveToDate, cursor, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (Long id : ids) {
+                    reverseOne(transactionTemplate, id, request, reversedBy, response);
+                }
+                afterId = ids.stream().mapToLong(Long::longValue).max().orElseThrow();
+                chunkEntries = ids.size();
+            }
+            response.setChunks(response.getChunks() + 1);
+            if (chunkEntries < chunkSize) {
+                break;
+            }
+        }
+        log.info("Bulk reversal by {} reversed {} journal entries in {} chunks, {} failed",
+                reversedBy, response.getEntriesReversed(), response.getChunks(), response.getEntriesFailed());
+        return response;
+    }
+
+    private List<Long> findChunk(BulkReversalRequest request, String referencePrefix, LocalDate toDate, long afterId,
+            int chunkSize) {
+        return journalEntryRepository.findReversibleIds(JournalEntryStatus.POSTED, afterId, referencePrefix,
+                request.getDocumentType(), request.getFromDate(), toDate, request.getCompanyId(), Limit.of(chunkSize));
+    }
+
+    private List<JournalEntry> reverse(List<Long> ids, BulkReversalRequest request, String reversedBy) {
+        return journalEntryService.reverse(journalEntryRepository.findWithDetailsByJournalEntryIdIn(ids),
+                request.getReversalDate(), reversedBy);
+    }
+
+    private void reverseOne(TransactionTemplate transactionTemplate, Long id, BulkReversalRequest request,
+            String reversedBy, BulkReversalResponse response) {
+        try {
+            addReversed(response, transactionTemplate.execute(status -> reverse(List.of(id), request, reversedBy)));
+        } catch (DataAccessException | InvalidTransactionException e) {
+            String message = e instanceof DataAccessException dataAccess
+                    ? dataAccess.getMostSpecificCause().getMessage() : e.getMessage();
+            response.setEntriesFailed(response.getEntriesFailed() + 1);
+            if (response.getErrors().size() < MAX_REPORTED_ERRORS) {
+                response.getErrors().add(BulkImportError.builder()
+                        .entryNumber(journalEntryRepository.findById(id).map(JournalEntry::getEntryNumber)
+                                .orElse(null))
+                        .message(message)
+                        .build());
+            } else {
+                response.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    private static void addReversed(BulkReversalResponse response, List<JournalEntry> reversals) {
+        response.setEntriesReversed(response.getEntriesReversed() + reversals.size());
+        response.setLinesReversed(response.getLinesReversed()
+                + reversals.stream().mapToLong(r -> r.getLines().size()).sum());
+    }
+
+    private void validate(BulkReversalRequest request) {
+        boolean hasPrefix = request.getReferencePrefix() != null && !request.getReferencePrefix().isBlank();
+        if (!hasPrefix && request.getDocumentType() == null && request.getFromDate() == null
+                && request.getToDate() == null && request.getCompanyId() == null) {
+            throw new InvalidTransactionException("Bulk reversal needs at least one filter");
+        }
+        if (request.getFromDate() != null && request.getToDate() != null
+                && request.getFromDate().isAfter(request.getToDate())) {
+            throw new InvalidTransactionException("fromDate must not be after toDate");
+        }
+    }
+
+    private int resolveChunkSize(Integer chunkSize) {
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < 1 || size > MAX_CHUNK_SIZE) {
+            throw new InvalidTransactionException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        return size;
+    }
+}
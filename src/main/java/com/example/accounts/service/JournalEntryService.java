@@ -7,13 +7,21 @@ import com.example.accounts.exception.DuplicateResourceException;
 import com.example.accounts.exception.InvalidTransactionException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.*;
+import com.example.accounts.service.PagingPolicy.SortFields;
+import com.example.accounts.service.ReferenceResolver.References;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,17 +30,28 @@ import java.util.stream.Collectors;
 public class JournalEntryService {
 
     private final JournalEntryRepository journalEntryRepository;
-    private final ChartOfAccountRepository chartOfAccountRepository;
-    private final CompanyRepository companyRepository;
-    private final ItemRepository itemRepository;
+    private final ReferenceResolver referenceResolver;
+    private final AccountBalanceService accountBalanceService;
+    private final PagingPolicy pagingPolicy;
+    private final DocumentNumberService documentNumberService;
+
+    private static final SortFields SORT_FIELDS = SortFields.of("journalEntryId",
+            Sort.by(Sort.Direction.DESC, "entryDate"), "entryDate", "entryNumber", "status", "totalDebit", "createdAt");
 
     public JournalEntryResponse createJournalEntry(JournalEntryRequest request) {
-        if (journalEntryRepository.existsByEntryNumber(request.getEntryNumber())) {
-            throw new DuplicateResourceException("Journal entry number already exists: " + request.getEntryNumber());
+        String entryNumber = request.getEntryNumber();
+        if (entryNumber == null || entryNumber.isBlank()) {
+            entryNumber = documentNumberService.nextJournalEntryNumber(request.getCompanyId(),
+                    request.getDocumentType(), request.getEntryDate());
+        } else {
+            DocumentNumberService.checkClientNumber(DocumentNumberService.SERIES_JOURNAL_ENTRY, entryNumber);
+            if (journalEntryRepository.existsByEntryNumber(entryNumber)) {
+                throw new DuplicateResourceException("Journal entry number already exists: " + entryNumber);
+            }
         }
 
         JournalEntry journalEntry = JournalEntry.builder()
-                .entryNumber(request.getEntryNumber())
+                .entryNumber(entryNumber)
                 .entryDate(request.getEntryDate())
                 .documentType(request.getDocumentType())
                 .description(request.getDescription())
@@ -40,16 +59,12 @@ public class JournalEntryService {
                 .status(JournalEntryStatus.DRAFT)
                 .build();
 
-        if (request.getCompanyId() != null) {
-            Company company = companyRepository.findById(request.getCompanyId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Company not found with id: " + request.getCompanyId()));
-            journalEntry.setCompany(company);
-        }
+        References references = resolveReferences(request);
+        journalEntry.setCompany(references.company(request.getCompanyId()));
 
         // Add lines
         for (JournalEntryLineRequest lineReq : request.getLines()) {
-            JournalEntryLine line = createJournalEntryLine(lineReq);
+            JournalEntryLine line = createJournalEntryLine(lineReq, references);
             journalEntry.addLine(line);
         }
 
@@ -79,19 +94,13 @@ public class JournalEntryService {
         journalEntry.setDescription(request.getDescription());
         journalEntry.setReferenceNumber(request.getReferenceNumber());
 
-        if (request.getCompanyId() != null) {
-            Company company = companyRepository.findById(request.getCompanyId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Company not found with id: " + request.getCompanyId()));
-            journalEntry.setCompany(company);
-        } else {
-            journalEntry.setCompany(null);
-        }
+        References references = resolveReferences(request);
+        journalEntry.setCompany(references.company(request.getCompanyId()));
 
         // Update lines
         journalEntry.getLines().clear();
         for (JournalEntryLineRequest lineReq : request.getLines()) {
-            JournalEntryLine line = createJournalEntryLine(lineReq);
+            JournalEntryLine line = createJournalEntryLine(lineReq, references);
             journalEntry.addLine(line);
         }
 
@@ -109,15 +118,24 @@ public class JournalEntryService {
     }
 
     public JournalEntryResponse getJournalEntryById(Long id) {
-        JournalEntry journalEntry = journalEntryRepository.findById(id)
+        JournalEntry journalEntry = journalEntryRepository.findWithDetailsByJournalEntryId(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Journal entry not found with id: " + id));
         return mapToResponse(journalEntry);
     }
 
-    public List<JournalEntryResponse> getAllJournalEntries() {
-        return journalEntryRepository.findAll().stream()
-                .map(this::mapToResponse)
+    public PageResponse<JournalEntryResponse> getJournalEntries(JournalEntryStatus status, LocalDate fromDate,
+            LocalDate toDate, PageQuery pageQuery) {
+        Page<Long> ids = journalEntryRepository.findIds(status, fromDate, toDate,
+                pagingPolicy.toPageable(pageQuery, SORT_FIELDS));
+        pagingPolicy.checkUnpagedLimit(pageQuery, ids);
+
+        Map<Long, JournalEntry> byId = journalEntryRepository.findWithDetailsByJournalEntryIdIn(ids.getContent())
+                .stream()
+                .collect(Collectors.toMap(JournalEntry::getJournalEntryId, Function.identity()));
+        List<JournalEntryResponse> content = ids.getContent().stream()
+                .map(id -> mapToResponse(byId.get(id)))
                 .collect(Collectors.toList());
+        return pagingPolicy.toResponse(ids, content);
     }
 
     public List<JournalEntryResponse> getJournalEntriesByStatus(JournalEntryStatus status) {
@@ -133,6 +151,9 @@ public class JournalEntryService {
         if (journalEntry.getStatus() == JournalEntryStatus.POSTED) {
             throw new InvalidTransactionException("Journal entry is already posted");
         }
+        if (journalEntry.getStatus() != JournalEntryStatus.DRAFT) {
+            throw new InvalidTransactionException("Only draft journal entries can be posted");
+        }
 
         if (!journalEntry.isBalanced()) {
             throw new InvalidTransactionException("Cannot post unbalanced journal entry");
@@ -142,22 +163,54 @@ public class JournalEntryService {
         journalEntry.setPostedDate(LocalDateTime.now());
         journalEntry.setPostedBy(postedBy);
 
-        JournalEntry saved = journalEntryRepository.save(journalEntry);
+        // Flush so a concurrent post fails its version check before balances are touched
+        JournalEntry saved = journalEntryRepository.saveAndFlush(journalEntry);
+        accountBalanceService.applyPosting(saved);
         return mapToResponse(saved);
     }
 
     public JournalEntryResponse reverseJournalEntry(Long id, String reversedBy) {
-        JournalEntry journalEntry = journalEntryRepository.findById(id)
+        return reverseJournalEntry(id, null, reversedBy);
+    }
+
+    /**
+     * Reverse a posted journal entry by posting a contra entry dated on the reversal date
+     * (the original entry date when none is given). Returns the contra entry.
+     */
+    public JournalEntryResponse reverseJournalEntry(Long id, LocalDate reversalDate, String reversedBy) {
+        JournalEntry journalEntry = journalEntryRepository.findWithDetailsByJournalEntryId(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Journal entry not found with id: " + id));
 
         if (journalEntry.getStatus() != JournalEntryStatus.POSTED) {
             throw new InvalidTransactionException("Only posted journal entries can be reversed");
         }
+        if (reversalDate != null && reversalDate.isBefore(journalEntry.getEntryDate())) {
+            throw new InvalidTransactionException("Reversal date cannot be before the entry date");
+        }
 
-        journalEntry.setStatus(JournalEntryStatus.REVERSED);
+        List<JournalEntry> reversals = reverse(List.of(journalEntry), reversalDate, reversedBy);
+        return mapToResponse(reversals.get(0));
+    }
 
-        JournalEntry saved = journalEntryRepository.save(journalEntry);
-        return mapToResponse(saved);
+    /**
+     * Post contra entries for loaded, posted journal entries and mark the originals REVERSED.
+     * Both sides keep counting in balances, so the pair nets to zero from the reversal date on.
+     * Contra entries are numbered like any new entry, so reversing a reversal stays within the column.
+     */
+    public List<JournalEntry> reverse(List<JournalEntry> originals, LocalDate reversalDate, String reversedBy) {
+        List<JournalEntry> reversals = new ArrayList<>(originals.size());
+        for (JournalEntry original : originals) {
+            LocalDate date = reversalDate != null ? reversalDate : original.getEntryDate();
+            String number = documentNumberService.nextJournalEntryNumber(
+                    original.getCompany() != null ? original.getCompany().getCompanyId() : null,
+                    original.getDocumentType(), date);
+            reversals.add(original.reversal(number, date, reversedBy));
+            original.setStatus(JournalEntryStatus.REVERSED);
+        }
+
+        List<JournalEntry> saved = journalEntryRepository.saveAll(reversals);
+        accountBalanceService.applyPostings(saved);
+        return saved;
     }
 
     public void deleteJournalEntry(Long id) {
@@ -167,40 +220,42 @@ public class JournalEntryService {
         if (journalEntry.getStatus() == JournalEntryStatus.POSTED) {
             throw new InvalidTransactionException("Cannot delete posted journal entry. Please reverse it first.");
         }
+        if (journalEntry.getStatus().isBooked()) {
+            throw new InvalidTransactionException("Cannot delete a reversed journal entry");
+        }
 
         journalEntryRepository.deleteById(id);
     }
 
-    private JournalEntryLine createJournalEntryLine(JournalEntryLineRequest request) {
-        ChartOfAccount account = chartOfAccountRepository.findById(request.getAccountId())
-                .orElseThrow(
-                        () -> new ResourceNotFoundException("Account not found with id: " + request.getAccountId()));
+    /**
+     * Load the header company and every line's account, item and company in one query per type
+     */
+    private References resolveReferences(JournalEntryRequest request) {
+        ReferenceResolver.Request references = referenceResolver.request().company(request.getCompanyId());
+        for (JournalEntryLineRequest line : request.getLines()) {
+            if (line.getAccountId() == null) {
+                throw new InvalidTransactionException("Account is required on every journal entry line");
+            }
+            references.account(line.getAccountId())
+                    .item(line.getItemId())
+                    .company(line.getCompanyId());
+        }
+        return references.resolve();
+    }
 
-        JournalEntryLine line = JournalEntryLine.builder()
+    private JournalEntryLine createJournalEntryLine(JournalEntryLineRequest request, References references) {
+        return JournalEntryLine.builder()
                 .lineNumber(request.getLineNumber())
-                .account(account)
+                .account(references.account(request.getAccountId()))
                 .debitAmount(request.getDebitAmount() != null ? request.getDebitAmount() : BigDecimal.ZERO)
                 .creditAmount(request.getCreditAmount() != null ? request.getCreditAmount() : BigDecimal.ZERO)
                 .description(request.getDescription())
+                .item(references.item(request.getItemId()))
+                .company(references.company(request.getCompanyId()))
                 .warehouse(request.getWarehouse())
                 .contract(request.getContract())
                 .quantity(request.getQuantity())
                 .build();
-
-        if (request.getItemId() != null) {
-            Item item = itemRepository.findById(request.getItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Item not found with id: " + request.getItemId()));
-            line.setItem(item);
-        }
-
-        if (request.getCompanyId() != null) {
-            Company company = companyRepository.findById(request.getCompanyId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Company not found with id: " + request.getCompanyId()));
-            line.setCompany(company);
-        }
-
-        return line;
     }
 
     private JournalEntryResponse mapToResponse(JournalEntry journalEntry) {
@@ -223,6 +278,7 @@ public class JournalEntryService {
                 .status(journalEntry.getStatus())
                 .postedDate(journalEntry.getPostedDate())
                 .postedBy(journalEntry.getPostedBy())
+                .reversalOfId(journalEntry.getReversalOf() != null ? journalEntry.getReversalOf().getJournalEntryId() : null)
                 .lines(lineResponses)
                 .createdAt(journalEntry.getCreatedAt())
                 .updatedAt(journalEntry.getUpdatedAt())
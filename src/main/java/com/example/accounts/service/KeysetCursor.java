@@ -0,0 +1,51 @@
+package com.example.accounts.service;
+
+import com.example.accounts.exception.InvalidTransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque keyset cursor of the cursor-paged reads: base64url of "date|id|...", the sort key of
+ * the last row already returned.
+ */
+record KeysetCursor(LocalDate date, List<Long> ids) {
+
+    static KeysetCursor of(LocalDate date, Long... ids) {
+        return new KeysetCursor(date, List.of(ids));
+    }
+
+    Long id(int index) {
+        return ids.get(index);
+    }
+
+    String encode() {
+        StringBuilder raw = new StringBuilder(date.toString());
+        ids.forEach(id -> raw.append('|').append(id));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor of a date and {@code idCount} ids; {@code kind} names it in the error
+     */
+    static KeysetCursor decode(String cursor, int idCount, String kind) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != idCount + 1) {
+                throw new InvalidTransactionException("Invalid " + kind + " cursor: " + cursor);
+            }
+            List<Long> ids = new ArrayList<>(idCount);
+            for (int i = 1; i < parts.length; i++) {
+                ids.add(Long.valueOf(parts[i]));
+            }
+            return new KeysetCursor(LocalDate.parse(parts[0]), ids);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidTransactionException("Invalid " + kind + " cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.accounts.service;
+
+import com.example.accounts.exception.InvalidTransactionException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Runs a partitioned batch on a fixed number of lanes, each on its own virtual thread.
+ * <p>
+ * Partitions are spread over the lanes largest first onto the least loaded lane and are never
+ * split, so the items of one partition (e.g. one company) run in their given order on a single
+ * lane and lanes do not contend for the same rows. A lane hands its items to the chunk work a
+ * chunk at a time; when a chunk fails it is replayed one item at a time, so every item gets its
+ * own result and one bad item does not hold back the rest.
+ */
+@Slf4j
+public final class LanedBatchExecutor {
+
+    private final int lanes;
+    private final String batchName;
+
+    public LanedBatchExecutor(int lanes, String batchName) {
+        this.lanes = Math.max(1, lanes);
+        this.batchName = batchName;
+    }
+
+    /**
+     * Runs every partition and returns the results lane by lane.
+     *
+     * @param chunkWork  processes one chunk and returns a result per item, in item order
+     * @param singleWork processes one item of a failed chunk; it reports its own failure as a result
+     */
+    public <T, R> Result<R> run(Collection<List<T>> partitions, int chunkSize,
+            Function<List<T>, List<R>> chunkWork, Function<T, R> singleWork) {
+        List<Result<R>> laneResults = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Result<R>>> futures = new ArrayList<>();
+            for (List<T> items : assignLanes(partitions)) {
+                futures.add(executor.submit(() -> runLane(items, chunkSize, chunkWork, singleWork)));
+            }
+            for (Future<Result<R>> future : futures) {
+                laneResults.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InvalidTransactionException(batchName + " was interrupted");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        }
+
+        List<R> results = new ArrayList<>();
+        int chunks = 0;
+        for (Result<R> laneResult : laneResults) {
+            results.addAll(laneResult.results());
+            chunks += laneResult.chunks();
+        }
+        return new Result<>(results, chunks);
+    }
+
+    /**
+     * Spread partitions over the lanes, largest first onto the least loaded lane
+     */
+    private <T> List<List<T>> assignLanes(Collection<List<T>> partitions) {
+        List<List<T>> laneItems = new ArrayList<>();
+        for (int i = 0; i < Math.min(lanes, partitions.size()); i++) {
+            laneItems.add(new ArrayList<>());
+        }
+        partitions.stream()
+                .sorted(Comparator.comparingInt(List<T>::size).reversed())
+                .forEach(partition -> laneItems.stream()
+                        .min(Comparator.comparingInt(List::size))
+                        .orElseThrow()
+                        .addAll(partition));
+        return laneItems;
+    }
+
+    private <T, R> Result<R> runLane(List<T> items, int chunkSize, Function<List<T>, List<R>> chunkWork,
+            Function<T, R> singleWork) {
+        List<R> results = new ArrayList<>(items.size());
+        int chunks = 0;
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            chunks++;
+            try {
+                results.addAll(chunkWork.apply(chunk));
+            } catch (RuntimeException e) {
+                log.debug("{} chunk of {} rolled back ({}), replaying individually", batchName, chunk.size(),
+                        e.getMessage());
+                chunk.forEach(item -> results.add(singleWork.apply(item)));
+            }
+        }
+        return new Result<>(results, chunks);
+    }
+
+    public record Result<R>(List<R> results, int chunks) {
+    }
+}
@@ -0,0 +1,349 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.LedgerSnapshotStatsResponse;
+import com.example.accounts.dto.TurnoverCubeQuery;
+import com.example.accounts.dto.TurnoverCubeResponse;
+import com.example.accounts.dto.TurnoverCubeRowDTO;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.JournalEntryLine;
+import com.example.accounts.entity.enums.CubeDimension;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service keeping an optional in-memory {@link ColumnarLedger} of booked journal lines.
+ * <p>
+ * When enabled the snapshot is loaded from the database once the application is ready and then
+ * follows postings: entries booked by {@link AccountBalanceService#applyPostings} are appended after
+ * their transaction commits. Aggregations scan the columns in parallel and, unlike the turnover
+ * cube, filter on exact entry dates. The snapshot is per JVM; entries posted on other nodes only
+ * show up after a reload.
+ */
+@Service
+@Slf4j
+public class LedgerSnapshotService {
+
+    private static final String LOAD_SQL = "SELECT l.journal_entry_id, l.account_id, "
+            + "COALESCE(l.company_id, j.company_id), l.item_id, j.entry_date, l.warehouse, l.contract, "
+            + "l.debit_amount, l.credit_amount, l.quantity "
+            + "FROM journal_entry_lines l JOIN journal_entries j ON j.journal_entry_id = l.journal_entry_id "
+            + "WHERE j.status IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final ChartOfAccountRepository chartOfAccountRepository;
+    private final boolean enabled;
+    private final int maxRows;
+
+    // Guarded by this: the live ledger and, while a reload runs, the entries posted meanwhile
+    private ColumnarLedger ledger;
+    private List<ColumnarLedger.Entry> postedDuringLoad;
+    private LocalDateTime loadedAt;
+    private long loadMillis;
+
+    public LedgerSnapshotService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            ChartOfAccountRepository chartOfAccountRepository,
+            @Value("${accounts.ledger-snapshot.enabled:false}") boolean enabled,
+            @Value("${accounts.ledger-snapshot.fetch-size:10000}") int fetchSize,
+            @Value("${accounts.turnover-cube.max-rows:10000}") int maxRows) {
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.chartOfAccountRepository = chartOfAccountRepository;
+        this.enabled = enabled;
+        this.maxRows = maxRows;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(() -> {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                log.error("Loading the ledger snapshot failed", e);
+            }
+        }, "ledger-snapshot-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Rebuild the snapshot from booked journal lines; postings committed meanwhile are carried over
+     */
+    public LedgerSnapshotStatsResponse reload() {
+        requireEnabled();
+        synchronized (this) {
+            if (postedDuringLoad != null) {
+                throw new InvalidTransactionException("A ledger snapshot reload is already running");
+            }
+            postedDuringLoad = new ArrayList<>();
+        }
+
+        long started = System.nanoTime();
+        ColumnarLedger loaded = new ColumnarLedger();
+        try {
+            String placeholders = JournalEntryStatus.BOOKED.stream().map(s -> "?").collect(Collectors.joining(", "));
+            Object[] statuses = JournalEntryStatus.BOOKED.stream().map(Enum::name).toArray();
+            readTransaction.executeWithoutResult(status -> jdbcTemplate.query(
+                    String.format(LOAD_SQL, placeholders), rs -> {
+                        loaded.markEntry(rs.getLong(1));
+                        loaded.addRow(Math.toIntExact(rs.getLong(2)), Math.toIntExact(rs.getLong(3)),
+                                Math.toIntExact(rs.getLong(4)), Math.toIntExact(rs.getDate(5).toLocalDate().toEpochDay()),
+                                rs.getString(6), rs.getString(7),
+                                toMinor(rs.getBigDecimal(8), ColumnarLedger.AMOUNT_SCALE),
+                                toMinor(rs.getBigDecimal(9), ColumnarLedger.AMOUNT_SCALE),
+                                toMinor(rs.getBigDecimal(10), ColumnarLedger.QUANTITY_SCALE));
+                    }, statuses));
+            loaded.publish();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                postedDuringLoad = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            loaded.append(postedDuringLoad);
+            postedDuringLoad = null;
+            ledger = loaded;
+            loadedAt = LocalDateTime.now();
+            loadMillis = (System.nanoTime() - started) / 1_000_000;
+        }
+        log.info("Loaded ledger snapshot: {} lines of {} entries in {} ms", loaded.size(), loaded.entryCount(),
+                loadMillis);
+        return getStats();
+    }
+
+    /**
+     * Queue booked journal entries for the snapshot; they are appended once the current transaction commits
+     */
+    public void onPosted(Collection<JournalEntry> journalEntries) {
+        if (!enabled) {
+            return;
+        }
+        // Copy the primitives now: the entities are detached or stale after the commit
+        List<ColumnarLedger.Entry> entries = journalEntries.stream().map(LedgerSnapshotService::toEntry).toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(entries);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(entries);
+            }
+        });
+    }
+
+    /**
+     * Group snapshot lines by the requested dimensions, rolling up all others
+     */
+    public TurnoverCubeResponse aggregate(TurnoverCubeQuery query) {
+        ColumnarLedger current = requireLoaded();
+        Set<CubeDimension> dimensions = query.getDimensions() == null || query.getDimensions().isEmpty()
+                ? EnumSet.noneOf(CubeDimension.class)
+                : EnumSet.copyOf(query.getDimensions());
+        if (dimensions.contains(CubeDimension.PERIOD)) {
+            dimensions.add(CubeDimension.YEAR);
+        }
+        if (query.getFrom() != null && query.getTo() != null && query.getFrom().isAfter(query.getTo())) {
+            throw new InvalidTransactionException("from must not be after to");
+        }
+
+        List<ColumnarLedger.Group> groups = current.aggregate(toFilter(query), dimensions);
+        if (groups.size() > maxRows) {
+            throw new InvalidTransactionException("Aggregation has more than " + maxRows
+                    + " rows; group by fewer dimensions or add filters");
+        }
+
+        Map<Long, String> accountCodes = dimensions.contains(CubeDimension.ACCOUNT)
+                ? chartOfAccountRepository.findAllById(groups.stream().map(g -> (long) g.accountId()).toList())
+                        .stream().collect(Collectors.toMap(ChartOfAccount::getAccountId, ChartOfAccount::getAccountCode))
+                : Map.of();
+        List<TurnoverCubeRowDTO> rows = groups.stream()
+                .map(group -> toRow(group, dimensions, accountCodes))
+                .sorted(rowOrder())
+                .toList();
+
+        return TurnoverCubeResponse.builder()
+                .dimensions(new ArrayList<>(dimensions))
+                .fromDate(query.getFrom())
+                .toDate(query.getTo())
+                .rows(rows)
+                .totalDebit(rows.stream().map(TurnoverCubeRowDTO::getDebitTurnover)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .totalCredit(rows.stream().map(TurnoverCubeRowDTO::getCreditTurnover)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .totalQuantity(rows.stream().map(TurnoverCubeRowDTO::getQuantity)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build();
+    }
+
+    public synchronized LedgerSnapshotStatsResponse getStats() {
+        return LedgerSnapshotStatsResponse.builder()
+                .enabled(enabled)
+                .loaded(ledger != null)
+                .loading(postedDuringLoad != null)
+                .lines(ledger != null ? ledger.size() : 0)
+                .entries(ledger != null ? ledger.entryCount() : 0)
+                .columnBytes(ledger != null ? ledger.columnBytes() : 0)
+                .loadedAt(loadedAt)
+                .loadMillis(loadMillis)
+                .build();
+    }
+
+    private void append(List<ColumnarLedger.Entry> entries) {
+        ColumnarLedger current;
+        synchronized (this) {
+            if (postedDuringLoad != null) {
+                postedDuringLoad.addAll(entries);
+            }
+            current = ledger;
+        }
+        if (current != null) {
+            current.append(entries);
+        }
+    }
+
+    private ColumnarLedger.Filter toFilter(TurnoverCubeQuery query) {
+        BitSet accountIds = null;
+        if (query.getAccountIds() != null && !query.getAccountIds().isEmpty()) {
+            accountIds = new BitSet();
+            for (Long accountId : query.getAccountIds()) {
+                accountIds.set(Math.toIntExact(accountId));
+            }
+        }
+        if (query.getAccountCodePrefix() != null && !query.getAccountCodePrefix().isBlank()) {
+            BitSet prefixed = new BitSet();
+            chartOfAccountRepository.findIdsByAccountCodePrefix(query.getAccountCodePrefix())
+                    .forEach(id -> prefixed.set(Math.toIntExact(id)));
+            if (accountIds != null) {
+                accountIds.and(prefixed);
+            } else {
+                accountIds = prefixed;
+            }
+        }
+        return new ColumnarLedger.Filter(
+                query.getFrom() != null ? Math.toIntExact(query.getFrom().toEpochDay()) : Integer.MIN_VALUE,
+                query.getTo() != null ? Math.toIntExact(query.getTo().toEpochDay()) : Integer.MAX_VALUE,
+                accountIds,
+                query.getCompanyId() != null ? Math.toIntExact(query.getCompanyId()) : ColumnarLedger.ANY,
+                query.getItemId() != null ? Math.toIntExact(query.getItemId()) : ColumnarLedger.ANY,
+                query.getWarehouse(),
+                query.getContract());
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new InvalidTransactionException(
+                    "The ledger snapshot is disabled; set accounts.ledger-snapshot.enabled=true");
+        }
+    }
+
+    private synchronized ColumnarLedger requireLoaded() {
+        requireEnabled();
+        if (ledger == null) {
+            throw new InvalidTransactionException("The ledger snapshot is still loading");
+        }
+        return ledger;
+    }
+
+    private static ColumnarLedger.Entry toEntry(JournalEntry journalEntry) {
+        int epochDay = Math.toIntExact(journalEntry.getEntryDate().toEpochDay());
+        Long headerCompanyId = journalEntry.getCompany() != null ? journalEntry.getCompany().getCompanyId() : null;
+        List<ColumnarLedger.Line> lines = new ArrayList<>(journalEntry.getLines().size());
+        for (JournalEntryLine line : journalEntry.getLines()) {
+            Long companyId = line.getCompany() != null ? line.getCompany().getCompanyId() : headerCompanyId;
+            lines.add(new ColumnarLedger.Line(Math.toIntExact(line.getAccount().getAccountId()),
+                    companyId != null ? Math.toIntExact(companyId) : ColumnarLedger.NONE,
+                    line.getItem() != null ? Math.toIntExact(line.getItem().getItemId()) : ColumnarLedger.NONE,
+                    epochDay, line.getWarehouse(), line.getContract(),
+                    toMinor(line.getDebitAmount(), ColumnarLedger.AMOUNT_SCALE),
+                    toMinor(line.getCreditAmount(), ColumnarLedger.AMOUNT_SCALE),
+                    toMinor(line.getQuantity(), ColumnarLedger.QUANTITY_SCALE)));
+        }
+        return new ColumnarLedger.Entry(journalEntry.getJournalEntryId(), lines);
+    }
+
+    private static long toMinor(BigDecimal value, int scale) {
+        if (value == null) {
+            return 0;
+        }
+        return value.movePointRight(scale).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    private static BigDecimal fromMinor(long value, int scale) {
+        return BigDecimal.valueOf(value, scale);
+    }
+
+    private static TurnoverCubeRowDTO toRow(ColumnarLedger.Group group, Set<CubeDimension> dimensions,
+            Map<Long, String> accountCodes) {
+        TurnoverCubeRowDTO row = new TurnoverCubeRowDTO();
+        if (dimensions.contains(CubeDimension.ACCOUNT)) {
+            row.setAccountId((long) group.accountId());
+            row.setAccountCode(accountCodes.get((long) group.accountId()));
+        }
+        if (dimensions.contains(CubeDimension.COMPANY) && group.companyId() != ColumnarLedger.NONE) {
+            row.setCompanyId((long) group.companyId());
+        }
+        if (dimensions.contains(CubeDimension.ITEM) && group.itemId() != ColumnarLedger.NONE) {
+            row.setItemId((long) group.itemId());
+        }
+        row.setWarehouse(group.warehouse());
+        row.setContract(group.contract());
+        if (dimensions.contains(CubeDimension.YEAR)) {
+            row.setFiscalYear(group.year());
+        }
+        if (dimensions.contains(CubeDimension.PERIOD)) {
+            row.setFiscalPeriod(group.period());
+        }
+        row.setDebitTurnover(fromMinor(group.debitMinor(), ColumnarLedger.AMOUNT_SCALE));
+        row.setCreditTurnover(fromMinor(group.creditMinor(), ColumnarLedger.AMOUNT_SCALE));
+        row.setNetTurnover(row.getDebitTurnover().subtract(row.getCreditTurnover()));
+        row.setQuantity(fromMinor(group.quantityMinor(), ColumnarLedger.QUANTITY_SCALE));
+        return row;
+    }
+
+    private static Comparator<TurnoverCubeRowDTO> rowOrder() {
+        return Comparator.comparing(TurnoverCubeRowDTO::getAccountCode, nullsFirst())
+                .thenComparing(TurnoverCubeRowDTO::getCompanyId, nullsFirst())
+                .thenComparing(TurnoverCubeRowDTO::getItemId, nullsFirst())
+                .thenComparing(TurnoverCubeRowDTO::getWarehouse, nullsFirst())
+                .thenComparing(TurnoverCubeRowDTO::getContract, nullsFirst())
+                .thenComparing(TurnoverCubeRowDTO::getFiscalYear, nullsFirst())
+                .thenComparing(TurnoverCubeRowDTO::getFiscalPeriod, nullsFirst());
+    }
+
+    private static <T extends Comparable<T>> Comparator<T> nullsFirst() {
+        return Comparator.nullsFirst(Comparator.<T>naturalOrder());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
+import com.example.accounts.exception.InvalidTransactionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a {@link PageQuery} into a {@link Pageable} for list endpoints.
+ * Enforces the maximum page size and the per-endpoint sort whitelist, and
+ * caps the explicit {@code unpaged} opt-in at a configurable row limit.
+ */
+@Component
+public class PagingPolicy {
+
+    private final int defaultSize;
+    private final int maxSize;
+    private final int unpagedLimit;
+
+    public PagingPolicy(@Value("${accounts.paging.default-size:50}") int defaultSize,
+            @Value("${accounts.paging.max-size:500}") int maxSize,
+            @Value("${accounts.paging.unpaged-limit:5000}") int unpagedLimit) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+        this.unpagedLimit = unpagedLimit;
+    }
+
+    public Pageable toPageable(PageQuery query, SortFields sortFields) {
+        Sort sort = sortFields.resolve(query.getSort());
+        if (query.isUnpaged()) {
+            return PageRequest.of(0, unpagedLimit, sort);
+        }
+
+        int page = query.getPage() != null ? query.getPage() : 0;
+        if (page < 0) {
+            throw new InvalidTransactionException("Page index must not be negative");
+        }
+        return PageRequest.of(page, pageSize(query.getSize()), sort);
+    }
+
+    /**
+     * Requested page size, or the default; also used by cursor-paged endpoints
+     */
+    public int pageSize(Integer size) {
+        int pageSize = size != null ? size : defaultSize;
+        if (pageSize < 1 || pageSize > maxSize) {
+            throw new InvalidTransactionException("Page size must be between 1 and " + maxSize);
+        }
+        return pageSize;
+    }
+
+    /**
+     * Rejects an unpaged request whose filter matches more rows than the
+     * unpaged limit, rather than silently returning a truncated list.
+     */
+    public void checkUnpagedLimit(PageQuery query, Page<?> page) {
+        if (query.isUnpaged() && page.getTotalElements() > unpagedLimit) {
+            throw new InvalidTransactionException("Unpaged request matches " + page.getTotalElements()
+                    + " rows, more than the limit of " + unpagedLimit + "; use page and size instead");
+        }
+    }
+
+    public <E, T> PageResponse<T> toResponse(PageQuery query, Page<E> page, Function<E, T> mapper) {
+        checkUnpagedLimit(query, page);
+        return toResponse(page, page.getContent().stream().map(mapper).collect(Collectors.toList()));
+    }
+
+    public <T> PageResponse<T> toResponse(Page<?> page, List<T> content) {
+        return PageResponse.<T>builder()
+                .content(content)
+                .page(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .hasNext(page.hasNext())
+                .sort(SortFields.format(page.getSort()))
+                .build();
+    }
+
+    /**
+     * Sortable properties of one list endpoint. The id property is always
+     * appended as the last order so pages are stable across requests.
+     */
+    public record SortFields(Set<String> allowed, Sort defaultSort, String idProperty) {
+
+        public static SortFields of(String idProperty, Sort defaultSort, String... allowed) {
+            Set<String> fields = new LinkedHashSet<>(List.of(allowed));
+            fields.add(idProperty);
+            return new SortFields(fields, defaultSort, idProperty);
+        }
+
+        Sort resolve(String sortParam) {
+            Sort sort = sortParam == null || sortParam.isBlank() ? defaultSort : parse(sortParam);
+            if (sort.getOrderFor(idProperty) == null) {
+                sort = sort.and(Sort.by(idProperty));
+            }
+            return sort;
+        }
+
+        private Sort parse(String sortParam) {
+            List<Sort.Order> orders = new ArrayList<>();
+            for (String token : sortParam.split(",")) {
+                String field = token.trim();
+                if (field.isEmpty()) {
+                    continue;
+                }
+                boolean descending = field.startsWith("-");
+                String property = descending ? field.substring(1) : field;
+                if (!allowed.contains(property)) {
+                    throw new InvalidTransactionException("Cannot sort by '" + property + "'; allowed fields: " + allowed);
+                }
+                orders.add(descending ? Sort.Order.desc(property) : Sort.Order.asc(property));
+            }
+            return Sort.by(orders);
+        }
+
+        static String format(Sort sort) {
+            return sort.stream()
+                    .map(order -> (order.isDescending() ? "-" : "") + order.getProperty())
+                    .collect(Collectors.joining(","));
+        }
+    }
+}
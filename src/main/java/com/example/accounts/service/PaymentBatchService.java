@@ -0,0 +1,190 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.BulkImportError;
+import com.example.accounts.dto.PaymentBatchResponse;
+import com.example.accounts.dto.PaymentRequest;
+import com.example.accounts.entity.Payment;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a file of payments, e.g. the day's bank receipts, as NDJSON with one
+ * {@link PaymentRequest} per line.
+ * <p>
+ * Valid payments are partitioned by company and the partitions spread over a fixed number of
+ * lanes by a {@link LanedBatchExecutor}, the same way as batch invoice posting: a company stays
+ * in one lane, so its payments are allocated in file order and lanes never compete for the same
+ * invoices. A lane applies its payments in chunks through {@link PaymentService#applyPayments},
+ * one transaction per chunk; a failed chunk is replayed one payment per transaction so every
+ * bad payment is reported on its own.
+ */
+@Service
+@Slf4j
+public class PaymentBatchService {
+
+    public static final int MAX_CHUNK_SIZE = 5000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final PaymentService paymentService;
+    private final PostingRetryPolicy retryPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int defaultChunkSize;
+    private final LanedBatchExecutor laneExecutor;
+
+    public PaymentBatchService(PaymentService paymentService, PostingRetryPolicy retryPolicy,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, Validator validator,
+            @Value("${accounts.payments.chunk-size:500}") int defaultChunkSize,
+            @Value("${accounts.payments.lanes:4}") int lanes) {
+        this.paymentService = paymentService;
+        this.retryPolicy = retryPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.defaultChunkSize = defaultChunkSize;
+        this.laneExecutor = new LanedBatchExecutor(lanes, "Payment batch");
+    }
+
+    public PaymentBatchResponse importNdjson(Reader input, Integer chunkSize, String createdBy) throws IOException {
+        long started = System.nanoTime();
+        int size = resolveChunkSize(chunkSize);
+        PaymentBatchResponse response = PaymentBatchResponse.builder()
+                .amountApplied(BigDecimal.ZERO)
+                .amountAllocated(BigDecimal.ZERO)
+                .build();
+
+        Map<Long, List<PendingPayment>> partitions = new LinkedHashMap<>();
+        BufferedReader reader = new BufferedReader(input);
+        String line;
+        long rowNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            rowNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            response.setRowsRead(response.getRowsRead() + 1);
+            PendingPayment payment = new PendingPayment(rowNumber);
+            try {
+                payment.request = objectMapper.readValue(line, PaymentRequest.class);
+                String error = validate(payment.request);
+                if (error != null) {
+                    reject(response, payment, error);
+                    continue;
+                }
+                partitions.computeIfAbsent(payment.request.getCompanyId(), k -> new ArrayList<>()).add(payment);
+            } catch (JsonProcessingException e) {
+                reject(response, payment, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        LanedBatchExecutor.Result<PendingPayment> applied = laneExecutor.run(partitions.values(), size,
+                chunk -> applyChunk(chunk, createdBy), payment -> applyAlone(payment, createdBy));
+
+        response.setChunks(applied.chunks());
+        for (PendingPayment payment : applied.results()) {
+            if (payment.error != null) {
+                reject(response, payment, payment.error);
+            } else {
+                response.setApplied(response.getApplied() + 1);
+                response.setAmountApplied(response.getAmountApplied().add(payment.amount));
+                response.setAmountAllocated(response.getAmountAllocated().add(payment.allocated));
+            }
+        }
+        response.getErrors().sort(Comparator.comparing(BulkImportError::getRowNumber));
+        response.setPartitions(partitions.size());
+        response.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        log.info("Payment batch by {} applied {} of {} payments for {} companies in {} chunks, {} ms", createdBy,
+                response.getApplied(), response.getRowsRead(), partitions.size(), response.getChunks(),
+                response.getElapsedMillis());
+        return response;
+    }
+
+    private String validate(PaymentRequest request) {
+        Set<ConstraintViolation<PaymentRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    private List<PendingPayment> applyChunk(List<PendingPayment> chunk, String createdBy) {
+        List<Payment> applied = transactionTemplate.execute(status -> paymentService.applyPayments(
+                chunk.stream().map(payment -> payment.request).toList(), createdBy));
+        for (int i = 0; i < chunk.size(); i++) {
+            chunk.get(i).amount = applied.get(i).getAmount();
+            chunk.get(i).allocated = applied.get(i).getAllocatedAmount();
+        }
+        return chunk;
+    }
+
+    private PendingPayment applyAlone(PendingPayment payment, String createdBy) {
+        try {
+            retryPolicy.execute("payment.apply", () -> applyChunk(List.of(payment), createdBy));
+        } catch (RuntimeException e) {
+            payment.error = e.getMessage();
+        }
+        return payment;
+    }
+
+    private void reject(PaymentBatchResponse response, PendingPayment payment, String message) {
+        response.setRejected(response.getRejected() + 1);
+        if (response.getErrors().size() >= MAX_REPORTED_ERRORS) {
+            response.setErrorsTruncated(true);
+            return;
+        }
+        String label = null;
+        if (payment.request != null) {
+            label = payment.request.getPaymentNumber() != null ? payment.request.getPaymentNumber()
+                    : payment.request.getReference();
+        }
+        response.getErrors().add(BulkImportError.builder()
+                .rowNumber(payment.rowNumber)
+                .entryNumber(label)
+                .message(message)
+                .build());
+    }
+
+    private int resolveChunkSize(Integer chunkSize) {
+        int size = chunkSize != null ? chunkSize : defaultChunkSize;
+        if (size < 1 || size > MAX_CHUNK_SIZE) {
+            throw new InvalidTransactionException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * One payment of the file and, once its lane has run, its outcome
+     */
+    private static final class PendingPayment {
+        private final long rowNumber;
+        private PaymentRequest request;
+        private BigDecimal amount;
+        private BigDecimal allocated;
+        private String error;
+
+        PendingPayment(long rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+    }
+}
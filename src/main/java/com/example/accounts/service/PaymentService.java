@@ -0,0 +1,398 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.PaymentAllocationRequest;
+import com.example.accounts.dto.PaymentAllocationResponse;
+import com.example.accounts.dto.PaymentRequest;
+import com.example.accounts.dto.PaymentResponse;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.Company;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.JournalEntryLine;
+import com.example.accounts.entity.Money;
+import com.example.accounts.entity.Payment;
+import com.example.accounts.entity.PaymentAllocation;
+import com.example.accounts.entity.enums.AgingType;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.entity.enums.PaymentMethod;
+import com.example.accounts.exception.DuplicateResourceException;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.exception.ResourceNotFoundException;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.CompanyRepository;
+import com.example.accounts.repository.InvoiceRepository;
+import com.example.accounts.repository.InvoiceRepository.OpenInvoiceView;
+import com.example.accounts.repository.JournalEntryRepository;
+import com.example.accounts.repository.PaymentRepository;
+import com.example.accounts.service.PostingPlanCache.CompanyPlan;
+import com.example.accounts.service.PostingPlanCache.PostingPlans;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Applies customer receipts and supplier payments to open invoices.
+ * <p>
+ * A payment is allocated to the invoices it names, or else to the company's open invoices of
+ * its side (AR for receipts, AP for payments) oldest due first; whatever is left is booked as an
+ * advance. Each payment gets one settlement journal entry against the bank account. Invoices
+ * are settled with one conditional UPDATE per invoice, sent as a JDBC batch: paid_amount only
+ * ever grows by the allocated amount and never past total_amount, so concurrent payments cannot
+ * overpay an invoice and a lost race fails the call instead of committing a stale amount.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PaymentService {
+
+    private static final List<InvoiceStatus> OPEN_STATUSES = List.of(InvoiceStatus.POSTED,
+            InvoiceStatus.PARTIALLY_PAID);
+
+    // Status is assigned first: MySQL evaluates SET clauses left to right on the updated row
+    private static final String SETTLE_INVOICE_SQL = "UPDATE invoices SET "
+            + "status = CASE WHEN paid_amount + ? >= total_amount THEN 'PAID' ELSE 'PARTIALLY_PAID' END, "
+            + "paid_amount = paid_amount + ?, version = version + 1, updated_at = ? "
+            + "WHERE invoice_id = ? AND status IN ('POSTED', 'PARTIALLY_PAID') AND paid_amount + ? <= total_amount";
+
+    private static final int[] SETTLE_INVOICE_ARG_TYPES = { Types.DECIMAL, Types.DECIMAL, Types.TIMESTAMP,
+            Types.BIGINT, Types.DECIMAL };
+
+    private final PaymentRepository paymentRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final CompanyRepository companyRepository;
+    private final ChartOfAccountRepository chartOfAccountRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final AccountBalanceService accountBalanceService;
+    private final DocumentNumberService documentNumberService;
+    private final AgingReportService agingReportService;
+    private final PostingPlanCache postingPlanCache;
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentResponse applyPayment(PaymentRequest request, String createdBy) {
+        return mapToResponse(applyPayments(List.of(request), createdBy).get(0));
+    }
+
+    @Transactional(readOnly = true)
+    public PaymentResponse getPaymentById(Long id) {
+        Payment payment = paymentRepository.findWithAllocationsByPaymentId(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
+        return mapToResponse(payment);
+    }
+
+    /**
+     * Apply several payments in the current transaction, in the given order. Open invoices are
+     * read once for all of their companies, the settlement entries are inserted together and the
+     * balances updated once; any payment that cannot be applied fails the call.
+     */
+    public List<Payment> applyPayments(List<PaymentRequest> requests, String createdBy) {
+        Set<Long> companyIds = new LinkedHashSet<>();
+        Set<Long> bankAccountIds = new HashSet<>();
+        Set<String> paymentNumbers = new HashSet<>();
+        for (PaymentRequest request : requests) {
+            sideOf(request.getDocumentType());
+            companyIds.add(request.getCompanyId());
+            bankAccountIds.add(request.getBankAccountId());
+            String number = request.getPaymentNumber();
+            if (number != null && !number.isBlank()) {
+                DocumentNumberService.checkClientNumber(DocumentNumberService.SERIES_PAYMENT, number);
+                if (!paymentNumbers.add(number)) {
+                    throw new DuplicateResourceException("Payment number is used twice: " + number);
+                }
+            }
+        }
+        if (!paymentNumbers.isEmpty()) {
+            List<String> existing = paymentRepository.findExistingPaymentNumbers(paymentNumbers);
+            if (!existing.isEmpty()) {
+                throw new DuplicateResourceException("Payment number already exists: " + existing.get(0));
+            }
+        }
+        Set<Long> foundBankAccounts = chartOfAccountRepository.findAllById(bankAccountIds).stream()
+                .map(ChartOfAccount::getAccountId)
+                .collect(Collectors.toSet());
+        PostingPlans plans = postingPlanCache.plans(companyIds, List.of());
+        OpenItems openItems = new OpenItems(invoiceRepository.findOpenInvoices(companyIds, OPEN_STATUSES));
+
+        List<Payment> payments = new ArrayList<>(requests.size());
+        List<JournalEntry> journalEntries = new ArrayList<>(requests.size());
+        for (PaymentRequest request : requests) {
+            if (!foundBankAccounts.contains(request.getBankAccountId())) {
+                throw new ResourceNotFoundException("Account not found with id: " + request.getBankAccountId());
+            }
+            CompanyPlan accounts = plans.company(request.getCompanyId());
+            if (accounts == null) {
+                throw new InvalidTransactionException("Company GL accounts not configured for company: "
+                        + request.getCompanyId());
+            }
+            Payment payment = allocate(request, openItems, createdBy);
+            payments.add(payment);
+            journalEntries.add(createSettlementEntry(payment, accounts, createdBy));
+        }
+
+        List<JournalEntry> saved = journalEntryRepository.saveAll(journalEntries);
+        for (int i = 0; i < payments.size(); i++) {
+            payments.get(i).setJournalEntry(saved.get(i));
+        }
+        paymentRepository.saveAll(payments);
+        paymentRepository.flush();
+
+        settleInvoices(openItems);
+        accountBalanceService.applyPostings(saved);
+        agingReportService.invalidate(companyIds);
+        return payments;
+    }
+
+    /**
+     * Build the payment and its allocations, taking the allocated amounts off the open items
+     */
+    private Payment allocate(PaymentRequest request, OpenItems openItems, String createdBy) {
+        AgingType side = sideOf(request.getDocumentType());
+        Money remaining = Money.of(request.getAmount(), RoundingMode.HALF_UP);
+        if (remaining.signum() <= 0) {
+            throw new InvalidTransactionException("Payment amount must be positive");
+        }
+
+        String paymentNumber = request.getPaymentNumber();
+        if (paymentNumber == null || paymentNumber.isBlank()) {
+            paymentNumber = documentNumberService.nextPaymentNumber(request.getCompanyId(),
+                    request.getDocumentType(), request.getPaymentDate());
+        }
+        Payment payment = Payment.builder()
+                .paymentNumber(paymentNumber)
+                .paymentDate(request.getPaymentDate())
+                .documentType(request.getDocumentType())
+                .company(companyRepository.getReferenceById(request.getCompanyId()))
+                .paymentMethod(request.getPaymentMethod() != null ? request.getPaymentMethod()
+                        : PaymentMethod.BANK_TRANSFER)
+                .amount(remaining.toBigDecimal())
+                .bankAccount(chartOfAccountRepository.getReferenceById(request.getBankAccountId()))
+                .reference(request.getReference())
+                .createdBy(createdBy)
+                .build();
+
+        if (request.getAllocations() != null && !request.getAllocations().isEmpty()) {
+            for (PaymentAllocationRequest allocation : request.getAllocations()) {
+                OpenItem item = openItems.byId.get(allocation.getInvoiceId());
+                if (item == null || !item.companyId.equals(request.getCompanyId())
+                        || !side.getDocumentTypes().contains(item.documentType)) {
+                    throw new InvalidTransactionException("Invoice " + allocation.getInvoiceId()
+                            + " is not an open " + side + " invoice of company " + request.getCompanyId());
+                }
+                Money amount = Money.of(allocation.getAmount(), RoundingMode.HALF_UP);
+                if (amount.compareTo(item.open) > 0) {
+                    throw new InvalidTransactionException("Allocation of " + amount + " exceeds the open amount "
+                            + item.open + " of invoice " + item.invoiceNumber);
+                }
+                if (amount.compareTo(remaining) > 0) {
+                    throw new InvalidTransactionException("Allocations exceed the payment amount " + payment.getAmount());
+                }
+                remaining = remaining.minus(amount);
+                addAllocation(payment, item, amount);
+            }
+        } else {
+            for (OpenItem item : openItems.byCompany.getOrDefault(request.getCompanyId(), List.of())) {
+                if (remaining.isZero()) {
+                    break;
+                }
+                if (item.open.isZero() || !side.getDocumentTypes().contains(item.documentType)) {
+                    continue;
+                }
+                Money amount = item.open.compareTo(remaining) < 0 ? item.open : remaining;
+                remaining = remaining.minus(amount);
+                addAllocation(payment, item, amount);
+            }
+        }
+        payment.setAllocatedAmount(payment.getAmount().subtract(remaining.toBigDecimal()));
+        return payment;
+    }
+
+    private void addAllocation(Payment payment, OpenItem item, Money amount) {
+        item.open = item.open.minus(amount);
+        item.applied = item.applied.plus(amount);
+        payment.addAllocation(PaymentAllocation.builder()
+                .invoice(invoiceRepository.getReferenceById(item.invoiceId))
+                .amount(amount.toBigDecimal())
+                .build());
+    }
+
+    /**
+     * Receipt: DR bank, CR receivable (allocated) and advances received (unallocated).
+     * Payment: DR payable (allocated) and advances paid (unallocated), CR bank.
+     */
+    private JournalEntry createSettlementEntry(Payment payment, CompanyPlan accounts, String createdBy) {
+        boolean receipt = payment.getDocumentType() == DocumentType.RECEIPT_VOUCHER;
+        Company company = payment.getCompany();
+        Long counterAccountId = receipt ? accounts.receivableAccountId() : accounts.payableAccountId();
+        Long advanceAccountId = receipt ? accounts.advancesReceivedAccountId() : accounts.advancesPaidAccountId();
+        BigDecimal allocated = payment.getAllocatedAmount();
+        BigDecimal unallocated = payment.getUnallocatedAmount();
+        if (allocated.signum() > 0 && counterAccountId == null) {
+            throw new InvalidTransactionException((receipt ? "Accounts receivable" : "Accounts payable")
+                    + " account not configured for company: " + company.getCompanyId());
+        }
+        if (unallocated.signum() > 0 && advanceAccountId == null) {
+            throw new InvalidTransactionException("Payment " + payment.getPaymentNumber() + " exceeds the open invoices by "
+                    + unallocated + " and no advances account is configured for company: " + company.getCompanyId());
+        }
+
+        JournalEntry je = JournalEntry.builder()
+                .entryDate(payment.getPaymentDate())
+                .documentType(payment.getDocumentType())
+                .description("Settlement for payment: " + payment.getPaymentNumber())
+                .company(company)
+                .referenceNumber(payment.getPaymentNumber())
+                .status(JournalEntryStatus.POSTED)
+                .postedDate(LocalDateTime.now())
+                .postedBy(createdBy)
+                .lines(new ArrayList<>())
+                .build();
+        addLine(je, payment.getBankAccount(), payment.getAmount(), receipt, "Bank - " + payment.getPaymentNumber());
+        if (allocated.signum() > 0) {
+            addLine(je, chartOfAccountRepository.getReferenceById(counterAccountId), allocated, !receipt,
+                    (receipt ? "AR" : "AP") + " settlement - " + payment.getPaymentNumber());
+        }
+        if (unallocated.signum() > 0) {
+            addLine(je, chartOfAccountRepository.getReferenceById(advanceAccountId), unallocated, !receipt,
+                    (receipt ? "Advance received" : "Advance paid") + " - " + payment.getPaymentNumber());
+        }
+        je.calculateTotals();
+
+        // Numbered last so a rejected payment does not use up a number
+        je.setEntryNumber(documentNumberService.nextJournalEntryNumber(
+                company.getCompanyId(), payment.getDocumentType(), payment.getPaymentDate()));
+        return je;
+    }
+
+    private static void addLine(JournalEntry je, ChartOfAccount account, BigDecimal amount, boolean debit,
+            String description) {
+        JournalEntryLine line = JournalEntryLine.builder()
+                .lineNumber(je.getLines().size() + 1)
+                .account(account)
+                .debitAmount(debit ? amount : BigDecimal.ZERO)
+                .creditAmount(debit ? BigDecimal.ZERO : amount)
+                .description(description)
+                .company(je.getCompany())
+                .build();
+        je.getLines().add(line);
+        line.setJournalEntry(je);
+    }
+
+    /**
+     * One conditional increment per invoice that received money, in invoice id order so
+     * concurrent settlements lock rows in the same order
+     */
+    private void settleInvoices(OpenItems openItems) {
+        Map<Long, OpenItem> applied = new TreeMap<>();
+        openItems.byId.values().stream()
+                .filter(item -> !item.applied.isZero())
+                .forEach(item -> applied.put(item.invoiceId, item));
+        if (applied.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<OpenItem> items = new ArrayList<>(applied.values());
+        List<Object[]> args = new ArrayList<>(items.size());
+        for (OpenItem item : items) {
+            BigDecimal amount = item.applied.toBigDecimal();
+            args.add(new Object[] { amount, amount, now, item.invoiceId, amount });
+        }
+        int[] counts = jdbcTemplate.batchUpdate(SETTLE_INVOICE_SQL, args, SETTLE_INVOICE_ARG_TYPES);
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                throw new OptimisticLockingFailureException("Invoice " + items.get(i).invoiceNumber
+                        + " was paid or changed concurrently");
+            }
+        }
+    }
+
+    private static AgingType sideOf(DocumentType documentType) {
+        if (documentType == DocumentType.RECEIPT_VOUCHER) {
+            return AgingType.AR;
+        }
+        if (documentType == DocumentType.PAYMENT_VOUCHER) {
+            return AgingType.AP;
+        }
+        throw new InvalidTransactionException("Payment document type must be RECEIPT_VOUCHER or PAYMENT_VOUCHER, not "
+                + documentType);
+    }
+
+    private PaymentResponse mapToResponse(Payment payment) {
+        return PaymentResponse.builder()
+                .paymentId(payment.getPaymentId())
+                .paymentNumber(payment.getPaymentNumber())
+                .paymentDate(payment.getPaymentDate())
+                .documentType(payment.getDocumentType())
+                .companyId(payment.getCompany().getCompanyId())
+                .paymentMethod(payment.getPaymentMethod())
+                .amount(payment.getAmount())
+                .allocatedAmount(payment.getAllocatedAmount())
+                .unallocatedAmount(payment.getUnallocatedAmount())
+                .bankAccountId(payment.getBankAccount().getAccountId())
+                .reference(payment.getReference())
+                .journalEntryId(payment.getJournalEntry() != null ? payment.getJournalEntry().getJournalEntryId() : null)
+                .journalEntryNumber(payment.getJournalEntry() != null ? payment.getJournalEntry().getEntryNumber() : null)
+                .allocations(payment.getAllocations().stream()
+                        .map(allocation -> PaymentAllocationResponse.builder()
+                                .allocationId(allocation.getAllocationId())
+                                .invoiceId(allocation.getInvoice().getInvoiceId())
+                                .invoiceNumber(allocation.getInvoice().getInvoiceNumber())
+                                .amount(allocation.getAmount())
+                                .build())
+                        .collect(Collectors.toList()))
+                .createdAt(payment.getCreatedAt())
+                .createdBy(payment.getCreatedBy())
+                .build();
+    }
+
+    /**
+     * Open invoices of the companies in the call, with what is still open and what this call applied
+     */
+    private static final class OpenItems {
+        private final Map<Long, OpenItem> byId = new HashMap<>();
+        private final Map<Long, List<OpenItem>> byCompany = new HashMap<>();
+
+        OpenItems(List<OpenInvoiceView> invoices) {
+            for (OpenInvoiceView invoice : invoices) {
+                OpenItem item = new OpenItem(invoice);
+                byId.put(item.invoiceId, item);
+                byCompany.computeIfAbsent(item.companyId, k -> new ArrayList<>()).add(item);
+            }
+        }
+    }
+
+    private static final class OpenItem {
+        private final Long invoiceId;
+        private final String invoiceNumber;
+        private final Long companyId;
+        private final DocumentType documentType;
+        private Money open;
+        private Money applied = Money.ZERO;
+
+        OpenItem(OpenInvoiceView invoice) {
+            this.invoiceId = invoice.getInvoiceId();
+            this.invoiceNumber = invoice.getInvoiceNumber();
+            this.companyId = invoice.getCompanyId();
+            this.documentType = invoice.getDocumentType();
+            this.open = Money.of(invoice.getTotalAmount(), RoundingMode.HALF_UP)
+                    .minus(Money.of(invoice.getPaidAmount(), RoundingMode.HALF_UP));
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.InvoiceResponse;
+import com.example.accounts.dto.JournalEntryResponse;
+import com.example.accounts.exception.PostingRejectedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Front end for posting journal entries, invoices, cash flow and equity transactions.
+ * <p>
+ * Every post runs under the {@link PostingRetryPolicy}: a post that loses an
+ * optimistic-lock race with a concurrent update is retried in a fresh transaction.
+ * <p>
+ * Group commit is optional.
+ * When enabled, post requests go onto a bounded queue that a few writer
+ * threads drain in micro-batches (up to batch-size requests, waiting at
+ * most linger-ms for a batch to fill). Each batch is posted in a single
+ * transaction, so concurrent callers share one commit and one pooled
+ * connection. If any post in a batch fails, the batch is rolled back and
+ * its requests are replayed one transaction each, so every caller gets
+ * exactly its own result or error; replays are retried on conflicts.
+ * <p>
+ * When disabled (the default) posts run directly on the caller's thread.
+ */
+@Slf4j
+@Component
+public class PostingEngine {
+
+    private final JournalEntryService journalEntryService;
+    private final InvoiceService invoiceService;
+    private final CashFlowStatementService cashFlowStatementService;
+    private final EquityStatementService equityStatementService;
+    private final PostingRetryPolicy retryPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int writerThreads;
+    private final BlockingQueue<PostRequest<?>> queue;
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean running;
+
+    public PostingEngine(JournalEntryService journalEntryService, InvoiceService invoiceService,
+            CashFlowStatementService cashFlowStatementService, EquityStatementService equityStatementService,
+            PostingRetryPolicy retryPolicy, PlatformTransactionManager transactionManager,
+            @Value("${accounts.posting.group-commit.enabled:false}") boolean enabled,
+            @Value("${accounts.posting.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${accounts.posting.group-commit.batch-size:64}") int batchSize,
+            @Value("${accounts.posting.group-commit.linger-ms:5}") long lingerMs,
+            @Value("${accounts.posting.group-commit.writer-threads:2}") int writerThreads) {
+        this.journalEntryService = journalEntryService;
+        this.invoiceService = invoiceService;
+        this.cashFlowStatementService = cashFlowStatementService;
+        this.equityStatementService = equityStatementService;
+        this.retryPolicy = retryPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        this.writerThreads = writerThreads;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public CompletableFuture<JournalEntryResponse> postJournalEntry(Long id, String postedBy) {
+        return submit("journal-entry.post", () -> journalEntryService.postJournalEntry(id, postedBy));
+    }
+
+    public CompletableFuture<InvoiceResponse> postInvoice(Long id, String postedBy) {
+        return submit("invoice.post", () -> invoiceService.postInvoice(id, postedBy));
+    }
+
+    public CompletableFuture<Void> postCashFlowTransaction(Long id) {
+        return submit("cash-flow-transaction.post", () -> {
+            cashFlowStatementService.postTransaction(id);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> postEquityTransaction(Long id) {
+        return submit("equity-transaction.post", () -> {
+            equityStatementService.postTransaction(id);
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(String operation, Supplier<T> post) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(retryPolicy.execute(operation, post));
+        }
+        PostRequest<T> request = new PostRequest<>(operation, post);
+        if (!running || !queue.offer(request)) {
+            throw new PostingRejectedException(running
+                    ? "Posting queue is full, retry later"
+                    : "Posting engine is not running");
+        }
+        return request.result;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < writerThreads; i++) {
+            writers.add(Thread.ofPlatform().name("posting-writer-" + i).daemon(true).start(this::drain));
+        }
+        log.info("Group-commit posting started: {} writers, batch size {}, linger {} ms", writerThreads, batchSize,
+                TimeUnit.NANOSECONDS.toMillis(lingerNanos));
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread writer : writers) {
+            writer.interrupt();
+        }
+        for (Thread writer : writers) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        List<PostRequest<?>> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        pending.forEach(request -> request.fail(new PostingRejectedException("Posting engine is shutting down")));
+    }
+
+    private void drain() {
+        List<PostRequest<?>> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    PostRequest<?> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                batch.forEach(request -> request.fail(new PostingRejectedException("Posting engine is shutting down")));
+                return;
+            }
+            process(batch);
+            batch.clear();
+        }
+    }
+
+    private void process(List<PostRequest<?>> batch) {
+        List<Object> results;
+        try {
+            results = transactionTemplate.execute(status -> {
+                List<Object> posted = new ArrayList<>(batch.size());
+                for (PostRequest<?> request : batch) {
+                    posted.add(request.post.get());
+                }
+                return posted;
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() == 1 && !(e instanceof ConcurrencyFailureException)) {
+                batch.get(0).fail(e);
+                return;
+            }
+            log.debug("Posting batch of {} rolled back ({}), replaying individually", batch.size(), e.getMessage());
+            batch.forEach(this::processAlone);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).complete(results.get(i));
+        }
+    }
+
+    private void processAlone(PostRequest<?> request) {
+        try {
+            request.complete(retryPolicy.execute(request.operation,
+                    () -> transactionTemplate.execute(status -> request.post.get())));
+        } catch (RuntimeException e) {
+            request.fail(e);
+        }
+    }
+
+    private static final class PostRequest<T> {
+        private final String operation;
+        private final Supplier<T> post;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private PostRequest(String operation, Supplier<T> post) {
+            this.operation = operation;
+            this.post = post;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(Object value) {
+            result.complete((T) value);
+        }
+
+        private void fail(Throwable error) {
+            result.completeExceptionally(error);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.accounts.service;
+
+import com.example.accounts.repository.CompanyRepository;
+import com.example.accounts.repository.CompanyRepository.SettlementAccounts;
+import com.example.accounts.repository.ItemGLAccountRepository;
+import com.example.accounts.repository.ItemGLAccountRepository.PostingAccounts;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Posting plans: the GL account IDs an item's invoice lines and a company's receivable/payable
+ * side post to, resolved once and kept in a bounded cache.
+ * <p>
+ * Plans that are not cached yet are loaded with one projection query per type, so posting builds
+ * its journal lines from account references without walking the GL mapping entities. The item,
+ * company and item GL account services invalidate a plan whenever they change its mapping.
+ * <p>
+ * Misses are loaded in a separate read-committed transaction, not the caller's posting transaction:
+ * under repeatable read the caller may still see a mapping from before an invalidation that already
+ * committed, and caching that would outlive the invalidation. That transaction runs on the
+ * {@link SideConnectionPool}, so a posting that misses does not wait for a second main pool
+ * connection while holding its own. Mappings the caller's transaction changed or created itself
+ * are only visible to it, so those plans are loaded there and not cached.
+ */
+@Service
+public class PostingPlanCache {
+
+    // Same plans as CompanyRepository.findSettlementAccounts and ItemGLAccountRepository.findPostingAccounts
+    private static final String SETTLEMENT_ACCOUNTS_SQL = "SELECT company_id, accounts_receivable_id, "
+            + "accounts_payable_id, advances_received_id, advances_paid_id FROM company_gl_accounts "
+            + "WHERE company_id IN (:ids)";
+
+    private static final String POSTING_ACCOUNTS_SQL = "SELECT item_id, gl_account_id, sales_revenue_account_id, "
+            + "trade_discounts_account_id, cost_of_goods_sold_account_id, output_vat_account_id, "
+            + "input_vat_account_id FROM item_gl_accounts WHERE item_id IN (:ids)";
+
+    private final ItemGLAccountRepository itemGLAccountRepository;
+    private final CompanyRepository companyRepository;
+    private final NamedParameterJdbcTemplate committedJdbc;
+    private final TransactionTemplate committedRead;
+    private final int cacheSize;
+
+    // Bound to a transaction once it invalidated a plan, until it completes
+    private final Object ownChanges = new Object();
+
+    // Guarded by the lock; the generation moves on with every invalidation so a plan loaded from
+    // a mapping read before the change is never cached after it
+    private final Object lock = new Object();
+    private final Map<Long, ItemPlan> itemPlans = new HashMap<>();
+    private final Map<Long, CompanyPlan> companyPlans = new HashMap<>();
+    private long generation;
+
+    public PostingPlanCache(ItemGLAccountRepository itemGLAccountRepository, CompanyRepository companyRepository,
+            SideConnectionPool sidePool, @Value("${accounts.posting-plans.cache-size:10000}") int cacheSize) {
+        this.itemGLAccountRepository = itemGLAccountRepository;
+        this.companyRepository = companyRepository;
+        this.committedJdbc = new NamedParameterJdbcTemplate(sidePool.jdbcTemplate());
+        this.committedRead = sidePool.newTransaction();
+        this.committedRead.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.committedRead.setReadOnly(true);
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Plans for the given companies and items; ones without GL accounts configured are left out
+     */
+    public PostingPlans plans(Collection<Long> companyIds, Collection<Long> itemIds) {
+        Map<Long, CompanyPlan> companies = new HashMap<>();
+        Map<Long, ItemPlan> items = new HashMap<>();
+        Set<Long> missingCompanies = new HashSet<>();
+        Set<Long> missingItems = new HashSet<>();
+        long seenGeneration;
+        synchronized (lock) {
+            collect(companyIds, companyPlans, companies, missingCompanies);
+            collect(itemIds, itemPlans, items, missingItems);
+            seenGeneration = generation;
+        }
+        if (missingCompanies.isEmpty() && missingItems.isEmpty()) {
+            return new PostingPlans(companies, items);
+        }
+
+        if (TransactionSynchronizationManager.hasResource(ownChanges)) {
+            PostingPlans own = load(missingCompanies, missingItems);
+            companies.putAll(own.companies());
+            items.putAll(own.items());
+            return new PostingPlans(companies, items);
+        }
+
+        PostingPlans loaded = committedRead.execute(status -> loadCommitted(missingCompanies, missingItems));
+        companies.putAll(loaded.companies());
+        items.putAll(loaded.items());
+        synchronized (lock) {
+            if (generation == seenGeneration) {
+                store(companyPlans, loaded.companies());
+                store(itemPlans, loaded.items());
+            }
+        }
+
+        // Not committed yet: created by the caller's transaction, or not configured at all
+        missingCompanies.removeAll(loaded.companies().keySet());
+        missingItems.removeAll(loaded.items().keySet());
+        if ((!missingCompanies.isEmpty() || !missingItems.isEmpty())
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            PostingPlans own = load(missingCompanies, missingItems);
+            companies.putAll(own.companies());
+            items.putAll(own.items());
+        }
+        return new PostingPlans(companies, items);
+    }
+
+    private PostingPlans load(Set<Long> companyIds, Set<Long> itemIds) {
+        Map<Long, CompanyPlan> companies = new HashMap<>();
+        if (!companyIds.isEmpty()) {
+            for (SettlementAccounts accounts : companyRepository.findSettlementAccounts(companyIds)) {
+                companies.put(accounts.getCompanyId(), CompanyPlan.of(accounts));
+            }
+        }
+        Map<Long, ItemPlan> items = new HashMap<>();
+        if (!itemIds.isEmpty()) {
+            for (PostingAccounts accounts : itemGLAccountRepository.findPostingAccounts(itemIds)) {
+                items.put(accounts.getItemId(), ItemPlan.of(accounts));
+            }
+        }
+        return new PostingPlans(companies, items);
+    }
+
+    private PostingPlans loadCommitted(Set<Long> companyIds, Set<Long> itemIds) {
+        Map<Long, CompanyPlan> companies = new HashMap<>();
+        if (!companyIds.isEmpty()) {
+            committedJdbc.query(SETTLEMENT_ACCOUNTS_SQL, Map.of("ids", companyIds), (RowCallbackHandler) rs -> {
+                long companyId = rs.getLong("company_id");
+                companies.put(companyId, new CompanyPlan(companyId, id(rs, "accounts_receivable_id"),
+                        id(rs, "accounts_payable_id"), id(rs, "advances_received_id"), id(rs, "advances_paid_id")));
+            });
+        }
+        Map<Long, ItemPlan> items = new HashMap<>();
+        if (!itemIds.isEmpty()) {
+            committedJdbc.query(POSTING_ACCOUNTS_SQL, Map.of("ids", itemIds), (RowCallbackHandler) rs -> {
+                long itemId = rs.getLong("item_id");
+                items.put(itemId, ItemPlan.of(itemId, id(rs, "gl_account_id"), id(rs, "sales_revenue_account_id"),
+                        id(rs, "trade_discounts_account_id"), id(rs, "cost_of_goods_sold_account_id"),
+                        id(rs, "output_vat_account_id"), id(rs, "input_vat_account_id")));
+            });
+        }
+        return new PostingPlans(companies, items);
+    }
+
+    private static Long id(ResultSet rs, String column) throws SQLException {
+        long id = rs.getLong(column);
+        return rs.wasNull() ? null : id;
+    }
+
+    public void invalidateItems(Collection<Long> itemIds) {
+        Set<Long> affected = Set.copyOf(itemIds);
+        invalidate(() -> itemPlans.keySet().removeAll(affected));
+    }
+
+    public void invalidateCompanies(Collection<Long> companyIds) {
+        Set<Long> affected = Set.copyOf(companyIds);
+        invalidate(() -> companyPlans.keySet().removeAll(affected));
+    }
+
+    /**
+     * Evict right away, so the changing transaction posts with its own mapping, and again once it
+     * completes, so neither a plan another transaction loaded from the old mapping in between nor
+     * one loaded from a mapping that then rolled back is kept
+     */
+    private void invalidate(Runnable eviction) {
+        evict(eviction);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (!TransactionSynchronizationManager.hasResource(ownChanges)) {
+                TransactionSynchronizationManager.bindResource(ownChanges, Boolean.TRUE);
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ownChanges);
+                    evict(eviction);
+                }
+            });
+        }
+    }
+
+    private void evict(Runnable eviction) {
+        synchronized (lock) {
+            generation++;
+            eviction.run();
+        }
+    }
+
+    private static <T> void collect(Collection<Long> ids, Map<Long, T> cached, Map<Long, T> found, Set<Long> missing) {
+        for (Long id : ids) {
+            T plan = cached.get(id);
+            if (plan != null) {
+                found.put(id, plan);
+            } else {
+                missing.add(id);
+            }
+        }
+    }
+
+    private <T> void store(Map<Long, T> cached, Map<Long, T> loaded) {
+        if (cached.size() + loaded.size() > cacheSize) {
+            cached.clear();
+        }
+        cached.putAll(loaded);
+    }
+
+    /**
+     * Accounts an invoice line for the item posts to. The expense account is the item's main GL
+     * account, falling back to cost of goods sold.
+     */
+    public record ItemPlan(Long itemId, Long revenueAccountId, Long outputVatAccountId, Long discountAccountId,
+            Long expenseAccountId, Long inputVatAccountId) {
+
+        static ItemPlan of(PostingAccounts accounts) {
+            return of(accounts.getItemId(), accounts.getGlAccountId(), accounts.getSalesRevenueId(),
+                    accounts.getTradeDiscountsId(), accounts.getCostOfGoodsSoldId(), accounts.getOutputVATId(),
+                    accounts.getInputVATId());
+        }
+
+        static ItemPlan of(Long itemId, Long glAccountId, Long salesRevenueId, Long tradeDiscountsId,
+                Long costOfGoodsSoldId, Long outputVATId, Long inputVATId) {
+            return new ItemPlan(itemId, salesRevenueId, outputVATId, tradeDiscountsId,
+                    glAccountId != null ? glAccountId : costOfGoodsSoldId, inputVATId);
+        }
+    }
+
+    /**
+     * Receivable/payable and advance accounts of a counterparty
+     */
+    public record CompanyPlan(Long companyId, Long receivableAccountId, Long payableAccountId,
+            Long advancesReceivedAccountId, Long advancesPaidAccountId) {
+
+        static CompanyPlan of(SettlementAccounts accounts) {
+            return new CompanyPlan(accounts.getCompanyId(), accounts.getAccountsReceivableId(),
+                    accounts.getAccountsPayableId(), accounts.getAdvancesReceivedId(), accounts.getAdvancesPaidId());
+        }
+    }
+
+    public record PostingPlans(Map<Long, CompanyPlan> companies, Map<Long, ItemPlan> items) {
+
+        public CompanyPlan company(Long companyId) {
+            return companies.get(companyId);
+        }
+
+        public ItemPlan item(Long itemId) {
+            return items.get(itemId);
+        }
+    }
+}
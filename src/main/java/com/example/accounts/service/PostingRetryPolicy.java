@@ -0,0 +1,114 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.PostingRetryStatsResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry for posting operations that lose an optimistic-lock race.
+ * <p>
+ * Postable documents carry a {@code @Version} column, so two concurrent posts of the
+ * same document no longer both commit: the loser fails with a
+ * {@link ConcurrencyFailureException}. The policy re-runs the operation, which starts a
+ * fresh transaction and re-reads the document (typically then failing cleanly with
+ * "already posted"), after an exponential backoff with full jitter. Operations that
+ * are joined to a caller's transaction are never retried, since that transaction is
+ * already marked rollback-only.
+ * <p>
+ * Conflicts, retries and their outcomes are counted per operation.
+ */
+@Slf4j
+@Component
+public class PostingRetryPolicy {
+
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public PostingRetryPolicy(
+            @Value("${accounts.posting.retry.max-attempts:4}") int maxAttempts,
+            @Value("${accounts.posting.retry.initial-backoff-ms:10}") long initialBackoffMs,
+            @Value("${accounts.posting.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(initialBackoffMs);
+        this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(maxBackoffMs);
+    }
+
+    /**
+     * Run an operation, retrying it on concurrency failures; each attempt must run in its own transaction
+     */
+    public <T> T execute(String operation, Supplier<T> work) {
+        Stats counters = stats.computeIfAbsent(operation, name -> new Stats());
+        counters.operations.increment();
+        int attempt = 1;
+        while (true) {
+            try {
+                T result = work.get();
+                if (attempt > 1) {
+                    counters.recovered.increment();
+                }
+                return result;
+            } catch (ConcurrencyFailureException e) {
+                counters.conflicts.increment();
+                if (attempt >= maxAttempts || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    counters.exhausted.increment();
+                    log.warn("{} gave up after {} attempt(s) on a concurrent update: {}", operation, attempt,
+                            e.getMessage());
+                    throw e;
+                }
+                log.debug("{} attempt {} hit a concurrent update, retrying", operation, attempt);
+                backoff(attempt, e);
+                counters.retries.increment();
+                attempt++;
+            }
+        }
+    }
+
+    public List<PostingRetryStatsResponse> getStats() {
+        return stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator.naturalOrder()))
+                .map(entry -> PostingRetryStatsResponse.builder()
+                        .operation(entry.getKey())
+                        .operations(entry.getValue().operations.sum())
+                        .conflicts(entry.getValue().conflicts.sum())
+                        .retries(entry.getValue().retries.sum())
+                        .recovered(entry.getValue().recovered.sum())
+                        .exhausted(entry.getValue().exhausted.sum())
+                        .build())
+                .toList();
+    }
+
+    private void backoff(int attempt, ConcurrencyFailureException cause) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        if (ceiling <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private static final class Stats {
+        private final LongAdder operations = new LongAdder();
+        private final LongAdder conflicts = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder recovered = new LongAdder();
+        private final LongAdder exhausted = new LongAdder();
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.accounts.service;
+
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.Company;
+import com.example.accounts.entity.Item;
+import com.example.accounts.exception.ResourceNotFoundException;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.CompanyRepository;
+import com.example.accounts.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Resolves account, item and company references of a request in bulk.
+ * Callers register every id they need, then each type is loaded with a single
+ * findAllById and all missing ids are reported together.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReferenceResolver {
+
+    private final ChartOfAccountRepository chartOfAccountRepository;
+    private final ItemRepository itemRepository;
+    private final CompanyRepository companyRepository;
+
+    /**
+     * Start collecting references; null ids are ignored
+     */
+    public Request request() {
+        return new Request();
+    }
+
+    public class Request {
+        private final Set<Long> accountIds = new LinkedHashSet<>();
+        private final Set<Long> itemIds = new LinkedHashSet<>();
+        private final Set<Long> companyIds = new LinkedHashSet<>();
+
+        public Request account(Long accountId) {
+            addIfPresent(accountIds, accountId);
+            return this;
+        }
+
+        public Request item(Long itemId) {
+            addIfPresent(itemIds, itemId);
+            return this;
+        }
+
+        public Request company(Long companyId) {
+            addIfPresent(companyIds, companyId);
+            return this;
+        }
+
+        /**
+         * Load all registered references, throwing one exception that lists every missing id
+         */
+        public References resolve() {
+            References references = lookup();
+            List<String> missing = new ArrayList<>();
+            describeMissing(missing, "Account", "Accounts", references.missingAccountIds);
+            describeMissing(missing, "Item", "Items", references.missingItemIds);
+            describeMissing(missing, "Company", "Companies", references.missingCompanyIds);
+            if (!missing.isEmpty()) {
+                throw new ResourceNotFoundException(String.join("; ", missing));
+            }
+            return references;
+        }
+
+        /**
+         * Load all registered references without failing on missing ids
+         */
+        public References lookup() {
+            return new References(
+                    load(accountIds, chartOfAccountRepository::findAllById, ChartOfAccount::getAccountId),
+                    load(itemIds, itemRepository::findAllById, Item::getItemId),
+                    load(companyIds, companyRepository::findAllById, Company::getCompanyId),
+                    accountIds, itemIds, companyIds);
+        }
+    }
+
+    public static class References {
+        private final Map<Long, ChartOfAccount> accounts;
+        private final Map<Long, Item> items;
+        private final Map<Long, Company> companies;
+        private final Set<Long> missingAccountIds;
+        private final Set<Long> missingItemIds;
+        private final Set<Long> missingCompanyIds;
+
+        private References(Map<Long, ChartOfAccount> accounts, Map<Long, Item> items, Map<Long, Company> companies,
+                Set<Long> accountIds, Set<Long> itemIds, Set<Long> companyIds) {
+            this.accounts = accounts;
+            this.items = items;
+            this.companies = companies;
+            this.missingAccountIds = missing(accountIds, accounts);
+            this.missingItemIds = missing(itemIds, items);
+            this.missingCompanyIds = missing(companyIds, companies);
+        }
+
+        /** Resolved account, or null when the id is null */
+        public ChartOfAccount account(Long accountId) {
+            return accountId != null ? accounts.get(accountId) : null;
+        }
+
+        /** Resolved item, or null when the id is null */
+        public Item item(Long itemId) {
+            return itemId != null ? items.get(itemId) : null;
+        }
+
+        /** Resolved company, or null when the id is null */
+        public Company company(Long companyId) {
+            return companyId != null ? companies.get(companyId) : null;
+        }
+
+        public boolean hasAccount(Long accountId) {
+            return accounts.containsKey(accountId);
+        }
+
+        public boolean hasItem(Long itemId) {
+            return items.containsKey(itemId);
+        }
+
+        public boolean hasCompany(Long companyId) {
+            return companies.containsKey(companyId);
+        }
+
+        private static Set<Long> missing(Set<Long> requested, Map<Long, ?> found) {
+            Set<Long> missing = new LinkedHashSet<>(requested);
+            missing.removeAll(found.keySet());
+            return missing;
+        }
+    }
+
+    private static void addIfPresent(Set<Long> ids, Long id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static <T> Map<Long, T> load(Set<Long> ids, Function<Set<Long>, List<T>> finder, Function<T, Long> idGetter) {
+        Map<Long, T> byId = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (T entity : finder.apply(ids)) {
+                byId.put(idGetter.apply(entity), entity);
+            }
+        }
+        return byId;
+    }
+
+    private static void describeMissing(List<String> messages, String singular, String plural, Set<Long> ids) {
+        if (ids.size() == 1) {
+            messages.add(singular + " not found with id: " + ids.iterator().next());
+        } else if (!ids.isEmpty()) {
+            messages.add(plural + " not found with ids: " + ids);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.accounts.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A few connections to the application database kept apart from the main pool, for short
+ * transactions that run while the caller may already hold a main pool connection: number block
+ * reservations and committed reads of posting plans.
+ * <p>
+ * Opening such a transaction on the main pool would take a second connection per caller, so a
+ * burst of callers holding every main connection could wait on each other until the pool times
+ * out. Connections of this pool are never held while waiting for the main pool.
+ */
+@Component
+public class SideConnectionPool {
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceTransactionManager transactionManager;
+
+    public SideConnectionPool(DataSourceProperties properties,
+            @Value("${accounts.side-pool.size:2}") int size) {
+        this.dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("side-pool");
+        this.dataSource.setMaximumPoolSize(size);
+        this.dataSource.setMinimumIdle(1);
+        this.dataSource.setAutoCommit(false);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    public JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    /**
+     * Template for a transaction on this pool; it never joins the caller's main pool transaction
+     */
+    public TransactionTemplate newTransaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void close() {
+        dataSource.close();
+    }
+}
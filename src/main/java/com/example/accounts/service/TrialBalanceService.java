@@ -0,0 +1,116 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.TrialBalanceDTO;
+import com.example.accounts.dto.TrialBalanceLineDTO;
+import com.example.accounts.dto.TrialBalanceSectionDTO;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.JournalEntryLineRepository;
+import com.example.accounts.repository.JournalEntryLineRepository.TrialBalanceRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for the Trial Balance report.
+ * Balances are aggregated in the database in one grouped query; Java only splits them
+ * into debit/credit columns and rolls them up by chart-of-accounts section.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class TrialBalanceService {
+
+    private static final String UNCLASSIFIED_SECTION = "Unclassified";
+
+    private final JournalEntryLineRepository journalEntryLineRepository;
+
+    /**
+     * Generate trial balance for a date range, optionally limited to one company
+     */
+    public TrialBalanceDTO generateTrialBalance(LocalDate from, LocalDate to, Long companyId) {
+        if (from == null || to == null) {
+            throw new InvalidTransactionException("Both from and to dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new InvalidTransactionException("From date must not be after to date");
+        }
+
+        log.info("Generating trial balance from {} to {} for company: {}", from, to, companyId);
+
+        List<TrialBalanceRow> rows = journalEntryLineRepository.sumTrialBalance(
+                from, to, companyId, JournalEntryStatus.BOOKED);
+
+        // Rows arrive ordered by account code, so sections keep first-seen order
+        Map<String, TrialBalanceSectionDTO> sections = new LinkedHashMap<>();
+        for (TrialBalanceRow row : rows) {
+            TrialBalanceLineDTO line = toLineDTO(row);
+            if (isEmpty(line)) {
+                continue;
+            }
+            String sectionName = line.getSection() != null ? line.getSection() : UNCLASSIFIED_SECTION;
+            sections.computeIfAbsent(sectionName, name -> {
+                TrialBalanceSectionDTO section = new TrialBalanceSectionDTO();
+                section.setSection(name);
+                return section;
+            }).addLine(line);
+        }
+
+        TrialBalanceDTO trialBalance = new TrialBalanceDTO();
+        trialBalance.setFromDate(from);
+        trialBalance.setToDate(to);
+        trialBalance.setCompanyId(companyId);
+        trialBalance.getSections().addAll(sections.values());
+        trialBalance.calculateTotals();
+
+        log.info("Generated trial balance with {} accounts in {} sections",
+                sections.values().stream().mapToInt(s -> s.getLines().size()).sum(), sections.size());
+        return trialBalance;
+    }
+
+    private TrialBalanceLineDTO toLineDTO(TrialBalanceRow row) {
+        BigDecimal opening = nvl(row.getOpeningBalance());
+        BigDecimal debitTurnover = nvl(row.getDebitTurnover());
+        BigDecimal creditTurnover = nvl(row.getCreditTurnover());
+        BigDecimal closing = opening.add(debitTurnover).subtract(creditTurnover);
+
+        return TrialBalanceLineDTO.builder()
+                .accountId(row.getAccountId())
+                .accountCode(row.getAccountCode())
+                .accountDescription(row.getAccountDescription())
+                .section(row.getSection())
+                .accountType(row.getAccountType())
+                .openingDebit(debitSide(opening))
+                .openingCredit(creditSide(opening))
+                .debitTurnover(debitTurnover)
+                .creditTurnover(creditTurnover)
+                .closingDebit(debitSide(closing))
+                .closingCredit(creditSide(closing))
+                .build();
+    }
+
+    private boolean isEmpty(TrialBalanceLineDTO line) {
+        return line.getOpeningDebit().signum() == 0 && line.getOpeningCredit().signum() == 0
+                && line.getDebitTurnover().signum() == 0 && line.getCreditTurnover().signum() == 0;
+    }
+
+    private BigDecimal debitSide(BigDecimal balance) {
+        return balance.signum() > 0 ? balance : BigDecimal.ZERO;
+    }
+
+    private BigDecimal creditSide(BigDecimal balance) {
+        return balance.signum() < 0 ? balance.negate() : BigDecimal.ZERO;
+    }
+
+    private BigDecimal nvl(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.TurnoverCubeQuery;
+import com.example.accounts.dto.TurnoverCubeRebuildResponse;
+import com.example.accounts.dto.TurnoverCubeResponse;
+import com.example.accounts.dto.TurnoverCubeRowDTO;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.JournalEntryLine;
+import com.example.accounts.entity.TurnoverCubeCell;
+import com.example.accounts.entity.enums.CubeDimension;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.TurnoverCubeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service maintaining and slicing the turnover_cube table.
+ * Posting adds each entry's lines to their cells; slices group the pre-aggregated cells by any
+ * subset of dimensions, so "revenue by item by warehouse by month" reads cells, not journal lines.
+ */
+@Service
+@Slf4j
+@Transactional
+public class TurnoverCubeService {
+
+    private final TurnoverCubeRepository cubeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxRows;
+
+    public TurnoverCubeService(TurnoverCubeRepository cubeRepository, JdbcTemplate jdbcTemplate,
+            @Value("${accounts.turnover-cube.max-rows:10000}") int maxRows) {
+        this.cubeRepository = cubeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Add the lines of posted journal entries to the cube, one update per touched cell
+     */
+    public void applyPostings(Collection<JournalEntry> journalEntries) {
+        Map<CellKey, BigDecimal[]> cells = new LinkedHashMap<>();
+        for (JournalEntry journalEntry : journalEntries) {
+            int year = journalEntry.getEntryDate().getYear();
+            int period = journalEntry.getEntryDate().getMonthValue();
+            Long headerCompanyId = journalEntry.getCompany() != null ? journalEntry.getCompany().getCompanyId() : null;
+
+            for (JournalEntryLine line : journalEntry.getLines()) {
+                Long companyId = line.getCompany() != null ? line.getCompany().getCompanyId() : headerCompanyId;
+                CellKey key = new CellKey(line.getAccount().getAccountId(),
+                        companyId != null ? companyId : TurnoverCubeCell.NO_ID,
+                        line.getItem() != null ? line.getItem().getItemId() : TurnoverCubeCell.NO_ID,
+                        line.getWarehouse() != null ? line.getWarehouse() : TurnoverCubeCell.NO_VALUE,
+                        line.getContract() != null ? line.getContract() : TurnoverCubeCell.NO_VALUE,
+                        year, period);
+                BigDecimal[] amounts = cells.computeIfAbsent(key, k -> new BigDecimal[] { BigDecimal.ZERO,
+                        BigDecimal.ZERO, BigDecimal.ZERO });
+                amounts[0] = amounts[0].add(line.getDebitAmount());
+                amounts[1] = amounts[1].add(line.getCreditAmount());
+                if (line.getQuantity() != null) {
+                    amounts[2] = amounts[2].add(line.getQuantity());
+                }
+            }
+        }
+
+        for (Map.Entry<CellKey, BigDecimal[]> cell : cells.entrySet()) {
+            CellKey key = cell.getKey();
+            BigDecimal[] amounts = cell.getValue();
+            int updated = cubeRepository.addTurnover(key.accountId(), key.companyId(), key.itemId(),
+                    key.warehouse(), key.contract(), key.year(), key.period(), amounts[0], amounts[1], amounts[2]);
+            if (updated == 0) {
+                // Upsert: a concurrent first posting to the same cell turns this insert into an add
+                cubeRepository.insertCell(key.accountId(), key.companyId(), key.itemId(), key.warehouse(),
+                        key.contract(), key.year(), key.period(), amounts[0], amounts[1], amounts[2]);
+            }
+        }
+    }
+
+    /**
+     * Recompute the whole cube from booked journal lines
+     */
+    public TurnoverCubeRebuildResponse rebuild() {
+        int deleted = cubeRepository.deleteAllCells();
+        int inserted = cubeRepository.insertFromJournalLines(
+                JournalEntryStatus.BOOKED.stream().map(Enum::name).toList());
+        log.info("Rebuilt turnover cube: {} cells replaced by {}", deleted, inserted);
+        return TurnoverCubeRebuildResponse.builder()
+                .deletedCells(deleted)
+                .insertedCells(inserted)
+                .build();
+    }
+
+    /**
+     * Group cube cells by the requested dimensions, rolling up all others
+     */
+    @Transactional(readOnly = true)
+    public TurnoverCubeResponse slice(TurnoverCubeQuery query) {
+        Set<CubeDimension> dimensions = query.getDimensions() == null || query.getDimensions().isEmpty()
+                ? EnumSet.noneOf(CubeDimension.class)
+                : EnumSet.copyOf(query.getDimensions());
+        if (dimensions.contains(CubeDimension.PERIOD)) {
+            dimensions.add(CubeDimension.YEAR);
+        }
+        if (query.getFrom() != null && query.getTo() != null && query.getFrom().isAfter(query.getTo())) {
+            throw new InvalidTransactionException("from must not be after to");
+        }
+
+        List<String> groupColumns = new ArrayList<>();
+        for (CubeDimension dimension : dimensions) {
+            groupColumns.add(column(dimension));
+        }
+        if (dimensions.contains(CubeDimension.ACCOUNT)) {
+            groupColumns.add("a.account_code");
+        }
+        boolean joinAccounts = dimensions.contains(CubeDimension.ACCOUNT) || hasText(query.getAccountCodePrefix());
+
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (String groupColumn : groupColumns) {
+            sql.append(groupColumn).append(", ");
+        }
+        sql.append("SUM(c.debit_turnover) AS debit_turnover, SUM(c.credit_turnover) AS credit_turnover, ")
+                .append("SUM(c.quantity) AS quantity FROM turnover_cube c");
+        if (joinAccounts) {
+            sql.append(" JOIN chart_of_accounts a ON a.account_id = c.account_id");
+        }
+
+        List<Object> args = new ArrayList<>();
+        sql.append(" WHERE 1 = 1");
+        if (query.getFrom() != null) {
+            sql.append(" AND (c.fiscal_year > ? OR (c.fiscal_year = ? AND c.fiscal_period >= ?))");
+            args.add(query.getFrom().getYear());
+            args.add(query.getFrom().getYear());
+            args.add(query.getFrom().getMonthValue());
+        }
+        if (query.getTo() != null) {
+            sql.append(" AND (c.fiscal_year < ? OR (c.fiscal_year = ? AND c.fiscal_period <= ?))");
+            args.add(query.getTo().getYear());
+            args.add(query.getTo().getYear());
+            args.add(query.getTo().getMonthValue());
+        }
+        if (query.getAccountIds() != null && !query.getAccountIds().isEmpty()) {
+            sql.append(" AND c.account_id IN (")
+                    .append(query.getAccountIds().stream().map(id -> "?").collect(Collectors.joining(", ")))
+                    .append(")");
+            args.addAll(query.getAccountIds());
+        }
+        if (hasText(query.getAccountCodePrefix())) {
+            sql.append(" AND a.account_code LIKE ?");
+            args.add(query.getAccountCodePrefix() + "%");
+        }
+        if (query.getCompanyId() != null) {
+            sql.append(" AND c.company_id = ?");
+            args.add(query.getCompanyId());
+        }
+        if (query.getItemId() != null) {
+            sql.append(" AND c.item_id = ?");
+            args.add(query.getItemId());
+        }
+        if (query.getWarehouse() != null) {
+            sql.append(" AND c.warehouse = ?");
+            args.add(query.getWarehouse());
+        }
+        if (query.getContract() != null) {
+            sql.append(" AND c.contract = ?");
+            args.add(query.getContract());
+        }
+        if (!groupColumns.isEmpty()) {
+            String columns = String.join(", ", groupColumns);
+            sql.append(" GROUP BY ").append(columns).append(" ORDER BY ").append(columns);
+        }
+        sql.append(" LIMIT ").append(maxRows + 1);
+
+        List<TurnoverCubeRowDTO> rows = jdbcTemplate.query(sql.toString(),
+                (rs, rowNum) -> mapRow(rs, dimensions), args.toArray());
+        if (rows.size() > maxRows) {
+            throw new InvalidTransactionException("Slice has more than " + maxRows
+                    + " rows; group by fewer dimensions or add filters");
+        }
+        // An empty cube still returns one all-null row for the grand total
+        rows.removeIf(row -> row.getDebitTurnover() == null);
+
+        return TurnoverCubeResponse.builder()
+                .dimensions(new ArrayList<>(dimensions))
+                .fromDate(query.getFrom())
+                .toDate(query.getTo())
+                .rows(rows)
+                .totalDebit(rows.stream().map(TurnoverCubeRowDTO::getDebitTurnover)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .totalCredit(rows.stream().map(TurnoverCubeRowDTO::getCreditTurnover)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .totalQuantity(rows.stream().map(TurnoverCubeRowDTO::getQuantity)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build();
+    }
+
+    private static String column(CubeDimension dimension) {
+        return switch (dimension) {
+            case ACCOUNT -> "c.account_id";
+            case COMPANY -> "c.company_id";
+            case ITEM -> "c.item_id";
+            case WAREHOUSE -> "c.warehouse";
+            case CONTRACT -> "c.contract";
+            case YEAR -> "c.fiscal_year";
+            case PERIOD -> "c.fiscal_period";
+        };
+    }
+
+    private static TurnoverCubeRowDTO mapRow(ResultSet rs, Set<CubeDimension> dimensions) throws SQLException {
+        TurnoverCubeRowDTO row = new TurnoverCubeRowDTO();
+        if (dimensions.contains(CubeDimension.ACCOUNT)) {
+            row.setAccountId(rs.getLong("account_id"));
+            row.setAccountCode(rs.getString("account_code"));
+        }
+        if (dimensions.contains(CubeDimension.COMPANY)) {
+            row.setCompanyId(idOrNull(rs.getLong("company_id")));
+        }
+        if (dimensions.contains(CubeDimension.ITEM)) {
+            row.setItemId(idOrNull(rs.getLong("item_id")));
+        }
+        if (dimensions.contains(CubeDimension.WAREHOUSE)) {
+            row.setWarehouse(valueOrNull(rs.getString("warehouse")));
+        }
+        if (dimensions.contains(CubeDimension.CONTRACT)) {
+            row.setContract(valueOrNull(rs.getString("contract")));
+        }
+        if (dimensions.contains(CubeDimension.YEAR)) {
+            row.setFiscalYear(rs.getInt("fiscal_year"));
+        }
+        if (dimensions.contains(CubeDimension.PERIOD)) {
+            row.setFiscalPeriod(rs.getInt("fiscal_period"));
+        }
+        row.setDebitTurnover(rs.getBigDecimal("debit_turnover"));
+        row.setCreditTurnover(rs.getBigDecimal("credit_turnover"));
+        row.setQuantity(rs.getBigDecimal("quantity"));
+        if (row.getDebitTurnover() != null) {
+            row.setNetTurnover(row.getDebitTurnover().subtract(row.getCreditTurnover()));
+        }
+        return row;
+    }
+
+    private static Long idOrNull(long id) {
+        return id == TurnoverCubeCell.NO_ID ? null : id;
+    }
+
+    private static String valueOrNull(String value) {
+        return TurnoverCubeCell.NO_VALUE.equals(value) ? null : value;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private record CellKey(Long accountId, Long companyId, Long itemId, String warehouse, String contract,
+            int year, int period) {
+    }
+}
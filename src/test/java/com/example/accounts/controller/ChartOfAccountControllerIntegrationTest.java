@@ -57,4 +57,24 @@ public class ChartOfAccountControllerIntegrationTest {
 
                 System.out.println("\n\n✅ [SECTION DROPDOWN OUTPUT]:\n" + result + "\n\n");
         }
+
+        @Test
+        public void testGetAllAccountsReturnsPlainArray() throws Exception {
+                mockMvc.perform(get("/api/chart-of-accounts/all")
+                                .param("sort", "-accountCode")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$").isArray())
+                                .andExpect(jsonPath("$[0].accountCode").exists());
+        }
+
+        @Test
+        public void testGetAccountsPagedReturnsPageEnvelope() throws Exception {
+                mockMvc.perform(get("/api/chart-of-accounts")
+                                .param("size", "5")
+                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content", hasSize(5)))
+                                .andExpect(jsonPath("$.totalElements").isNumber());
+        }
 }
@@ -0,0 +1,61 @@
+package com.example.accounts.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void divide_MatchesBigDecimalForEveryRoundingMode() {
+        long[] dividends = { 0, 1, 4, 5, 6, 15, 25, -1, -4, -5, -6, -15, -25, 123_456_789, -987_654_321 };
+        for (RoundingMode mode : RoundingMode.values()) {
+            for (long dividend : dividends) {
+                BigDecimal exact = BigDecimal.valueOf(dividend).divide(BigDecimal.TEN);
+                if (mode == RoundingMode.UNNECESSARY && exact.stripTrailingZeros().scale() > 0) {
+                    assertThrows(ArithmeticException.class, () -> Money.divide(dividend, 10, mode));
+                    continue;
+                }
+                assertEquals(exact.setScale(0, mode).longValueExact(), Money.divide(dividend, 10, mode),
+                        dividend + " / 10 " + mode);
+            }
+        }
+    }
+
+    @Test
+    void timesAndPercent_RoundOnceToMinorUnits() {
+        Money price = Money.of(new BigDecimal("19.99"), RoundingMode.HALF_UP);
+
+        assertEquals(new BigDecimal("24.99"), price.times(new BigDecimal("1.2500"), RoundingMode.HALF_UP).toBigDecimal());
+        assertEquals(new BigDecimal("24.98"), price.times(new BigDecimal("1.2500"), RoundingMode.DOWN).toBigDecimal());
+        // 19.99 * 7.5% = 1.49925
+        assertEquals(new BigDecimal("1.50"), price.percent(new BigDecimal("7.5"), RoundingMode.HALF_UP).toBigDecimal());
+        assertEquals(new BigDecimal("0.67"), Money.of(new BigDecimal("2.00"), RoundingMode.HALF_UP)
+                .percent(new BigDecimal("33.3333"), RoundingMode.HALF_EVEN).toBigDecimal());
+
+        // Products beyond the long range fall back to exact BigDecimal arithmetic
+        Money large = Money.ofMinor(Long.MAX_VALUE / 4);
+        assertEquals(Long.MAX_VALUE / 4 / 2, large.times(new BigDecimal("0.5"), RoundingMode.DOWN).minorUnits());
+        assertThrows(ArithmeticException.class, () -> large.times(BigDecimal.TEN, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void invoiceLine_CalculatesRoundedAmounts() {
+        InvoiceLine line = InvoiceLine.builder()
+                .quantity(new BigDecimal("3.3333"))
+                .unitPrice(new BigDecimal("10.01"))
+                .discountRate(new BigDecimal("2.5"))
+                .vatRate(new BigDecimal("15"))
+                .build();
+
+        line.calculateAmounts();
+
+        assertEquals(new BigDecimal("33.37"), line.getLineAmount());
+        assertEquals(new BigDecimal("0.83"), line.getDiscountAmount());
+        assertEquals(new BigDecimal("4.88"), line.getVatAmount());
+        assertEquals(new BigDecimal("37.42"), line.getNetAmount());
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.AccountBalanceResponse;
+import com.example.accounts.dto.BalanceRebuildResponse;
+import com.example.accounts.dto.BulkReversalRequest;
+import com.example.accounts.dto.BulkReversalResponse;
+import com.example.accounts.dto.JournalEntryLineRequest;
+import com.example.accounts.dto.JournalEntryRequest;
+import com.example.accounts.dto.JournalEntryResponse;
+import com.example.accounts.dto.LedgerStatementResponse;
+import com.example.accounts.dto.TrialBalanceDTO;
+import com.example.accounts.dto.TrialBalanceLineDTO;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class AccountBalanceServiceIntegrationTest {
+
+    @Autowired
+    private JournalEntryService journalEntryService;
+
+    @Autowired
+    private AccountBalanceService accountBalanceService;
+
+    @Autowired
+    private TrialBalanceService trialBalanceService;
+
+    @Autowired
+    private GeneralLedgerService generalLedgerService;
+
+    @Autowired
+    private JournalEntryReversalService journalEntryReversalService;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    private ChartOfAccount debitAccount;
+    private ChartOfAccount creditAccount;
+
+    @BeforeEach
+    void setUp() {
+        debitAccount = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow();
+        creditAccount = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow();
+    }
+
+    @Test
+    void postAndReverse_MaintainsPeriodBalances() {
+        JournalEntryResponse january = createAndPost("APB-001", LocalDate.of(2031, 1, 15), "100.00");
+        createAndPost("APB-002", LocalDate.of(2031, 3, 10), "40.00");
+        // Back-dated posting must roll forward into the later period
+        createAndPost("APB-003", LocalDate.of(2031, 2, 1), "10.00");
+
+        AccountBalanceResponse february = accountBalanceService.getAccountBalance(
+                debitAccount.getAccountId(), null, 2031, 2);
+        assertEquals(0, new BigDecimal("100.00").compareTo(february.getOpeningBalance()));
+        assertEquals(0, new BigDecimal("10.00").compareTo(february.getDebitTurnover()));
+        assertEquals(0, new BigDecimal("110.00").compareTo(february.getClosingBalance()));
+
+        AccountBalanceResponse march = accountBalanceService.getAccountBalance(
+                debitAccount.getAccountId(), null, 2031, 3);
+        assertEquals(0, new BigDecimal("110.00").compareTo(march.getOpeningBalance()));
+        assertEquals(0, new BigDecimal("150.00").compareTo(march.getClosingBalance()));
+
+        // A period without activity carries the last closing balance forward
+        AccountBalanceResponse june = accountBalanceService.getAccountBalance(
+                creditAccount.getAccountId(), null, 2031, 6);
+        assertEquals(0, new BigDecimal("-150.00").compareTo(june.getOpeningBalance()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(june.getCreditTurnover()));
+        assertEquals(0, new BigDecimal("-150.00").compareTo(june.getClosingBalance()));
+
+        journalEntryService.reverseJournalEntry(january.getJournalEntryId(), "tester");
+
+        AccountBalanceResponse marchAfterReversal = accountBalanceService.getAccountBalance(
+                debitAccount.getAccountId(), null, 2031, 3);
+        assertEquals(0, new BigDecimal("50.00").compareTo(marchAfterReversal.getClosingBalance()));
+
+        BalanceRebuildResponse rebuild = accountBalanceService.rebuild(true);
+        assertEquals(0, rebuild.getDriftCount());
+    }
+
+    @Test
+    void bulkReversal_OffsetsMatchingEntriesInChunks() {
+        createAndPost("BR-001", LocalDate.of(2034, 1, 10), "25.00", "BULK-A-1");
+        createAndPost("BR-002", LocalDate.of(2034, 1, 12), "35.00", "BULK-A-2");
+        createAndPost("BR-003", LocalDate.of(2034, 1, 14), "45.00", "BULK-A-3");
+        createAndPost("BR-004", LocalDate.of(2034, 1, 16), "55.00", "OTHER-1");
+
+        BulkReversalResponse response = journalEntryReversalService.reverseMatching(BulkReversalRequest.builder()
+                .referencePrefix("BULK-A")
+                .reversalDate(LocalDate.of(2034, 1, 31))
+                .chunkSize(2)
+                .build(), "tester");
+
+        assertEquals(3, response.getEntriesReversed());
+        assertEquals(6, response.getLinesReversed());
+        assertEquals(2, response.getChunks());
+
+        AccountBalanceResponse january = accountBalanceService.getAccountBalance(
+                debitAccount.getAccountId(), null, 2034, 1);
+        assertEquals(0, new BigDecimal("160.00").compareTo(january.getDebitTurnover()));
+        assertEquals(0, new BigDecimal("105.00").compareTo(january.getCreditTurnover()));
+        assertEquals(0, new BigDecimal("55.00").compareTo(january.getClosingBalance()));
+
+        // Already reversed entries and their contra entries are never picked up again
+        BulkReversalResponse again = journalEntryReversalService.reverseMatching(BulkReversalRequest.builder()
+                .referencePrefix("BULK-A")
+                .build(), "tester");
+        assertEquals(0, again.getEntriesReversed());
+
+        BalanceRebuildResponse rebuild = accountBalanceService.rebuild(true);
+        assertEquals(0, rebuild.getDriftCount());
+    }
+
+    @Test
+    void trialBalance_SplitsOpeningAndTurnoverAndBalances() {
+        createAndPost("TB-001", LocalDate.of(2032, 1, 10), "70.00");
+        createAndPost("TB-002", LocalDate.of(2032, 2, 5), "30.00");
+
+        TrialBalanceDTO trialBalance = trialBalanceService.generateTrialBalance(
+                LocalDate.of(2032, 2, 1), LocalDate.of(2032, 2, 29), null);
+
+        assertTrue(trialBalance.getBalanced());
+        TrialBalanceLineDTO debitLine = trialBalance.getSections().stream()
+                .flatMap(section -> section.getLines().stream())
+                .filter(line -> line.getAccountId().equals(debitAccount.getAccountId()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0, new BigDecimal("70.00").compareTo(debitLine.getOpeningDebit()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(debitLine.getDebitTurnover()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(debitLine.getClosingDebit()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(debitLine.getClosingCredit()));
+    }
+
+    @Test
+    void ledgerStatement_PagesByCursorWithRunningBalance() {
+        createAndPost("GL-001", LocalDate.of(2033, 1, 10), "50.00");
+        createAndPost("GL-002", LocalDate.of(2033, 1, 20), "20.00");
+        createAndPost("GL-003", LocalDate.of(2033, 2, 5), "30.00");
+
+        LedgerStatementResponse first = generalLedgerService.getAccountStatement(
+                debitAccount.getAccountId(), null, LocalDate.of(2033, 1, 15), null, null, 1);
+        assertEquals(0, new BigDecimal("50.00").compareTo(first.getOpeningBalance()));
+        assertEquals(1, first.getLines().size());
+        assertEquals("GL-002", first.getLines().get(0).getEntryNumber());
+        assertEquals(0, new BigDecimal("70.00").compareTo(first.getLines().get(0).getRunningBalance()));
+        assertTrue(first.getHasMore());
+
+        LedgerStatementResponse second = generalLedgerService.getAccountStatement(
+                debitAccount.getAccountId(), null, LocalDate.of(2033, 1, 15), null, first.getNextCursor(), 1);
+        assertEquals(0, new BigDecimal("70.00").compareTo(second.getOpeningBalance()));
+        assertEquals("GL-003", second.getLines().get(0).getEntryNumber());
+        assertEquals(0, new BigDecimal("100.00").compareTo(second.getClosingBalance()));
+        assertFalse(second.getHasMore());
+        assertNull(second.getNextCursor());
+    }
+
+    private JournalEntryResponse createAndPost(String number, LocalDate date, String amount) {
+        return createAndPost(number, date, amount, null);
+    }
+
+    private JournalEntryResponse createAndPost(String number, LocalDate date, String amount, String reference) {
+        JournalEntryLineRequest debitLine = JournalEntryLineRequest.builder()
+                .lineNumber(1)
+                .accountId(debitAccount.getAccountId())
+                .debitAmount(new BigDecimal(amount))
+                .creditAmount(BigDecimal.ZERO)
+                .build();
+
+        JournalEntryLineRequest creditLine = JournalEntryLineRequest.builder()
+                .lineNumber(2)
+                .accountId(creditAccount.getAccountId())
+                .debitAmount(BigDecimal.ZERO)
+                .creditAmount(new BigDecimal(amount))
+                .build();
+
+        JournalEntryResponse created = journalEntryService.createJournalEntry(JournalEntryRequest.builder()
+                .entryNumber(number)
+                .entryDate(date)
+                .documentType(DocumentType.JOURNAL_ENTRY)
+                .description("Balance test " + number)
+                .referenceNumber(reference)
+                .lines(Arrays.asList(debitLine, creditLine))
+                .build());
+
+        return journalEntryService.postJournalEntry(created.getJournalEntryId(), "tester");
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.AgingReportDTO;
+import com.example.accounts.dto.AgingRowDTO;
+import com.example.accounts.dto.CompanyGLAccountRequest;
+import com.example.accounts.dto.CompanyRequest;
+import com.example.accounts.dto.InvoiceLineRequest;
+import com.example.accounts.dto.InvoiceRequest;
+import com.example.accounts.dto.InvoiceResponse;
+import com.example.accounts.dto.ItemGLAccountRequest;
+import com.example.accounts.dto.ItemRequest;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.enums.AgingType;
+import com.example.accounts.entity.enums.CompanyType;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.ItemType;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class AgingReportServiceIntegrationTest {
+
+    private static final LocalDate AS_OF = LocalDate.of(2037, 6, 30);
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private AgingReportService agingReportService;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    private Long customerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        ChartOfAccount first = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow();
+        ChartOfAccount second = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow();
+
+        customerId = companyService.createCompany(CompanyRequest.builder()
+                .code("AG-C1")
+                .name("Aging customer")
+                .companyType(CompanyType.BOTH)
+                .glAccounts(CompanyGLAccountRequest.builder()
+                        .accountsReceivableId(first.getAccountId())
+                        .accountsPayableId(second.getAccountId())
+                        .build())
+                .build()).getCompanyId();
+        itemId = itemService.createItem(ItemRequest.builder()
+                .code("AG-I1")
+                .description("Aging item")
+                .itemType(ItemType.SERVICE)
+                .glAccounts(ItemGLAccountRequest.builder()
+                        .glAccountId(first.getAccountId())
+                        .salesRevenueAccountId(second.getAccountId())
+                        .build())
+                .build()).getItemId();
+    }
+
+    @Test
+    void agingReport_BucketsOpenAmountsByDaysPastDue() {
+        Long current = invoice("AG-1", DocumentType.CUSTOMER_INVOICE, AS_OF.plusDays(5), "100.00");
+        Long overdue10 = invoice("AG-2", DocumentType.CUSTOMER_INVOICE, AS_OF.minusDays(10), "40.00");
+        Long overdue30 = invoice("AG-3", DocumentType.CUSTOMER_INVOICE, AS_OF.minusDays(30), "5.00");
+        Long overdue100 = invoice("AG-4", DocumentType.CUSTOMER_INVOICE, AS_OF.minusDays(100), "25.00");
+        Long payable = invoice("AG-5", DocumentType.SUPPLIER_INVOICE, AS_OF.minusDays(200), "60.00");
+        // Drafts are not receivables yet
+        invoice("AG-6", DocumentType.CUSTOMER_INVOICE, AS_OF.minusDays(10), "999.00");
+        invoiceService.postInvoices(List.of(current, overdue10, overdue30, overdue100, payable), "tester");
+
+        AgingReportDTO receivables = agingReportService.getAgingReport(AgingType.AR, AS_OF, customerId);
+        assertEquals(1, receivables.getRows().size());
+        AgingRowDTO row = receivables.getRows().get(0);
+        assertEquals("AG-C1", row.getCompanyCode());
+        assertEquals(4, row.getInvoiceCount());
+        assertEquals(0, new BigDecimal("100.00").compareTo(row.getCurrent()));
+        assertEquals(0, new BigDecimal("45.00").compareTo(row.getDays1To30()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(row.getDays31To60()));
+        assertEquals(0, new BigDecimal("25.00").compareTo(row.getDays91To120()));
+        assertEquals(0, new BigDecimal("170.00").compareTo(row.getTotal()));
+        assertEquals(0, new BigDecimal("170.00").compareTo(receivables.getTotals().getTotal()));
+
+        AgingReportDTO payables = agingReportService.getAgingReport(AgingType.AP, AS_OF, customerId);
+        assertEquals(0, new BigDecimal("60.00").compareTo(payables.getRows().get(0).getOver120()));
+
+        // Served from the cache until a posting for the counterparty commits
+        assertSame(receivables, agingReportService.getAgingReport(AgingType.AR, AS_OF, customerId));
+    }
+
+    private Long invoice(String number, DocumentType documentType, LocalDate dueDate, String amount) {
+        InvoiceResponse invoice = invoiceService.createInvoice(InvoiceRequest.builder()
+                .invoiceNumber(number)
+                .invoiceDate(AS_OF.minusDays(210))
+                .dueDate(dueDate)
+                .documentType(documentType)
+                .companyId(customerId)
+                .lines(List.of(InvoiceLineRequest.builder()
+                        .lineNumber(1)
+                        .itemId(itemId)
+                        .quantity(BigDecimal.ONE)
+                        .unitPrice(new BigDecimal(amount))
+                        .build()))
+                .build());
+        return invoice.getInvoiceId();
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.CashFlowLineItemDTO;
+import com.example.accounts.dto.CashFlowStatementDTO;
+import com.example.accounts.dto.CashFlowTransactionRequest;
+import com.example.accounts.entity.CashFlowItem;
+import com.example.accounts.entity.enums.StatementGranularity;
+import com.example.accounts.repository.CashFlowItemRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class CashFlowStatementServiceIntegrationTest {
+
+    private static final String ENTITY = "CF-TEST-ENTITY";
+
+    @Autowired
+    private CashFlowStatementService cashFlowStatementService;
+
+    @Autowired
+    private CashFlowDailyTotalService cashFlowDailyTotalService;
+
+    @Autowired
+    private CashFlowItemRepository cashFlowItemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Long sales = item("CF-T-SALES", 1);
+        Long rent = item("CF-T-RENT", 2);
+
+        transaction(sales, "2041-02-01", "INFLOW", "OPERATING", "100.00", ENTITY, true);
+        transaction(sales, "2041-02-15", "INFLOW", "OPERATING", "50.00", ENTITY, true);
+        transaction(sales, "2041-03-01", "INFLOW", "INVESTING", "30.00", ENTITY, true);
+        transaction(rent, "2041-02-10", "OUTFLOW", "OPERATING", "40.00", ENTITY, true);
+        // Excluded: unposted, another entity, outside the range
+        transaction(sales, "2041-02-20", "INFLOW", "OPERATING", "1000.00", ENTITY, false);
+        transaction(sales, "2041-02-20", "INFLOW", "OPERATING", "2000.00", "CF-OTHER-ENTITY", true);
+        transaction(rent, "2041-05-01", "OUTFLOW", "OPERATING", "3000.00", ENTITY, true);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void generateStatement_SumsPostedDailyTotalsInOneQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        CashFlowStatementDTO statement = cashFlowStatementService.generateStatement(LocalDate.of(2041, 1, 1),
+                LocalDate.of(2041, 3, 31), ENTITY);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        List<CashFlowLineItemDTO> inflows = statement.getInflowItems();
+        assertEquals(2, inflows.size());
+        assertEquals(List.of("CF-T-SALES", "CF-T-SALES"), inflows.stream().map(CashFlowLineItemDTO::getItemCode).toList());
+        assertEquals(0, new BigDecimal("150.00").compareTo(amount(inflows, "OPERATING")));
+        assertEquals(0, new BigDecimal("30.00").compareTo(amount(inflows, "INVESTING")));
+        assertEquals(1, statement.getOutflowItems().size());
+        assertEquals(0, new BigDecimal("180.00").compareTo(statement.getTotalInflow()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(statement.getTotalOutflow()));
+        assertEquals(0, new BigDecimal("140.00").compareTo(statement.getNetFlow()));
+    }
+
+    @Test
+    void generatePeriodicStatements_DerivesMonthsAndQuartersFromOneQuery() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CashFlowStatementDTO> months = cashFlowStatementService.generatePeriodicStatements(
+                LocalDate.of(2041, 1, 15), LocalDate.of(2041, 3, 31), ENTITY, StatementGranularity.MONTH);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(LocalDate.of(2041, 1, 15), LocalDate.of(2041, 2, 1), LocalDate.of(2041, 3, 1)),
+                months.stream().map(CashFlowStatementDTO::getStartDate).toList());
+        assertEquals(LocalDate.of(2041, 2, 28), months.get(1).getEndDate());
+        assertTrue(months.get(0).getInflowItems().isEmpty());
+        assertEquals(0, new BigDecimal("110.00").compareTo(months.get(1).getNetFlow()));
+        assertEquals(0, new BigDecimal("30.00").compareTo(months.get(2).getNetFlow()));
+
+        List<CashFlowStatementDTO> quarters = cashFlowStatementService.generatePeriodicStatements(
+                LocalDate.of(2041, 1, 1), LocalDate.of(2041, 6, 30), ENTITY, StatementGranularity.QUARTER);
+
+        assertEquals(2, quarters.size());
+        assertEquals(0, new BigDecimal("150.00").compareTo(amount(quarters.get(0).getInflowItems(), "OPERATING")));
+        assertEquals(0, new BigDecimal("140.00").compareTo(quarters.get(0).getNetFlow()));
+        assertEquals(0, new BigDecimal("3000.00").compareTo(quarters.get(1).getTotalOutflow()));
+    }
+
+    @Test
+    void rebuild_ReproducesTheIncrementallyMaintainedTotals() {
+        CashFlowStatementDTO maintained = cashFlowStatementService.generateStatement(null, null, ENTITY);
+
+        cashFlowDailyTotalService.rebuild();
+
+        CashFlowStatementDTO rebuilt = cashFlowStatementService.generateStatement(null, null, ENTITY);
+        assertEquals(maintained.getInflowItems(), rebuilt.getInflowItems());
+        assertEquals(maintained.getOutflowItems(), rebuilt.getOutflowItems());
+        assertEquals(0, new BigDecimal("-2860.00").compareTo(rebuilt.getNetFlow()));
+    }
+
+    private static BigDecimal amount(List<CashFlowLineItemDTO> lines, String category) {
+        return lines.stream().filter(line -> category.equals(line.getCategory())).findFirst().orElseThrow()
+                .getAmount();
+    }
+
+    private Long item(String code, int displayOrder) {
+        return cashFlowItemRepository.save(CashFlowItem.builder()
+                .code(code)
+                .description(code)
+                .displayOrder(displayOrder)
+                .build()).getCashFlowItemId();
+    }
+
+    private void transaction(Long itemId, String date, String flowType, String category, String amount,
+            String entity, boolean post) {
+        CashFlowTransactionRequest request = new CashFlowTransactionRequest();
+        request.setTransactionDate(LocalDate.parse(date));
+        request.setCashFlowItemId(itemId);
+        request.setFlowType(flowType);
+        request.setCategory(category);
+        request.setAmount(new BigDecimal(amount));
+        request.setEntity(entity);
+        Long transactionId = cashFlowStatementService.createTransaction(request).getTransactionId();
+        if (post) {
+            cashFlowStatementService.postTransaction(transactionId);
+        }
+    }
+}
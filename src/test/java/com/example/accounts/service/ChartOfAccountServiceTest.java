@@ -2,9 +2,12 @@ package com.example.accounts.service;
 
 import com.example.accounts.dto.ChartOfAccountRequest;
 import com.example.accounts.dto.ChartOfAccountResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.dto.PageResponse;
 import com.example.accounts.entity.ChartOfAccount;
 import com.example.accounts.entity.enums.AccountBalanceType;
 import com.example.accounts.exception.DuplicateResourceException;
+import com.example.accounts.exception.InvalidTransactionException;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.AccountDimensionRepository;
 import com.example.accounts.repository.ChartOfAccountRepository;
@@ -13,7 +16,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
 import java.util.List;
@@ -21,6 +29,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +41,9 @@ class ChartOfAccountServiceTest {
     @Mock
     private AccountDimensionRepository accountDimensionRepository;
 
+    @Spy
+    private PagingPolicy pagingPolicy = new PagingPolicy(50, 500, 2);
+
     @InjectMocks
     private ChartOfAccountService chartOfAccountService;
 
@@ -104,15 +116,39 @@ class ChartOfAccountServiceTest {
     }
 
     @Test
-    void getAllChartOfAccounts_Success() {
-        List<ChartOfAccount> accounts = Arrays.asList(testAccount);
-        when(chartOfAccountRepository.findAll()).thenReturn(accounts);
+    void getChartOfAccounts_Success() {
+        Pageable expected = PageRequest.of(1, 10, Sort.by(Sort.Order.desc("section"), Sort.Order.asc("accountId")));
+        when(chartOfAccountRepository.findPage(null, null, true, expected))
+                .thenReturn(new PageImpl<>(Arrays.asList(testAccount), expected, 11));
+
+        PageResponse<ChartOfAccountResponse> response = chartOfAccountService.getAccounts(null, null, true,
+                PageQuery.builder().page(1).size(10).sort("-section").build());
+
+        assertEquals(1, response.getContent().size());
+        assertEquals("1000", response.getContent().get(0).getAccountCode());
+        assertEquals(11L, response.getTotalElements());
+        assertEquals(2, response.getTotalPages());
+        assertFalse(response.getHasNext());
+        assertEquals("-section,accountId", response.getSort());
+    }
+
+    @Test
+    void getChartOfAccounts_RejectsUnlistedSortAndOversizedPages() {
+        assertThrows(InvalidTransactionException.class, () -> chartOfAccountService.getAccounts(null, null, null,
+                PageQuery.builder().sort("currency").build()));
+        assertThrows(InvalidTransactionException.class, () -> chartOfAccountService.getAccounts(null, null, null,
+                PageQuery.builder().size(501).build()));
+        verifyNoInteractions(chartOfAccountRepository);
+    }
 
-        List<ChartOfAccountResponse> responses = chartOfAccountService.getAllAccounts();
+    @Test
+    void getChartOfAccounts_UnpagedRejectedAboveLimit() {
+        when(chartOfAccountRepository.findPage(isNull(), isNull(), isNull(), any(Pageable.class)))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(testAccount, testAccount),
+                        invocation.getArgument(3), 3));
 
-        assertNotNull(responses);
-        assertEquals(1, responses.size());
-        assertEquals("1000", responses.get(0).getAccountCode());
+        assertThrows(InvalidTransactionException.class, () -> chartOfAccountService.getAccounts(null, null, null,
+                PageQuery.builder().unpaged(true).build()));
     }
 
     @Test
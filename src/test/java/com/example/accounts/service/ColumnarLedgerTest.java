@@ -0,0 +1,109 @@
+package com.example.accounts.service;
+
+import com.example.accounts.entity.enums.CubeDimension;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarLedgerTest {
+
+    private static final int JAN_10 = (int) LocalDate.of(2035, 1, 10).toEpochDay();
+    private static final int JAN_20 = (int) LocalDate.of(2035, 1, 20).toEpochDay();
+    private static final int FEB_05 = (int) LocalDate.of(2035, 2, 5).toEpochDay();
+
+    @Test
+    void aggregate_GroupsByDimensionsAndFilters() {
+        ColumnarLedger ledger = new ColumnarLedger();
+        ledger.append(List.of(
+                entry(1, JAN_10, "WH-1", 10_000, 20_000),
+                entry(2, JAN_20, "WH-2", 5_000, 10_000),
+                entry(3, FEB_05, "WH-1", 2_500, 0)));
+
+        assertEquals(6, ledger.size());
+        assertEquals(3, ledger.entryCount());
+
+        List<ColumnarLedger.Group> byWarehouseAndPeriod = ledger.aggregate(
+                new ColumnarLedger.Filter(Integer.MIN_VALUE, Integer.MAX_VALUE, accounts(10), ColumnarLedger.ANY,
+                        ColumnarLedger.ANY, null, null),
+                EnumSet.of(CubeDimension.WAREHOUSE, CubeDimension.YEAR, CubeDimension.PERIOD)).stream()
+                .sorted(Comparator.comparing(ColumnarLedger.Group::period)
+                        .thenComparing(ColumnarLedger.Group::warehouse))
+                .toList();
+        assertEquals(3, byWarehouseAndPeriod.size());
+        assertEquals("WH-1", byWarehouseAndPeriod.get(0).warehouse());
+        assertEquals(2035, byWarehouseAndPeriod.get(0).year());
+        assertEquals(1, byWarehouseAndPeriod.get(0).period());
+        assertEquals(10_000, byWarehouseAndPeriod.get(0).debitMinor());
+        assertEquals(20_000, byWarehouseAndPeriod.get(0).quantityMinor());
+        assertEquals(2, byWarehouseAndPeriod.get(2).period());
+
+        // Date filters are exact days, not months
+        List<ColumnarLedger.Group> total = ledger.aggregate(
+                new ColumnarLedger.Filter(JAN_20, FEB_05, null, ColumnarLedger.ANY, ColumnarLedger.ANY, null, null),
+                Set.of());
+        assertEquals(1, total.size());
+        assertEquals(7_500, total.get(0).debitMinor());
+        assertEquals(7_500, total.get(0).creditMinor());
+
+        assertTrue(ledger.aggregate(new ColumnarLedger.Filter(Integer.MIN_VALUE, Integer.MAX_VALUE, null,
+                ColumnarLedger.ANY, ColumnarLedger.ANY, "WH-9", null), Set.of()).isEmpty());
+    }
+
+    @Test
+    void append_SkipsEntriesAlreadyPresent() {
+        ColumnarLedger ledger = new ColumnarLedger();
+        ledger.markEntry(7);
+        ledger.addRow(10, 0, 0, JAN_10, null, null, 1_000, 0, 0);
+        ledger.addRow(20, 0, 0, JAN_10, null, null, 0, 1_000, 0);
+        // Rows added by a bulk load stay invisible until published
+        assertEquals(0, ledger.size());
+        ledger.publish();
+
+        assertEquals(1, ledger.append(List.of(entry(7, JAN_10, null, 1_000, 0), entry(8, JAN_20, null, 500, 0))));
+        assertEquals(4, ledger.size());
+
+        List<ColumnarLedger.Group> byAccount = ledger.aggregate(ColumnarLedger.Filter.all(),
+                EnumSet.of(CubeDimension.ACCOUNT));
+        assertEquals(2, byAccount.size());
+        assertEquals(1_500, byAccount.stream().filter(g -> g.accountId() == 10).findFirst().orElseThrow()
+                .debitMinor());
+    }
+
+    @Test
+    void aggregate_SplitsLargeScansAcrossTasks() {
+        ColumnarLedger ledger = new ColumnarLedger();
+        for (int id = 1; id <= 50_000; id++) {
+            ledger.markEntry(id);
+            ledger.addRow(10, id % 3, 0, JAN_10 + id % 40, null, null, 100, 0, 0);
+            ledger.addRow(20, id % 3, 0, JAN_10 + id % 40, null, null, 0, 100, 0);
+        }
+        ledger.publish();
+
+        List<ColumnarLedger.Group> byCompany = ledger.aggregate(ColumnarLedger.Filter.all(),
+                EnumSet.of(CubeDimension.COMPANY));
+        assertEquals(3, byCompany.size());
+        assertEquals(5_000_000, byCompany.stream().mapToLong(ColumnarLedger.Group::debitMinor).sum());
+        assertEquals(5_000_000, byCompany.stream().mapToLong(ColumnarLedger.Group::creditMinor).sum());
+    }
+
+    private static ColumnarLedger.Entry entry(long id, int day, String warehouse, long amount, long quantity) {
+        return new ColumnarLedger.Entry(id, List.of(
+                new ColumnarLedger.Line(10, 1, 5, day, warehouse, null, amount, 0, quantity),
+                new ColumnarLedger.Line(20, 1, 0, day, null, null, 0, amount, 0)));
+    }
+
+    private static BitSet accounts(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+}
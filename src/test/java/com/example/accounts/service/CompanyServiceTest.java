@@ -10,14 +10,14 @@ import com.example.accounts.entity.enums.CompanyType;
 import com.example.accounts.exception.DuplicateResourceException;
 import com.example.accounts.repository.ChartOfAccountRepository;
 import com.example.accounts.repository.CompanyRepository;
+import com.example.accounts.repository.ItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,7 +32,12 @@ class CompanyServiceTest {
     @Mock
     private ChartOfAccountRepository chartOfAccountRepository;
 
-    @InjectMocks
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private PostingPlanCache postingPlanCache;
+
     private CompanyService companyService;
 
     private Company testCompany;
@@ -41,6 +46,10 @@ class CompanyServiceTest {
 
     @BeforeEach
     void setUp() {
+        companyService = new CompanyService(companyRepository,
+                new ReferenceResolver(chartOfAccountRepository, itemRepository, companyRepository),
+                new PagingPolicy(50, 500, 5000), postingPlanCache);
+
         arAccount = ChartOfAccount.builder()
                 .accountId(1L)
                 .accountCode("1100")
@@ -75,7 +84,7 @@ class CompanyServiceTest {
     @Test
     void createCompany_Success() {
         when(companyRepository.existsByCode("CUST001")).thenReturn(false);
-        when(chartOfAccountRepository.findById(1L)).thenReturn(Optional.of(arAccount));
+        when(chartOfAccountRepository.findAllById(any())).thenReturn(List.of(arAccount));
         when(companyRepository.save(any(Company.class))).thenReturn(testCompany);
 
         CompanyResponse response = companyService.createCompany(testRequest);
@@ -0,0 +1,153 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.CashFlowLineItemDTO;
+import com.example.accounts.dto.CashFlowStatementDTO;
+import com.example.accounts.dto.ConsolidatedCashFlowPeriodDTO;
+import com.example.accounts.dto.ConsolidatedCashFlowRequest;
+import com.example.accounts.dto.ConsolidatedCashFlowStatementDTO;
+import com.example.accounts.dto.ConsolidatedEquityRequest;
+import com.example.accounts.dto.ConsolidatedEquityStatementDTO;
+import com.example.accounts.dto.EquityRowDTO;
+import com.example.accounts.dto.EquityStatementDTO;
+import com.example.accounts.exception.InvalidTransactionException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsolidatedStatementServiceTest {
+
+    @Mock
+    private EquityStatementService equityStatementService;
+
+    @Mock
+    private CashFlowStatementService cashFlowStatementService;
+
+    @Test
+    void consolidateEquity_RunsCompanyYearSlicesWithinThePermitsAndMergesColumns() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(equityStatementService.generateStatement(anyInt(), anyInt(), anyString())).thenAnswer(invocation -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } finally {
+                running.decrementAndGet();
+            }
+            int year = invocation.getArgument(0);
+            String company = invocation.getArgument(2);
+            return equityStatement(year, company.equals("Alpha") ? "100.00" : "40.00");
+        });
+
+        ConsolidatedEquityStatementDTO statement = service(2).consolidateEquity(ConsolidatedEquityRequest.builder()
+                .companies(List.of("Alpha", "Beta", "Gamma", "Alpha"))
+                .startYear(2040)
+                .endYear(2041)
+                .build());
+
+        assertEquals(6, statement.getSlices());
+        assertTrue(peak.get() <= 2, "at most two slices at once, saw " + peak.get());
+        assertEquals(List.of("Alpha", "Beta", "Gamma"), statement.getCompanies());
+        assertEquals(List.of("opening_2040", "header_2040", "opening_2041", "header_2041"),
+                statement.getRows().stream().map(EquityRowDTO::getRowId).toList());
+        EquityRowDTO opening = statement.getRows().get(2);
+        assertEquals(0, new BigDecimal("100.00").compareTo(opening.getValue("Alpha")));
+        assertEquals(0, new BigDecimal("40.00").compareTo(opening.getValue("Gamma")));
+        assertEquals(0, new BigDecimal("180.00").compareTo(opening.getValue("TOTAL")));
+        assertTrue(statement.getRows().get(1).getValues().isEmpty());
+    }
+
+    @Test
+    void consolidateCashFlow_MergesItemsPerEntityAndPeriod() {
+        LocalDate q1Start = LocalDate.of(2040, 1, 1);
+        LocalDate q1End = LocalDate.of(2040, 3, 31);
+        when(cashFlowStatementService.generateStatement(any(), any(), anyString())).thenAnswer(invocation -> {
+            LocalDate start = invocation.getArgument(0);
+            String entity = invocation.getArgument(2);
+            boolean first = start.equals(q1Start);
+            return cashFlowStatement(start, invocation.getArgument(1), entity.equals("North")
+                    ? List.of(line("SALES", "INFLOW", first ? "500" : "700", 1), line("RENT", "OUTFLOW", "200", 5))
+                    : List.of(line("FEES", "INFLOW", "30", 2)));
+        });
+
+        ConsolidatedCashFlowStatementDTO statement = service(4).consolidateCashFlow(ConsolidatedCashFlowRequest
+                .builder()
+                .entities(List.of("North", "South"))
+                .periods(List.of(new ConsolidatedCashFlowRequest.Period(q1Start, q1End),
+                        new ConsolidatedCashFlowRequest.Period(LocalDate.of(2040, 4, 1), LocalDate.of(2040, 6, 30))))
+                .build());
+
+        assertEquals(4, statement.getSlices());
+        assertEquals(2, statement.getPeriods().size());
+        ConsolidatedCashFlowPeriodDTO q2 = statement.getPeriods().get(1);
+        assertEquals(List.of("SALES", "FEES"), q2.getInflowItems().stream().map(line -> line.getItemCode()).toList());
+        assertEquals(Map.of("North", new BigDecimal("700"), "South", BigDecimal.ZERO, "TOTAL", new BigDecimal("700")),
+                q2.getInflowItems().get(0).getAmounts());
+        assertEquals(0, new BigDecimal("730").compareTo(q2.getTotalInflow().get("TOTAL")));
+        assertEquals(0, new BigDecimal("530").compareTo(q2.getNetFlow().get("TOTAL")));
+        assertEquals(0, new BigDecimal("330").compareTo(statement.getPeriods().get(0).getNetFlow().get("TOTAL")));
+    }
+
+    @Test
+    void consolidate_RejectsMissingCompaniesAndTooManySlices() {
+        ConsolidatedStatementService service = service(2);
+
+        assertThrows(InvalidTransactionException.class, () -> service.consolidateEquity(
+                ConsolidatedEquityRequest.builder().companies(List.of()).startYear(2040).endYear(2041).build()));
+        assertThrows(InvalidTransactionException.class, () -> service.consolidateEquity(
+                ConsolidatedEquityRequest.builder().companies(List.of("A", "B")).startYear(2000).endYear(2010)
+                        .build()));
+        verifyNoInteractions(equityStatementService);
+    }
+
+    private ConsolidatedStatementService service(int concurrentSlices) {
+        return new ConsolidatedStatementService(equityStatementService, cashFlowStatementService,
+                concurrentSlices, 20);
+    }
+
+    private static EquityStatementDTO equityStatement(int year, String totalEquity) {
+        EquityRowDTO opening = new EquityRowDTO();
+        opening.setRowId("opening_" + year);
+        opening.addValue("TOTAL", new BigDecimal(totalEquity));
+        EquityRowDTO header = new EquityRowDTO();
+        header.setRowId("header_" + year);
+
+        EquityStatementDTO statement = new EquityStatementDTO();
+        statement.setCurrency("Dirham (UAE)");
+        statement.setRows(List.of(opening, header));
+        return statement;
+    }
+
+    private static CashFlowStatementDTO cashFlowStatement(LocalDate start, LocalDate end,
+            List<CashFlowLineItemDTO> lines) {
+        CashFlowStatementDTO statement = new CashFlowStatementDTO();
+        statement.setStartDate(start);
+        statement.setEndDate(end);
+        statement.setInflowItems(lines.stream().filter(line -> "INFLOW".equals(line.getFlowType())).toList());
+        statement.setOutflowItems(lines.stream().filter(line -> "OUTFLOW".equals(line.getFlowType())).toList());
+        statement.calculateTotals();
+        return statement;
+    }
+
+    private static CashFlowLineItemDTO line(String code, String flowType, String amount, int displayOrder) {
+        return CashFlowLineItemDTO.builder()
+                .itemCode(code)
+                .flowType(flowType)
+                .amount(new BigDecimal(amount))
+                .displayOrder(displayOrder)
+                .build();
+    }
+}
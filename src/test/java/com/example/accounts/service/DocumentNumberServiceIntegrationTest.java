@@ -0,0 +1,104 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.exception.InvalidTransactionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a test transaction: blocks are reserved in transactions of their own, so the
+ * sequence rows of the test years are committed and removed again after each test.
+ */
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+class DocumentNumberServiceIntegrationTest {
+
+    @Autowired
+    private DocumentSequenceAllocator allocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The pool hands out connections with auto-commit off
+        transaction.executeWithoutResult(status -> jdbcTemplate.update(
+                "DELETE FROM document_sequences WHERE fiscal_year BETWEEN 2041 AND 2043"));
+    }
+
+    @Test
+    void blockMode_HandsOutNumbersFromReservedBlocks() {
+        DocumentNumberService numbering = new DocumentNumberService(allocator, 3, false);
+
+        List<String> numbers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            numbers.add(numbering.nextInvoiceNumber(7L, DocumentType.CUSTOMER_INVOICE, LocalDate.of(2041, 3, 1)));
+        }
+
+        assertEquals(List.of("INV-CI-2041-7-000001", "INV-CI-2041-7-000002", "INV-CI-2041-7-000003",
+                "INV-CI-2041-7-000004"), numbers);
+        // Two blocks of three were reserved, the second once half of the first was used
+        assertEquals(7L, nextValue("INV", 7L, DocumentType.CUSTOMER_INVOICE, 2041));
+
+        // Sequences are independent per company, document type and fiscal year
+        assertEquals("INV-CI-2042-7-000001",
+                numbering.nextInvoiceNumber(7L, DocumentType.CUSTOMER_INVOICE, LocalDate.of(2042, 1, 1)));
+        assertEquals("JE-JE-2041-000001",
+                numbering.nextJournalEntryNumber(null, DocumentType.JOURNAL_ENTRY, LocalDate.of(2041, 3, 1)));
+    }
+
+    @Test
+    void gaplessMode_TakesEachNumberInTheCallersTransaction() {
+        DocumentNumberService numbering = new DocumentNumberService(allocator, 1000, true);
+
+        transaction.executeWithoutResult(status -> {
+            assertEquals("INV-SI-2043-000001",
+                    numbering.nextInvoiceNumber(null, DocumentType.SUPPLIER_INVOICE, LocalDate.of(2043, 5, 1)));
+            assertEquals("INV-SI-2043-000002",
+                    numbering.nextInvoiceNumber(null, DocumentType.SUPPLIER_INVOICE, LocalDate.of(2043, 5, 1)));
+        });
+        assertEquals(3L, nextValue("INV", 0L, DocumentType.SUPPLIER_INVOICE, 2043));
+    }
+
+    @Test
+    void clientNumbers_InTheServerFormatAreRejected() {
+        assertTrue(DocumentNumberService.isServerNumber("INV", "INV-CI-2041-7-000001"));
+        assertTrue(DocumentNumberService.isServerNumber("JE", "JE-JV-2041-1000000"));
+        assertFalse(DocumentNumberService.isServerNumber("JE", "INV-CI-2041-000001"));
+        assertFalse(DocumentNumberService.isServerNumber("INV", "INV-2041-0001"));
+
+        assertThrows(InvalidTransactionException.class,
+                () -> DocumentNumberService.checkClientNumber("PAY", "PAY-RV-2041-000003"));
+        assertDoesNotThrow(() -> DocumentNumberService.checkClientNumber("PAY", "BANK-2041-000003"));
+    }
+
+    private long nextValue(String series, long companyId, DocumentType documentType, int fiscalYear) {
+        return jdbcTemplate.queryForObject("SELECT next_value FROM document_sequences WHERE series = ? "
+                + "AND company_id = ? AND document_type = ? AND fiscal_year = ?", Long.class,
+                series, companyId, documentType.name(), fiscalYear);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.CursorPageResponse;
+import com.example.accounts.dto.DocumentSearchQuery;
+import com.example.accounts.dto.JournalEntryLineRequest;
+import com.example.accounts.dto.JournalEntryRequest;
+import com.example.accounts.dto.JournalEntrySummaryResponse;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class DocumentSearchServiceIntegrationTest {
+
+    @Autowired
+    private DocumentSearchService documentSearchService;
+
+    @Autowired
+    private JournalEntryService journalEntryService;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Test
+    void searchJournalEntries_MatchesWildcardsInTheReferenceLiterallyAndPagesByCursor() {
+        create("SRCH-001", LocalDate.of(2045, 3, 1), "REF_1%A");
+        create("SRCH-002", LocalDate.of(2045, 3, 2), "REF_1%B");
+        create("SRCH-003", LocalDate.of(2045, 3, 3), "REFX1%C");
+        create("SRCH-004", LocalDate.of(2045, 3, 4), "REF_1XD");
+
+        CursorPageResponse<JournalEntrySummaryResponse> first = documentSearchService.searchJournalEntries(null,
+                DocumentSearchQuery.builder().reference("REF_1%").size(1).build());
+        assertEquals(List.of("SRCH-002"), numbers(first));
+        assertTrue(first.getHasMore());
+
+        CursorPageResponse<JournalEntrySummaryResponse> second = documentSearchService.searchJournalEntries(null,
+                DocumentSearchQuery.builder().reference("REF_1%").size(1).cursor(first.getNextCursor()).build());
+        assertEquals(List.of("SRCH-001"), numbers(second));
+        assertFalse(second.getHasMore());
+        assertNull(second.getNextCursor());
+
+        assertThrows(InvalidTransactionException.class, () -> documentSearchService.searchJournalEntries(null,
+                DocumentSearchQuery.builder().cursor("not-a-cursor").build()));
+    }
+
+    private static List<String> numbers(CursorPageResponse<JournalEntrySummaryResponse> page) {
+        return page.getContent().stream().map(JournalEntrySummaryResponse::getEntryNumber).toList();
+    }
+
+    private void create(String number, LocalDate date, String reference) {
+        Long debitAccountId = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow().getAccountId();
+        Long creditAccountId = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow().getAccountId();
+        journalEntryService.createJournalEntry(JournalEntryRequest.builder()
+                .entryNumber(number)
+                .entryDate(date)
+                .documentType(DocumentType.JOURNAL_ENTRY)
+                .description("Search test " + number)
+                .referenceNumber(reference)
+                .lines(List.of(
+                        JournalEntryLineRequest.builder()
+                                .lineNumber(1)
+                                .accountId(debitAccountId)
+                                .debitAmount(BigDecimal.TEN)
+                                .creditAmount(BigDecimal.ZERO)
+                                .build(),
+                        JournalEntryLineRequest.builder()
+                                .lineNumber(2)
+                                .accountId(creditAccountId)
+                                .debitAmount(BigDecimal.ZERO)
+                                .creditAmount(BigDecimal.TEN)
+                                .build()))
+                .build());
+    }
+}
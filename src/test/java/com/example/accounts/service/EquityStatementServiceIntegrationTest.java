@@ -0,0 +1,141 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.EquityRowDTO;
+import com.example.accounts.dto.EquityStatementDTO;
+import com.example.accounts.dto.EquityTransactionRequest;
+import com.example.accounts.dto.EquityYearBalanceRebuildResponse;
+import com.example.accounts.entity.EquityAccount;
+import com.example.accounts.repository.EquityAccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class EquityStatementServiceIntegrationTest {
+
+    @Autowired
+    private EquityStatementService equityStatementService;
+
+    @Autowired
+    private EquityYearBalanceService equityYearBalanceService;
+
+    @Autowired
+    private EquityAccountRepository equityAccountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long capitalId;
+    private Long reserveId;
+
+    @BeforeEach
+    void setUp() {
+        capitalId = account("EQ-CAP", "EQ_TEST_CAPITAL", 1);
+        reserveId = account("EQ-RES", "EQ_TEST_RESERVE", 2);
+
+        transaction(capitalId, 2039, "ISSUE_ORDINARY_SHARES", "1000.00");
+        transaction(capitalId, 2040, "ISSUE_ORDINARY_SHARES", "500.00");
+        transaction(reserveId, 2040, "PROFIT_FOR_YEAR", "300.00");
+        transaction(reserveId, 2040, "PROFIT_FOR_YEAR", "20.00");
+        transaction(reserveId, 2040, "OCI_FAIR_VALUE", "40.00");
+        transaction(reserveId, 2041, "DIVIDENDS", "-100.00");
+        // Not shown on a row of its own but still part of the balance
+        transaction(reserveId, 2041, "OPENING_BALANCE", "7.00");
+        // Unposted transactions stay out of the rollup
+        equityStatementService.createTransaction(request(capitalId, 2040, "ISSUE_ORDINARY_SHARES", "9000.00"));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void generateStatement_PivotsTheRangeFromTwoGroupedQueries() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        EquityStatementDTO statement = equityStatementService.generateStatement(2040, 2041, null);
+
+        // Equity accounts, year/type totals and balances before the range
+        assertEquals(3, statistics.getPrepareStatementCount());
+        Map<String, EquityRowDTO> rows = statement.getRows().stream()
+                .collect(Collectors.toMap(EquityRowDTO::getRowId, Function.identity()));
+
+        assertAmount("1000.00", rows.get("opening_2040"), "EQ_TEST_CAPITAL");
+        assertAmount("500.00", rows.get("issue_shares_2040"), "EQ_TEST_CAPITAL");
+        assertAmount("320.00", rows.get("profit_year_2040"), "EQ_TEST_RESERVE");
+        assertAmount("40.00", rows.get("total_oci_2040"), "EQ_TEST_RESERVE");
+        assertAmount("360.00", rows.get("total_comprehensive_2040"), "EQ_TEST_RESERVE");
+        assertAmount("1500.00", rows.get("closing_2040"), "EQ_TEST_CAPITAL");
+        assertAmount("360.00", rows.get("closing_2040"), "EQ_TEST_RESERVE");
+
+        assertAmount("360.00", rows.get("opening_2041"), "EQ_TEST_RESERVE");
+        assertAmount("-100.00", rows.get("dividends_2041"), "EQ_TEST_RESERVE");
+        assertAmount("267.00", rows.get("closing_2041"), "EQ_TEST_RESERVE");
+        assertAmount("1767.00", rows.get("closing_2041"), "TOTAL");
+        assertAmount("0", rows.get("oci_benefit_2041"), "EQ_TEST_CAPITAL");
+    }
+
+    @Test
+    void rebuild_ReproducesTheIncrementallyMaintainedRollup() {
+        EquityStatementDTO maintained = equityStatementService.generateStatement(2039, 2041, null);
+
+        EquityYearBalanceRebuildResponse response = equityYearBalanceService.rebuild();
+
+        // One row per posted account, year and type
+        assertEquals(6, response.getInsertedRows());
+        assertTrue(response.getDeletedRows() >= 6);
+        EquityStatementDTO rebuilt = equityStatementService.generateStatement(2039, 2041, null);
+        assertEquals(maintained.getRows(), rebuilt.getRows());
+    }
+
+    private static void assertAmount(String expected, EquityRowDTO row, String column) {
+        assertEquals(0, new BigDecimal(expected).compareTo(row.getValues().get(column)),
+                row.getRowId() + " " + column);
+    }
+
+    private Long account(String code, String accountType, int displayOrder) {
+        EquityAccount account = new EquityAccount();
+        account.setCode(code);
+        account.setName(code);
+        account.setAccountType(accountType);
+        account.setDisplayOrder(displayOrder);
+        account.setIsActive(true);
+        return equityAccountRepository.save(account).getEquityAccountId();
+    }
+
+    private void transaction(Long accountId, int year, String type, String amount) {
+        Long transactionId = equityStatementService.createTransaction(request(accountId, year, type, amount))
+                .getTransactionId();
+        equityStatementService.postTransaction(transactionId);
+    }
+
+    private static EquityTransactionRequest request(Long accountId, int year, String type, String amount) {
+        EquityTransactionRequest request = new EquityTransactionRequest();
+        request.setTransactionDate(LocalDate.of(year, 6, 30));
+        request.setEquityAccountId(accountId);
+        request.setTransactionType(type);
+        request.setAmount(new BigDecimal(amount));
+        request.setFiscalYear(year);
+        return request;
+    }
+}
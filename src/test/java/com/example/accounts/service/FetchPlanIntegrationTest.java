@@ -0,0 +1,232 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.CompanyGLAccountRequest;
+import com.example.accounts.dto.CompanyRequest;
+import com.example.accounts.dto.CompanyResponse;
+import com.example.accounts.dto.CursorPageResponse;
+import com.example.accounts.dto.DocumentSearchQuery;
+import com.example.accounts.dto.InvoiceLineRequest;
+import com.example.accounts.dto.InvoiceRequest;
+import com.example.accounts.dto.InvoiceResponse;
+import com.example.accounts.dto.InvoiceSummaryResponse;
+import com.example.accounts.dto.ItemGLAccountRequest;
+import com.example.accounts.dto.ItemRequest;
+import com.example.accounts.dto.ItemResponse;
+import com.example.accounts.dto.JournalEntryLineRequest;
+import com.example.accounts.dto.JournalEntryRequest;
+import com.example.accounts.dto.JournalEntrySummaryResponse;
+import com.example.accounts.dto.PageQuery;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.Invoice;
+import com.example.accounts.entity.enums.CompanyType;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import com.example.accounts.entity.enums.ItemType;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class FetchPlanIntegrationTest {
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private JournalEntryService journalEntryService;
+
+    @Autowired
+    private DocumentSearchService documentSearchService;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private static final PageQuery PAGE = PageQuery.builder().size(20).build();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        ChartOfAccount first = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow();
+        ChartOfAccount second = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow();
+
+        for (int i = 1; i <= 5; i++) {
+            CompanyResponse company = companyService.createCompany(CompanyRequest.builder()
+                    .code("FP-C" + i)
+                    .name("Fetch plan company " + i)
+                    .companyType(CompanyType.BOTH)
+                    .glAccounts(CompanyGLAccountRequest.builder()
+                            .accountsReceivableId(first.getAccountId())
+                            .accountsPayableId(second.getAccountId())
+                            .build())
+                    .build());
+
+            ItemResponse item = itemService.createItem(ItemRequest.builder()
+                    .code("FP-I" + i)
+                    .description("Fetch plan item " + i)
+                    .itemType(ItemType.SERVICE)
+                    .glAccounts(ItemGLAccountRequest.builder()
+                            .glAccountId(first.getAccountId())
+                            .salesRevenueAccountId(second.getAccountId())
+                            .build())
+                    .build());
+
+            invoiceService.createInvoice(InvoiceRequest.builder()
+                    .invoiceNumber("FP-INV-" + i)
+                    .invoiceDate(LocalDate.of(2034, 1, i))
+                    .documentType(DocumentType.CUSTOMER_INVOICE)
+                    .companyId(company.getCompanyId())
+                    .lines(List.of(InvoiceLineRequest.builder()
+                            .lineNumber(1)
+                            .itemId(item.getItemId())
+                            .description("Fetch plan line " + i)
+                            .quantity(BigDecimal.ONE)
+                            .unitPrice(new BigDecimal("10.00"))
+                            .build()))
+                    .build());
+
+            journalEntryService.createJournalEntry(JournalEntryRequest.builder()
+                    .entryNumber("FP-JE-" + i)
+                    .entryDate(LocalDate.of(2034, 1, i))
+                    .documentType(DocumentType.JOURNAL_ENTRY)
+                    .description("Fetch plan entry " + i)
+                    .lines(Arrays.asList(
+                            JournalEntryLineRequest.builder()
+                                    .lineNumber(1)
+                                    .accountId(first.getAccountId())
+                                    .companyId(company.getCompanyId())
+                                    .warehouse("FP-WH-" + (i % 2))
+                                    .debitAmount(new BigDecimal("10.00"))
+                                    .creditAmount(BigDecimal.ZERO)
+                                    .build(),
+                            JournalEntryLineRequest.builder()
+                                    .lineNumber(2)
+                                    .accountId(second.getAccountId())
+                                    .itemId(item.getItemId())
+                                    .debitAmount(BigDecimal.ZERO)
+                                    .creditAmount(new BigDecimal("10.00"))
+                                    .build()))
+                    .build());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listReads_UseConstantNumberOfStatements() {
+        // Collection graphs are paged by id first, then fetched in one query
+        assertEquals(2, countStatements(() -> journalEntryService.getJournalEntries(null, null, null, PAGE)));
+        assertEquals(2, countStatements(() -> invoiceService.getInvoices(null, null, null, null, null, PAGE)));
+        assertEquals(1, countStatements(() -> companyService.getCompanies(null, null, PAGE)));
+        assertEquals(1, countStatements(() -> itemService.getItems(null, null, null, PAGE)));
+    }
+
+    @Test
+    void detailReads_LoadAggregateInOneStatement() {
+        Long invoiceId = invoiceService.getInvoices(null, null, null, null, null, PAGE)
+                .getContent().get(0).getInvoiceId();
+        Long journalEntryId = journalEntryService.getJournalEntries(null, null, null, PAGE)
+                .getContent().get(0).getJournalEntryId();
+        Long companyId = companyService.getCompanies(null, null, PAGE).getContent().get(0).getCompanyId();
+        Long itemId = itemService.getItems(null, null, null, PAGE).getContent().get(0).getItemId();
+
+        assertEquals(1, countStatements(() -> invoiceService.getInvoiceById(invoiceId)));
+        assertEquals(1, countStatements(() -> journalEntryService.getJournalEntryById(journalEntryId)));
+        assertEquals(1, countStatements(() -> companyService.getCompanyById(companyId)));
+        assertEquals(1, countStatements(() -> itemService.getItemById(itemId)));
+    }
+
+    @Test
+    void batchPosting_PostsAllInvoicesInOneTransaction() {
+        List<Long> invoiceIds = invoiceService.getInvoices(null, null, null, null, null, PAGE).getContent().stream()
+                .map(InvoiceResponse::getInvoiceId)
+                .toList();
+
+        List<Invoice> posted = invoiceService.postInvoices(invoiceIds, "tester");
+
+        assertEquals(5, posted.size());
+        // Posted in date order, each with its own balanced journal entry
+        assertEquals("FP-INV-1", posted.get(0).getInvoiceNumber());
+        for (Invoice invoice : posted) {
+            assertTrue(invoice.getIsPosted());
+            assertNotNull(invoice.getJournalEntry().getJournalEntryId());
+            assertTrue(invoice.getJournalEntry().isBalanced());
+            assertEquals(invoice.getInvoiceNumber(), invoice.getJournalEntry().getReferenceNumber());
+        }
+        assertThrows(InvalidTransactionException.class, () -> invoiceService.postInvoices(invoiceIds, "tester"));
+    }
+
+    @Test
+    void search_PagesByKeysetInOneStatementPerPage() {
+        List<CursorPageResponse<InvoiceSummaryResponse>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            DocumentSearchQuery query = DocumentSearchQuery.builder().reference("FP-INV-").cursor(cursor).size(2).build();
+            assertEquals(1, countStatements(() -> pages.add(documentSearchService.searchInvoices(InvoiceStatus.DRAFT, query))));
+            cursor = pages.get(pages.size() - 1).getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(3, pages.size());
+        assertEquals(List.of("FP-INV-5", "FP-INV-4", "FP-INV-3", "FP-INV-2", "FP-INV-1"), pages.stream()
+                .flatMap(page -> page.getContent().stream())
+                .map(InvoiceSummaryResponse::getInvoiceNumber)
+                .toList());
+        assertEquals("FP-C5", pages.get(0).getContent().get(0).getCompanyCode());
+        assertFalse(pages.get(2).getHasMore());
+
+        // Warehouse is matched on any line of the entry
+        CursorPageResponse<JournalEntrySummaryResponse> entries = documentSearchService.searchJournalEntries(null,
+                DocumentSearchQuery.builder()
+                        .warehouse("FP-WH-1")
+                        .from(LocalDate.of(2034, 1, 1))
+                        .to(LocalDate.of(2034, 1, 31))
+                        .minAmount(new BigDecimal("10.00"))
+                        .build());
+        assertEquals(List.of("FP-JE-5", "FP-JE-3", "FP-JE-1"), entries.getContent().stream()
+                .map(JournalEntrySummaryResponse::getEntryNumber)
+                .toList());
+        assertThrows(InvalidTransactionException.class, () -> documentSearchService.searchInvoices(null,
+                DocumentSearchQuery.builder().cursor("not-a-cursor").build()));
+    }
+
+    private long countStatements(Runnable read) {
+        entityManager.clear();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.InvoiceBatchPostRequest;
+import com.example.accounts.dto.InvoiceBatchPostResponse;
+import com.example.accounts.dto.InvoicePostingResultDTO;
+import com.example.accounts.entity.Company;
+import com.example.accounts.entity.Invoice;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.InvoiceRepository;
+import com.example.accounts.repository.InvoiceRepository.PostingCandidate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceBatchPostingServiceTest {
+
+    private static final Map<Long, Long> COMPANY_BY_INVOICE = Map.of(1L, 10L, 2L, 10L, 3L, 10L, 4L, 20L);
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void postBatch_PartitionsByCompanyAndReplaysFailedChunks() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(invoiceRepository.findPostingCandidates(InvoiceStatus.DRAFT, null, null, LocalDate.of(2036, 1, 1), null))
+                .thenReturn(List.of(candidate(1L, InvoiceStatus.DRAFT), candidate(2L, InvoiceStatus.DRAFT),
+                        candidate(3L, InvoiceStatus.DRAFT), candidate(4L, InvoiceStatus.DRAFT)));
+        when(invoiceService.postInvoices(anyCollection(), eq("billing"))).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            if (ids.contains(2L)) {
+                throw new InvalidTransactionException("Item GL accounts not configured for: Widget");
+            }
+            return ids.stream().map(InvoiceBatchPostingServiceTest::postedInvoice).toList();
+        });
+
+        InvoiceBatchPostResponse response = service(4).postBatch(InvoiceBatchPostRequest.builder()
+                .fromDate(LocalDate.of(2036, 1, 1))
+                .chunkSize(2)
+                .build(), "billing");
+
+        assertEquals(4, response.getRequested());
+        assertEquals(3, response.getPosted());
+        assertEquals(1, response.getFailed());
+        assertEquals(2, response.getPartitions());
+        assertEquals(3, response.getChunks());
+
+        Map<Long, InvoicePostingResultDTO> results = response.getResults().stream()
+                .collect(Collectors.toMap(InvoicePostingResultDTO::getInvoiceId, r -> r));
+        assertTrue(results.get(1L).isPosted());
+        assertEquals("JE-1", results.get(1L).getJournalEntryNumber());
+        assertFalse(results.get(2L).isPosted());
+        assertEquals(10L, results.get(2L).getCompanyId());
+        assertEquals("Item GL accounts not configured for: Widget", results.get(2L).getError());
+        assertTrue(results.get(3L).isPosted());
+        assertTrue(results.get(4L).isPosted());
+        // Each company's invoices are posted in order on one lane
+        verify(invoiceService).postInvoices(List.of(1L, 2L), "billing");
+        verify(invoiceService).postInvoices(List.of(3L), "billing");
+        verify(invoiceService).postInvoices(List.of(4L), "billing");
+    }
+
+    @Test
+    void postBatch_ReportsRequestedIdsThatCannotBePosted() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(invoiceRepository.findPostingCandidatesByInvoiceIdIn(List.of(1L, 5L, 4L)))
+                .thenReturn(List.of(candidate(1L, InvoiceStatus.DRAFT), candidate(4L, InvoiceStatus.POSTED)));
+        when(invoiceService.postInvoices(List.of(1L), "billing")).thenReturn(List.of(postedInvoice(1L)));
+
+        InvoiceBatchPostResponse response = service(4).postBatch(InvoiceBatchPostRequest.builder()
+                .invoiceIds(List.of(1L, 5L, 4L, 1L))
+                .build(), "billing");
+
+        assertEquals(3, response.getRequested());
+        assertEquals(1, response.getPosted());
+        List<InvoicePostingResultDTO> failed = response.getResults().stream()
+                .filter(r -> !r.isPosted())
+                .sorted(Comparator.comparing(InvoicePostingResultDTO::getInvoiceId))
+                .toList();
+        assertEquals("Invoice is not a draft: POSTED", failed.get(0).getError());
+        assertEquals("Invoice not found", failed.get(1).getError());
+        verify(invoiceService, times(1)).postInvoices(anyCollection(), any());
+    }
+
+    @Test
+    void postBatch_RequiresIdsOrFilter() {
+        assertThrows(InvalidTransactionException.class,
+                () -> service(4).postBatch(new InvoiceBatchPostRequest(), "billing"));
+        verifyNoInteractions(invoiceService);
+    }
+
+    private InvoiceBatchPostingService service(int lanes) {
+        return new InvoiceBatchPostingService(invoiceRepository, invoiceService, new PostingRetryPolicy(3, 0, 0),
+                transactionManager, 200, lanes);
+    }
+
+    private static Invoice postedInvoice(Long id) {
+        return Invoice.builder()
+                .invoiceId(id)
+                .invoiceNumber("INV-" + id)
+                .company(Company.builder().companyId(COMPANY_BY_INVOICE.get(id)).build())
+                .journalEntry(JournalEntry.builder().journalEntryId(100 + id).entryNumber("JE-" + id).build())
+                .build();
+    }
+
+    private static PostingCandidate candidate(Long id, InvoiceStatus status) {
+        return new PostingCandidate() {
+            @Override
+            public Long getInvoiceId() {
+                return id;
+            }
+
+            @Override
+            public Long getCompanyId() {
+                return COMPANY_BY_INVOICE.get(id);
+            }
+
+            @Override
+            public InvoiceStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Boolean getIsPosted() {
+                return status != InvoiceStatus.DRAFT;
+            }
+        };
+    }
+}
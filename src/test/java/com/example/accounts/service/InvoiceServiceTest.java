@@ -11,17 +11,20 @@ import com.example.accounts.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,7 +45,18 @@ class InvoiceServiceTest {
     @Mock
     private ChartOfAccountRepository chartOfAccountRepository;
 
-    @InjectMocks
+    @Mock
+    private AccountBalanceService accountBalanceService;
+
+    @Mock
+    private DocumentNumberService documentNumberService;
+
+    @Mock
+    private AgingReportService agingReportService;
+
+    @Mock
+    private PostingPlanCache postingPlanCache;
+
     private InvoiceService invoiceService;
 
     private Company customer;
@@ -54,6 +68,11 @@ class InvoiceServiceTest {
 
     @BeforeEach
     void setUp() {
+        invoiceService = new InvoiceService(invoiceRepository,
+                new ReferenceResolver(chartOfAccountRepository, itemRepository, companyRepository),
+                journalEntryRepository, accountBalanceService, new PagingPolicy(50, 500, 5000), documentNumberService,
+                agingReportService, postingPlanCache, chartOfAccountRepository);
+
         // Setup GL Accounts
         arAccount = ChartOfAccount.builder()
                 .accountId(1L)
@@ -125,8 +144,8 @@ class InvoiceServiceTest {
     @Test
     void createInvoice_Success() {
         when(invoiceRepository.existsByInvoiceNumber("INV-001")).thenReturn(false);
-        when(companyRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(companyRepository.findAllById(any())).thenReturn(List.of(customer));
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
         when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> {
             Invoice inv = invocation.getArgument(0);
             inv.setInvoiceId(1L);
@@ -184,23 +203,34 @@ class InvoiceServiceTest {
         invoice.calculateTotals();
 
         when(invoiceRepository.findById(1L)).thenReturn(Optional.of(invoice));
+        when(postingPlanCache.plans(any(), any())).thenReturn(plans(true, true));
+        when(chartOfAccountRepository.getReferenceById(anyLong())).thenAnswer(invocation -> Map.of(
+                1L, arAccount, 2L, revenueAccount, 3L, vatAccount).get(invocation.<Long>getArgument(0)));
         when(journalEntryRepository.save(any(JournalEntry.class))).thenAnswer(invocation -> {
             JournalEntry je = invocation.getArgument(0);
             je.setJournalEntryId(1L);
             return je;
         });
         when(invoiceRepository.save(any(Invoice.class))).thenReturn(invoice);
+        when(documentNumberService.nextJournalEntryNumber(any(), eq(DocumentType.CUSTOMER_INVOICE), any()))
+                .thenReturn("JE-CI-2024-1-000001");
 
         InvoiceResponse response = invoiceService.postInvoice(1L, "admin");
 
         assertNotNull(response);
+        assertEquals("JE-CI-2024-1-000001", response.getJournalEntryNumber());
         assertTrue(response.getIsPosted());
         assertNotNull(response.getJournalEntryId());
         assertEquals(InvoiceStatus.POSTED, response.getStatus());
 
-        // Verify journal entry was created
+        // The invoice is claimed (version checked) before its journal entry is created
+        verify(invoiceRepository, times(1)).saveAndFlush(invoice);
+        // Verify journal entry was created and rolled into the period balances
         verify(journalEntryRepository, times(1)).save(any(JournalEntry.class));
+        verify(accountBalanceService, times(1)).applyPosting(any(JournalEntry.class));
         verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        // Lines are built from the planned account IDs
+        verify(chartOfAccountRepository, times(3)).getReferenceById(anyLong());
     }
 
     @Test
@@ -220,9 +250,25 @@ class InvoiceServiceTest {
     }
 
     @Test
-    void postInvoice_NoCompanyGLAccounts_ThrowsException() {
-        customer.setCompanyGLAccount(null);
+    void postInvoices_DuplicateIds_LoadsEachInvoiceOnce() {
+        Invoice postedInvoice = Invoice.builder()
+                .invoiceId(1L)
+                .invoiceDate(LocalDate.of(2025, 1, 15))
+                .company(customer)
+                .isPosted(true)
+                .build();
+
+        when(invoiceRepository.findWithDetailsByInvoiceIdIn(any())).thenReturn(List.of(postedInvoice));
+
+        // Counted once, so the batch gets as far as the posted check instead of failing the lookup
+        assertThrows(InvalidTransactionException.class, () -> invoiceService.postInvoices(List.of(1L, 1L), "admin"));
+
+        verify(invoiceRepository).findWithDetailsByInvoiceIdIn(Set.of(1L));
+        verify(journalEntryRepository, never()).saveAll(any());
+    }
 
+    @Test
+    void postInvoice_NoCompanyGLAccounts_ThrowsException() {
         InvoiceLine line = InvoiceLine.builder()
                 .item(item)
                 .quantity(new BigDecimal("10"))
@@ -238,6 +284,7 @@ class InvoiceServiceTest {
         invoice.addLine(line);
 
         when(invoiceRepository.findById(1L)).thenReturn(Optional.of(invoice));
+        when(postingPlanCache.plans(any(), any())).thenReturn(plans(false, true));
 
         assertThrows(InvalidTransactionException.class, () -> {
             invoiceService.postInvoice(1L, "admin");
@@ -246,8 +293,6 @@ class InvoiceServiceTest {
 
     @Test
     void postInvoice_NoItemGLAccounts_ThrowsException() {
-        item.setItemGLAccount(null);
-
         InvoiceLine line = InvoiceLine.builder()
                 .item(item)
                 .quantity(new BigDecimal("10"))
@@ -263,6 +308,7 @@ class InvoiceServiceTest {
         invoice.addLine(line);
 
         when(invoiceRepository.findById(1L)).thenReturn(Optional.of(invoice));
+        when(postingPlanCache.plans(any(), any())).thenReturn(plans(true, false));
 
         assertThrows(InvalidTransactionException.class, () -> {
             invoiceService.postInvoice(1L, "admin");
@@ -293,4 +339,10 @@ class InvoiceServiceTest {
         // Net = 900 + 135 = 1035
         assertEquals(new BigDecimal("1035.00"), line.getNetAmount());
     }
+
+    private PostingPlanCache.PostingPlans plans(boolean company, boolean item) {
+        return new PostingPlanCache.PostingPlans(
+                company ? Map.of(1L, new PostingPlanCache.CompanyPlan(1L, 1L, null, null, null)) : Map.of(),
+                item ? Map.of(1L, new PostingPlanCache.ItemPlan(1L, 2L, 3L, null, null, null)) : Map.of());
+    }
 }
@@ -9,14 +9,15 @@ import com.example.accounts.entity.ItemGLAccount;
 import com.example.accounts.entity.enums.ItemType;
 import com.example.accounts.exception.DuplicateResourceException;
 import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.CompanyRepository;
 import com.example.accounts.repository.ItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,7 +33,12 @@ class ItemServiceTest {
     @Mock
     private ChartOfAccountRepository chartOfAccountRepository;
 
-    @InjectMocks
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @Mock
+    private PostingPlanCache postingPlanCache;
+
     private ItemService itemService;
 
     private Item testItem;
@@ -41,6 +47,10 @@ class ItemServiceTest {
 
     @BeforeEach
     void setUp() {
+        itemService = new ItemService(itemRepository,
+                new ReferenceResolver(chartOfAccountRepository, itemRepository, companyRepository),
+                new PagingPolicy(50, 500, 5000), postingPlanCache);
+
         revenueAccount = ChartOfAccount.builder()
                 .accountId(1L)
                 .accountCode("4000")
@@ -75,7 +85,7 @@ class ItemServiceTest {
     @Test
     void createItem_Success() {
         when(itemRepository.existsByCode("ITEM001")).thenReturn(false);
-        when(chartOfAccountRepository.findById(1L)).thenReturn(Optional.of(revenueAccount));
+        when(chartOfAccountRepository.findAllById(any())).thenReturn(List.of(revenueAccount));
         when(itemRepository.save(any(Item.class))).thenReturn(testItem);
 
         ItemResponse response = itemService.createItem(testRequest);
@@ -100,7 +110,7 @@ class ItemServiceTest {
 
     @Test
     void getItemById_Success() {
-        when(itemRepository.findById(1L)).thenReturn(Optional.of(testItem));
+        when(itemRepository.findWithGLAccountsByItemId(1L)).thenReturn(Optional.of(testItem));
 
         ItemResponse response = itemService.getItemById(1L);
 
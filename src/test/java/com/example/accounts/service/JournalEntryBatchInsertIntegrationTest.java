@@ -0,0 +1,79 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.JournalEntryLine;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.JournalEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class JournalEntryBatchInsertIntegrationTest {
+
+    private static final int LINE_COUNT = 40;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void saveMultiLineJournalEntry_BatchesLineInserts() {
+        ChartOfAccount debit = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow();
+        ChartOfAccount credit = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow();
+
+        JournalEntry journalEntry = JournalEntry.builder()
+                .entryNumber("BATCH-001")
+                .entryDate(LocalDate.of(2031, 5, 1))
+                .documentType(DocumentType.JOURNAL_ENTRY)
+                .description("Batch insert test")
+                .build();
+        for (int i = 0; i < LINE_COUNT; i++) {
+            boolean isDebit = i % 2 == 0;
+            journalEntry.addLine(JournalEntryLine.builder()
+                    .lineNumber(i + 1)
+                    .account(isDebit ? debit : credit)
+                    .debitAmount(isDebit ? BigDecimal.TEN : BigDecimal.ZERO)
+                    .creditAmount(isDebit ? BigDecimal.ZERO : BigDecimal.TEN)
+                    .build());
+        }
+        journalEntry.calculateTotals();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        journalEntryRepository.save(journalEntry);
+        entityManager.flush();
+
+        assertEquals(LINE_COUNT + 1, statistics.getEntityInsertCount());
+        // One statement for the header and one batched statement for all lines;
+        // IDENTITY ids would need one statement per row
+        assertEquals(2, statistics.getPrepareStatementCount(),
+                "Expected batched inserts but prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertNotNull(journalEntry.getJournalEntryId());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.BulkImportError;
+import com.example.accounts.dto.BulkImportResponse;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.JournalEntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class JournalEntryImportServiceIntegrationTest {
+
+    @Autowired
+    private JournalEntryImportService importService;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    private Long debitAccountId;
+    private Long creditAccountId;
+
+    @BeforeEach
+    void setUp() {
+        ChartOfAccount debit = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow();
+        ChartOfAccount credit = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow();
+        debitAccountId = debit.getAccountId();
+        creditAccountId = credit.getAccountId();
+    }
+
+    @Test
+    void importNdjson_ImportsValidEntriesAndReportsInvalidRows() throws Exception {
+        String ndjson = entryJson("IMP-001", "100.00", "100.00", debitAccountId) + "\n"
+                + entryJson("IMP-002", "100.00", "90.00", debitAccountId) + "\n"
+                + "{not json\n"
+                + entryJson("IMP-003", "5.00", "5.00", 999999L) + "\n"
+                + entryJson("IMP-001", "1.00", "1.00", debitAccountId) + "\n"
+                + entryJson("IMP-004", "25.00", "25.00", debitAccountId) + "\n";
+
+        BulkImportResponse response = importService.importNdjson(new StringReader(ndjson), 2, "tester");
+
+        assertEquals(6, response.getEntriesRead());
+        assertEquals(2, response.getEntriesImported());
+        assertEquals(4, response.getLinesImported());
+        assertEquals(4, response.getEntriesRejected());
+        assertEquals(2L, response.getErrors().get(0).getRowNumber());
+        assertTrue(response.getErrors().get(0).getMessage().contains("not balanced"));
+        assertTrue(response.getErrors().stream().anyMatch(e -> e.getMessage().contains("Account not found with id: 999999")));
+        // The repeated number is in a later chunk, after the first one was imported
+        assertTrue(response.getErrors().stream().anyMatch(e -> e.getMessage().contains("number already exists: IMP-001")));
+
+        JournalEntry imported = journalEntryRepository.findByEntryNumber("IMP-004").orElseThrow();
+        assertEquals(JournalEntryStatus.DRAFT, imported.getStatus());
+        assertEquals(0, new BigDecimal("25.00").compareTo(imported.getTotalDebit()));
+        assertEquals(2, imported.getLines().size());
+    }
+
+    @Test
+    void importNdjson_RejectsANumberRepeatedWithinAChunk() throws Exception {
+        String ndjson = entryJson("IMP-010", "1.00", "1.00", debitAccountId) + "\n"
+                + entryJson("IMP-010", "2.00", "2.00", debitAccountId) + "\n";
+
+        BulkImportResponse response = importService.importNdjson(new StringReader(ndjson), null, "tester");
+
+        assertEquals(1, response.getEntriesImported());
+        assertEquals(1, response.getEntriesRejected());
+        assertEquals(2L, response.getErrors().get(0).getRowNumber());
+        assertEquals("Duplicate entry number in file: IMP-010", response.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void importCsv_GroupsConsecutiveRowsIntoEntries() throws Exception {
+        String csv = "entryNumber,entryDate,documentType,description,accountId,debitAmount,creditAmount,lineDescription\n"
+                + "CSV-001,2031-04-01,JOURNAL_ENTRY,\"Opening, part 1\"," + debitAccountId + ",10.00,0,first\n"
+                + "CSV-001,2031-04-01,JOURNAL_ENTRY,\"Opening, part 1\"," + creditAccountId + ",0,10.00,second\n"
+                + "CSV-002,2031-04-02,JOURNAL_ENTRY,Bad amount," + debitAccountId + ",abc,0,\n"
+                + "CSV-002,2031-04-02,JOURNAL_ENTRY,Bad amount," + creditAccountId + ",0,1.00,\n";
+
+        BulkImportResponse response = importService.importCsv(new StringReader(csv), null, "tester");
+
+        assertEquals(4, response.getRowsRead());
+        assertEquals(1, response.getEntriesImported());
+        assertEquals(1, response.getEntriesRejected());
+        assertEquals(4L, response.getErrors().get(0).getRowNumber());
+
+        JournalEntry imported = journalEntryRepository.findByEntryNumber("CSV-001").orElseThrow();
+        assertEquals("Opening, part 1", imported.getDescription());
+        assertEquals(2, imported.getLines().size());
+    }
+
+    @Test
+    void importCsv_RejectsEachRowWithoutAnEntryNumberOnItsOwn() throws Exception {
+        String csv = "entryNumber,entryDate,documentType,description,accountId,debitAmount,creditAmount\n"
+                + ",2031-04-03,JOURNAL_ENTRY,No number," + debitAccountId + ",5.00,0\n"
+                + ",2031-04-03,JOURNAL_ENTRY,No number," + creditAccountId + ",0,5.00\n"
+                + "CSV-003,2031-04-03,JOURNAL_ENTRY,Numbered," + debitAccountId + ",5.00,0\n"
+                + "CSV-003,2031-04-03,JOURNAL_ENTRY,Numbered," + creditAccountId + ",0,5.00\n";
+
+        BulkImportResponse response = importService.importCsv(new StringReader(csv), null, "tester");
+
+        assertEquals(1, response.getEntriesImported());
+        assertEquals(2, response.getEntriesRejected());
+        assertEquals(List.of(2L, 3L), response.getErrors().stream().map(BulkImportError::getRowNumber).toList());
+        assertEquals("Entry number is required", response.getErrors().get(1).getMessage());
+    }
+
+    private String entryJson(String number, String debit, String credit, Long debitAccount) {
+        return "{\"entryNumber\":\"" + number + "\",\"entryDate\":\"2031-04-01\",\"documentType\":\"JOURNAL_ENTRY\","
+                + "\"description\":\"Import " + number + "\",\"lines\":["
+                + "{\"accountId\":" + debitAccount + ",\"debitAmount\":" + debit + ",\"creditAmount\":0},"
+                + "{\"accountId\":" + creditAccountId + ",\"debitAmount\":0,\"creditAmount\":" + credit + "}]}";
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.BulkReversalRequest;
+import com.example.accounts.dto.BulkReversalResponse;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.JournalEntryLine;
+import com.example.accounts.entity.enums.JournalEntryStatus;
+import com.example.accounts.repository.JournalEntryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JournalEntryReversalServiceTest {
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private JournalEntryService journalEntryService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void reverseMatching_RetriesAFailedChunkEntryByEntryAndReportsTheFailures() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(journalEntryRepository.findReversibleIds(eq(JournalEntryStatus.POSTED), eq(0L), eq("BULK"), any(), any(),
+                any(), any(), any())).thenReturn(List.of(1L, 2L, 3L));
+        when(journalEntryRepository.findWithDetailsByJournalEntryIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(JournalEntryReversalServiceTest::posted).toList();
+        });
+        when(journalEntryService.reverse(anyList(), any(), eq("tester"))).thenAnswer(invocation -> {
+            List<JournalEntry> originals = invocation.getArgument(0);
+            if (originals.stream().anyMatch(entry -> entry.getJournalEntryId() == 2L)) {
+                throw new DataIntegrityViolationException("Duplicate entry number");
+            }
+            return originals.stream().map(entry -> entry.reversal("JE-R-" + entry.getJournalEntryId(),
+                    entry.getEntryDate(), "tester")).toList();
+        });
+        when(journalEntryRepository.findById(2L)).thenReturn(Optional.of(posted(2L)));
+
+        BulkReversalResponse response = new JournalEntryReversalService(journalEntryRepository, journalEntryService,
+                transactionManager).reverseMatching(BulkReversalRequest.builder()
+                .referencePrefix("BULK")
+                .chunkSize(5)
+                .build(), "tester");
+
+        assertEquals(1, response.getChunks());
+        assertEquals(2, response.getEntriesReversed());
+        assertEquals(2, response.getLinesReversed());
+        assertEquals(1, response.getEntriesFailed());
+        assertEquals(1, response.getErrors().size());
+        assertEquals("JE-2", response.getErrors().get(0).getEntryNumber());
+        assertEquals("Duplicate entry number", response.getErrors().get(0).getMessage());
+        // The whole chunk once, then each entry on its own
+        verify(journalEntryService, times(4)).reverse(anyList(), any(), eq("tester"));
+    }
+
+    private static JournalEntry posted(Long id) {
+        JournalEntry entry = JournalEntry.builder()
+                .journalEntryId(id)
+                .entryNumber("JE-" + id)
+                .entryDate(LocalDate.of(2034, 1, 10))
+                .status(JournalEntryStatus.POSTED)
+                .totalDebit(BigDecimal.TEN)
+                .totalCredit(BigDecimal.TEN)
+                .build();
+        entry.addLine(JournalEntryLine.builder()
+                .lineNumber(1)
+                .debitAmount(BigDecimal.TEN)
+                .creditAmount(BigDecimal.ZERO)
+                .build());
+        return entry;
+    }
+}
@@ -7,21 +7,23 @@ import com.example.accounts.entity.*;
 import com.example.accounts.entity.enums.*;
 import com.example.accounts.exception.DuplicateResourceException;
 import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,7 +41,12 @@ class JournalEntryServiceTest {
     @Mock
     private ItemRepository itemRepository;
 
-    @InjectMocks
+    @Mock
+    private AccountBalanceService accountBalanceService;
+
+    @Mock
+    private DocumentNumberService documentNumberService;
+
     private JournalEntryService journalEntryService;
 
     private ChartOfAccount debitAccount;
@@ -49,6 +56,10 @@ class JournalEntryServiceTest {
 
     @BeforeEach
     void setUp() {
+        journalEntryService = new JournalEntryService(journalEntryRepository,
+                new ReferenceResolver(chartOfAccountRepository, itemRepository, companyRepository),
+                accountBalanceService, new PagingPolicy(50, 500, 5000), documentNumberService);
+
         debitAccount = ChartOfAccount.builder()
                 .accountId(1L)
                 .accountCode("1000")
@@ -115,8 +126,7 @@ class JournalEntryServiceTest {
     @Test
     void createJournalEntry_Balanced_Success() {
         when(journalEntryRepository.existsByEntryNumber("JE-001")).thenReturn(false);
-        when(chartOfAccountRepository.findById(1L)).thenReturn(Optional.of(debitAccount));
-        when(chartOfAccountRepository.findById(2L)).thenReturn(Optional.of(creditAccount));
+        when(chartOfAccountRepository.findAllById(any())).thenReturn(List.of(debitAccount, creditAccount));
         when(journalEntryRepository.save(any(JournalEntry.class))).thenAnswer(invocation -> {
             JournalEntry je = invocation.getArgument(0);
             je.setJournalEntryId(1L);
@@ -133,11 +143,38 @@ class JournalEntryServiceTest {
         verify(journalEntryRepository, times(1)).save(any(JournalEntry.class));
     }
 
+    @Test
+    void createJournalEntry_WithoutNumber_AssignsServerNumber() {
+        balancedRequest.setEntryNumber(null);
+        when(documentNumberService.nextJournalEntryNumber(null, DocumentType.JOURNAL_ENTRY,
+                balancedRequest.getEntryDate())).thenReturn("JE-JE-2024-000001");
+        when(chartOfAccountRepository.findAllById(any())).thenReturn(List.of(debitAccount, creditAccount));
+        when(journalEntryRepository.save(any(JournalEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        JournalEntryResponse response = journalEntryService.createJournalEntry(balancedRequest);
+
+        assertEquals("JE-JE-2024-000001", response.getEntryNumber());
+        verify(journalEntryRepository, never()).existsByEntryNumber(any());
+    }
+
+    @Test
+    void createJournalEntry_MissingAccounts_ReportsAllMissingIds() {
+        when(journalEntryRepository.existsByEntryNumber("JE-001")).thenReturn(false);
+        when(chartOfAccountRepository.findAllById(any())).thenReturn(List.of());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+            journalEntryService.createJournalEntry(balancedRequest);
+        });
+
+        assertEquals("Accounts not found with ids: [1, 2]", exception.getMessage());
+        verify(chartOfAccountRepository, times(1)).findAllById(any());
+        verify(journalEntryRepository, never()).save(any(JournalEntry.class));
+    }
+
     @Test
     void createJournalEntry_Unbalanced_ThrowsException() {
         when(journalEntryRepository.existsByEntryNumber("JE-002")).thenReturn(false);
-        when(chartOfAccountRepository.findById(1L)).thenReturn(Optional.of(debitAccount));
-        when(chartOfAccountRepository.findById(2L)).thenReturn(Optional.of(creditAccount));
+        when(chartOfAccountRepository.findAllById(any())).thenReturn(List.of(debitAccount, creditAccount));
 
         assertThrows(InvalidTransactionException.class, () -> {
             journalEntryService.createJournalEntry(unbalancedRequest);
@@ -168,7 +205,7 @@ class JournalEntryServiceTest {
                 .build();
 
         when(journalEntryRepository.findById(1L)).thenReturn(Optional.of(draftEntry));
-        when(journalEntryRepository.save(any(JournalEntry.class))).thenReturn(draftEntry);
+        when(journalEntryRepository.saveAndFlush(any(JournalEntry.class))).thenReturn(draftEntry);
 
         JournalEntryResponse response = journalEntryService.postJournalEntry(1L, "admin");
 
@@ -176,6 +213,7 @@ class JournalEntryServiceTest {
         assertEquals(JournalEntryStatus.POSTED, response.getStatus());
         assertNotNull(response.getPostedDate());
         assertEquals("admin", response.getPostedBy());
+        verify(accountBalanceService, times(1)).applyPosting(draftEntry);
     }
 
     @Test
@@ -190,21 +228,44 @@ class JournalEntryServiceTest {
         assertThrows(InvalidTransactionException.class, () -> {
             journalEntryService.postJournalEntry(1L, "admin");
         });
+
+        verify(accountBalanceService, never()).applyPosting(any(JournalEntry.class));
     }
 
     @Test
     void reverseJournalEntry_Success() {
         JournalEntry postedEntry = JournalEntry.builder()
                 .journalEntryId(1L)
+                .entryNumber("JE-001")
+                .entryDate(LocalDate.of(2024, 1, 15))
+                .documentType(DocumentType.JOURNAL_ENTRY)
+                .description("Test entry")
+                .totalDebit(new BigDecimal("100.00"))
+                .totalCredit(new BigDecimal("100.00"))
                 .status(JournalEntryStatus.POSTED)
                 .build();
+        postedEntry.addLine(JournalEntryLine.builder()
+                .lineNumber(1)
+                .account(debitAccount)
+                .debitAmount(new BigDecimal("100.00"))
+                .creditAmount(BigDecimal.ZERO)
+                .build());
 
-        when(journalEntryRepository.findById(1L)).thenReturn(Optional.of(postedEntry));
-        when(journalEntryRepository.save(any(JournalEntry.class))).thenReturn(postedEntry);
+        when(journalEntryRepository.findWithDetailsByJournalEntryId(1L)).thenReturn(Optional.of(postedEntry));
+        when(journalEntryRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(documentNumberService.nextJournalEntryNumber(null, DocumentType.JOURNAL_ENTRY, LocalDate.of(2024, 1, 15)))
+                .thenReturn("JE-JV-2024-000007");
 
         JournalEntryResponse response = journalEntryService.reverseJournalEntry(1L, "admin");
 
-        assertEquals(JournalEntryStatus.REVERSED, response.getStatus());
+        assertEquals("JE-JV-2024-000007", response.getEntryNumber());
+        assertEquals("Reversal of JE-001", response.getDescription());
+        assertEquals(JournalEntryStatus.POSTED, response.getStatus());
+        assertEquals(1L, response.getReversalOfId());
+        assertEquals(0, BigDecimal.ZERO.compareTo(response.getLines().get(0).getDebitAmount()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(response.getLines().get(0).getCreditAmount()));
+        assertEquals(JournalEntryStatus.REVERSED, postedEntry.getStatus());
+        verify(accountBalanceService, times(1)).applyPostings(anyList());
     }
 
     @Test
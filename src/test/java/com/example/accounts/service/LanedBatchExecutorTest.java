@@ -0,0 +1,42 @@
+package com.example.accounts.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LanedBatchExecutorTest {
+
+    @Test
+    void run_KeepsEachPartitionOnOneLaneInOrderAndReplaysFailedChunks() {
+        Map<String, Set<Long>> threadsByPartition = new ConcurrentHashMap<>();
+        LanedBatchExecutor executor = new LanedBatchExecutor(2, "Test batch");
+
+        LanedBatchExecutor.Result<String> result = executor.run(List.of(
+                        List.of("a1", "a2", "a3"),
+                        List.of("b1", "b2"),
+                        List.of("c1")),
+                2,
+                chunk -> {
+                    chunk.forEach(item -> threadsByPartition
+                            .computeIfAbsent(item.substring(0, 1), k -> ConcurrentHashMap.newKeySet())
+                            .add(Thread.currentThread().threadId()));
+                    if (chunk.contains("b2")) {
+                        throw new IllegalStateException("bad chunk");
+                    }
+                    return chunk.stream().map(item -> item + ":ok").toList();
+                },
+                item -> item.equals("b2") ? item + ":failed" : item + ":alone");
+
+        // Three items on the first lane, the other two partitions share the second
+        assertEquals(4, result.chunks());
+        assertEquals(List.of("a1:ok", "a2:ok", "a3:ok", "b1:alone", "b2:failed", "c1:ok"), result.results());
+        assertTrue(threadsByPartition.values().stream().allMatch(threads -> threads.size() == 1));
+        assertEquals(threadsByPartition.get("b"), threadsByPartition.get("c"));
+        assertNotEquals(threadsByPartition.get("a"), threadsByPartition.get("b"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.JournalEntryLineRequest;
+import com.example.accounts.dto.JournalEntryRequest;
+import com.example.accounts.dto.JournalEntryResponse;
+import com.example.accounts.dto.TurnoverCubeQuery;
+import com.example.accounts.dto.TurnoverCubeResponse;
+import com.example.accounts.dto.TurnoverCubeRowDTO;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.enums.CubeDimension;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.JournalEntryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs an enabled snapshot of its own next to the disabled application bean; it joins the test
+ * transaction, so it loads the entries posted here.
+ */
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class LedgerSnapshotServiceIntegrationTest {
+
+    @Autowired
+    private JournalEntryService journalEntryService;
+
+    @Autowired
+    private TurnoverCubeService turnoverCubeService;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ChartOfAccount debitAccount;
+    private ChartOfAccount creditAccount;
+    private LedgerSnapshotService snapshot;
+
+    @BeforeEach
+    void setUp() {
+        debitAccount = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow();
+        creditAccount = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow();
+        snapshot = new LedgerSnapshotService(jdbcTemplate, transactionManager, chartOfAccountRepository, true, 100,
+                10000);
+    }
+
+    @Test
+    void reloadAndAppend_AggregateLikeTheTurnoverCube() {
+        createAndPost("SNAP-001", LocalDate.of(2037, 4, 10), "100.00", "3", "WH-S");
+        createAndPost("SNAP-002", LocalDate.of(2037, 5, 2), "40.00", "1", "WH-S");
+        entityManager.flush();
+
+        snapshot.reload();
+        int loadedEntries = snapshot.getStats().getEntries();
+        assertTrue(snapshot.getStats().isLoaded());
+        assertSameRows(turnoverCubeService.slice(query()), snapshot.aggregate(query()));
+
+        JournalEntryResponse third = createAndPost("SNAP-003", LocalDate.of(2037, 5, 20), "25.00", "2", "WH-T");
+        appendAfterCommit(third.getJournalEntryId());
+
+        assertEquals(loadedEntries + 1, snapshot.getStats().getEntries());
+        TurnoverCubeResponse appended = snapshot.aggregate(query());
+        assertSameRows(turnoverCubeService.slice(query()), appended);
+        assertEquals(0, new BigDecimal("165.00").compareTo(appended.getTotalDebit()));
+
+        // Delivering the same entry again changes nothing
+        int lines = snapshot.getStats().getLines();
+        appendAfterCommit(third.getJournalEntryId());
+        assertEquals(lines, snapshot.getStats().getLines());
+    }
+
+    /**
+     * Hand a posted entry to the snapshot and run what its transaction would on commit
+     */
+    private void appendAfterCommit(Long journalEntryId) {
+        List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+        snapshot.onPosted(List.of(journalEntryRepository.findWithDetailsByJournalEntryId(journalEntryId)
+                .orElseThrow()));
+        TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(synchronization -> !registered.contains(synchronization))
+                .forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static void assertSameRows(TurnoverCubeResponse expected, TurnoverCubeResponse actual) {
+        assertEquals(expected.getRows().size(), actual.getRows().size());
+        for (int i = 0; i < expected.getRows().size(); i++) {
+            TurnoverCubeRowDTO want = expected.getRows().get(i);
+            TurnoverCubeRowDTO have = actual.getRows().get(i);
+            assertEquals(want.getAccountCode(), have.getAccountCode());
+            assertEquals(want.getWarehouse(), have.getWarehouse());
+            assertEquals(want.getFiscalYear(), have.getFiscalYear());
+            assertEquals(want.getFiscalPeriod(), have.getFiscalPeriod());
+            assertEquals(0, want.getDebitTurnover().compareTo(have.getDebitTurnover()));
+            assertEquals(0, want.getCreditTurnover().compareTo(have.getCreditTurnover()));
+            assertEquals(0, want.getQuantity().compareTo(have.getQuantity()));
+        }
+    }
+
+    private TurnoverCubeQuery query() {
+        // Whole months, so the cube's period filter and the snapshot's date filter select the same lines
+        return TurnoverCubeQuery.builder()
+                .dimensions(List.of(CubeDimension.ACCOUNT, CubeDimension.WAREHOUSE, CubeDimension.PERIOD))
+                .accountIds(List.of(debitAccount.getAccountId()))
+                .from(LocalDate.of(2037, 1, 1))
+                .to(LocalDate.of(2037, 12, 31))
+                .build();
+    }
+
+    private JournalEntryResponse createAndPost(String number, LocalDate date, String amount, String quantity,
+            String warehouse) {
+        JournalEntryLineRequest debitLine = JournalEntryLineRequest.builder()
+                .lineNumber(1)
+                .accountId(debitAccount.getAccountId())
+                .debitAmount(new BigDecimal(amount))
+                .creditAmount(BigDecimal.ZERO)
+                .quantity(new BigDecimal(quantity))
+                .warehouse(warehouse)
+                .build();
+
+        JournalEntryLineRequest creditLine = JournalEntryLineRequest.builder()
+                .lineNumber(2)
+                .accountId(creditAccount.getAccountId())
+                .debitAmount(BigDecimal.ZERO)
+                .creditAmount(new BigDecimal(amount))
+                .build();
+
+        JournalEntryResponse created = journalEntryService.createJournalEntry(JournalEntryRequest.builder()
+                .entryNumber(number)
+                .entryDate(date)
+                .documentType(DocumentType.JOURNAL_ENTRY)
+                .description("Snapshot test " + number)
+                .lines(List.of(debitLine, creditLine))
+                .build());
+
+        return journalEntryService.postJournalEntry(created.getJournalEntryId(), "tester");
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.BulkImportError;
+import com.example.accounts.dto.PaymentBatchResponse;
+import com.example.accounts.dto.PaymentRequest;
+import com.example.accounts.entity.Payment;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentBatchServiceTest {
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void importNdjson_PartitionsByCompanyAndReportsBadRows() throws Exception {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(paymentService.applyPayments(anyList(), eq("bank"))).thenAnswer(invocation -> {
+            List<PaymentRequest> requests = invocation.getArgument(0);
+            if (requests.stream().anyMatch(request -> "BAD".equals(request.getReference()))) {
+                throw new InvalidTransactionException("Invoice 99 is not an open AR invoice of company 10");
+            }
+            return requests.stream().map(PaymentBatchServiceTest::applied).toList();
+        });
+
+        String file = String.join("\n",
+                receipt(10, "100.00", "R-1"),
+                receipt(10, "50.00", "BAD"),
+                "{not json",
+                receipt(20, "25.00", "R-3"),
+                "",
+                "{\"paymentDate\":\"2038-05-01\",\"documentType\":\"RECEIPT_VOUCHER\",\"companyId\":20,\"bankAccountId\":5}");
+
+        PaymentBatchResponse response = service().importNdjson(new StringReader(file), 10, "bank");
+
+        assertEquals(5, response.getRowsRead());
+        assertEquals(2, response.getApplied());
+        assertEquals(3, response.getRejected());
+        assertEquals(0, new BigDecimal("125.00").compareTo(response.getAmountApplied()));
+        assertEquals(2, response.getPartitions());
+        assertEquals(List.of(2L, 3L, 6L), response.getErrors().stream().map(BulkImportError::getRowNumber).toList());
+        assertEquals("BAD", response.getErrors().get(0).getEntryNumber());
+        assertEquals("Amount is required", response.getErrors().get(2).getMessage());
+        // Company 10's chunk failed and was replayed one payment at a time
+        verify(paymentService, times(4)).applyPayments(anyList(), eq("bank"));
+    }
+
+    @Test
+    void importNdjson_RejectsChunkSizeOutOfRange() {
+        assertThrows(InvalidTransactionException.class,
+                () -> service().importNdjson(new StringReader(""), 0, "bank"));
+        verifyNoInteractions(paymentService);
+    }
+
+    private PaymentBatchService service() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        return new PaymentBatchService(paymentService, new PostingRetryPolicy(3, 0, 0), transactionManager,
+                objectMapper, validatorFactory.getValidator(), 500, 4);
+    }
+
+    private static String receipt(long companyId, String amount, String reference) {
+        return "{\"paymentDate\":\"2038-05-01\",\"documentType\":\"RECEIPT_VOUCHER\",\"companyId\":" + companyId
+                + ",\"amount\":" + amount + ",\"bankAccountId\":5,\"reference\":\"" + reference + "\"}";
+    }
+
+    private static Payment applied(PaymentRequest request) {
+        return Payment.builder()
+                .amount(request.getAmount())
+                .allocatedAmount(request.getAmount())
+                .build();
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.CompanyGLAccountRequest;
+import com.example.accounts.dto.CompanyRequest;
+import com.example.accounts.dto.InvoiceLineRequest;
+import com.example.accounts.dto.InvoiceRequest;
+import com.example.accounts.dto.ItemGLAccountRequest;
+import com.example.accounts.dto.ItemRequest;
+import com.example.accounts.dto.PaymentAllocationRequest;
+import com.example.accounts.dto.PaymentRequest;
+import com.example.accounts.dto.PaymentResponse;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.Invoice;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.entity.JournalEntryLine;
+import com.example.accounts.entity.enums.CompanyType;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.entity.enums.InvoiceStatus;
+import com.example.accounts.entity.enums.ItemType;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.InvoiceRepository;
+import com.example.accounts.repository.JournalEntryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class PaymentServiceIntegrationTest {
+
+    private static final LocalDate INVOICE_DATE = LocalDate.of(2038, 3, 1);
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private JournalEntryRepository journalEntryRepository;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private ChartOfAccount receivable;
+    private ChartOfAccount bank;
+    private Long customerId;
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        receivable = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow();
+        ChartOfAccount revenue = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow();
+        bank = chartOfAccountRepository.findByAccountCode("1010300").orElseThrow();
+
+        customerId = companyService.createCompany(CompanyRequest.builder()
+                .code("PAY-C1")
+                .name("Paying customer")
+                .companyType(CompanyType.BOTH)
+                .glAccounts(CompanyGLAccountRequest.builder()
+                        .accountsReceivableId(receivable.getAccountId())
+                        .accountsPayableId(revenue.getAccountId())
+                        .build())
+                .build()).getCompanyId();
+        itemId = itemService.createItem(ItemRequest.builder()
+                .code("PAY-I1")
+                .description("Payment item")
+                .itemType(ItemType.SERVICE)
+                .glAccounts(ItemGLAccountRequest.builder()
+                        .glAccountId(receivable.getAccountId())
+                        .salesRevenueAccountId(revenue.getAccountId())
+                        .build())
+                .build()).getItemId();
+    }
+
+    @Test
+    void applyPayment_AllocatesOldestDueFirstAndSettlesInvoices() {
+        Long later = invoice("PAY-INV-2", INVOICE_DATE.plusDays(60), "50.00");
+        Long oldest = invoice("PAY-INV-1", INVOICE_DATE.plusDays(30), "100.00");
+        Long explicit = invoice("PAY-INV-3", INVOICE_DATE.plusDays(10), "30.00");
+        invoiceService.postInvoices(List.of(later, oldest, explicit), "tester");
+
+        PaymentResponse targeted = paymentService.applyPayment(receipt("30.00")
+                .allocations(List.of(new PaymentAllocationRequest(explicit, new BigDecimal("30.00"))))
+                .build(), "cashier");
+        PaymentResponse fifo = paymentService.applyPayment(receipt("120.00").reference("BANK-0001").build(),
+                "cashier");
+
+        assertEquals(0, new BigDecimal("30.00").compareTo(targeted.getAllocatedAmount()));
+        assertEquals(2, fifo.getAllocations().size());
+        assertEquals("PAY-INV-1", fifo.getAllocations().get(0).getInvoiceNumber());
+        assertEquals(0, new BigDecimal("100.00").compareTo(fifo.getAllocations().get(0).getAmount()));
+        assertEquals(0, new BigDecimal("20.00").compareTo(fifo.getAllocations().get(1).getAmount()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(fifo.getUnallocatedAmount()));
+
+        entityManager.clear();
+        assertInvoice(oldest, InvoiceStatus.PAID, "100.00");
+        assertInvoice(later, InvoiceStatus.PARTIALLY_PAID, "20.00");
+        assertInvoice(explicit, InvoiceStatus.PAID, "30.00");
+
+        // DR bank, CR receivable
+        JournalEntry settlement = journalEntryRepository.findWithDetailsByJournalEntryId(fifo.getJournalEntryId())
+                .orElseThrow();
+        assertTrue(settlement.isBalanced());
+        assertEquals(DocumentType.RECEIPT_VOUCHER, settlement.getDocumentType());
+        assertEquals(fifo.getPaymentNumber(), settlement.getReferenceNumber());
+        JournalEntryLine bankLine = settlement.getLines().get(0);
+        assertEquals(bank.getAccountId(), bankLine.getAccount().getAccountId());
+        assertEquals(0, new BigDecimal("120.00").compareTo(bankLine.getDebitAmount()));
+        assertEquals(receivable.getAccountId(), settlement.getLines().get(1).getAccount().getAccountId());
+
+        assertEquals(2, paymentService.getPaymentById(fifo.getPaymentId()).getAllocations().size());
+    }
+
+    @Test
+    void applyPayment_RejectsOverpaymentWithoutAdvancesAccount() {
+        Long invoiceId = invoice("PAY-INV-4", INVOICE_DATE.plusDays(30), "40.00");
+        invoiceService.postInvoices(List.of(invoiceId), "tester");
+
+        assertThrows(InvalidTransactionException.class, () -> paymentService.applyPayment(receipt("30.00")
+                .allocations(List.of(new PaymentAllocationRequest(invoiceId, new BigDecimal("45.00"))))
+                .build(), "cashier"));
+        assertThrows(InvalidTransactionException.class,
+                () -> paymentService.applyPayment(receipt("50.00").build(), "cashier"));
+        assertThrows(InvalidTransactionException.class, () -> paymentService.applyPayment(receipt("10.00")
+                .documentType(DocumentType.CUSTOMER_INVOICE)
+                .build(), "cashier"));
+    }
+
+    private void assertInvoice(Long invoiceId, InvoiceStatus status, String paidAmount) {
+        Invoice invoice = invoiceRepository.findById(invoiceId).orElseThrow();
+        assertEquals(status, invoice.getStatus());
+        assertEquals(0, new BigDecimal(paidAmount).compareTo(invoice.getPaidAmount()));
+    }
+
+    private PaymentRequest.PaymentRequestBuilder receipt(String amount) {
+        return PaymentRequest.builder()
+                .paymentDate(INVOICE_DATE.plusDays(40))
+                .documentType(DocumentType.RECEIPT_VOUCHER)
+                .companyId(customerId)
+                .amount(new BigDecimal(amount))
+                .bankAccountId(bank.getAccountId());
+    }
+
+    private Long invoice(String number, LocalDate dueDate, String amount) {
+        return invoiceService.createInvoice(InvoiceRequest.builder()
+                .invoiceNumber(number)
+                .invoiceDate(INVOICE_DATE)
+                .dueDate(dueDate)
+                .documentType(DocumentType.CUSTOMER_INVOICE)
+                .companyId(customerId)
+                .lines(List.of(InvoiceLineRequest.builder()
+                        .lineNumber(1)
+                        .itemId(itemId)
+                        .quantity(BigDecimal.ONE)
+                        .unitPrice(new BigDecimal(amount))
+                        .build()))
+                .build()).getInvoiceId();
+    }
+}
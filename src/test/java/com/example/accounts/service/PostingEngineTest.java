@@ -0,0 +1,137 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.JournalEntryResponse;
+import com.example.accounts.entity.JournalEntry;
+import com.example.accounts.exception.InvalidTransactionException;
+import com.example.accounts.exception.PostingRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostingEngineTest {
+
+    @Mock
+    private JournalEntryService journalEntryService;
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    @Mock
+    private CashFlowStatementService cashFlowStatementService;
+
+    @Mock
+    private EquityStatementService equityStatementService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PostingEngine postingEngine;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (postingEngine != null) {
+            postingEngine.stop();
+        }
+    }
+
+    @Test
+    void concurrentPosts_ShareOneTransaction() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(journalEntryService.postJournalEntry(anyLong(), anyString()))
+                .thenAnswer(invocation -> JournalEntryResponse.builder()
+                        .journalEntryId(invocation.getArgument(0))
+                        .build());
+        postingEngine = startEngine(200);
+
+        List<CompletableFuture<JournalEntryResponse>> futures = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            futures.add(postingEngine.postJournalEntry(id, "tester"));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i + 1L, futures.get(i).get(5, TimeUnit.SECONDS).getJournalEntryId());
+        }
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void failingPost_RollsBackBatchAndOnlyFailsItsOwnCaller() throws Exception {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(journalEntryService.postJournalEntry(anyLong(), anyString()))
+                .thenAnswer(invocation -> JournalEntryResponse.builder()
+                        .journalEntryId(invocation.getArgument(0))
+                        .build());
+        when(journalEntryService.postJournalEntry(eq(2L), anyString()))
+                .thenThrow(new InvalidTransactionException("Journal entry is already posted"));
+        postingEngine = startEngine(200);
+
+        CompletableFuture<JournalEntryResponse> first = postingEngine.postJournalEntry(1L, "tester");
+        CompletableFuture<JournalEntryResponse> failing = postingEngine.postJournalEntry(2L, "tester");
+        CompletableFuture<JournalEntryResponse> third = postingEngine.postJournalEntry(3L, "tester");
+
+        assertEquals(1L, first.get(5, TimeUnit.SECONDS).getJournalEntryId());
+        assertEquals(3L, third.get(5, TimeUnit.SECONDS).getJournalEntryId());
+        ExecutionException error = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(InvalidTransactionException.class, error.getCause());
+
+        // One rolled-back batch, then one transaction per replayed request
+        verify(transactionManager, times(4)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void conflictingPost_IsRetriedInItsOwnTransaction() throws Exception {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        when(journalEntryService.postJournalEntry(eq(1L), anyString()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(JournalEntry.class, 1L))
+                .thenReturn(JournalEntryResponse.builder().journalEntryId(1L).build());
+        postingEngine = startEngine(0);
+
+        assertEquals(1L, postingEngine.postJournalEntry(1L, "tester").get(5, TimeUnit.SECONDS).getJournalEntryId());
+
+        // The rolled-back batch of one, then the successful retry
+        verify(journalEntryService, times(2)).postJournalEntry(eq(1L), anyString());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void fullQueue_RejectsNewPosts() {
+        postingEngine = new PostingEngine(journalEntryService, invoiceService, cashFlowStatementService,
+                equityStatementService, new PostingRetryPolicy(3, 0, 0), transactionManager,
+                true, 1, 64, 5, 0);
+        postingEngine.start();
+
+        postingEngine.postJournalEntry(1L, "tester");
+        assertThrows(PostingRejectedException.class, () -> postingEngine.postJournalEntry(2L, "tester"));
+    }
+
+    private PostingEngine startEngine(long lingerMs) {
+        PostingEngine engine = new PostingEngine(journalEntryService, invoiceService, cashFlowStatementService,
+                equityStatementService, new PostingRetryPolicy(3, 0, 0), transactionManager,
+                true, 100, 64, lingerMs, 1);
+        engine.start();
+        return engine;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.CompanyGLAccountRequest;
+import com.example.accounts.dto.CompanyRequest;
+import com.example.accounts.dto.ItemGLAccountRequest;
+import com.example.accounts.dto.ItemRequest;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.enums.CompanyType;
+import com.example.accounts.entity.enums.ItemType;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.ItemGLAccountRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a test transaction: plans are only cached from committed mappings, and the
+ * invalidation has to commit while a posting transaction is open.
+ */
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+class PostingPlanCacheIntegrationTest {
+
+    @Autowired
+    private PostingPlanCache postingPlanCache;
+
+    @Autowired
+    private CompanyService companyService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemGLAccountRepository itemGLAccountRepository;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transaction;
+    private ChartOfAccount first;
+    private ChartOfAccount second;
+    private ChartOfAccount third;
+    private final List<Long> companyIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        first = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow();
+        second = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow();
+        third = chartOfAccountRepository.findByAccountCode("1010300").orElseThrow();
+
+        transaction.executeWithoutResult(status -> {
+            for (int i = 1; i <= 2; i++) {
+                companyIds.add(companyService.createCompany(CompanyRequest.builder()
+                        .code("PPC-C" + i)
+                        .name("Posting plan company " + i)
+                        .companyType(CompanyType.BOTH)
+                        .glAccounts(CompanyGLAccountRequest.builder()
+                                .accountsReceivableId(first.getAccountId())
+                                .accountsPayableId(second.getAccountId())
+                                .build())
+                        .build()).getCompanyId());
+                itemIds.add(itemService.createItem(itemRequest(i, second)).getItemId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            itemIds.forEach(itemService::deleteItem);
+            companyIds.forEach(companyService::deleteCompany);
+        });
+    }
+
+    @Test
+    void postingPlans_AreCachedUntilAMappingChanges() {
+        PostingPlanCache.PostingPlans plans = postingPlanCache.plans(companyIds, itemIds);
+        assertEquals(first.getAccountId(), plans.company(companyIds.get(0)).receivableAccountId());
+        assertEquals(second.getAccountId(), plans.item(itemIds.get(0)).revenueAccountId());
+
+        // A change that bypasses the services is not seen: both plans come from the cache
+        transaction.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE item_gl_accounts SET sales_revenue_account_id = ? WHERE item_id IN (?, ?)",
+                first.getAccountId(), itemIds.get(0), itemIds.get(1)));
+        assertEquals(second.getAccountId(),
+                postingPlanCache.plans(List.of(), itemIds).item(itemIds.get(1)).revenueAccountId());
+
+        transaction.executeWithoutResult(status -> itemService.updateItem(itemIds.get(0), itemRequest(1, third)));
+
+        // Only the changed item is reloaded
+        plans = postingPlanCache.plans(List.of(), itemIds);
+        assertEquals(third.getAccountId(), plans.item(itemIds.get(0)).revenueAccountId());
+        assertEquals(second.getAccountId(), plans.item(itemIds.get(1)).revenueAccountId());
+    }
+
+    @Test
+    void postingPlans_MissLoadedInAnOlderSnapshotSeesTheCommittedChange() {
+        Long itemId = itemIds.get(0);
+        TransactionTemplate posting = new TransactionTemplate(transactionManager);
+        posting.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        TransactionTemplate change = new TransactionTemplate(transactionManager);
+        change.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Long revenueAccountId = posting.execute(status -> {
+            // The posting transaction reads the mapping before it changes...
+            assertEquals(second.getAccountId(),
+                    itemGLAccountRepository.findPostingAccounts(List.of(itemId)).get(0).getSalesRevenueId());
+
+            // ...another transaction changes it and commits, invalidating the plan...
+            change.executeWithoutResult(inner -> itemService.updateItem(itemId, itemRequest(1, third)));
+
+            // ...and the plan the posting transaction then misses on is not its stale snapshot
+            return postingPlanCache.plans(List.of(), List.of(itemId)).item(itemId).revenueAccountId();
+        });
+
+        assertEquals(third.getAccountId(), revenueAccountId);
+        assertEquals(third.getAccountId(),
+                postingPlanCache.plans(List.of(), List.of(itemId)).item(itemId).revenueAccountId());
+    }
+
+    private static ItemRequest itemRequest(int i, ChartOfAccount revenue) {
+        return ItemRequest.builder()
+                .code("PPC-I" + i)
+                .description("Posting plan item " + i)
+                .itemType(ItemType.SERVICE)
+                .glAccounts(ItemGLAccountRequest.builder()
+                        .salesRevenueAccountId(revenue.getAccountId())
+                        .build())
+                .build();
+    }
+}
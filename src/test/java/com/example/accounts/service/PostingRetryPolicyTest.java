@@ -0,0 +1,68 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.PostingRetryStatsResponse;
+import com.example.accounts.entity.Invoice;
+import com.example.accounts.exception.InvalidTransactionException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingRetryPolicyTest {
+
+    private final PostingRetryPolicy retryPolicy = new PostingRetryPolicy(3, 1, 2);
+
+    @Test
+    void conflict_IsRetriedUntilItSucceeds() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryPolicy.execute("invoice.post", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Invoice.class, 1L);
+            }
+            return "posted";
+        });
+
+        assertEquals("posted", result);
+        assertEquals(3, calls.get());
+        PostingRetryStatsResponse stats = retryPolicy.getStats().get(0);
+        assertEquals("invoice.post", stats.getOperation());
+        assertEquals(1, stats.getOperations());
+        assertEquals(2, stats.getConflicts());
+        assertEquals(2, stats.getRetries());
+        assertEquals(1, stats.getRecovered());
+        assertEquals(0, stats.getExhausted());
+    }
+
+    @Test
+    void persistentConflict_GivesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(PessimisticLockingFailureException.class, () -> retryPolicy.execute("journal-entry.post", () -> {
+            calls.incrementAndGet();
+            throw new PessimisticLockingFailureException("deadlock");
+        }));
+
+        assertEquals(3, calls.get());
+        PostingRetryStatsResponse stats = retryPolicy.getStats().get(0);
+        assertEquals(3, stats.getConflicts());
+        assertEquals(2, stats.getRetries());
+        assertEquals(1, stats.getExhausted());
+    }
+
+    @Test
+    void businessError_IsNotRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(InvalidTransactionException.class, () -> retryPolicy.execute("invoice.post", () -> {
+            calls.incrementAndGet();
+            throw new InvalidTransactionException("Invoice is already posted");
+        }));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, retryPolicy.getStats().get(0).getConflicts());
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.entity.AccountPeriodBalance;
+import com.example.accounts.entity.CashFlowDailyTotal;
+import com.example.accounts.entity.CashFlowItem;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.EquityAccount;
+import com.example.accounts.entity.EquityYearBalance;
+import com.example.accounts.entity.TurnoverCubeCell;
+import com.example.accounts.repository.AccountPeriodBalanceRepository;
+import com.example.accounts.repository.CashFlowDailyTotalRepository;
+import com.example.accounts.repository.CashFlowItemRepository;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import com.example.accounts.repository.EquityAccountRepository;
+import com.example.accounts.repository.EquityYearBalanceRepository;
+import com.example.accounts.repository.TurnoverCubeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two postings creating the same rollup row: the second one finds no row to update, the first
+ * inserts and commits, and the second's insert must add to that row instead of failing on the
+ * unique key. Runs without a test transaction so the inner posting really commits.
+ */
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+class RollupUpsertConcurrencyIntegrationTest {
+
+    private static final int YEAR = 2051;
+    private static final LocalDate DATE = LocalDate.of(YEAR, 1, 5);
+
+    @Autowired
+    private AccountPeriodBalanceRepository balanceRepository;
+
+    @Autowired
+    private TurnoverCubeRepository cubeRepository;
+
+    @Autowired
+    private EquityYearBalanceRepository yearBalanceRepository;
+
+    @Autowired
+    private CashFlowDailyTotalRepository dailyTotalRepository;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    @Autowired
+    private EquityAccountRepository equityAccountRepository;
+
+    @Autowired
+    private CashFlowItemRepository cashFlowItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate outer;
+    private TransactionTemplate concurrent;
+    private Long accountId;
+    private Long equityAccountId;
+    private Long cashFlowItemId;
+
+    @BeforeEach
+    void setUp() {
+        outer = new TransactionTemplate(transactionManager);
+        concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        accountId = chartOfAccountRepository.findByAccountCode("1010100").map(ChartOfAccount::getAccountId)
+                .orElseThrow();
+        outer.executeWithoutResult(status -> {
+            EquityAccount equityAccount = new EquityAccount();
+            equityAccount.setCode("RACE-EQ");
+            equityAccount.setName("Race equity account");
+            equityAccount.setAccountType("SHARE_PREMIUM");
+            equityAccountId = equityAccountRepository.save(equityAccount).getEquityAccountId();
+            cashFlowItemId = cashFlowItemRepository.save(CashFlowItem.builder()
+                    .code("RACE-CF")
+                    .description("Race cash flow item")
+                    .displayOrder(1)
+                    .build()).getCashFlowItemId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The pool hands out connections with auto-commit off
+        outer.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM account_period_balances WHERE fiscal_year = ?", YEAR);
+            jdbcTemplate.update("DELETE FROM turnover_cube WHERE fiscal_year = ?", YEAR);
+            jdbcTemplate.update("DELETE FROM equity_year_balances WHERE equity_account_id = ?", equityAccountId);
+            jdbcTemplate.update("DELETE FROM cash_flow_daily_totals WHERE cash_flow_item_id = ?", cashFlowItemId);
+            equityAccountRepository.deleteById(equityAccountId);
+            cashFlowItemRepository.deleteById(cashFlowItemId);
+        });
+    }
+
+    @Test
+    void periodBalance_FirstPostingsRacingOnTheSameKeyAreBothCounted() {
+        race(() -> addBalanceTurnover("40.00"), () -> insertBalance("40.00"),
+                () -> addBalanceTurnover("100.00"), () -> insertBalance("100.00"));
+
+        Map<String, Object> row = singleRow("SELECT COUNT(*) AS row_count, MAX(debit_turnover) AS debit, "
+                + "MAX(closing_balance) AS closing FROM account_period_balances "
+                + "WHERE account_id = ? AND company_id IS NULL AND fiscal_year = ?",
+                accountId, YEAR);
+        assertEquals(0, new BigDecimal("140.00").compareTo((BigDecimal) row.get("DEBIT")));
+        assertEquals(0, new BigDecimal("140.00").compareTo((BigDecimal) row.get("CLOSING")));
+    }
+
+    @Test
+    void periodBalance_NewLaterPeriodWaitsForAnEarlierPostingStillShifting() throws Exception {
+        outer.executeWithoutResult(status -> insertBalance("100.00"));
+        CountDownLatch shifted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            try {
+                // Posting to period 1 updates its row and shifts the (still empty) later periods, then holds
+                Future<?> earlier = executor.submit(() -> outer.executeWithoutResult(status -> {
+                    assertEquals(1, addBalanceTurnover("40.00"));
+                    balanceRepository.shiftLaterPeriods(accountId, AccountPeriodBalance.NO_COMPANY, YEAR, 1,
+                            new BigDecimal("40.00"));
+                    shifted.countDown();
+                    await(release);
+                }));
+                await(shifted);
+
+                // First posting to period 3 takes its opening from period 1 and must not read it before that commits
+                Future<?> later = executor.submit(() -> outer.executeWithoutResult(status -> {
+                    BigDecimal opening = balanceRepository.lockPrecedingClosing(accountId,
+                            AccountPeriodBalance.NO_COMPANY, YEAR, 3).stream().findFirst().orElse(BigDecimal.ZERO);
+                    balanceRepository.insertPeriod(accountId, null, YEAR, 3, opening, BigDecimal.TEN,
+                            BigDecimal.ZERO, opening.add(BigDecimal.TEN));
+                }));
+                assertThrows(TimeoutException.class, () -> later.get(300, TimeUnit.MILLISECONDS));
+
+                release.countDown();
+                earlier.get(10, TimeUnit.SECONDS);
+                later.get(10, TimeUnit.SECONDS);
+            } finally {
+                release.countDown();
+            }
+        }
+
+        Map<String, Object> row = singleRow("SELECT COUNT(*) AS row_count, MAX(opening_balance) AS opening, "
+                + "MAX(closing_balance) AS closing FROM account_period_balances "
+                + "WHERE account_id = ? AND company_id IS NULL AND fiscal_year = ? AND fiscal_period = 3",
+                accountId, YEAR);
+        assertEquals(0, new BigDecimal("140.00").compareTo((BigDecimal) row.get("OPENING")));
+        assertEquals(0, new BigDecimal("150.00").compareTo((BigDecimal) row.get("CLOSING")));
+    }
+
+    @Test
+    void turnoverCube_FirstPostingsRacingOnTheSameCellAreBothCounted() {
+        race(() -> addCubeTurnover("40.00"), () -> insertCell("40.00"),
+                () -> addCubeTurnover("100.00"), () -> insertCell("100.00"));
+
+        Map<String, Object> row = singleRow("SELECT COUNT(*) AS row_count, MAX(debit_turnover) AS debit, "
+                + "MAX(quantity) AS quantity FROM turnover_cube WHERE account_id = ? AND fiscal_year = ?",
+                accountId, YEAR);
+        assertEquals(0, new BigDecimal("140.00").compareTo((BigDecimal) row.get("DEBIT")));
+        assertEquals(0, new BigDecimal("2").compareTo((BigDecimal) row.get("QUANTITY")));
+    }
+
+    @Test
+    void equityYearBalance_FirstPostingsRacingOnTheSameRowAreBothCounted() {
+        race(() -> addEquityAmount("40.00"), () -> insertEquityRow("40.00"),
+                () -> addEquityAmount("100.00"), () -> insertEquityRow("100.00"));
+
+        Map<String, Object> row = singleRow("SELECT COUNT(*) AS row_count, MAX(amount) AS amount "
+                + "FROM equity_year_balances WHERE equity_account_id = ?", equityAccountId);
+        assertEquals(0, new BigDecimal("140.00").compareTo((BigDecimal) row.get("AMOUNT")));
+    }
+
+    @Test
+    void cashFlowDailyTotal_FirstPostingsRacingOnTheSameDayAreBothCounted() {
+        race(() -> addCashFlow("40.00"), () -> insertCashFlow("40.00"),
+                () -> addCashFlow("100.00"), () -> insertCashFlow("100.00"));
+
+        Map<String, Object> row = singleRow("SELECT COUNT(*) AS row_count, MAX(amount) AS amount, "
+                + "MAX(transaction_count) AS transactions FROM cash_flow_daily_totals WHERE cash_flow_item_id = ?",
+                cashFlowItemId);
+        assertEquals(0, new BigDecimal("140.00").compareTo((BigDecimal) row.get("AMOUNT")));
+        assertEquals(2, ((Number) row.get("TRANSACTIONS")).intValue());
+    }
+
+    /**
+     * Both postings miss the update; the concurrent one inserts and commits before the outer one inserts
+     */
+    private void race(IntSupplier concurrentUpdate, Runnable concurrentInsert, IntSupplier update, Runnable insert) {
+        outer.executeWithoutResult(status -> {
+            assertEquals(0, update.getAsInt());
+
+            concurrent.executeWithoutResult(inner -> {
+                assertEquals(0, concurrentUpdate.getAsInt());
+                concurrentInsert.run();
+            });
+
+            insert.run();
+        });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Map<String, Object> singleRow(String sql, Object... args) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(sql, args);
+        assertEquals(1L, ((Number) row.get("ROW_COUNT")).longValue());
+        return row;
+    }
+
+    private int addBalanceTurnover(String debit) {
+        return balanceRepository.addTurnover(accountId, AccountPeriodBalance.NO_COMPANY, YEAR, 1,
+                new BigDecimal(debit), BigDecimal.ZERO);
+    }
+
+    private void insertBalance(String debit) {
+        balanceRepository.insertPeriod(accountId, null, YEAR, 1, BigDecimal.ZERO,
+                new BigDecimal(debit), BigDecimal.ZERO, new BigDecimal(debit));
+    }
+
+    private int addCubeTurnover(String debit) {
+        return cubeRepository.addTurnover(accountId, TurnoverCubeCell.NO_ID, TurnoverCubeCell.NO_ID,
+                TurnoverCubeCell.NO_VALUE, TurnoverCubeCell.NO_VALUE, YEAR, 1, new BigDecimal(debit),
+                BigDecimal.ZERO, BigDecimal.ONE);
+    }
+
+    private void insertCell(String debit) {
+        cubeRepository.insertCell(accountId, TurnoverCubeCell.NO_ID, TurnoverCubeCell.NO_ID,
+                TurnoverCubeCell.NO_VALUE, TurnoverCubeCell.NO_VALUE, YEAR, 1, new BigDecimal(debit),
+                BigDecimal.ZERO, BigDecimal.ONE);
+    }
+
+    private int addEquityAmount(String amount) {
+        return yearBalanceRepository.addAmount(equityAccountId, EquityYearBalance.NO_COMPANY, YEAR, "ISSUE",
+                new BigDecimal(amount));
+    }
+
+    private void insertEquityRow(String amount) {
+        yearBalanceRepository.insertRow(equityAccountId, EquityYearBalance.NO_COMPANY, YEAR, "ISSUE",
+                new BigDecimal(amount));
+    }
+
+    private int addCashFlow(String amount) {
+        return dailyTotalRepository.addTransaction(CashFlowDailyTotal.NO_VALUE, DATE, cashFlowItemId, "INFLOW",
+                CashFlowDailyTotal.NO_VALUE, CashFlowDailyTotal.NO_VALUE, new BigDecimal(amount));
+    }
+
+    private void insertCashFlow(String amount) {
+        dailyTotalRepository.insertTotal(CashFlowDailyTotal.NO_VALUE, DATE, cashFlowItemId, "INFLOW",
+                CashFlowDailyTotal.NO_VALUE, CashFlowDailyTotal.NO_VALUE, new BigDecimal(amount));
+    }
+}
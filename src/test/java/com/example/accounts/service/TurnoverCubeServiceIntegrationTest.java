@@ -0,0 +1,146 @@
+package com.example.accounts.service;
+
+import com.example.accounts.accounts_service.AccountsServiceApplication;
+import com.example.accounts.dto.JournalEntryLineRequest;
+import com.example.accounts.dto.JournalEntryRequest;
+import com.example.accounts.dto.JournalEntryResponse;
+import com.example.accounts.dto.TurnoverCubeQuery;
+import com.example.accounts.dto.TurnoverCubeResponse;
+import com.example.accounts.dto.TurnoverCubeRowDTO;
+import com.example.accounts.entity.ChartOfAccount;
+import com.example.accounts.entity.enums.CubeDimension;
+import com.example.accounts.entity.enums.DocumentType;
+import com.example.accounts.repository.ChartOfAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = AccountsServiceApplication.class)
+@ActiveProfiles("test")
+@Transactional
+class TurnoverCubeServiceIntegrationTest {
+
+    @Autowired
+    private JournalEntryService journalEntryService;
+
+    @Autowired
+    private TurnoverCubeService turnoverCubeService;
+
+    @Autowired
+    private ChartOfAccountRepository chartOfAccountRepository;
+
+    private ChartOfAccount debitAccount;
+    private ChartOfAccount creditAccount;
+
+    @BeforeEach
+    void setUp() {
+        debitAccount = chartOfAccountRepository.findByAccountCode("1010100").orElseThrow();
+        creditAccount = chartOfAccountRepository.findByAccountCode("1010200").orElseThrow();
+    }
+
+    @Test
+    void slice_GroupsPostedTurnoverByRequestedDimensions() {
+        createAndPost("CUBE-001", LocalDate.of(2035, 1, 10), "100.00", "3", "WH-A", "C-1");
+        createAndPost("CUBE-002", LocalDate.of(2035, 1, 20), "50.00", "2", "WH-B", "C-1");
+        createAndPost("CUBE-003", LocalDate.of(2035, 2, 5), "30.00", "1", "WH-A", null);
+
+        TurnoverCubeResponse byWarehouseAndPeriod = turnoverCubeService.slice(query(
+                List.of(CubeDimension.WAREHOUSE, CubeDimension.PERIOD)));
+
+        List<TurnoverCubeRowDTO> rows = byWarehouseAndPeriod.getRows();
+        assertEquals(3, rows.size());
+        assertEquals("WH-A", rows.get(0).getWarehouse());
+        assertEquals(2035, rows.get(0).getFiscalYear());
+        assertEquals(1, rows.get(0).getFiscalPeriod());
+        assertEquals(0, new BigDecimal("100.00").compareTo(rows.get(0).getDebitTurnover()));
+        assertEquals(0, new BigDecimal("3").compareTo(rows.get(0).getQuantity()));
+        assertNull(rows.get(0).getContract());
+        assertEquals(0, new BigDecimal("180.00").compareTo(byWarehouseAndPeriod.getTotalDebit()));
+
+        // Rolling up everything but the contract; lines without a contract form their own group
+        TurnoverCubeResponse byContract = turnoverCubeService.slice(query(List.of(CubeDimension.CONTRACT)));
+        assertEquals(2, byContract.getRows().size());
+        TurnoverCubeRowDTO contractOne = byContract.getRows().stream()
+                .filter(row -> "C-1".equals(row.getContract())).findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("150.00").compareTo(contractOne.getNetTurnover()));
+        assertEquals(0, new BigDecimal("5").compareTo(contractOne.getQuantity()));
+
+        // Filters narrow the cells before grouping
+        TurnoverCubeQuery january = query(List.of());
+        january.setTo(LocalDate.of(2035, 1, 31));
+        january.setWarehouse("WH-A");
+        TurnoverCubeResponse total = turnoverCubeService.slice(january);
+        assertEquals(1, total.getRows().size());
+        assertEquals(0, new BigDecimal("100.00").compareTo(total.getTotalDebit()));
+    }
+
+    @Test
+    void rebuild_ReproducesIncrementalCube() {
+        createAndPost("CUBE-101", LocalDate.of(2036, 3, 1), "70.00", "7", "WH-R", null);
+        JournalEntryResponse reversed = createAndPost("CUBE-102", LocalDate.of(2036, 3, 2), "20.00", "2", "WH-R",
+                null);
+        journalEntryService.reverseJournalEntry(reversed.getJournalEntryId(), "tester");
+
+        TurnoverCubeResponse before = turnoverCubeService.slice(query(
+                List.of(CubeDimension.ACCOUNT, CubeDimension.WAREHOUSE, CubeDimension.PERIOD)));
+        turnoverCubeService.rebuild();
+        TurnoverCubeResponse after = turnoverCubeService.slice(query(
+                List.of(CubeDimension.ACCOUNT, CubeDimension.WAREHOUSE, CubeDimension.PERIOD)));
+
+        assertEquals(before.getRows(), after.getRows());
+        TurnoverCubeRowDTO row = after.getRows().get(0);
+        assertEquals("1010100", row.getAccountCode());
+        assertEquals(0, new BigDecimal("90.00").compareTo(row.getDebitTurnover()));
+        assertEquals(0, new BigDecimal("20.00").compareTo(row.getCreditTurnover()));
+        // The contra entry negates quantities, so only the unreversed entry's quantity remains
+        assertEquals(0, new BigDecimal("7").compareTo(row.getQuantity()));
+    }
+
+    private TurnoverCubeQuery query(List<CubeDimension> dimensions) {
+        return TurnoverCubeQuery.builder()
+                .dimensions(dimensions)
+                .accountIds(List.of(debitAccount.getAccountId()))
+                .from(LocalDate.of(2035, 1, 1))
+                .to(LocalDate.of(2036, 12, 31))
+                .build();
+    }
+
+    private JournalEntryResponse createAndPost(String number, LocalDate date, String amount, String quantity,
+            String warehouse, String contract) {
+        JournalEntryLineRequest debitLine = JournalEntryLineRequest.builder()
+                .lineNumber(1)
+                .accountId(debitAccount.getAccountId())
+                .debitAmount(new BigDecimal(amount))
+                .creditAmount(BigDecimal.ZERO)
+                .quantity(new BigDecimal(quantity))
+                .warehouse(warehouse)
+                .contract(contract)
+                .build();
+
+        JournalEntryLineRequest creditLine = JournalEntryLineRequest.builder()
+                .lineNumber(2)
+                .accountId(creditAccount.getAccountId())
+                .debitAmount(BigDecimal.ZERO)
+                .creditAmount(new BigDecimal(amount))
+                .build();
+
+        JournalEntryResponse created = journalEntryService.createJournalEntry(JournalEntryRequest.builder()
+                .entryNumber(number)
+                .entryDate(date)
+                .documentType(DocumentType.JOURNAL_ENTRY)
+                .description("Cube test " + number)
+                .lines(List.of(debitLine, creditLine))
+                .build());
+
+        return journalEntryService.postJournalEntry(created.getJournalEntryId(), "tester");
+    }
+}